@@ -9,19 +9,18 @@ import com.akasoft.poneyrox.entities.positions.PositionType;
 import com.akasoft.poneyrox.entities.positions.TransactionEntity;
 import com.akasoft.poneyrox.exceptions.ApiException;
 import com.akasoft.poneyrox.exceptions.InnerException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.mashape.unirest.http.HttpResponse;
-import com.mashape.unirest.http.JsonNode;
-import com.mashape.unirest.http.Unirest;
-import com.mashape.unirest.http.exceptions.UnirestException;
-import com.mashape.unirest.request.BaseRequest;
-import com.mashape.unirest.request.GetRequest;
-import com.mashape.unirest.request.HttpRequestWithBody;
-import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PreDestroy;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 /**
@@ -50,16 +49,108 @@ public class WhaleClubAccess {
      */
     public static final int[] API_VALIDATORS = new int[] {200, 201, 202, 203};
 
+    /**
+     *  Nombre maximum de marchés par requete de taux.
+     */
+    public static final int RATES_CHUNK_SIZE = 5;
+
+    /**
+     *  Nombre maximum de requetes de taux simultanées.
+     */
+    public static final int RATES_PARALLELISM = 4;
+
+    /**
+     *  Délai maximum d'attente des requetes de taux, en millisecondes.
+     */
+    public static final long RATES_TIMEOUT = 4000;
+
+    /**
+     *  Délai de réponse d'une requete de taux, en millisecondes.
+     */
+    public static final int PRICE_TIMEOUT = 3000;
+
+    /**
+     *  Délai de réponse des autres requetes, en millisecondes.
+     */
+    public static final int DEFAULT_TIMEOUT = 10000;
+
+    /**
+     *  Transport HTTP.
+     */
+    private WhaleClubTransport transport;
+
     /**
      *  Utilitaire de sérialisation.
      */
     private ObjectMapper mapper;
 
+    /**
+     *  Exécuteur des requetes de taux.
+     */
+    private ExecutorService executor;
+
+    /**
+     *  Nombre de groupes de taux abandonnés faute de réponse dans le délai imparti.
+     */
+    private final AtomicLong timedOutChunks;
+
+    /**
+     *  Nombre de groupes de taux en échec.
+     */
+    private final AtomicLong failedChunks;
+
+    /**
+     *  Dernière erreur rencontrée sur un groupe de taux (ou null).
+     */
+    private volatile ApiException lastChunkFailure;
+
     /**
      *  Constructeur.
+     *  @param transport Transport HTTP.
      */
-    public WhaleClubAccess() {
+    public WhaleClubAccess(@Autowired WhaleClubTransport transport) {
+        this.transport = transport;
         this.mapper = new ObjectMapper();
+        this.timedOutChunks = new AtomicLong();
+        this.failedChunks = new AtomicLong();
+        this.lastChunkFailure = null;
+        this.executor = Executors.newFixedThreadPool(WhaleClubAccess.RATES_PARALLELISM, runnable -> {
+            Thread thread = new Thread(runnable, "poneyrox-whaleclub");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     *  Arrêt.
+     */
+    @PreDestroy
+    public void preDestroy() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     *  Retourne le nombre de groupes de taux abandonnés faute de réponse dans le délai imparti.
+     *  @return Nombre de groupes.
+     */
+    public long getTimedOutChunkCount() {
+        return this.timedOutChunks.get();
+    }
+
+    /**
+     *  Retourne le nombre de groupes de taux en échec.
+     *  @return Nombre de groupes.
+     */
+    public long getFailedChunkCount() {
+        return this.failedChunks.get();
+    }
+
+    /**
+     *  Retourne la dernière erreur rencontrée sur un groupe de taux.
+     *  @return Dernière erreur, ou null.
+     */
+    public ApiException getLastChunkFailure() {
+        return this.lastChunkFailure;
     }
 
     /**
@@ -71,17 +162,31 @@ public class WhaleClubAccess {
         /* Création du résultat */
         List<WhaleClubMarketDTO> result = new ArrayList<>();
 
-        /* Appel HTTP */
-        JsonNode node = this.doGet(true, "markets", WhaleClubAccess.API_VALIDATORS);
-
-        /* Création de l'objet */
-        for (String key : node.getObject().keySet()) {
-            /* Récupération du noeud */
-            JSONObject object = node.getObject().getJSONObject(key);
-
-            /* Complétion */
-            WhaleClubMarketDTO market = new WhaleClubMarketDTO(key, object.getString("display_name"));
-            result.add(market);
+        /* Appel HTTP et lecture en continu */
+        String uri = "markets";
+        try (InputStream body = this.doGet(true, uri, WhaleClubAccess.API_VALIDATORS, WhaleClubAccess.DEFAULT_TIMEOUT);
+             JsonParser parser = this.mapper.getFactory().createParser(body)) {
+            this.doExpect(parser, JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                /* Parcours du marché */
+                String key = parser.getCurrentName();
+                String label = null;
+                this.doExpect(parser, JsonToken.START_OBJECT);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    parser.nextToken();
+                    if ("display_name".equals(field)) {
+                        label = parser.getValueAsString();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+
+                /* Complétion */
+                result.add(new WhaleClubMarketDTO(key, label));
+            }
+        } catch (IOException cause) {
+            throw new ApiException(500, cause, "Failed to parse response of URI '%s'", uri);
         }
 
         /* Renvoi */
@@ -90,32 +195,123 @@ public class WhaleClubAccess {
 
     /**
      *  Récupération d'une liste de taux.
+     *  Les clefs sont découpées en groupes requetés simultanément ; les résultats sont fusionnés au fil des réponses.
+     *  Les groupes n'ayant pas répondu dans le délai imparti sont abandonnés pour ce tour, sans retarder les autres.
+     *  Les abandons et échecs partiels ne sont pas journalisés mais comptabilisés (voir getTimedOutChunkCount et
+     *  getFailedChunkCount).
      *  @param keys Liste des clefs requetées.
      *  @return Liste des taux correspondants.
-     *  @throws ApiException En cas d'erreur de l'API.
+     *  @throws ApiException En cas d'erreur ou d'abandon de l'ensemble des groupes.
      */
     public List<WhaleClubRateDTO> getRates(List<String> keys) throws ApiException {
         /* Création du résultat */
         List<WhaleClubRateDTO> result = new ArrayList<>();
 
-        /* Parcours */
-        for (int i = 0; i < keys.size(); i += 5) {
-            List<String> sub = keys.subList(i, i + 5 > keys.size() ? keys.size() : i + 5);
-
-            /* Appel HTTP */
-            JsonNode node = this.doGet(true, "price/" + String.join(",", sub), WhaleClubAccess.API_VALIDATORS);
-
-            /* Parcours de noeuds */
-            JSONObject object = node.getObject();
-            for (String key : object.keySet()) {
-                JSONObject market = object.getJSONObject(key);
-                WhaleClubRateDTO rate = new WhaleClubRateDTO(
-                        key,
-                        market.getLong("last_updated") * 1000,
-                        market.getDouble("ask"),
-                        market.getDouble("bid"));
-                result.add(rate);
+        /* Soumission des groupes */
+        CompletionService<List<WhaleClubRateDTO>> service = new ExecutorCompletionService<>(this.executor);
+        List<Future<List<WhaleClubRateDTO>>> futures = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i += WhaleClubAccess.RATES_CHUNK_SIZE) {
+            List<String> sub = new ArrayList<>(keys.subList(i, Math.min(i + WhaleClubAccess.RATES_CHUNK_SIZE, keys.size())));
+            futures.add(service.submit(() -> this.getRatesChunk(sub)));
+        }
+
+        /* Fusion au fil des réponses */
+        long deadline = System.currentTimeMillis() + WhaleClubAccess.RATES_TIMEOUT;
+        ApiException failure = null;
+        int failures = 0;
+        int timeouts = 0;
+        try {
+            for (int i = 0; i < futures.size(); i++) {
+                long wait = deadline - System.currentTimeMillis();
+                Future<List<WhaleClubRateDTO>> future = wait > 0 ? service.poll(wait, TimeUnit.MILLISECONDS) : null;
+                if (future == null) {
+                    /* Délai dépassé : abandon des groupes restants */
+                    timeouts = futures.size() - i;
+                    failures += timeouts;
+                    break;
+                }
+                try {
+                    result.addAll(future.get());
+                } catch (ExecutionException cause) {
+                    failures++;
+                    if (failure == null) {
+                        failure = cause.getCause() instanceof ApiException
+                                ? (ApiException) cause.getCause()
+                                : new ApiException(500, cause.getCause(), "Rates chunk failed");
+                    }
+                }
             }
+        } catch (InterruptedException cause) {
+            Thread.currentThread().interrupt();
+            throw new ApiException(500, cause, "Interrupted while fetching rates");
+        } finally {
+            for (Future<List<WhaleClubRateDTO>> future : futures) {
+                future.cancel(true);
+            }
+        }
+
+        /* Comptabilisation */
+        this.timedOutChunks.addAndGet(timeouts);
+        this.failedChunks.addAndGet(failures - timeouts);
+        if (failure != null) {
+            this.lastChunkFailure = failure;
+        }
+
+        /* Renvoi (échec uniquement si aucun groupe n'a abouti, par erreur ou par abandon) */
+        if (!futures.isEmpty() && failures == futures.size()) {
+            throw failure != null
+                    ? failure
+                    : new ApiException(500, "No rates chunk received within %d ms", WhaleClubAccess.RATES_TIMEOUT);
+        }
+        return result;
+    }
+
+    /**
+     *  Récupération des taux d'un groupe de marchés.
+     *  @param keys Clefs requetées.
+     *  @return Liste des taux correspondants.
+     *  @throws ApiException En cas d'erreur de l'API.
+     */
+    private List<WhaleClubRateDTO> getRatesChunk(List<String> keys) throws ApiException {
+        /* Création du résultat */
+        List<WhaleClubRateDTO> result = new ArrayList<>(keys.size());
+
+        /* Appel HTTP et lecture en continu */
+        String uri = "price/" + String.join(",", keys);
+        try (InputStream body = this.doGet(true, uri, WhaleClubAccess.API_VALIDATORS, WhaleClubAccess.PRICE_TIMEOUT);
+             JsonParser parser = this.mapper.getFactory().createParser(body)) {
+            this.doExpect(parser, JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                /* Parcours du marché */
+                String key = parser.getCurrentName();
+                long updated = 0;
+                double ask = 0;
+                double bid = 0;
+                this.doExpect(parser, JsonToken.START_OBJECT);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "last_updated":
+                            updated = parser.getValueAsLong();
+                            break;
+                        case "ask":
+                            ask = parser.getValueAsDouble();
+                            break;
+                        case "bid":
+                            bid = parser.getValueAsDouble();
+                            break;
+                        default:
+                            parser.skipChildren();
+                            break;
+                    }
+                }
+
+                /* Complétion */
+                result.add(new WhaleClubRateDTO(key, updated * 1000, ask, bid));
+            }
+        } catch (IOException cause) {
+            throw new ApiException(500, cause, "Failed to parse response of URI '%s'", uri);
         }
 
         /* Renvoi */
@@ -147,10 +343,10 @@ public class WhaleClubAccess {
         params.put("size", size);
 
         /* Appel HTTP */
-        JsonNode node = this.doPost(test, "position/new", WhaleClubAccess.API_VALIDATORS, params);
+        InputStream body = this.doPost(test, "position/new", WhaleClubAccess.API_VALIDATORS, WhaleClubAccess.DEFAULT_TIMEOUT, params);
 
         /* Renvoi */
-        return this.as(node, WhaleClubPositionDTO.class);
+        return this.as(body, WhaleClubPositionDTO.class);
     }
 
     /**
@@ -168,10 +364,14 @@ public class WhaleClubAccess {
         }
 
         /* Appel HTTP */
-        JsonNode node = this.doPut(test, "position/close/" + transaction.getForeign(), WhaleClubAccess.API_VALIDATORS);
+        InputStream body = this.doPut(
+                test,
+                "position/close/" + transaction.getForeign(),
+                WhaleClubAccess.API_VALIDATORS,
+                WhaleClubAccess.DEFAULT_TIMEOUT);
 
         /* Renvoi */
-        return this.as(node, WhaleClubPositionDTO.class);
+        return this.as(body, WhaleClubPositionDTO.class);
     }
 
     /**
@@ -179,20 +379,12 @@ public class WhaleClubAccess {
      *  @param test Mode d'appel.
      *  @param uri URI appelée.
      *  @param validators Liste des codes de réponse validés.
-     *  @return Réponse du service.
+     *  @param timeout Délai de réponse, en millisecondes.
+     *  @return Corps de la réponse.
      *  @throws ApiException En cas d'erreur de l'API.
      */
-    private JsonNode doGet(boolean test, String uri, int[] validators) throws ApiException {
-        GetRequest request = Unirest.get(WhaleClubAccess.API_ENDPOINT + "/" + uri).header("Authorization", this.doAuth(test));
-        try {
-            HttpResponse<JsonNode> response = request.asJson();
-            this.doCheck(response, validators);
-            return response.getBody();
-        } catch (ApiException cause) {
-            throw new ApiException(cause.getCode(), cause, "HTTP GET call to URI '%s' failed", uri);
-        } catch (UnirestException cause) {
-            throw new ApiException(500, cause, "Serialization for HTTP GET on URI '%s' failed", uri);
-        }
+    private InputStream doGet(boolean test, String uri, int[] validators, int timeout) throws ApiException {
+        return this.transport.get(uri, this.doAuth(test), timeout, validators);
     }
 
     /**
@@ -200,20 +392,12 @@ public class WhaleClubAccess {
      *  @param test Mode d'appel.
      *  @param uri URI appelée.
      *  @param validators Liste des codes de réponse validés.
-     *  @return Réponse du service.
+     *  @param timeout Délai de réponse, en millisecondes.
+     *  @return Corps de la réponse.
      *  @throws ApiException En cas d'erreur de l'API.
      */
-    private JsonNode doPut(boolean test, String uri, int[] validators) throws ApiException {
-        HttpRequestWithBody request = Unirest.put(WhaleClubAccess.API_ENDPOINT + "/" + uri).header("Authorization", this.doAuth(test));
-        try {
-            HttpResponse<JsonNode> response = request.asJson();
-            this.doCheck(response, validators);
-            return response.getBody();
-        } catch (ApiException cause) {
-            throw new ApiException(cause.getCode(), cause, "HTTP PUT call to URI '%s' failed", uri);
-        } catch (UnirestException cause) {
-            throw new ApiException(500, cause, "Serialization for HTTP PUT on URI '%s' failed", uri);
-        }
+    private InputStream doPut(boolean test, String uri, int[] validators, int timeout) throws ApiException {
+        return this.transport.put(uri, this.doAuth(test), timeout, validators);
     }
 
     /**
@@ -221,11 +405,17 @@ public class WhaleClubAccess {
      *  @param test Mode d'appel.
      *  @param uri URI appelée.
      *  @param validators Liste des codes de réponse validés.
+     *  @param timeout Délai de réponse, en millisecondes.
      *  @param params Paramètres.
-     *  @return Réponse du service.
+     *  @return Corps de la réponse.
      *  @throws ApiException En cas d'erreur de l'API.
      */
-    private JsonNode doPost(boolean test, String uri, int[] validators, Map<String, Object> params) throws ApiException {
+    private InputStream doPost(
+            boolean test,
+            String uri,
+            int[] validators,
+            int timeout,
+            Map<String, Object> params) throws ApiException {
         /* Traitement des paramètres */
         for (String key : params.keySet()) {
             if (params.get(key) instanceof Double) {
@@ -233,20 +423,8 @@ public class WhaleClubAccess {
             }
         }
 
-        /* Création de la requete */
-        HttpRequestWithBody request = Unirest.post(WhaleClubAccess.API_ENDPOINT + "/" + uri).header("Authorization", this.doAuth(test));
-        request.fields(params);
-
         /* Appel */
-        try {
-            HttpResponse<JsonNode> response = request.asJson();
-            this.doCheck(response, validators);
-            return response.getBody();
-        } catch (ApiException cause) {
-            throw new ApiException(cause.getCode(), cause, "HTTP POST call to URI '%s' failed", uri);
-        } catch (UnirestException cause) {
-            throw new ApiException(500, cause, "Serialization for HTTP POST on URI '%s' failed", uri);
-        }
+        return this.transport.post(uri, this.doAuth(test), timeout, validators, params);
     }
 
     /**
@@ -263,30 +441,32 @@ public class WhaleClubAccess {
     }
 
     /**
-     *  Vérifie le code de réponse d'un appel à l'API.
-     *  @param response Réponse HTTP.
-     *  @param validators Liste des codes valides.
-     *  @throws ApiException En cas de code invalide.
+     *  Vérifie le prochain jeton d'un flux JSON.
+     *  @param parser Flux JSON.
+     *  @param expected Jeton attendu.
+     *  @throws IOException En cas de jeton inattendu.
      */
-    private void doCheck(HttpResponse response, int[] validators) throws ApiException {
-        if (!Arrays.stream(validators).anyMatch(code -> response.getStatus() == code)) {
-            throw new ApiException(response.getStatus(), "Invalid API response code %d", response.getStatus());
+    private void doExpect(JsonParser parser, JsonToken expected) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token != expected) {
+            throw new IOException(String.format("Expected %s but got %s", expected, token));
         }
     }
 
     /**
-     *  Désérialise un noeud JSON.
-     *  @param node Noeud désérialisé.
+     *  Désérialise un corps de réponse JSON.
+     *  Le flux est lu directement par l'analyseur Jackson, sans arbre intermédiaire.
+     *  @param body Corps de la réponse.
      *  @param clazz Classe.
      *  @param <TOutput> Type de résultat attendu.
      *  @return Objet désérialisé.
      *  @throws InnerException En cas d'erreur interne.
      */
-    private <TOutput> TOutput as(JsonNode node, Class<TOutput> clazz) throws InnerException {
-        try {
-            return (TOutput) this.mapper.readValue(node.toString(), clazz);
+    private <TOutput> TOutput as(InputStream body, Class<TOutput> clazz) throws InnerException {
+        try (InputStream input = body) {
+            return this.mapper.readValue(input, clazz);
         } catch (IOException ex) {
-            throw new InnerException(ex, "Failed to deserialize JSON node '%s'", node.toString());
+            throw new InnerException(ex, "Failed to deserialize JSON response as %s", clazz.getSimpleName());
         }
     }
 }
@@ -0,0 +1,285 @@
+package com.akasoft.poneyrox.api.whaleclub.dao;
+
+import com.akasoft.poneyrox.exceptions.ApiException;
+import org.apache.http.HttpEntity;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.entity.UrlEncodedFormEntity;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpPut;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.config.ConnectionConfig;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.ManagedHttpClientConnectionFactory;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.message.BasicNameValuePair;
+import org.apache.http.util.EntityUtils;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  Transport HTTP WhaleClub.
+ *  Client HTTP dédié à l'API WhaleClub : connexions persistantes mises en commun, compression gzip, délais par appel
+ *  et mesure de la réutilisation des connexions. Le point d'accès est paramétrable afin de pouvoir viser un serveur
+ *  local de substitution.
+ */
+@Component
+public class WhaleClubTransport {
+    /**
+     *  Nombre maximum de connexions ouvertes.
+     */
+    public static final int POOL_SIZE = 16;
+
+    /**
+     *  Nombre maximum de connexions ouvertes par hote.
+     */
+    public static final int POOL_SIZE_PER_ROUTE = 8;
+
+    /**
+     *  Délai d'établissement d'une connexion, en millisecondes.
+     */
+    public static final int CONNECT_TIMEOUT = 2000;
+
+    /**
+     *  Délai d'obtention d'une connexion mise en commun, en millisecondes.
+     */
+    public static final int POOL_TIMEOUT = 1000;
+
+    /**
+     *  Durée de conservation d'une connexion inactive en l'absence d'indication du serveur, en millisecondes.
+     */
+    public static final long KEEP_ALIVE = 30000;
+
+    /**
+     *  Point d'accès.
+     */
+    private final String endpoint;
+
+    /**
+     *  Gestionnaire des connexions.
+     */
+    private final PoolingHttpClientConnectionManager pool;
+
+    /**
+     *  Client HTTP.
+     */
+    private final CloseableHttpClient client;
+
+    /**
+     *  Nombre de requetes émises.
+     */
+    private final AtomicLong requests;
+
+    /**
+     *  Nombre de connexions ouvertes.
+     */
+    private final AtomicLong connections;
+
+    /**
+     *  Constructeur par défaut.
+     *  Vise le point d'accès de production.
+     */
+    public WhaleClubTransport() {
+        this(WhaleClubAccess.API_ENDPOINT);
+    }
+
+    /**
+     *  Constructeur.
+     *  @param endpoint Point d'accès (terminé par une barre oblique).
+     */
+    public WhaleClubTransport(String endpoint) {
+        this.endpoint = endpoint;
+        this.requests = new AtomicLong();
+        this.connections = new AtomicLong();
+
+        /* Gestionnaire des connexions.
+         * Chaque connexion créée est comptée afin de mesurer la réutilisation. */
+        this.pool = new PoolingHttpClientConnectionManager((HttpRoute route, ConnectionConfig config) -> {
+            this.connections.incrementAndGet();
+            return ManagedHttpClientConnectionFactory.INSTANCE.create(route, config);
+        });
+        this.pool.setMaxTotal(POOL_SIZE);
+        this.pool.setDefaultMaxPerRoute(POOL_SIZE_PER_ROUTE);
+
+        /* Client.
+         * La compression gzip est négociée et décodée par le client. */
+        this.client = HttpClients.custom()
+                .setConnectionManager(this.pool)
+                .setKeepAliveStrategy((response, context) -> {
+                    long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                    return duration > 0 ? duration : KEEP_ALIVE;
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(KEEP_ALIVE, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     *  Arrêt.
+     *  @throws IOException En cas d'erreur de fermeture.
+     */
+    @PreDestroy
+    public void preDestroy() throws IOException {
+        this.client.close();
+    }
+
+    /**
+     *  Exécute une requete GET.
+     *  @param uri URI relative au point d'accès.
+     *  @param authorization Entete d'authentification.
+     *  @param timeout Délai de réponse, en millisecondes.
+     *  @param validators Codes de réponse validés.
+     *  @return Corps de la réponse, à fermer après lecture.
+     *  @throws ApiException En cas d'erreur de l'API.
+     */
+    public InputStream get(String uri, String authorization, int timeout, int[] validators) throws ApiException {
+        return this.execute(new HttpGet(this.endpoint + uri), authorization, timeout, validators);
+    }
+
+    /**
+     *  Exécute une requete PUT.
+     *  @param uri URI relative au point d'accès.
+     *  @param authorization Entete d'authentification.
+     *  @param timeout Délai de réponse, en millisecondes.
+     *  @param validators Codes de réponse validés.
+     *  @return Corps de la réponse, à fermer après lecture.
+     *  @throws ApiException En cas d'erreur de l'API.
+     */
+    public InputStream put(String uri, String authorization, int timeout, int[] validators) throws ApiException {
+        return this.execute(new HttpPut(this.endpoint + uri), authorization, timeout, validators);
+    }
+
+    /**
+     *  Exécute une requete POST avec des paramètres de formulaire.
+     *  @param uri URI relative au point d'accès.
+     *  @param authorization Entete d'authentification.
+     *  @param timeout Délai de réponse, en millisecondes.
+     *  @param validators Codes de réponse validés.
+     *  @param fields Paramètres du formulaire.
+     *  @return Corps de la réponse, à fermer après lecture.
+     *  @throws ApiException En cas d'erreur de l'API.
+     */
+    public InputStream post(
+            String uri,
+            String authorization,
+            int timeout,
+            int[] validators,
+            Map<String, Object> fields) throws ApiException {
+        List<NameValuePair> pairs = new ArrayList<>();
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            pairs.add(new BasicNameValuePair(field.getKey(), String.valueOf(field.getValue())));
+        }
+        HttpPost request = new HttpPost(this.endpoint + uri);
+        request.setEntity(new UrlEncodedFormEntity(pairs, StandardCharsets.UTF_8));
+        return this.execute(request, authorization, timeout, validators);
+    }
+
+    /**
+     *  Retourne le nombre de requetes émises.
+     *  @return Nombre de requetes.
+     */
+    public long getRequestCount() {
+        return this.requests.get();
+    }
+
+    /**
+     *  Retourne le nombre de connexions ouvertes depuis le démarrage.
+     *  @return Nombre de connexions.
+     */
+    public long getConnectionCount() {
+        return this.connections.get();
+    }
+
+    /**
+     *  Retourne le taux de réutilisation des connexions.
+     *  @return Part des requetes servies par une connexion existante (entre 0 et 1).
+     */
+    public double getReuseRatio() {
+        long requests = this.requests.get();
+        return requests == 0 ? 0 : Math.max(0, requests - this.connections.get()) / (double) requests;
+    }
+
+    /**
+     *  Exécute une requete.
+     *  En cas de succès, la connexion est rendue au gestionnaire à la fermeture du corps de la réponse.
+     *  @param request Requete.
+     *  @param authorization Entete d'authentification.
+     *  @param timeout Délai de réponse, en millisecondes.
+     *  @param validators Codes de réponse validés.
+     *  @return Corps de la réponse.
+     *  @throws ApiException En cas d'erreur de l'API.
+     */
+    private InputStream execute(
+            HttpRequestBase request,
+            String authorization,
+            int timeout,
+            int[] validators) throws ApiException {
+        /* Paramétrage */
+        request.setHeader("Authorization", authorization);
+        request.setHeader("Accept", "application/json");
+        request.setConfig(RequestConfig.custom()
+                .setConnectTimeout(CONNECT_TIMEOUT)
+                .setConnectionRequestTimeout(POOL_TIMEOUT)
+                .setSocketTimeout(timeout)
+                .build());
+
+        /* Appel */
+        this.requests.incrementAndGet();
+        CloseableHttpResponse response;
+        try {
+            response = this.client.execute(request);
+        } catch (IOException cause) {
+            throw new ApiException(500, cause, "HTTP %s on URI '%s' failed", request.getMethod(), request.getURI());
+        }
+
+        /* Vérification du code de réponse */
+        int status = response.getStatusLine().getStatusCode();
+        HttpEntity entity = response.getEntity();
+        if (Arrays.stream(validators).noneMatch(code -> code == status)) {
+            try {
+                EntityUtils.consume(entity);
+                response.close();
+            } catch (IOException ignored) {
+            }
+            throw new ApiException(status, "Invalid API response code %d on URI '%s'", status, request.getURI());
+        }
+
+        /* Renvoi du corps */
+        try {
+            InputStream content = entity == null ? new ByteArrayInputStream(new byte[0]) : entity.getContent();
+            return new FilterInputStream(content) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        response.close();
+                    }
+                }
+            };
+        } catch (IOException cause) {
+            try {
+                response.close();
+            } catch (IOException ignored) {
+            }
+            throw new ApiException(500, cause, "Failed to read response of URI '%s'", request.getURI());
+        }
+    }
+}
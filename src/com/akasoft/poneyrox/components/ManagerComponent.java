@@ -2,6 +2,9 @@ package com.akasoft.poneyrox.components;
 
 import com.akasoft.poneyrox.api.whaleclub.dao.WhaleClubAccess;
 import com.akasoft.poneyrox.configuration.TaskSchedulerConfiguration;
+import com.akasoft.poneyrox.core.checkpoint.EngineCheckpoint;
+import com.akasoft.poneyrox.core.checkpoint.FollowedEntry;
+import com.akasoft.poneyrox.core.checkpoint.FollowedKind;
 import com.akasoft.poneyrox.core.mixins.batch.EntryBatch;
 import com.akasoft.poneyrox.core.mixins.batch.ExitBatch;
 import com.akasoft.poneyrox.core.mixins.leads.EntryLead;
@@ -13,6 +16,8 @@ import com.akasoft.poneyrox.core.strategies.interfaces.ExitLongITF;
 import com.akasoft.poneyrox.core.strategies.interfaces.ExitShortITF;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
 import com.akasoft.poneyrox.dao.*;
+import com.akasoft.poneyrox.dao.rates.ArchivingRateStore;
+import com.akasoft.poneyrox.dao.rates.RateStoreITF;
 import com.akasoft.poneyrox.entities.markets.RateEntity;
 import com.akasoft.poneyrox.entities.markets.TimelineEntity;
 import com.akasoft.poneyrox.entities.positions.PositionEntity;
@@ -28,7 +33,10 @@ import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
@@ -39,6 +47,11 @@ import java.util.stream.Collectors;
 @Component
 @Scope(scopeName = "singleton")
 public class ManagerComponent {
+    /**
+     *  Délai entre deux points de reprise, en millisecondes.
+     */
+    public static final long CHECKPOINT_DELAY = 60000;
+
     /**
      *  Gestionnaire des taches.
      */
@@ -69,16 +82,58 @@ public class ManagerComponent {
      */
     private PlaceholderTask placeholder;
 
+    /**
+     *  Archivage (si le stockage des taux le permet).
+     */
+    private ArchiveTask archive;
+
+    /**
+     *  Point de reprise.
+     */
+    private CheckpointTask checkpoint;
+
     /**
      *  Tache(s) d'observation du temps.
      */
     private final List<TimelineTask> timelines;
 
+    /**
+     *  Table de routage des taux.
+     *  Associe la clef de chaque marché aux lignes temporelles qui y sont abonnées.
+     */
+    private final Map<String, List<TimelineTask>> routes;
+
     /**
      *  Tache(s) de validation des stratégies.
      */
     private final List<StrategyTask> strategies;
 
+    /**
+     *  Stockage des taux.
+     */
+    private final RateStoreITF store;
+
+    /**
+     *  Ecrivain des taux.
+     */
+    private final RateWriterComponent writer;
+
+    /**
+     *  DAO des positions.
+     */
+    private final PositionDAO positionDAO;
+
+    /**
+     *  DAO des transactions.
+     */
+    private final TransactionDAO transactionDAO;
+
+    /**
+     *  Point de reprise lu au démarrage.
+     *  Les lignes temporelles et entrées suivies en sont retirées au fur et à mesure de leur restauration.
+     */
+    private final EngineCheckpoint restored;
+
     /**
      *  Portefeuille.
      */
@@ -88,7 +143,8 @@ public class ManagerComponent {
      *  Constructeur.
      *  @param scheduler Gestionnaire des taches.
      *  @param access Accès à l'API Whale Club.
-     *  @param rateDAO DAO des taux.
+     *  @param writer Ecrivain des taux.
+     *  @param store Stockage des taux.
      *  @param positionDAO DAO des positions.
      *  @param transactionDAO DAO des transactions.
      *  @param mixinDAO DAO des stratégies.
@@ -97,15 +153,21 @@ public class ManagerComponent {
     public ManagerComponent(
             @Autowired TaskSchedulerConfiguration scheduler,
             @Autowired WhaleClubAccess access,
-            @Autowired RateDAO rateDAO,
+            @Autowired RateWriterComponent writer,
+            @Autowired RateStoreITF store,
             @Autowired PositionDAO positionDAO,
             @Autowired TransactionDAO transactionDAO,
             @Autowired MixinDAO mixinDAO,
             @Autowired WalletDAO walletDAO) {
         /* Paramètres de base */
         this.scheduler = scheduler;
-        this.watcher = new WatcherTask(this, access, rateDAO);
-        this.timelines = new ArrayList<>();
+        this.store = store;
+        this.writer = writer;
+        this.positionDAO = positionDAO;
+        this.transactionDAO = transactionDAO;
+        this.watcher = new WatcherTask(this, access, writer);
+        this.timelines = new CopyOnWriteArrayList<>();
+        this.routes = new ConcurrentHashMap<>();
         this.strategies = new ArrayList<>();
 
         /* Agent de placement */
@@ -120,8 +182,30 @@ public class ManagerComponent {
         this.consolidation = new ConsolidationTask(this, access, positionDAO, transactionDAO, walletDAO);
         this.scheduler.scheduleAtFixedRate(this.consolidation, 30000);
 
-        /* Paramètres */
-        positionDAO.deleteAllOpenPositions();;
+        /* Agent d'archivage */
+        if (store instanceof ArchivingRateStore) {
+            this.archive = new ArchiveTask(this, (ArchivingRateStore) store);
+            this.scheduler.scheduleAtFixedRate(this.archive, 3600000);
+        }
+
+        /* Point de reprise.
+         * Différé afin que le point de reprise précédent ne soit pas remplacé avant la restauration des lignes. */
+        this.checkpoint = new CheckpointTask(this);
+        this.scheduler.scheduleAtFixedRate(
+                this.checkpoint,
+                new Date(System.currentTimeMillis() + ManagerComponent.CHECKPOINT_DELAY),
+                ManagerComponent.CHECKPOINT_DELAY);
+
+        /* Paramètres.
+         * En présence d'un point de reprise, les positions ouvertes qui y sont suivies sont conservées. */
+        this.restored = ManagerComponent.readCheckpoint();
+        if (this.restored.getFollowed().isEmpty()) {
+            positionDAO.deleteAllOpenPositions();
+        } else {
+            positionDAO.deleteOpenPositionsExcept(
+                    this.getFollowedIds(this.restored.getFollowed(), FollowedKind.RANDOM, FollowedKind.TARGETED),
+                    this.getFollowedIds(this.restored.getFollowed(), FollowedKind.VIRTUAL));
+        }
         this.wallet = walletDAO.persistWallet();
     }
 
@@ -159,6 +243,14 @@ public class ManagerComponent {
         this.scheduler.scheduleAtFixedRate(this.mixer, 15000);
     }
 
+    /**
+     *  Retourne le gestionnaire des taches.
+     *  @return Gestionnaire des taches.
+     */
+    public TaskScheduler getScheduler() {
+        return this.scheduler;
+    }
+
     /**
      *  Retourne l'observateur de taux.
      *  @return Observateur de taux.
@@ -295,16 +387,44 @@ public class ManagerComponent {
 
     /**
      *  Référence une ligne temporelle.
-     *  @return Entité source.
+     *  La ligne est abonnée aux taux avant la reconstitution de ses courbes à partir de l'historique : les taux reçus
+     *  entre temps sont retenus par la tache puis intégrés à l'issue, sans doublon avec les taux rejoués. La
+     *  reconstitution est réalisée de manière synchrone, dans le thread appelant (y compris le thread de la requête
+     *  HTTP d'ajout ou d'activation), qui ne rend la main qu'une fois l'historique rejoué.
+     *  @param source Entité source.
+     *  @return Tache créée.
+     *  @throws InnerException Si la ligne est déjà référencée.
      */
     public TimelineTask addTimeline(TimelineEntity source) throws InnerException {
         if (this.timelines.stream().filter(e -> e.getTimeline().getId().equals(source.getId())).count() > 0) {
             throw new InnerException("Timeline %s already registered", source.getId());
         } else {
             TimelineTask task = new TimelineTask(this, source);
-            task.setFuture(this.scheduler.scheduleAtFixedRate(task, 5000));
 
+            /* Abonnement.
+             * Les taux diffusés à partir de ce point sont retenus par la tache jusqu'à la fin de la reconstitution. */
+            this.routes
+                    .computeIfAbsent(source.getMarket().getKey(), k -> new CopyOnWriteArrayList<>())
+                    .add(task);
+
+            /* Reconstitution.
+             * Les taux diffusés avant l'abonnement sont attendus dans l'écrivain afin d'etre relus dans le stockage ;
+             * un échec n'empêche pas l'observation, la ligne partant alors de courbes vides. */
+            try {
+                this.writer.sync();
+            } catch (InnerException cause) {
+                cause.printStackTrace();
+            }
+            try {
+                task.warmUp(this.store, this.restored.getCells(source.getId()));
+            } catch (InnerException | RuntimeException cause) {
+                cause.printStackTrace();
+            }
             this.timelines.add(task);
+
+            /* Reprise des entrées suivies */
+            this.restoreFollowed(task, this.restored.getFollowed(source.getId()));
+            this.restored.remove(source.getId());
             return task;
         }
     }
@@ -315,18 +435,77 @@ public class ManagerComponent {
      */
     public void removeTimeline(TimelineEntity source) {
         TimelineTask task = this.timelines.stream().filter(e -> e.getTimeline().getId().equals(source.getId())).findFirst().get();
-        task.getFuture().cancel(false);
+        task.deactivate();
         this.timelines.remove(task);
+        List<TimelineTask> route = this.routes.get(source.getMarket().getKey());
+        if (route != null) {
+            route.remove(task);
+        }
+        this.restored.remove(source.getId());
+    }
+
+    /**
+     *  Abandonne les éléments du point de reprise rattachés à des lignes temporelles non référencées.
+     *  Appelé une fois les lignes actives chargées, afin que les lignes supprimées ou désactivées pendant l'arrêt ne
+     *  soient pas reconduites dans chaque point de reprise ultérieur.
+     */
+    public void pruneRestored() {
+        /* Lignes référencées (y compris en cours de reconstitution) */
+        Set<UUID> registered = new HashSet<>();
+        for (List<TimelineTask> route : this.routes.values()) {
+            for (TimelineTask task : route) {
+                registered.add(task.getTimeline().getId());
+            }
+        }
+
+        /* Retrait */
+        Set<UUID> stale = new HashSet<>(this.restored.getTimelines());
+        for (FollowedEntry entry : this.restored.getFollowed()) {
+            stale.add(entry.getTimeline());
+        }
+        stale.removeAll(registered);
+        for (UUID timeline : stale) {
+            this.restored.remove(timeline);
+        }
+    }
+
+    /**
+     *  Crée un point de reprise de l'état courant.
+     *  Les éléments du point de reprise précédent qui n'ont pas encore été restaurés sont reconduits.
+     *  @return Point de reprise.
+     */
+    public EngineCheckpoint createCheckpoint() {
+        EngineCheckpoint result = new EngineCheckpoint(System.currentTimeMillis());
+
+        /* Eléments non restaurés */
+        for (UUID timeline : this.restored.getTimelines()) {
+            result.addCells(timeline, this.restored.getCells(timeline));
+        }
+        for (FollowedEntry entry : this.restored.getFollowed()) {
+            result.addFollowed(entry);
+        }
+
+        /* Etat courant */
+        for (TimelineTask task : this.timelines) {
+            result.addCells(task.getTimeline().getId(), task.getCheckpoint());
+        }
+        for (FollowedEntry entry : this.follower.getFollowed()) {
+            result.addFollowed(entry);
+        }
+        return result;
     }
 
     /**
      *  Réalise la diffusion d'un taux dans les lignes temporelles concernées.
+     *  Chaque ligne alimentée est réveillée afin d'intégrer le taux sans attendre.
      *  @param rate Taux.
      */
     public void diffuseRate(RateEntity rate) {
-        for (TimelineTask task : this.timelines) {
-            if (task.getTimeline().getMarket().getKey().equals(rate.getMarket().getKey())) {
+        List<TimelineTask> route = this.routes.get(rate.getMarket().getKey());
+        if (route != null) {
+            for (TimelineTask task : route) {
                 task.addBuffer(rate);
+                task.signal();
             }
         }
     }
@@ -407,4 +586,74 @@ public class ManagerComponent {
             /* TODO */
         }
     }
-}
\ No newline at end of file
+
+    /**
+     *  Reprend le suivi des entrées d'une ligne temporelle enregistrées dans le point de reprise.
+     *  Les entrées fermées depuis l'enregistrement sont ignorées.
+     *  @param task Ligne temporelle.
+     *  @param entries Entrées enregistrées.
+     */
+    private void restoreFollowed(TimelineTask task, List<FollowedEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            /* Chargement */
+            Map<UUID, PositionEntity> positions = new HashMap<>();
+            for (PositionEntity position : this.positionDAO.getOpenPositionsById(
+                    this.getFollowedIds(entries, FollowedKind.RANDOM, FollowedKind.TARGETED))) {
+                positions.put(position.getId(), position);
+            }
+            Map<UUID, TransactionEntity> transactions = new HashMap<>();
+            for (TransactionEntity transaction : this.transactionDAO.getOpenTransactionsById(
+                    this.getFollowedIds(entries, FollowedKind.VIRTUAL))) {
+                transactions.put(transaction.getId(), transaction);
+            }
+
+            /* Publication */
+            for (FollowedEntry entry : entries) {
+                AbstractCurve<?> curve = task.getCurve(entry.getSmooth());
+                if (entry.getKind() == FollowedKind.VIRTUAL) {
+                    if (transactions.containsKey(entry.getId())) {
+                        this.publishTransaction(true, curve, transactions.get(entry.getId()));
+                    }
+                } else if (positions.containsKey(entry.getId())) {
+                    this.publishPosition(entry.getKind() == FollowedKind.RANDOM, curve, positions.get(entry.getId()));
+                }
+            }
+        } catch (InnerException | RuntimeException cause) {
+            cause.printStackTrace();
+        }
+    }
+
+    /**
+     *  Retourne les identifiants des entrées suivies d'une ou plusieurs natures.
+     *  @param entries Entrées suivies.
+     *  @param kinds Natures retenues.
+     *  @return Liste des identifiants.
+     */
+    private List<UUID> getFollowedIds(List<FollowedEntry> entries, FollowedKind... kinds) {
+        List<FollowedKind> retained = Arrays.asList(kinds);
+        return entries.stream()
+                .filter(e -> retained.contains(e.getKind()))
+                .map(e -> e.getId())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     *  Lit le point de reprise enregistré.
+     *  Un fichier absent ou illisible donne lieu à un point de reprise vide.
+     *  @return Point de reprise.
+     */
+    private static EngineCheckpoint readCheckpoint() {
+        try {
+            EngineCheckpoint result = EngineCheckpoint.read(CheckpointTask.FILE);
+            if (result != null) {
+                return result;
+            }
+        } catch (IOException cause) {
+            cause.printStackTrace();
+        }
+        return new EngineCheckpoint(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,18 @@
+package com.akasoft.poneyrox.components;
+
+/**
+ *  Mode de durabilité des taux.
+ */
+public enum RateDurability {
+    /**
+     *  Sans attente.
+     *  Le taux est diffusé dès sa mise en file d'écriture.
+     */
+    ASYNCHRONOUS,
+
+    /**
+     *  Avec attente.
+     *  Le taux n'est diffusé qu'une fois le lot qui le contient enregistré en base.
+     */
+    SYNCHRONOUS
+}
@@ -0,0 +1,312 @@
+package com.akasoft.poneyrox.components;
+
+import com.akasoft.poneyrox.dao.rates.RateStoreITF;
+import com.akasoft.poneyrox.entities.markets.RateEntity;
+import com.akasoft.poneyrox.exceptions.InnerException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Scope;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  Ecrivain des taux.
+ *  Composant en charge de l'enregistrement différé des taux observés. Les taux sont placés dans une file bornée puis
+ *  enregistrés dans le stockage des taux par un thread dédié, par lots déclenchés sur la taille ou sur le délai écoulé
+ *  depuis le premier taux en attente. La diffusion des taux vers les lignes temporelles n'attend ainsi plus le
+ *  stockage.
+ */
+@Component
+@Scope(scopeName = "singleton")
+public class RateWriterComponent implements Runnable {
+    /**
+     *  Capacité de la file d'écriture.
+     *  Une file pleine bloque l'observateur jusqu'au prochain lot.
+     */
+    public static final int QUEUE_SIZE = 8192;
+
+    /**
+     *  Nombre maximum de taux enregistrés par lot.
+     */
+    public static final int BATCH_SIZE = 500;
+
+    /**
+     *  Délai maximum d'attente d'un lot incomplet, en millisecondes.
+     */
+    public static final long FLUSH_DELAY = 1000;
+
+    /**
+     *  Mode de durabilité.
+     */
+    public static final RateDurability DURABILITY = RateDurability.ASYNCHRONOUS;
+
+    /**
+     *  Taux soumis.
+     *  Porte son numéro de soumission et son état d'enregistrement, consultés par les producteurs en attente.
+     */
+    private static class Submission {
+        /**
+         *  Numéro de soumission.
+         */
+        private final long sequence;
+
+        /**
+         *  Taux transient (null pour un marqueur de synchronisation).
+         */
+        private final RateEntity rate;
+
+        /**
+         *  Indique si le taux a été traité (sous verrou de l'écrivain).
+         */
+        private boolean processed;
+
+        /**
+         *  Indique si l'enregistrement a échoué (sous verrou de l'écrivain).
+         */
+        private boolean failed;
+
+        /**
+         *  Constructeur.
+         *  @param sequence Numéro de soumission.
+         *  @param rate Taux transient.
+         */
+        private Submission(long sequence, RateEntity rate) {
+            this.sequence = sequence;
+            this.rate = rate;
+            this.processed = false;
+            this.failed = false;
+        }
+    }
+
+    /**
+     *  Stockage des taux.
+     */
+    private final RateStoreITF store;
+
+    /**
+     *  File d'écriture.
+     */
+    private final BlockingQueue<Submission> queue;
+
+    /**
+     *  Thread d'écriture.
+     */
+    private final Thread thread;
+
+    /**
+     *  Indicateur d'activité.
+     */
+    private volatile boolean active;
+
+    /**
+     *  Nombre de taux soumis.
+     */
+    private final AtomicLong submitted;
+
+    /**
+     *  Constructeur.
+     *  @param store Stockage des taux.
+     */
+    public RateWriterComponent(@Autowired RateStoreITF store) {
+        this.store = store;
+        this.queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        this.submitted = new AtomicLong();
+        this.thread = new Thread(this, "poneyrox-rates");
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     *  Initialisation.
+     */
+    @PostConstruct
+    public void postConstruct() {
+        this.active = true;
+        this.thread.start();
+    }
+
+    /**
+     *  Arrêt.
+     *  Les taux restant en file sont enregistrés avant la fin du thread d'écriture.
+     *  @throws InterruptedException En cas d'interruption pendant l'attente.
+     */
+    @PreDestroy
+    public void preDestroy() throws InterruptedException {
+        this.active = false;
+        this.thread.join(FLUSH_DELAY * 10);
+    }
+
+    /**
+     *  Soumet un taux à l'écriture.
+     *  En mode synchrone, l'appel ne rend la main qu'une fois le taux enregistré. Le numéro de soumission est attribué
+     *  sans verrou : une file pleine ne bloque que le producteur concerné, sur la file elle-meme.
+     *  @param rate Taux transient.
+     *  @throws InnerException En cas d'arrêt du thread d'écriture, d'échec de l'enregistrement (mode synchrone) ou
+     *  d'interruption.
+     */
+    public void write(RateEntity rate) throws InnerException {
+        /* Vérification de l'activité : un taux mis en file sans thread d'écriture ne serait jamais traité */
+        if (!this.isRunning()) {
+            throw new InnerException("Rate writer is stopped, rate of %d rejected", rate.getTime());
+        }
+
+        /* Mise en file */
+        Submission submission = new Submission(this.submitted.incrementAndGet(), rate);
+        try {
+            this.queue.put(submission);
+        } catch (InterruptedException cause) {
+            Thread.currentThread().interrupt();
+            throw new InnerException(cause, "Interrupted while queuing rate");
+        }
+
+        /* Attente de l'enregistrement */
+        if (DURABILITY == RateDurability.SYNCHRONOUS) {
+            this.await(submission, true);
+        }
+    }
+
+    /**
+     *  Attend le traitement de l'ensemble des taux soumis avant l'appel.
+     *  Un marqueur est placé en file puis attendu : la file étant ordonnée, les taux qui le précèdent ont alors été
+     *  transmis au stockage. Les échecs d'enregistrement ne sont pas remontés.
+     *  @throws InnerException En cas d'interruption.
+     */
+    public void sync() throws InnerException {
+        if (!this.isRunning()) {
+            return;
+        }
+        Submission marker = new Submission(this.submitted.incrementAndGet(), null);
+        try {
+            this.queue.put(marker);
+        } catch (InterruptedException cause) {
+            Thread.currentThread().interrupt();
+            throw new InnerException(cause, "Interrupted while queuing synchronization marker");
+        }
+        this.await(marker, false);
+    }
+
+    /**
+     *  Indique si le thread d'écriture est actif et en vie.
+     *  @return true si les taux soumis seront traités.
+     */
+    private boolean isRunning() {
+        return this.active && this.thread.isAlive();
+    }
+
+    /**
+     *  Retourne le nombre de taux en attente d'écriture.
+     *  @return Nombre de taux.
+     */
+    public int getPendingCount() {
+        return this.queue.size();
+    }
+
+    /**
+     *  Boucle d'écriture.
+     */
+    @Override
+    public void run() {
+        List<Submission> batch = new ArrayList<>(BATCH_SIZE);
+        while (this.active || !this.queue.isEmpty()) {
+            try {
+                this.collect(batch);
+            } catch (InterruptedException cause) {
+                /* Interruption : enregistrement du lot en cours */
+                this.active = false;
+            }
+            if (!batch.isEmpty()) {
+                this.flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     *  Constitue un lot.
+     *  Le lot est clos dès qu'il atteint sa taille maximum ou que le délai d'attente est écoulé. En mode synchrone, le
+     *  lot est clos dès que la file est vide afin de ne pas retarder l'acquittement.
+     *  @param batch Lot alimenté.
+     *  @throws InterruptedException En cas d'interruption pendant l'attente.
+     */
+    private void collect(List<Submission> batch) throws InterruptedException {
+        /* Attente du premier taux */
+        Submission first = this.queue.poll(FLUSH_DELAY, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        /* Complétion */
+        long deadline = System.currentTimeMillis() + (DURABILITY == RateDurability.SYNCHRONOUS ? 0 : FLUSH_DELAY);
+        while (batch.size() < BATCH_SIZE) {
+            if (this.queue.drainTo(batch, BATCH_SIZE - batch.size()) == 0) {
+                long wait = deadline - System.currentTimeMillis();
+                Submission next = wait > 0 ? this.queue.poll(wait, TimeUnit.MILLISECONDS) : null;
+                if (next == null) {
+                    return;
+                }
+                batch.add(next);
+            }
+        }
+    }
+
+    /**
+     *  Enregistre un lot et acquitte les taux correspondants.
+     *  L'état est porté par chaque soumission, si bien que l'échec d'un lot reste visible de ses producteurs quel que
+     *  soit le nombre de lots traités avant leur réveil.
+     *  @param batch Lot enregistré.
+     */
+    private void flush(List<Submission> batch) {
+        /* Enregistrement */
+        List<RateEntity> rates = new ArrayList<>(batch.size());
+        for (Submission submission : batch) {
+            if (submission.rate != null) {
+                rates.add(submission.rate);
+            }
+        }
+        boolean success = true;
+        try {
+            if (!rates.isEmpty()) {
+                this.store.append(rates);
+            }
+        } catch (InnerException | RuntimeException cause) {
+            success = false;
+            cause.printStackTrace();
+        }
+
+        /* Acquittement */
+        synchronized (this) {
+            for (Submission submission : batch) {
+                submission.processed = true;
+                submission.failed = !success;
+            }
+            this.notifyAll();
+        }
+    }
+
+    /**
+     *  Attend l'enregistrement d'un taux.
+     *  @param submission Taux soumis.
+     *  @param check Indique si un échec d'enregistrement doit etre remonté.
+     *  @throws InnerException En cas d'échec de l'enregistrement ou d'interruption.
+     */
+    private synchronized void await(Submission submission, boolean check) throws InnerException {
+        try {
+            while (!submission.processed) {
+                this.wait();
+            }
+        } catch (InterruptedException cause) {
+            Thread.currentThread().interrupt();
+            throw new InnerException(cause, "Interrupted while waiting for rate persistence");
+        }
+        if (check && submission.failed) {
+            throw new InnerException("Failed to persist rate #%d", submission.sequence);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.akasoft.poneyrox.configuration;
+
+import com.akasoft.poneyrox.dao.RateDAO;
+import com.akasoft.poneyrox.dao.rates.ArchivingRateStore;
+import com.akasoft.poneyrox.dao.rates.HibernateRateStore;
+import com.akasoft.poneyrox.dao.rates.JournalRateStore;
+import com.akasoft.poneyrox.dao.rates.RateStoreITF;
+import com.akasoft.poneyrox.dao.rates.RateStoreType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ *  Configuration du stockage des taux.
+ */
+@Configuration
+public class RateStoreConfiguration {
+    /**
+     *  Type de stockage utilisé.
+     */
+    public static final RateStoreType TYPE = RateStoreType.HIBERNATE;
+
+    /**
+     *  Indicateur d'archivage des périodes closes.
+     */
+    public static final boolean ARCHIVE = true;
+
+    /**
+     *  Crée le stockage des taux.
+     *  @param dao DAO des taux.
+     *  @return Stockage des taux.
+     */
+    @Bean(destroyMethod = "close")
+    public RateStoreITF rateStore(@Autowired RateDAO dao) {
+        RateStoreITF store;
+        switch (TYPE) {
+            case JOURNAL:
+                store = new JournalRateStore();
+                break;
+            case HIBERNATE:
+            default:
+                store = new HibernateRateStore(dao);
+                break;
+        }
+        return ARCHIVE ? new ArchivingRateStore(store) : store;
+    }
+}
@@ -12,6 +12,11 @@ import java.util.Properties;
  */
 @Configuration
 public class SessionFactoryConfiguration extends LocalSessionFactoryBean {
+    /**
+     *  Taille des lots d'insertion JDBC.
+     */
+    public static final int BATCH_SIZE = 50;
+
     /**
      *  Constructeur.
      *  @param dataSource Source des données.
@@ -22,7 +27,9 @@ public class SessionFactoryConfiguration extends LocalSessionFactoryBean {
         properties.put("hibernate.default_schema", "public");
         properties.put("hibernate.dialect", "org.hibernate.dialect.PostgreSQL95Dialect");
         properties.put("hibernate.show_sql", "false");
-        properties.put("hibernate.hbm2ddl.auto", "create");
+        properties.put("hibernate.hbm2ddl.auto", "update");
+        properties.put("hibernate.jdbc.batch_size", String.valueOf(BATCH_SIZE));
+        properties.put("hibernate.order_inserts", "true");
 
         /* Définition de l'objet */
         super.setDataSource(dataSource);
@@ -44,18 +44,22 @@ public class AddTimelineController {
 
     /**
      *  Initialisation.
+     *  Les éléments du point de reprise rattachés à des lignes inactives sont abandonnés une fois les lignes chargées.
      *  @throws InnerException En cas d'erreur lors de l'ajout.
      */
     @PostConstruct
     public void postConstruct() throws InnerException {
         for (TimelineEntity timeline : this.dao.getByActivity(true)) {
-            this.manager.getWatcher().watch(timeline.getMarket());
             this.manager.addTimeline(timeline);
+            this.manager.getWatcher().watch(timeline.getMarket());
         }
+        this.manager.pruneRestored();
     }
 
     /**
      *  Exécution.
+     *  La réponse n'est renvoyée qu'une fois les courbes de la ligne reconstituées à partir de l'historique des taux,
+     *  rejoué dans le thread de la requête.
      *  @param timeline Entité modèle.
      *  @return Entitée insérée.
      *  @throws InnerException En cas d'erreur lors de l'ajout.
@@ -64,8 +68,8 @@ public class AddTimelineController {
     @JsonView(TimelineViews.Public.class)
     public TimelineEntity execute(@RequestBody TimelineEntity timeline) throws InnerException {
         TimelineEntity result = this.dao.persistTimeline(timeline.getMarket(), timeline.getLabel(), timeline.getSize(), true);
-        this.manager.getWatcher().watch(timeline.getMarket());
         this.manager.addTimeline(result);
+        this.manager.getWatcher().watch(timeline.getMarket());
         return result;
     }
 }
@@ -0,0 +1,248 @@
+package com.akasoft.poneyrox.core.checkpoint;
+
+import com.akasoft.poneyrox.core.time.cells.RawAggregate;
+import com.akasoft.poneyrox.core.time.cells.RawCellState;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ *  Point de reprise du moteur.
+ *  Etat en mémoire nécessaire à une reprise rapide : cellules brutes des lignes temporelles (les clusters et les
+ *  courbes lissées s'en déduisant) et entrées en cours de suivi. Le fichier comporte une entête (marqueur, version,
+ *  date de création) suivie des lignes temporelles puis des entrées suivies.
+ */
+public class EngineCheckpoint {
+    /**
+     *  Marqueur de fichier.
+     */
+    private static final int MAGIC = 0x504E5943;
+
+    /**
+     *  Version du format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     *  Date de création.
+     */
+    private final long created;
+
+    /**
+     *  Cellules brutes, indexées par identifiant de ligne temporelle.
+     */
+    private final Map<UUID, List<RawCellState>> timelines;
+
+    /**
+     *  Entrées suivies.
+     */
+    private final List<FollowedEntry> followed;
+
+    /**
+     *  Constructeur.
+     *  @param created Date de création.
+     */
+    public EngineCheckpoint(long created) {
+        this.created = created;
+        this.timelines = new HashMap<>();
+        this.followed = new ArrayList<>();
+    }
+
+    /**
+     *  Retourne la date de création.
+     *  @return Date de création.
+     */
+    public long getCreated() {
+        return this.created;
+    }
+
+    /**
+     *  Retourne les identifiants des lignes temporelles enregistrées.
+     *  @return Copie de la liste des identifiants.
+     */
+    public synchronized List<UUID> getTimelines() {
+        return new ArrayList<>(this.timelines.keySet());
+    }
+
+    /**
+     *  Retourne les cellules brutes d'une ligne temporelle.
+     *  @param timeline Identifiant de la ligne.
+     *  @return Cellules par ordre chronologique (vide si la ligne n'est pas enregistrée).
+     */
+    public synchronized List<RawCellState> getCells(UUID timeline) {
+        List<RawCellState> result = this.timelines.get(timeline);
+        return result == null ? new ArrayList<>() : result;
+    }
+
+    /**
+     *  Retourne les entrées suivies.
+     *  @return Copie de la liste des entrées.
+     */
+    public synchronized List<FollowedEntry> getFollowed() {
+        return new ArrayList<>(this.followed);
+    }
+
+    /**
+     *  Retourne les entrées suivies d'une ligne temporelle.
+     *  @param timeline Identifiant de la ligne.
+     *  @return Liste des entrées.
+     */
+    public synchronized List<FollowedEntry> getFollowed(UUID timeline) {
+        List<FollowedEntry> result = new ArrayList<>();
+        for (FollowedEntry entry : this.followed) {
+            if (entry.getTimeline().equals(timeline)) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    /**
+     *  Enregistre les cellules brutes d'une ligne temporelle.
+     *  @param timeline Identifiant de la ligne.
+     *  @param cells Cellules par ordre chronologique.
+     */
+    public synchronized void addCells(UUID timeline, List<RawCellState> cells) {
+        this.timelines.put(timeline, cells);
+    }
+
+    /**
+     *  Enregistre une entrée suivie.
+     *  @param entry Entrée enregistrée.
+     */
+    public synchronized void addFollowed(FollowedEntry entry) {
+        this.followed.add(entry);
+    }
+
+    /**
+     *  Retire une ligne temporelle et ses entrées suivies.
+     *  @param timeline Identifiant de la ligne.
+     */
+    public synchronized void remove(UUID timeline) {
+        this.timelines.remove(timeline);
+        this.followed.removeIf(e -> e.getTimeline().equals(timeline));
+    }
+
+    /**
+     *  Ecrit le point de reprise.
+     *  Le fichier est écrit sous un nom temporaire puis renommé, de sorte que le fichier visible est toujours complet.
+     *  @param path Chemin du fichier.
+     *  @throws IOException En cas d'erreur d'écriture.
+     */
+    public synchronized void write(Path path) throws IOException {
+        /* Ecriture */
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = directory.resolve(path.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            /* Entête */
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(this.created);
+
+            /* Lignes temporelles */
+            output.writeInt(this.timelines.size());
+            for (Map.Entry<UUID, List<RawCellState>> timeline : this.timelines.entrySet()) {
+                EngineCheckpoint.writeId(output, timeline.getKey());
+                output.writeInt(timeline.getValue().size());
+                for (RawCellState cell : timeline.getValue()) {
+                    output.writeLong(cell.getStart());
+                    output.writeLong(cell.getSourceTime());
+                    output.writeDouble(cell.getSourceAsk());
+                    output.writeDouble(cell.getSourceBid());
+                    cell.getAggregate().write(output);
+                }
+            }
+
+            /* Entrées suivies */
+            output.writeInt(this.followed.size());
+            for (FollowedEntry entry : this.followed) {
+                output.writeByte(entry.getKind().ordinal());
+                EngineCheckpoint.writeId(output, entry.getTimeline());
+                output.writeInt(entry.getSmooth());
+                EngineCheckpoint.writeId(output, entry.getId());
+            }
+        }
+
+        /* Remplacement */
+        Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     *  Lit un point de reprise.
+     *  @param path Chemin du fichier.
+     *  @return Point de reprise, ou null si le fichier n'existe pas.
+     *  @throws IOException En cas d'erreur de lecture ou de fichier invalide.
+     */
+    public static EngineCheckpoint read(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            /* Entête */
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Invalid checkpoint " + path);
+            }
+            EngineCheckpoint result = new EngineCheckpoint(input.readLong());
+
+            /* Lignes temporelles */
+            int timelines = input.readInt();
+            for (int i = 0; i < timelines; i++) {
+                UUID timeline = EngineCheckpoint.readId(input);
+                int count = input.readInt();
+                List<RawCellState> cells = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    long start = input.readLong();
+                    long time = input.readLong();
+                    double ask = input.readDouble();
+                    double bid = input.readDouble();
+                    cells.add(new RawCellState(start, time, ask, bid, RawAggregate.read(input)));
+                }
+                result.addCells(timeline, cells);
+            }
+
+            /* Entrées suivies */
+            FollowedKind[] kinds = FollowedKind.values();
+            int followed = input.readInt();
+            for (int i = 0; i < followed; i++) {
+                FollowedKind kind = kinds[input.readByte()];
+                UUID timeline = EngineCheckpoint.readId(input);
+                int smooth = input.readInt();
+                result.addFollowed(new FollowedEntry(kind, timeline, smooth, EngineCheckpoint.readId(input)));
+            }
+            return result;
+        }
+    }
+
+    /**
+     *  Ecrit un identifiant.
+     *  @param output Flux de sortie.
+     *  @param id Identifiant écrit.
+     *  @throws IOException En cas d'erreur d'écriture.
+     */
+    private static void writeId(DataOutputStream output, UUID id) throws IOException {
+        output.writeLong(id.getMostSignificantBits());
+        output.writeLong(id.getLeastSignificantBits());
+    }
+
+    /**
+     *  Lit un identifiant.
+     *  @param input Flux d'entrée.
+     *  @return Identifiant lu.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    private static UUID readId(DataInputStream input) throws IOException {
+        return new UUID(input.readLong(), input.readLong());
+    }
+}
@@ -0,0 +1,75 @@
+package com.akasoft.poneyrox.core.checkpoint;
+
+import java.util.UUID;
+
+/**
+ *  Entrée suivie.
+ *  Référence d'une position ou d'une transaction en cours de suivi, rattachée à la courbe qui l'a produite.
+ */
+public class FollowedEntry {
+    /**
+     *  Nature de l'entrée.
+     */
+    private final FollowedKind kind;
+
+    /**
+     *  Identifiant de la ligne temporelle.
+     */
+    private final UUID timeline;
+
+    /**
+     *  Niveau de lissage de la courbe.
+     */
+    private final int smooth;
+
+    /**
+     *  Identifiant de l'entité suivie.
+     */
+    private final UUID id;
+
+    /**
+     *  Constructeur.
+     *  @param kind Nature de l'entrée.
+     *  @param timeline Identifiant de la ligne temporelle.
+     *  @param smooth Niveau de lissage de la courbe.
+     *  @param id Identifiant de l'entité suivie.
+     */
+    public FollowedEntry(FollowedKind kind, UUID timeline, int smooth, UUID id) {
+        this.kind = kind;
+        this.timeline = timeline;
+        this.smooth = smooth;
+        this.id = id;
+    }
+
+    /**
+     *  Retourne la nature de l'entrée.
+     *  @return Nature.
+     */
+    public FollowedKind getKind() {
+        return this.kind;
+    }
+
+    /**
+     *  Retourne l'identifiant de la ligne temporelle.
+     *  @return Identifiant.
+     */
+    public UUID getTimeline() {
+        return this.timeline;
+    }
+
+    /**
+     *  Retourne le niveau de lissage de la courbe.
+     *  @return Niveau de lissage.
+     */
+    public int getSmooth() {
+        return this.smooth;
+    }
+
+    /**
+     *  Retourne l'identifiant de l'entité suivie.
+     *  @return Identifiant.
+     */
+    public UUID getId() {
+        return this.id;
+    }
+}
@@ -0,0 +1,21 @@
+package com.akasoft.poneyrox.core.checkpoint;
+
+/**
+ *  Nature d'une entrée suivie.
+ */
+public enum FollowedKind {
+    /**
+     *  Simulation aléatoire.
+     */
+    RANDOM,
+
+    /**
+     *  Simulation ciblée.
+     */
+    TARGETED,
+
+    /**
+     *  Transaction virtuelle.
+     */
+    VIRTUAL
+}
@@ -1,6 +1,7 @@
 package com.akasoft.poneyrox.core.mixins.artifacts;
 
 import com.akasoft.poneyrox.core.strategies.categories.AbstractStrategy;
+import com.akasoft.poneyrox.core.strategies.signals.StrategySignal;
 
 /**
  *  Artefact.
@@ -9,9 +10,9 @@ import com.akasoft.poneyrox.core.strategies.categories.AbstractStrategy;
  */
 public abstract class AbstractArtifact {
     /**
-     *  Stratégie liée.
+     *  Signal de la stratégie liée.
      */
-    private AbstractStrategy strategy;
+    private final StrategySignal signal;
 
     /**
      *  Liste des opérations validables.
@@ -27,10 +28,10 @@ public abstract class AbstractArtifact {
 
     /**
      *  Constructeur.
-     *  @param strategy Stratégie intégrée.
+     *  @param signal Signal de la stratégie intégrée.
      */
-    public AbstractArtifact(AbstractStrategy strategy) {
-        this.strategy = strategy;
+    public AbstractArtifact(StrategySignal signal) {
+        this.signal = signal;
         this.authorizations = new boolean[2];
         this.validations = new boolean[2];
         this.clearValidations();
@@ -51,7 +52,15 @@ public abstract class AbstractArtifact {
      *  @return Stratégie rattachée.
      */
     public AbstractStrategy getStrategy() {
-        return this.strategy;
+        return this.signal.getStrategy();
+    }
+
+    /**
+     *  Retourne le signal de la stratégie rattachée.
+     *  @return Signal.
+     */
+    public StrategySignal getSignal() {
+        return this.signal;
     }
 
     /**
@@ -1,8 +1,8 @@
 package com.akasoft.poneyrox.core.mixins.artifacts;
 
-import com.akasoft.poneyrox.core.strategies.categories.AbstractStrategy;
 import com.akasoft.poneyrox.core.strategies.interfaces.EnterLongITF;
 import com.akasoft.poneyrox.core.strategies.interfaces.EnterShortITF;
+import com.akasoft.poneyrox.core.strategies.signals.StrategySignal;
 
 /**
  *  Artefact d'entrée.
@@ -11,10 +11,10 @@ public class EntryArtifact extends AbstractArtifact {
 
     /**
      *  Constructeur.
-     *  @param strategy Stratégie analysée.
+     *  @param signal Signal de la stratégie analysée.
      */
-    public EntryArtifact(AbstractStrategy strategy) {
-        super(strategy);
+    public EntryArtifact(StrategySignal signal) {
+        super(signal);
         this.compute();
     }
 
@@ -39,13 +39,13 @@ public class EntryArtifact extends AbstractArtifact {
     private void compute() {
         if (super.getStrategy() instanceof EnterLongITF) {
             this.setAuthorization(0, true);
-            this.setValidation(0, ((EnterLongITF) super.getStrategy()).mustEnterLong());
+            this.setValidation(0, super.getSignal().isEnterLong());
         }
 
         /* Entrée en mode cours */
         if (super.getStrategy() instanceof EnterShortITF) {
             this.setAuthorization(1, true);
-            this.setValidation(1, ((EnterShortITF) super.getStrategy()).mustEnterShort());
+            this.setValidation(1, super.getSignal().isEnterShort());
         }
     }
 }
@@ -1,8 +1,8 @@
 package com.akasoft.poneyrox.core.mixins.artifacts;
 
-import com.akasoft.poneyrox.core.strategies.categories.AbstractStrategy;
 import com.akasoft.poneyrox.core.strategies.interfaces.ExitLongITF;
 import com.akasoft.poneyrox.core.strategies.interfaces.ExitShortITF;
+import com.akasoft.poneyrox.core.strategies.signals.StrategySignal;
 import com.akasoft.poneyrox.entities.positions.PositionEntity;
 
 /**
@@ -16,10 +16,10 @@ public class ExitArtifact extends AbstractArtifact {
 
     /**
      *  Constructeur.
-     *  @param strategy Stratégie.
+     *  @param signal Signal de la stratégie.
      */
-    public ExitArtifact(AbstractStrategy strategy) {
-        super(strategy);
+    public ExitArtifact(StrategySignal signal) {
+        super(signal);
         this.random = Math.random();
         this.affect();
     }
@@ -52,10 +52,10 @@ public class ExitArtifact extends AbstractArtifact {
      */
     public void compute(PositionEntity position) {
         if (super.getStrategy() instanceof ExitLongITF) {
-            super.setValidation(0, ((ExitLongITF) super.getStrategy()).mustExitLong(position.getEntry()));
+            super.setValidation(0, super.getSignal().mustExitLong(position.getEntry()));
         }
         if (super.getStrategy() instanceof ExitShortITF) {
-            super.setValidation(1, ((ExitShortITF) super.getStrategy()).mustExitShort(position.getEntry()));
+            super.setValidation(1, super.getSignal().mustExitShort(position.getEntry()));
         }
     }
 }
@@ -3,8 +3,6 @@ package com.akasoft.poneyrox.core.mixins.batch;
 import com.akasoft.poneyrox.core.mixins.artifacts.EntryArtifact;
 import com.akasoft.poneyrox.core.mixins.artifacts.ExitArtifact;
 import com.akasoft.poneyrox.core.strategies.categories.AbstractStrategy;
-import com.akasoft.poneyrox.core.strategies.interfaces.EnterLongITF;
-import com.akasoft.poneyrox.core.strategies.interfaces.EnterShortITF;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
 
 import java.util.ArrayList;
@@ -46,14 +44,14 @@ public class EntryBatch<TStrategy extends AbstractStrategy> extends AbstractBatc
 
         /* Placement en tete des entrées validantes */
         List<EntryArtifact> valid = buffer.stream()
-                .filter(artifact -> ((EnterLongITF) artifact.getStrategy()).mustEnterLong())
+                .filter(artifact -> artifact.getSignal().isEnterLong())
                 .collect(Collectors.toList());
         Collections.shuffle(valid);
         result.addAll(valid);
 
         /* Placement en queue des entrées non-validantes */
         List<EntryArtifact> invalid = buffer.stream()
-                .filter(artifact -> !((EnterLongITF) artifact.getStrategy()).mustEnterLong())
+                .filter(artifact -> !artifact.getSignal().isEnterLong())
                 .collect(Collectors.toList());
         Collections.shuffle(invalid);
         result.addAll(invalid);
@@ -79,14 +77,14 @@ public class EntryBatch<TStrategy extends AbstractStrategy> extends AbstractBatc
 
         /* Placement en tete des entrées validantes */
         List<EntryArtifact> valid = buffer.stream()
-                .filter(artifact -> ((EnterShortITF) artifact.getStrategy()).mustEnterShort())
+                .filter(artifact -> artifact.getSignal().isEnterShort())
                 .collect(Collectors.toList());
         Collections.shuffle(valid);
         result.addAll(valid);
 
         /* Placement en queue des entrées non-validantes */
         List<EntryArtifact> invalid = buffer.stream()
-                .filter(artifact -> !((EnterShortITF) artifact.getStrategy()).mustEnterShort())
+                .filter(artifact -> !artifact.getSignal().isEnterShort())
                 .collect(Collectors.toList());
         Collections.shuffle(invalid);
         result.addAll(invalid);
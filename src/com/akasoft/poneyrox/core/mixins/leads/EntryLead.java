@@ -45,14 +45,14 @@ public class EntryLead extends AbstractLead<EntryArtifact> {
             if (mode) {
                 /* Traitement des longs */
                 if (strategy instanceof EnterLongITF) {
-                    longScore += ponderation * (((EnterLongITF) strategy).mustEnterLong() ? 1 : 0);
+                    longScore += ponderation * (artifact.getSignal().isEnterLong() ? 1 : 0);
                 } else {
                     longScore = 0;
                 }
             } else {
                 /* Traitement des cours */
                 if (strategy instanceof EnterShortITF) {
-                    shortScore += ponderation * (((EnterShortITF) strategy).mustEnterShort() ? 1 : 0);
+                    shortScore += ponderation * (artifact.getSignal().isEnterShort() ? 1 : 0);
                 } else {
                     shortScore = 0;
                 }
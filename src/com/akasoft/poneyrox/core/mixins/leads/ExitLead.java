@@ -48,14 +48,14 @@ public class ExitLead extends AbstractLead<ExitArtifact> {
             if (mode) {
                 /* Traitement des longs */
                 if (strategy instanceof ExitLongITF) {
-                    longScore += ponderation * (((ExitLongITF) strategy).mustExitLong(rate.getBid()) ? 1 : 0);
+                    longScore += ponderation * (artifact.getSignal().mustExitLong(rate.getBid()) ? 1 : 0);
                 } else {
                     longScore = 0;
                 }
             } else {
                 /* Traitement des cours */
                 if (strategy instanceof ExitShortITF) {
-                    shortScore += ponderation * (((ExitShortITF) strategy).mustExitShort(rate.getAsk()) ? 1 : 0);
+                    shortScore += ponderation * (artifact.getSignal().mustExitShort(rate.getAsk()) ? 1 : 0);
                 } else {
                     shortScore = 0;
                 }
@@ -1,12 +1,17 @@
 package com.akasoft.poneyrox.core.strategies.categories;
 
+import com.akasoft.poneyrox.core.strategies.interfaces.EnterLongITF;
+import com.akasoft.poneyrox.core.strategies.interfaces.EnterShortITF;
+import com.akasoft.poneyrox.core.strategies.interfaces.ExitLongITF;
+import com.akasoft.poneyrox.core.strategies.interfaces.ExitShortITF;
 import com.akasoft.poneyrox.core.strategies.interfaces.ObserverITF;
 import com.akasoft.poneyrox.core.strategies.interfaces.StrategyITF;
 import com.akasoft.poneyrox.core.strategies.parameters.AbstractParameter;
 import com.akasoft.poneyrox.core.strategies.parameters.VariationParameter;
 import com.akasoft.poneyrox.core.strategies.parameters.VariationType;
-import com.akasoft.poneyrox.core.time.cells.AbstractCell;
+import com.akasoft.poneyrox.core.strategies.signals.StrategySignal;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
 import com.akasoft.poneyrox.entities.positions.StrategyEntity;
 import com.akasoft.poneyrox.exceptions.InnerException;
 
@@ -19,7 +24,7 @@ import java.util.List;
  *  ou sortie de position.
  *  @param <TEntity> Type d'entité persistente rattachée à la stratégie.
  */
-public abstract class AbstractStrategy<TEntity extends StrategyEntity> implements StrategyITF<TEntity>, Cloneable {
+public abstract class AbstractStrategy<TEntity extends StrategyEntity> implements StrategyITF<TEntity> {
     /**
      *  Nom empirique.
      */
@@ -94,21 +99,18 @@ public abstract class AbstractStrategy<TEntity extends StrategyEntity> implement
     /**
      *  Exécute les opérations d'observation d'une courbe pouvant etre requise par la stratégie
      *  préalablement à l'évaluation. Met à jour l'indicateur de pertinence en conséquence.
-     *  @param builds Cellules consolidées préalablement extraites (performance).
      *  @param curve Courbe observée.
+     *  @param series Séries primitives de l'instantané évalué.
      */
-    public void observe(AbstractCurve curve, List<AbstractCell> builds) {
+    public void observe(AbstractCurve curve, CurveSeries series) {
         if (this instanceof ObserverITF) {
             /* Conversion */
             ObserverITF obs = (ObserverITF) this;
 
             /* Vérification du recul */
-            if (obs.size() <= builds.size()) {
-                /* Sélection de la sous-liste de cellules */
-                List<AbstractCell> sub = builds.subList(builds.size() - obs.size(), builds.size());
-
-                /* Consolidation */
-                obs.consolidate(curve, sub);
+            if (obs.size() <= series.size()) {
+                /* Consolidation sur les dernières positions */
+                obs.consolidate(curve, series, series.size() - obs.size(), series.size());
 
                 /* Renvoi */
                 this.pertinent = true;
@@ -122,6 +124,46 @@ public abstract class AbstractStrategy<TEntity extends StrategyEntity> implement
         }
     }
 
+    /**
+     *  Emet le signal correspondant à la dernière évaluation.
+     *  Les décisions sont figées au moment de l'appel : le signal reste valide lorsque l'instance est réévaluée sur
+     *  un instantané ultérieur, sans qu'il soit nécessaire de la copier.
+     *  @return Signal.
+     */
+    public StrategySignal signal() {
+        return new StrategySignal(
+                this,
+                this.pertinent,
+                this instanceof EnterLongITF && ((EnterLongITF) this).mustEnterLong(),
+                this instanceof EnterShortITF && ((EnterShortITF) this).mustEnterShort(),
+                this instanceof ExitLongITF && ((ExitLongITF) this).mustExitLong(Double.NaN),
+                this instanceof ExitShortITF && ((ExitShortITF) this).mustExitShort(Double.NaN),
+                Double.NaN,
+                Double.NaN);
+    }
+
+    /**
+     *  Indique si un signal valide la sortie d'une position longue.
+     *  Par défaut, la décision ne dépend pas du cout d'entrée et est lue dans le signal.
+     *  @param signal Signal émis par la stratégie.
+     *  @param entry Cout à l'entrée.
+     *  @return Validation.
+     */
+    public boolean mustExitLong(StrategySignal signal, double entry) {
+        return signal.isExitLong();
+    }
+
+    /**
+     *  Indique si un signal valide la sortie d'une position courte.
+     *  Par défaut, la décision ne dépend pas du cout d'entrée et est lue dans le signal.
+     *  @param signal Signal émis par la stratégie.
+     *  @param entry Cout à l'entrée.
+     *  @return Validation.
+     */
+    public boolean mustExitShort(StrategySignal signal, double entry) {
+        return signal.isExitShort();
+    }
+
     /**
      *  Retourne la liste des paramètres initiaux rattachés à la stratégie.
      *  @return Liste des paramètres.
@@ -150,12 +192,6 @@ public abstract class AbstractStrategy<TEntity extends StrategyEntity> implement
         }
     }
 
-    /**
-     *  Retourne une copie de la stratégie.
-     *  @return Copie de l'objet.
-     */
-    public abstract AbstractStrategy<TEntity> clone();
-
     /**
      *  Réalise la sérialisation spécifique.
      *  @return Entité générée.
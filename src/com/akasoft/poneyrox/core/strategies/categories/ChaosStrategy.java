@@ -1,10 +1,10 @@
 package com.akasoft.poneyrox.core.strategies.categories;
 
 import com.akasoft.poneyrox.core.strategies.interfaces.*;
+import com.akasoft.poneyrox.core.strategies.kernels.ChaosKernel;
 import com.akasoft.poneyrox.core.strategies.parameters.*;
-import com.akasoft.poneyrox.core.time.cells.AbstractCell;
-import com.akasoft.poneyrox.core.time.clusters.Cluster;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
 import com.akasoft.poneyrox.entities.strategies.ChaosStrategyEntity;
 import com.akasoft.poneyrox.exceptions.InnerException;
 
@@ -87,15 +87,6 @@ public class ChaosStrategy extends AbstractStrategy<ChaosStrategyEntity> impleme
         this.artifact = false;
     }
 
-    /**
-     *  Constructeur de copie.
-     *  @param source Objet copié.
-     */
-    private ChaosStrategy(ChaosStrategy source) {
-        this(source.getSize(), source.getFloor(), source.getType());
-        this.artifact = source.getArtifact();
-    }
-
     /**
      *  Retourne le type de stratégie.
      *  @return Type.
@@ -188,46 +179,16 @@ public class ChaosStrategy extends AbstractStrategy<ChaosStrategyEntity> impleme
 
     /**
      *  Réalise l'analyse d'une courbe.
+     *  Les écarts de la fenêtre sont calculés une seule fois pour l'ensemble des instances de meme coté, variation et
+     *  taille ; seule la comparaison au seuil est propre à l'instance.
      *  @param curve Courbe traitée.
-     *  @param cells Liste des cellules exploitées.
+     *  @param series Séries primitives de l'instantané évalué.
+     *  @param from Position de la première cellule exploitée (incluse).
+     *  @param to Position de la dernière cellule exploitée (exclue).
      */
     @Override
-    public void consolidate(AbstractCurve curve, List<AbstractCell> cells) {
-        double minimum = Double.MAX_VALUE;
-        double maximum = 0;
-        double[] spaces = new double[this.size];
-        for (int i = 1; i < cells.size(); i++) {
-            /* Sélection du noeud */
-            Cluster previousCluster, currentCluster;
-            if (this.type) {
-                previousCluster = cells.get(i - 1).getAsk();
-                currentCluster = cells.get(i).getAsk();
-            } else {
-                previousCluster = cells.get(i - 1).getBid();
-                currentCluster = cells.get(i).getBid();
-            }
-
-            /* Sélection des taux */
-            double previousRate = VariationParameter.getRateByVariation(previousCluster, this.getMode());
-            double currentRate = VariationParameter.getRateByVariation(currentCluster, this.getMode());
-
-            /* Prise en compte */
-            if (previousRate < minimum) {
-                minimum = previousRate;
-            }
-            if (previousRate > maximum) {
-                maximum = previousRate;
-            }
-            spaces[i - 1] = Math.abs(currentRate - previousRate);
-        }
-        double diff = maximum - minimum;
-
-        /* Comparaison */
-        this.artifact = false;
-        for (int i = 0; i < this.size && !this.artifact; i++) {
-            double percent = (spaces[i] / diff) * 100;
-            this.artifact = percent > this.floor;
-        }
+    public void consolidate(AbstractCurve curve, CurveSeries series, int from, int to) {
+        this.artifact = ChaosKernel.of(curve, series, from, to, this.type, this.getMode()).exceeds(this.floor);
     }
 
     /**
@@ -268,15 +229,6 @@ public class ChaosStrategy extends AbstractStrategy<ChaosStrategyEntity> impleme
         return this.artifact;
     }
 
-    /**
-     *  Retourne une copie de l'objet.
-     *  @return Copie de l'objet.
-     */
-    @Override
-    public ChaosStrategy clone() {
-        return new ChaosStrategy(this);
-    }
-
     /**
      *  Conversion en chaine de caractères.
      *  @return Chaine descriptive.
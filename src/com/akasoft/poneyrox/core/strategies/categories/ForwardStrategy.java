@@ -5,13 +5,12 @@ import com.akasoft.poneyrox.core.strategies.interfaces.EnterShortITF;
 import com.akasoft.poneyrox.core.strategies.interfaces.ObserverITF;
 import com.akasoft.poneyrox.core.strategies.parameters.*;
 import com.akasoft.poneyrox.core.time.cells.AbstractCell;
-import com.akasoft.poneyrox.core.time.clusters.Cluster;
+import com.akasoft.poneyrox.core.time.clusters.ForwardProjection;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
 import com.akasoft.poneyrox.entities.strategies.ForwardStrategyEntity;
 import com.akasoft.poneyrox.entities.strategies.GrowthStrategyEntity;
 import com.akasoft.poneyrox.exceptions.InnerException;
-import net.finmath.marketdata.model.AnalyticModelInterface;
-import net.finmath.marketdata.model.curves.ForwardCurve;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -43,7 +42,7 @@ public class ForwardStrategy extends AbstractStrategy<ForwardStrategyEntity> imp
     /**
      *  Nombre maximum de cellules de retard.
      */
-    private static final int MAXIMUM_BACKWARD = 64;
+    public static final int MAXIMUM_BACKWARD = 64;
 
     /**
      *  Finesse des cellules de retard.
@@ -58,7 +57,7 @@ public class ForwardStrategy extends AbstractStrategy<ForwardStrategyEntity> imp
     /**
      *  Décalage maximum.
      */
-    private static final int MAXIMUM_OFFSET = 16;
+    public static final int MAXIMUM_OFFSET = 16;
 
     /**
      *  Finesse du décalage.
@@ -133,18 +132,6 @@ public class ForwardStrategy extends AbstractStrategy<ForwardStrategyEntity> imp
         this.difference = difference;
     }
 
-    /**
-     *  Constructeur par copie.
-     *  @param source Objet source.
-     */
-    public ForwardStrategy(ForwardStrategy source) {
-        this();
-        this.forward = source.getForward();
-        this.backward = source.getBackward();
-        this.offset = source.getOffset();
-        this.difference = source.getDifference();
-    }
-
     /**
      *  Retourne le nombre de cellules d'avance.
      *  @return Nombre de cellules d'avance.
@@ -243,31 +230,33 @@ public class ForwardStrategy extends AbstractStrategy<ForwardStrategyEntity> imp
     /**
      *  Intégration d'une liste de cellules.
      *  @param curve Courbe traitée.
-     *  @param cells Liste des cellules exploitées.
+     *  @param series Séries primitives de l'instantané évalué.
+     *  @param from Position de la première cellule exploitée (incluse).
+     *  @param to Position de la dernière cellule exploitée (exclue).
      */
     @Override
-    public void consolidate(AbstractCurve curve, List<AbstractCell> cells) {
+    public void consolidate(AbstractCurve curve, CurveSeries series, int from, int to) {
         /* Extraction de la taille des cellules */
         long size = curve.getEntity().getSize() * 1000;
 
-        /* Récupération de la cellule de départ de la courbe */
-        AbstractCell start = cells.get(0);
-        AbstractCell middle = cells.get(cells.size() - this.offset - 1);
+        /* Récupération des positions de départ et intermédiaire */
+        int start = from;
+        int middle = to - this.offset - 1;
 
         /* Calcul de l'instant évalué */
-        long target = middle.getMiddle() + ((this.offset + this.forward) * size);
+        long target = series.getStart(middle) + (size / 2) + ((this.offset + this.forward) * size);
 
         /* Recherche d'une cellule correspondant à l'instant évalué */
-        AbstractCell buffer = cells.get(cells.size() - 1);
-        AbstractCell end = null;
-        while (target < buffer.getStart() + size) {
+        int buffer = to - 1;
+        int end = -1;
+        while (buffer >= 0 && target < series.getStart(buffer) + size) {
             end = buffer;
-            buffer = buffer.getPrevious();
+            buffer--;
         }
 
         /* Affectation */
-        this.askScore = this.consolidateOne(true, start, middle, target, end);
-        this.bidScore = this.consolidateOne(false, start, middle, target, end);
+        this.askScore = this.consolidateOne(series, true, start, middle, target, end);
+        this.bidScore = this.consolidateOne(series, false, start, middle, target, end);
     }
 
     /**
@@ -288,15 +277,6 @@ public class ForwardStrategy extends AbstractStrategy<ForwardStrategyEntity> imp
         return this.askScore > this.difference;
     }
 
-    /**
-     *  Retourne une copie de l'objet.
-     *  @return Copie de l'objet.
-     */
-    @Override
-    public ForwardStrategy clone() {
-        return new ForwardStrategy(this);
-    }
-
     /**
      *  Conversion en chaine de caractères.
      *  @return Chaine descriptive.
@@ -313,27 +293,20 @@ public class ForwardStrategy extends AbstractStrategy<ForwardStrategyEntity> imp
 
     /**
      *  Consolidation du résultat pour un type de courbe.
+     *  @param series Séries primitives de l'instantané évalué.
      *  @param type Type évalué (true : offre, false : demande).
-     *  @param start Cellule de départ.
-     *  @param middle Cellule intermédiaire.
+     *  @param start Position de départ.
+     *  @param middle Position intermédiaire.
      *  @param target Point évalué.
-     *  @param end Cellule de fin si disponible.
-     */
-    private double consolidateOne(boolean type, AbstractCell start, AbstractCell middle, long target, AbstractCell end) {
-        /* Récupération des noeuds */
-        Cluster startCluster, middleCluster, endCluster;
-        if (type) {
-            startCluster = start.getAsk();
-            middleCluster = middle.getAsk();
-            endCluster = end == null ? null : end.getAsk();
-        } else {
-            startCluster = start.getBid();
-            middleCluster = middle.getBid();
-            endCluster = end == null ? null : end.getBid();
-        }
+     *  @param end Position de fin si disponible (ou -1).
+     */
+    private double consolidateOne(CurveSeries series, boolean type, int start, int middle, long target, int end) {
+        /* Récupération des taux */
+        double[] rates = series.getRates(type, super.getMode());
 
         /* Récupération de la courbe */
-        ForwardCurve fc = VariationParameter.getCurveByVariation(startCluster, super.getMode());
+        AbstractCell cell = series.getCell(start);
+        ForwardProjection fc = VariationParameter.getCurveByVariation(type ? cell.getAsk() : cell.getBid(), super.getMode());
 
         /* Vérification de disponibilité */
         if (fc != null) {
@@ -345,11 +318,11 @@ public class ForwardStrategy extends AbstractStrategy<ForwardStrategyEntity> imp
              * dernière et les prévisions initiales.
              * Sinon, le calcul s'effectue sur la base de la croissance moyenne entre le point de départ et le point
              * intermédiaire, en comparaison des prévisions initiales. */
-            double startRate = VariationParameter.getRateByVariation(startCluster, super.getMode());
+            double startRate = rates[start];
             double endRate = 0;
-            if (end == null) {
+            if (end < 0) {
             /* Récupération du taux intermédiaire */
-                double middleRate = VariationParameter.getRateByVariation(middleCluster, super.getMode());
+                double middleRate = rates[middle];
 
             /* Calcul de l'évolution */
                 double evolution = (middleRate - startRate) / this.backward;
@@ -358,7 +331,7 @@ public class ForwardStrategy extends AbstractStrategy<ForwardStrategyEntity> imp
                 endRate = middleRate + (evolution * this.forward);
             } else {
             /* Calcul direct du taux en fin */
-                endRate = VariationParameter.getRateByVariation(endCluster, super.getMode());
+                endRate = rates[end];
             }
 
             /* Calcul du score */
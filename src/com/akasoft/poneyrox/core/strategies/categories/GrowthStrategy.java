@@ -1,10 +1,10 @@
 package com.akasoft.poneyrox.core.strategies.categories;
 
 import com.akasoft.poneyrox.core.strategies.interfaces.*;
+import com.akasoft.poneyrox.core.strategies.kernels.GrowthKernel;
 import com.akasoft.poneyrox.core.strategies.parameters.*;
-import com.akasoft.poneyrox.core.time.cells.AbstractCell;
-import com.akasoft.poneyrox.core.time.clusters.Cluster;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
 import com.akasoft.poneyrox.entities.strategies.GrowthStrategyEntity;
 import com.akasoft.poneyrox.exceptions.InnerException;
 
@@ -72,14 +72,14 @@ public class GrowthStrategy extends AbstractStrategy<GrowthStrategyEntity> imple
     private double maxArtifact;
 
     /**
-     *  Vérifications en croissance.
+     *  Plus faible variation en croissance constatée sur la période.
      */
-    private double[] upArtifact;
+    private double upArtifact;
 
     /**
-     *  Vérifications en décroissance.
+     *  Plus forte variation en décroissance constatée sur la période.
      */
-    private double[] downArtifact;
+    private double downArtifact;
 
     /**
      *  Consolidation en croissance.
@@ -111,26 +111,12 @@ public class GrowthStrategy extends AbstractStrategy<GrowthStrategyEntity> imple
         this.level = level;
         this.minArtifact = 0;
         this.maxArtifact = 0;
-        this.upArtifact = new double[0];
-        this.downArtifact = new double[0];
+        this.upArtifact = Double.POSITIVE_INFINITY;
+        this.downArtifact = Double.NEGATIVE_INFINITY;
         this.upState = false;
         this.downState = false;
     }
 
-    /**
-     *  Constructeur par copie.
-     *  @param source Objet source.
-     */
-    private GrowthStrategy(GrowthStrategy source) {
-        this(source.getType(), source.getSize(), source.getLevel());
-        this.minArtifact = source.getMinArtifact();
-        this.maxArtifact = source.getMaxArtifact();
-        this.upArtifact = source.getUpArtifact();
-        this.downArtifact = source.getDownArtifact();
-        this.upState = source.isUpState();
-        this.downState = source.isDownState();
-    }
-
     /**
      *  Retourne le type.
      *  @return Type.
@@ -173,17 +159,17 @@ public class GrowthStrategy extends AbstractStrategy<GrowthStrategyEntity> imple
 
     /**
      *  Retourne l'artefact des augmentations de taux.
-     *  @return Artefact des augmentations.
+     *  @return Plus faible variation en croissance, en pourcentage.
      */
-    public double[] getUpArtifact() {
+    public double getUpArtifact() {
         return this.upArtifact;
     }
 
     /**
      *  Retourne l'artefact des baisses de taux.
-     *  @return Artefact des baisses.
+     *  @return Plus forte variation en décroissance, en pourcentage.
      */
-    public double[] getDownArtifact() {
+    public double getDownArtifact() {
         return this.downArtifact;
     }
 
@@ -264,39 +250,18 @@ public class GrowthStrategy extends AbstractStrategy<GrowthStrategyEntity> imple
     /**
      *  Intégration d'une liste de cellules.
      *  @param curve Courbe traitée.
-     *  @param cells Liste des cellules exploitées.
+     *  @param series Séries primitives de l'instantané évalué.
+     *  @param from Position de la première cellule exploitée (incluse).
+     *  @param to Position de la dernière cellule exploitée (exclue).
      */
     @Override
-    public void consolidate(AbstractCurve curve, List<AbstractCell> cells) {
-        /* Initialisation des artefacts */
-        this.upArtifact = new double[this.size - 1];
-        this.downArtifact = new double[this.size - 1];
-        this.minArtifact = Double.MAX_VALUE;
-        this.maxArtifact = 0;
-        this.upState = false;
-        this.downState = false;
-
-        /* Calcul des artefacts */
-        for (int i = 0; i < cells.size(); i++) {
-            /* Récupération du taux pour la cellule courante */
-            Cluster currentCluster = this.type ? cells.get(i).getAsk() : cells.get(i).getBid();
-            double currentRate = VariationParameter.getRateByVariation(currentCluster, this.getMode());
-
-            /* Gestion du minimum/maximum constaté */
-            this.minArtifact = this.minArtifact > currentRate ? currentRate : this.minArtifact;
-            this.maxArtifact = this.maxArtifact < currentRate ? currentRate : this.maxArtifact;
-
-            /* Traitements principal */
-            if (i > 0) {
-                /* Récupération du taux pour la cellule précédente */
-                Cluster previousCluster = this.type ? cells.get(i - 1).getAsk() : cells.get(i - 1).getBid();
-                double previousRate = VariationParameter.getRateByVariation(previousCluster, this.getMode());
-
-                /* Comparaison */
-                this.upArtifact[i - 1] = ((currentRate / previousRate) - 1) * 100;
-                this.downArtifact[i - 1] = ((previousRate / currentRate) - 1) * 100;
-            }
-        }
+    public void consolidate(AbstractCurve curve, CurveSeries series, int from, int to) {
+        /* Récupération des artefacts partagés */
+        GrowthKernel kernel = GrowthKernel.of(curve, series, from, to, this.type, this.getMode());
+        this.upArtifact = kernel.getUpMinimum();
+        this.downArtifact = kernel.getDownMaximum();
+        this.minArtifact = kernel.getMinimum();
+        this.maxArtifact = kernel.getMaximum();
 
         /* Calcul du pourcentage de marge maximum constaté sur la période */
         double difference = this.maxArtifact - this.minArtifact;
@@ -308,8 +273,8 @@ public class GrowthStrategy extends AbstractStrategy<GrowthStrategyEntity> imple
             this.upState = false;
             this.downState = false;
         } else {
-            this.upState = this.computeUp(target);
-            this.downState = this.computeDown(target);
+            this.upState = kernel.isUp(target);
+            this.downState = kernel.isDown(target);
         }
     }
 
@@ -351,45 +316,6 @@ public class GrowthStrategy extends AbstractStrategy<GrowthStrategyEntity> imple
         return !this.downState;
     }
 
-    /**
-     *  Indique si la stratégie est engagée sur une courbe croissante.
-     *  @param target Score ciblé.
-     *  @return Résultat du calcul.
-     */
-    private boolean computeUp(double target) {
-        /* Parcours */
-        for (double up : this.upArtifact) {
-            if (up < target) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    /**
-     *  Indique si la stratégie est engagée sur une courbe décroissante.
-     *  @param target Score ciblé.
-     *  @return Résultat du calcul.
-     */
-    private boolean computeDown(double target) {
-        /* Parcours */
-        for (double down : this.downArtifact) {
-            if (down > 0 - target) {
-                return false;
-            }
-        }
-        return true;
-    }
-
-    /**
-     *  Retourne une copie de l'objet.
-     *  @return Copie de l'objet.
-     */
-    @Override
-    public GrowthStrategy clone() {
-        return new GrowthStrategy(this);
-    }
-
     /**
      *  Conversion en chaine de caractères.
      *  @return Chaine descriptive.
@@ -5,9 +5,9 @@ import com.akasoft.poneyrox.core.strategies.interfaces.ExitShortITF;
 import com.akasoft.poneyrox.core.strategies.interfaces.ObserverITF;
 import com.akasoft.poneyrox.core.strategies.parameters.AbstractParameter;
 import com.akasoft.poneyrox.core.strategies.parameters.DoubleParameter;
-import com.akasoft.poneyrox.core.strategies.parameters.VariationParameter;
-import com.akasoft.poneyrox.core.time.cells.AbstractCell;
+import com.akasoft.poneyrox.core.strategies.signals.StrategySignal;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
 import com.akasoft.poneyrox.entities.strategies.MarginStrategyEntity;
 import com.akasoft.poneyrox.exceptions.InnerException;
 
@@ -68,11 +68,6 @@ public class MarginStrategy extends AbstractStrategy<MarginStrategyEntity> imple
      */
     private double bid;
 
-    /**
-     *  Différence entre l'offre et la demande au moment de l'évaluation.
-     */
-    private double space;
-
     /**
      *  Constructeur.
      */
@@ -93,17 +88,6 @@ public class MarginStrategy extends AbstractStrategy<MarginStrategyEntity> imple
         this.loss = loss;
     }
 
-    /**
-     *  Constructeur par copie.
-     *  @param source Objet copié.
-     */
-    private MarginStrategy(MarginStrategy source) {
-        this(source.getProfit(), source.getLoss());
-        this.ask = source.getAsk();
-        this.bid = source.getBid();
-        this.space = this.ask - this.bid;
-    }
-
     /**
      *  Retourne le pourcentage de profit maximum ciblé.
      *  @return Pourcentage de profit maximum.
@@ -182,13 +166,14 @@ public class MarginStrategy extends AbstractStrategy<MarginStrategyEntity> imple
     /**
      *  Traite une courbe.
      *  @param curve Courbe traitée.
-     *  @param cells Liste des cellules exploitées.
+     *  @param series Séries primitives de l'instantané évalué.
+     *  @param from Position de la première cellule exploitée (incluse).
+     *  @param to Position de la dernière cellule exploitée (exclue).
      */
     @Override
-    public void consolidate(AbstractCurve curve, List<AbstractCell> cells) {
-        this.ask = VariationParameter.getRateByVariation(cells.get(cells.size() - 1).getAsk(), this.getMode());
-        this.bid = VariationParameter.getRateByVariation(cells.get(cells.size() - 1).getBid(), this.getMode());
-        this.space = this.ask - this.bid;
+    public void consolidate(AbstractCurve curve, CurveSeries series, int from, int to) {
+        this.ask = series.getRates(true, this.getMode())[to - 1];
+        this.bid = series.getRates(false, this.getMode())[to - 1];
     }
 
     /**
@@ -207,10 +192,9 @@ public class MarginStrategy extends AbstractStrategy<MarginStrategyEntity> imple
      */
     @Override
     public boolean mustExitLong(double entry) {
-        return this.mustExit(entry, true);
+        return this.mustExit(this.ask, this.bid, entry, true);
     }
 
-
     /**
      *  Indique si la stratégie valide une sortie de position courte.
      *  @param entry Cout à l'entrée.
@@ -218,37 +202,65 @@ public class MarginStrategy extends AbstractStrategy<MarginStrategyEntity> imple
      */
     @Override
     public boolean mustExitShort(double entry) {
-        return this.mustExit(entry, false);
+        return this.mustExit(this.ask, this.bid, entry, false);
+    }
+
+    /**
+     *  Emet le signal correspondant à la dernière évaluation.
+     *  La sortie dépendant du cout d'entrée, les taux observés sont conservés dans le signal.
+     *  @return Signal.
+     */
+    @Override
+    public StrategySignal signal() {
+        return new StrategySignal(this, super.isPertinent(), false, false, false, false, this.ask, this.bid);
+    }
+
+    /**
+     *  Indique si un signal valide la sortie d'une position longue.
+     *  @param signal Signal émis par la stratégie.
+     *  @param entry Cout à l'entrée.
+     *  @return Validation.
+     */
+    @Override
+    public boolean mustExitLong(StrategySignal signal, double entry) {
+        return this.mustExit(signal.getAsk(), signal.getBid(), entry, true);
+    }
+
+    /**
+     *  Indique si un signal valide la sortie d'une position courte.
+     *  @param signal Signal émis par la stratégie.
+     *  @param entry Cout à l'entrée.
+     *  @return Validation.
+     */
+    @Override
+    public boolean mustExitShort(StrategySignal signal, double entry) {
+        return this.mustExit(signal.getAsk(), signal.getBid(), entry, false);
     }
 
     /**
      *  Indique si la stratégie valide une sortie de position.
+     *  @param ask Taux de la demande.
+     *  @param bid Taux de l'offre.
      *  @param entry Cout à l'entrée.
      *  @param mode Mode (true pour long, false pour court).
      *  @return Validation.
      */
-    private boolean mustExit(double entry, boolean mode) {
+    private boolean mustExit(double ask, double bid, double entry, boolean mode) {
+        /* Différence entre l'offre et la demande */
+        double space = ask - bid;
+
         /* Détermine si le pourcentage de profit dégagé dépasse l'objectif */
-        double winMargin = mode ? this.bid - entry : entry - this.ask;
-        boolean winResult = (winMargin / this.space) * 100 > this.profit;
+        double winMargin = mode ? bid - entry : entry - ask;
+        boolean winResult = (winMargin / space) * 100 > this.profit;
 
         /* Détermine si le pourcentage de perte dégagé dépasse l'objectif */
-        double looseMargin = mode ? entry - this.bid : this.ask - entry;
-        boolean looseResult = (looseMargin / this.space) * 100 > this.loss;
+        double looseMargin = mode ? entry - bid : ask - entry;
+        boolean looseResult = (looseMargin / space) * 100 > this.loss;
 
         /* Renvoi */
         return winResult || looseResult;
     }
 
-    /**
-     *  Retourne une copie de l'objet.
-     *  @return Copie de l'objet.
-     */
-    @Override
-    public MarginStrategy clone() {
-        return new MarginStrategy(this);
-    }
-
     /**
      *  Conversion en chaine de caractères.
      *  @return Chaine descriptive.
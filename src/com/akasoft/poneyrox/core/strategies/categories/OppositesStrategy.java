@@ -1,16 +1,16 @@
 package com.akasoft.poneyrox.core.strategies.categories;
 
 import com.akasoft.poneyrox.core.strategies.interfaces.*;
+import com.akasoft.poneyrox.core.strategies.kernels.OppositesKernel;
 import com.akasoft.poneyrox.core.strategies.parameters.*;
 import com.akasoft.poneyrox.core.time.cells.AbstractCell;
-import com.akasoft.poneyrox.core.time.clusters.Cluster;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
 import com.akasoft.poneyrox.entities.strategies.OppositesStrategyEntity;
 import com.akasoft.poneyrox.exceptions.InnerException;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  *  Stratégie de comparaison par les opposés.
@@ -25,7 +25,7 @@ public class OppositesStrategy extends AbstractStrategy<OppositesStrategyEntity>
     /**
      *  Taille maximum évaluée.
      */
-    private static final int SIZE_MAXIMUM = 160;
+    public static final int SIZE_MAXIMUM = 160;
 
     /**
      *  Finesse de l'évaluation de taille.
@@ -176,27 +176,6 @@ public class OppositesStrategy extends AbstractStrategy<OppositesStrategyEntity>
         this.exitingProximity = exitingProximity;
     }
 
-    /**
-     *  Constructeur par copie.
-     *  @param source Objet copié.
-     */
-    private OppositesStrategy(OppositesStrategy source) {
-        this(source.getSize(), source.isReverse(), source.getIncomingProximity(), source.getExitingProximity());
-        this.currentRate = source.getCurrentRate();
-        this.currentBidRate = source.getCurrentBidRate();
-        this.currentAskRate = source.getCurrentAskRate();
-        this.currentAskDirection = source.getCurrentAskDirection();
-        this.currentBidDirection = source.getCurrentBidDirection();
-        this.bidIncomingTops = new ArrayList<>(source.getBidIncomingTops());
-        this.bidIncomingBottoms = new ArrayList<>(source.getBidIncomingBottoms());
-        this.bidExitingTops = new ArrayList<>(source.getBidExitingTops());
-        this.bidExitingBottoms = new ArrayList<>(source.getBidExitingBottoms());
-        this.askIncomingTops = new ArrayList<>(source.getAskIncomingTops());
-        this.askIncomingBottoms = new ArrayList<>(source.getAskIncomingBottoms());
-        this.askExitingTops = new ArrayList<>(source.getAskExitingTops());
-        this.askExitingBottoms = new ArrayList<>(source.getAskExitingBottoms());
-    }
-
     /**
      *  Retourne le nombre de cellules évaluées.
      *  @return Nombre de cellules.
@@ -399,12 +378,15 @@ public class OppositesStrategy extends AbstractStrategy<OppositesStrategyEntity>
     /**
      *  Réalise l'analyse d'une courbe.
      *  @param curve Courbe traitée.
-     *  @param cells Liste des cellules exploitées.
+     *  @param series Séries primitives de l'instantané évalué.
+     *  @param from Position de la première cellule exploitée (incluse).
+     *  @param to Position de la dernière cellule exploitée (exclue).
      */
     @Override
-    public void consolidate(AbstractCurve curve, List<AbstractCell> cells) {
+    public void consolidate(AbstractCurve curve, CurveSeries series, int from, int to) {
         /* Récupération du dernier taux */
-        this.currentRate = cells.get(cells.size() - 1);
+        int last = to - 1;
+        this.currentRate = series.getCell(last);
 
         /* Nettoyage des données précédentes */
         this.bidIncomingTops.clear();
@@ -418,26 +400,34 @@ public class OppositesStrategy extends AbstractStrategy<OppositesStrategyEntity>
 
         /* Récupération du cours de l'offre */
          this.consolidateOne(
-                 cells.stream().map(e -> e.getBid()).collect(Collectors.toList()),
+                 curve,
+                 series,
+                 from,
+                 to,
+                 false,
                  this.bidIncomingTops,
                  this.bidIncomingBottoms,
                  this.bidExitingTops,
                  this.bidExitingBottoms);
          this.consolidateOne(
-                 cells.stream().map(e -> e.getAsk()).collect(Collectors.toList()),
+                 curve,
+                 series,
+                 from,
+                 to,
+                 true,
                  this.askIncomingTops,
                  this.askIncomingBottoms,
                  this.askExitingTops,
                  this.askExitingBottoms);
 
          /* Récupération des cours */
-         this.currentBidRate = VariationParameter.getRateByVariation(this.currentRate.getBid(), super.getMode());
-         this.currentAskRate = VariationParameter.getRateByVariation(this.currentRate.getAsk(), super.getMode());
+         this.currentBidRate = series.getRates(false, super.getMode())[last];
+         this.currentAskRate = series.getRates(true, super.getMode())[last];
 
          /* Récupération de la direction du cours.
           * Si le dernier élément de la courbe est un sommet, alors la courbe est considérée en croissance. */
-         this.currentBidDirection = VariationParameter.getTopByVariation(this.currentRate.getBid(), super.getMode());
-         this.currentAskDirection = VariationParameter.getTopByVariation(this.currentRate.getAsk(), super.getMode());
+         this.currentBidDirection = series.isOpposite(last, false, super.getMode(), true);
+         this.currentAskDirection = series.isOpposite(last, true, super.getMode(), true);
     }
 
     /**
@@ -550,15 +540,6 @@ public class OppositesStrategy extends AbstractStrategy<OppositesStrategyEntity>
         }
     }
 
-    /**
-     *  Retourne une copie de l'objet courant.
-     *  @return Copie de l'objet.
-     */
-    @Override
-    public OppositesStrategy clone() {
-        return new OppositesStrategy(this);
-    }
-
     /**
      *  Conversion en chaine de caractères.
      *  @return Chaine descriptive.
@@ -576,69 +557,35 @@ public class OppositesStrategy extends AbstractStrategy<OppositesStrategyEntity>
 
     /**
      *  Consolide une liste de noeuds.
-     *  @param source Liste des noeuds traitée.
+     *  La suite des extrémités alternées est partagée entre les instances de meme coté, variation et taille ; seules
+     *  les plages, qui dépendent des niveaux de proximité, sont calculées ici.
+     *  @param curve Courbe traitée.
+     *  @param series Séries primitives de l'instantané évalué.
+     *  @param from Position de la première cellule traitée (incluse).
+     *  @param to Position de la dernière cellule traitée (exclue).
+     *  @param ask Coté évalué (true : demande, false : offre).
      *  @param incomingTops Liste des plages d'approche d'un sommet.
      *  @param incomingBottoms Liste des plages d'approche d'un repli.
      *  @param exitingTops Liste des plages de sortie d'un sommet.
      *  @param exitingBottoms Liste des plages de sortie d'un repli.
      */
     private void consolidateOne(
-            List<Cluster> source,
+            AbstractCurve<?> curve,
+            CurveSeries series,
+            int from,
+            int to,
+            boolean ask,
             List<Double[]> incomingTops,
             List<Double[]> incomingBottoms,
             List<Double[]> exitingTops,
             List<Double[]> exitingBottoms) {
-        /* Création du résultat */
-        ArrayList<Double> pre = new ArrayList<>();
-
-        /* Pré-filtrage.
-         * Retire les cellules inutiles situées en tete du tableau de façon à débuter avec un sommet ou un
-         * repli. */
-        int sub = 0;
-        boolean pertinent = false;
-        while (sub < source.size() && !pertinent) {
-            pertinent = VariationParameter.getOppositeByVariation(source.get(sub), super.getMode(), true);
-            pertinent |= VariationParameter.getOppositeByVariation(source.get(sub), super.getMode(), false);
-            sub++;
-        }
+        /* Récupération des extrémités partagées */
+        OppositesKernel pre = OppositesKernel.of(curve, series, from, to, ask, super.getMode());
 
         /* Vérification */
-        if (pertinent) {
-            /* Filtrage */
-            List<Cluster> filter = source.subList(sub - 1, source.size());
-
-            /* Tampon.
-             * Si true, indique que la dernière valeur trouvée était un sommet. Débute par déterminer si la première
-             * extrémité disponible est un sommet.
-             */
-            double current = VariationParameter.getRateByVariation(filter.get(0), super.getMode());
-            boolean first = VariationParameter.getTopByVariation(filter.get(0), super.getMode());
-            boolean last = first;
-
-            /* Parcours */
-            Double previous = null;
-            pre.add(current);
-            for (Cluster cluster : filter) {
-                current = VariationParameter.getRateByVariation(cluster, super.getMode());
-                boolean isDifferent = previous == null ? false : previous != current;
-                if (last) {
-                    boolean isBottom = VariationParameter.getBottomByVariation(cluster, super.getMode());
-                    if (isBottom && isDifferent) {
-                        pre.add(current);
-                        last = !last;
-                    }
-                } else {
-                    boolean isTop = VariationParameter.getTopByVariation(cluster, super.getMode());
-                    if (isTop && isDifferent) {
-                        pre.add(current);
-                        last = !last;
-                    }
-                }
-                previous = current;
-            }
-
+        if (pre.size() > 0) {
             /* Parcours des éléments consolidés */
-            last = first;
+            boolean last = pre.isFirstTop();
             for (int i = 1; i < pre.size(); i++) {
                 /* Recherche du minimum et du maximum */
                 double lowest = Math.min(pre.get(i), pre.get(i - 1));
@@ -0,0 +1,25 @@
+package com.akasoft.poneyrox.core.strategies.interfaces;
+
+/**
+ *  Interface des calculs incrémentaux sur fenêtre glissante.
+ *  La fenêtre avance d'une cellule à la fois : chaque nouvelle cellule consolidée est ajoutée en fin de fenêtre et,
+ *  une fois la fenêtre pleine, la plus ancienne en est retirée. Chaque opération s'exécute en temps constant.
+ */
+public interface IncrementalITF {
+    /**
+     *  Ajoute une cellule en fin de fenêtre.
+     *  @param rate Taux de la cellule ajoutée.
+     */
+    void onCellAdded(double rate);
+
+    /**
+     *  Retire la plus ancienne cellule de la fenêtre.
+     */
+    void onCellEvicted();
+
+    /**
+     *  Retourne le nombre de cellules de la fenêtre pleine.
+     *  @return Taille de la fenêtre.
+     */
+    int size();
+}
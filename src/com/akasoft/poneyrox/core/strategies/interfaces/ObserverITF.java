@@ -1,11 +1,9 @@
 package com.akasoft.poneyrox.core.strategies.interfaces;
 
-import com.akasoft.poneyrox.core.time.cells.AbstractCell;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
 import com.akasoft.poneyrox.entities.positions.StrategyEntity;
 
-import java.util.List;
-
 /**
  *  Interface des stratégies procédant à une observation du cours.
  *  @param <TEntity> Type d'entité.
@@ -13,10 +11,13 @@ import java.util.List;
 public interface ObserverITF<TEntity extends StrategyEntity> extends StrategyITF<TEntity> {
     /**
      *  Réalise les consolidations rattachées à une instance de la courbe.
+     *  La plage évaluée couvre les "size()" dernières positions des séries.
      *  @param curve Courbe traitée.
-     *  @param cells Liste des cellules exploitables.
+     *  @param series Séries primitives de l'instantané évalué.
+     *  @param from Position de la première cellule exploitable (incluse).
+     *  @param to Position de la dernière cellule exploitable (exclue).
      */
-    void consolidate(AbstractCurve curve, List<AbstractCell> cells);
+    void consolidate(AbstractCurve curve, CurveSeries series, int from, int to);
 
     /**
      *  Retourne le nombre de cellules nécessaires à l'exploitation de la stratégie.
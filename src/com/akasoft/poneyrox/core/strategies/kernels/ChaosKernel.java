@@ -0,0 +1,67 @@
+package com.akasoft.poneyrox.core.strategies.kernels;
+
+import com.akasoft.poneyrox.core.strategies.parameters.VariationType;
+import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
+import com.akasoft.poneyrox.core.time.curves.KernelCache;
+
+/**
+ *  Noyau de chaos.
+ *  Ecart maximum entre deux taux consécutifs d'une fenêtre, exprimé en pourcentage de l'amplitude de la fenêtre. Une
+ *  instance stratégique présente un artefact dès lors que cet écart dépasse son seuil.
+ */
+public class ChaosKernel {
+    /**
+     *  Ecart maximum, en pourcentage de l'amplitude.
+     */
+    private final double peak;
+
+    /**
+     *  Constructeur.
+     *  @param peak Ecart maximum, en pourcentage de l'amplitude.
+     */
+    ChaosKernel(double peak) {
+        this.peak = peak;
+    }
+
+    /**
+     *  Retourne l'écart maximum.
+     *  @return Ecart maximum, en pourcentage de l'amplitude.
+     */
+    public double getPeak() {
+        return this.peak;
+    }
+
+    /**
+     *  Indique si un seuil est dépassé par l'un des écarts de la fenêtre.
+     *  @param floor Seuil, en pourcentage de l'amplitude.
+     *  @return true si le seuil est dépassé.
+     */
+    public boolean exceeds(double floor) {
+        return this.peak > floor;
+    }
+
+    /**
+     *  Retourne le noyau d'une fenêtre, partagé par les instances de meme coté, variation et taille.
+     *  Le noyau est produit par la fenêtre glissante correspondante, avancée des seules cellules finalisées depuis sa
+     *  précédente évaluation.
+     *  @param curve Courbe évaluée.
+     *  @param series Séries primitives de l'instantané évalué.
+     *  @param from Position de la première cellule de la fenêtre (incluse).
+     *  @param to Position de la dernière cellule de la fenêtre (exclue).
+     *  @param ask Coté évalué (true : demande, false : offre).
+     *  @param mode Variation évaluée.
+     *  @return Noyau.
+     */
+    public static ChaosKernel of(AbstractCurve<?> curve, CurveSeries series, int from, int to, boolean ask, VariationType mode) {
+        int size = to - from;
+        long index = series.getIndex(to - 1);
+        KernelCache kernels = curve.getKernels();
+        return kernels.get(
+                index,
+                new KernelKey(ChaosKernel.class, ask, mode, size),
+                () -> kernels.getWindow(
+                        new KernelKey(ChaosWindow.class, ask, mode, size),
+                        () -> new ChaosWindow(size)).evaluate(series.getRates(ask, mode), index, to));
+    }
+}
@@ -0,0 +1,115 @@
+package com.akasoft.poneyrox.core.strategies.kernels;
+
+/**
+ *  Fenêtre glissante de chaos.
+ *  Conserve l'amplitude des taux précédant la dernière cellule (minimum et maximum) et le plus grand écart entre
+ *  taux consécutifs, chacun dans une file monotone.
+ */
+class ChaosWindow extends SlidingWindow<ChaosKernel> {
+    /**
+     *  Minimum des taux précédents.
+     */
+    private final MonotonicDeque lowest;
+
+    /**
+     *  Maximum des taux précédents.
+     */
+    private final MonotonicDeque highest;
+
+    /**
+     *  Maximum des écarts, numérotés par leur cellule de fin.
+     */
+    private final MonotonicDeque spaces;
+
+    /**
+     *  Numéro de la prochaine cellule ajoutée.
+     */
+    private long added;
+
+    /**
+     *  Numéro de la plus ancienne cellule présente.
+     */
+    private long start;
+
+    /**
+     *  Taux de la dernière cellule ajoutée.
+     */
+    private double previous;
+
+    /**
+     *  Constructeur.
+     *  @param size Taille de la fenêtre.
+     */
+    ChaosWindow(int size) {
+        super(size);
+        this.lowest = new MonotonicDeque(size, false);
+        this.highest = new MonotonicDeque(size, true);
+        this.spaces = new MonotonicDeque(size, true);
+        this.clear();
+    }
+
+    /**
+     *  Ajoute une cellule en fin de fenêtre.
+     *  Le taux précédent rejoint l'amplitude et l'écart avec ce dernier est enregistré.
+     *  @param rate Taux de la cellule ajoutée.
+     */
+    @Override
+    public void onCellAdded(double rate) {
+        if (this.added > this.start) {
+            this.lowest.push(this.added - 1, this.previous);
+            this.highest.push(this.added - 1, this.previous);
+            this.spaces.push(this.added, Math.abs(rate - this.previous));
+        }
+        this.previous = rate;
+        this.added++;
+    }
+
+    /**
+     *  Retire la plus ancienne cellule de la fenêtre, ainsi que l'écart qui la suit.
+     */
+    @Override
+    public void onCellEvicted() {
+        this.start++;
+        this.lowest.expire(this.start);
+        this.highest.expire(this.start);
+        this.spaces.expire(this.start + 1);
+    }
+
+    /**
+     *  Vide l'état.
+     */
+    @Override
+    protected void clear() {
+        this.lowest.clear();
+        this.highest.clear();
+        this.spaces.clear();
+        this.added = 0;
+        this.start = 0;
+        this.previous = 0;
+    }
+
+    /**
+     *  Crée un état vide de meme taille.
+     *  @return Etat vide.
+     */
+    @Override
+    protected ChaosWindow create() {
+        return new ChaosWindow(this.size());
+    }
+
+    /**
+     *  Produit le noyau.
+     *  L'amplitude part de bornes [MAX_VALUE, 0] et l'écart de la dernière cellule, jamais renseigné, vaut 0 : le
+     *  plus grand pourcentage est donc celui du plus grand écart. Sur une amplitude nulle, un écart non nul donne un
+     *  pourcentage infini et un écart nul un pourcentage indéterminé, qui ne dépasse aucun seuil.
+     *  @return Noyau.
+     */
+    @Override
+    protected ChaosKernel emit() {
+        double minimum = this.lowest.peek(Double.MAX_VALUE);
+        double maximum = Math.max(0, this.highest.peek(0));
+        double space = Math.max(0, this.spaces.peek(0));
+        double percent = (space / (maximum - minimum)) * 100;
+        return new ChaosKernel(Double.isNaN(percent) ? Double.NEGATIVE_INFINITY : percent);
+    }
+}
@@ -0,0 +1,121 @@
+package com.akasoft.poneyrox.core.strategies.kernels;
+
+import com.akasoft.poneyrox.core.strategies.parameters.VariationType;
+import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
+import com.akasoft.poneyrox.core.time.curves.KernelCache;
+
+/**
+ *  Noyau de croissance.
+ *  Extremums d'une fenêtre et bornes des variations relatives entre taux consécutifs, à la hausse et à la baisse, afin
+ *  que chaque instance stratégique n'ait qu'à les comparer à sa cible.
+ */
+public class GrowthKernel {
+    /**
+     *  Taux minimum.
+     */
+    private final double minimum;
+
+    /**
+     *  Taux maximum.
+     */
+    private final double maximum;
+
+    /**
+     *  Plus faible variation à la hausse.
+     */
+    private final double upMinimum;
+
+    /**
+     *  Plus forte variation à la baisse.
+     */
+    private final double downMaximum;
+
+    /**
+     *  Constructeur.
+     *  @param minimum Taux minimum.
+     *  @param maximum Taux maximum.
+     *  @param upMinimum Plus faible variation à la hausse.
+     *  @param downMaximum Plus forte variation à la baisse.
+     */
+    GrowthKernel(double minimum, double maximum, double upMinimum, double downMaximum) {
+        this.minimum = minimum;
+        this.maximum = maximum;
+        this.upMinimum = upMinimum;
+        this.downMaximum = downMaximum;
+    }
+
+    /**
+     *  Retourne le taux minimum.
+     *  @return Taux minimum.
+     */
+    public double getMinimum() {
+        return this.minimum;
+    }
+
+    /**
+     *  Retourne le taux maximum.
+     *  @return Taux maximum.
+     */
+    public double getMaximum() {
+        return this.maximum;
+    }
+
+    /**
+     *  Retourne la plus faible variation à la hausse.
+     *  @return Variation, en pourcentage (infinie positive si aucune n'est déterminée).
+     */
+    public double getUpMinimum() {
+        return this.upMinimum;
+    }
+
+    /**
+     *  Retourne la plus forte variation à la baisse.
+     *  @return Variation, en pourcentage (infinie négative si aucune n'est déterminée).
+     */
+    public double getDownMaximum() {
+        return this.downMaximum;
+    }
+
+    /**
+     *  Indique si toutes les variations à la hausse atteignent une cible.
+     *  @param target Cible.
+     *  @return true si aucune variation n'est inférieure à la cible.
+     */
+    public boolean isUp(double target) {
+        return !(this.upMinimum < target);
+    }
+
+    /**
+     *  Indique si toutes les variations à la baisse atteignent une cible.
+     *  @param target Cible.
+     *  @return true si aucune variation n'est supérieure à l'opposé de la cible.
+     */
+    public boolean isDown(double target) {
+        return !(this.downMaximum > 0 - target);
+    }
+
+    /**
+     *  Retourne le noyau d'une fenêtre, partagé par les instances de meme coté, variation et taille.
+     *  Le noyau est produit par la fenêtre glissante correspondante, avancée des seules cellules finalisées depuis sa
+     *  précédente évaluation.
+     *  @param curve Courbe évaluée.
+     *  @param series Séries primitives de l'instantané évalué.
+     *  @param from Position de la première cellule de la fenêtre (incluse).
+     *  @param to Position de la dernière cellule de la fenêtre (exclue).
+     *  @param ask Coté évalué (true : demande, false : offre).
+     *  @param mode Variation évaluée.
+     *  @return Noyau.
+     */
+    public static GrowthKernel of(AbstractCurve<?> curve, CurveSeries series, int from, int to, boolean ask, VariationType mode) {
+        int size = to - from;
+        long index = series.getIndex(to - 1);
+        KernelCache kernels = curve.getKernels();
+        return kernels.get(
+                index,
+                new KernelKey(GrowthKernel.class, ask, mode, size),
+                () -> kernels.getWindow(
+                        new KernelKey(GrowthWindow.class, ask, mode, size),
+                        () -> new GrowthWindow(size)).evaluate(series.getRates(ask, mode), index, to));
+    }
+}
@@ -0,0 +1,121 @@
+package com.akasoft.poneyrox.core.strategies.kernels;
+
+/**
+ *  Fenêtre glissante de croissance.
+ *  Conserve les extremums des taux et les bornes des variations relatives entre taux consécutifs, chacun dans une
+ *  file monotone. Les variations indéterminées ne font échouer aucune comparaison et sont ignorées.
+ */
+class GrowthWindow extends SlidingWindow<GrowthKernel> {
+    /**
+     *  Minimum des taux.
+     */
+    private final MonotonicDeque lowest;
+
+    /**
+     *  Maximum des taux.
+     */
+    private final MonotonicDeque highest;
+
+    /**
+     *  Minimum des variations à la hausse, numérotées par leur cellule de fin.
+     */
+    private final MonotonicDeque ups;
+
+    /**
+     *  Maximum des variations à la baisse, numérotées par leur cellule de fin.
+     */
+    private final MonotonicDeque downs;
+
+    /**
+     *  Numéro de la prochaine cellule ajoutée.
+     */
+    private long added;
+
+    /**
+     *  Numéro de la plus ancienne cellule présente.
+     */
+    private long start;
+
+    /**
+     *  Taux de la dernière cellule ajoutée.
+     */
+    private double previous;
+
+    /**
+     *  Constructeur.
+     *  @param size Taille de la fenêtre.
+     */
+    GrowthWindow(int size) {
+        super(size);
+        this.lowest = new MonotonicDeque(size, false);
+        this.highest = new MonotonicDeque(size, true);
+        this.ups = new MonotonicDeque(size, false);
+        this.downs = new MonotonicDeque(size, true);
+        this.clear();
+    }
+
+    /**
+     *  Ajoute une cellule en fin de fenêtre, ainsi que les variations depuis le taux précédent.
+     *  @param rate Taux de la cellule ajoutée.
+     */
+    @Override
+    public void onCellAdded(double rate) {
+        if (this.added > this.start) {
+            this.ups.push(this.added, ((rate / this.previous) - 1) * 100);
+            this.downs.push(this.added, ((this.previous / rate) - 1) * 100);
+        }
+        this.lowest.push(this.added, rate);
+        this.highest.push(this.added, rate);
+        this.previous = rate;
+        this.added++;
+    }
+
+    /**
+     *  Retire la plus ancienne cellule de la fenêtre, ainsi que les variations qui la suivent.
+     */
+    @Override
+    public void onCellEvicted() {
+        this.start++;
+        this.lowest.expire(this.start);
+        this.highest.expire(this.start);
+        this.ups.expire(this.start + 1);
+        this.downs.expire(this.start + 1);
+    }
+
+    /**
+     *  Vide l'état.
+     */
+    @Override
+    protected void clear() {
+        this.lowest.clear();
+        this.highest.clear();
+        this.ups.clear();
+        this.downs.clear();
+        this.added = 0;
+        this.start = 0;
+        this.previous = 0;
+    }
+
+    /**
+     *  Crée un état vide de meme taille.
+     *  @return Etat vide.
+     */
+    @Override
+    protected GrowthWindow create() {
+        return new GrowthWindow(this.size());
+    }
+
+    /**
+     *  Produit le noyau.
+     *  Les extremums partent de bornes [MAX_VALUE, 0], comme le parcours complet de la fenêtre.
+     *  @return Noyau.
+     */
+    @Override
+    protected GrowthKernel emit() {
+        return new GrowthKernel(
+                this.lowest.peek(Double.MAX_VALUE),
+                Math.max(0, this.highest.peek(0)),
+                this.ups.peek(Double.POSITIVE_INFINITY),
+                this.downs.peek(Double.NEGATIVE_INFINITY));
+    }
+}
@@ -0,0 +1,68 @@
+package com.akasoft.poneyrox.core.strategies.kernels;
+
+import com.akasoft.poneyrox.core.strategies.parameters.VariationType;
+
+import java.util.Objects;
+
+/**
+ *  Clef de noyau.
+ *  Identifie un noyau de calcul par sa nature, le coté et la variation évalués ainsi que la taille de la fenêtre.
+ */
+class KernelKey {
+    /**
+     *  Nature du noyau.
+     */
+    private final Class<?> kind;
+
+    /**
+     *  Coté évalué (true : demande, false : offre).
+     */
+    private final boolean ask;
+
+    /**
+     *  Variation évaluée.
+     */
+    private final VariationType mode;
+
+    /**
+     *  Taille de la fenêtre.
+     */
+    private final int size;
+
+    /**
+     *  Constructeur.
+     *  @param kind Nature du noyau.
+     *  @param ask Coté évalué.
+     *  @param mode Variation évaluée.
+     *  @param size Taille de la fenêtre.
+     */
+    KernelKey(Class<?> kind, boolean ask, VariationType mode, int size) {
+        this.kind = kind;
+        this.ask = ask;
+        this.mode = mode;
+        this.size = size;
+    }
+
+    /**
+     *  Compare deux clefs.
+     *  @param other Objet comparé.
+     *  @return true si les clefs sont identiques.
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof KernelKey)) {
+            return false;
+        }
+        KernelKey key = (KernelKey) other;
+        return this.kind == key.kind && this.ask == key.ask && this.mode == key.mode && this.size == key.size;
+    }
+
+    /**
+     *  Retourne le code de hachage.
+     *  @return Code de hachage.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.kind, this.ask, this.mode, this.size);
+    }
+}
@@ -0,0 +1,112 @@
+package com.akasoft.poneyrox.core.strategies.kernels;
+
+/**
+ *  File monotone.
+ *  Conserve l'extremum (minimum ou maximum) d'une fenêtre glissante de valeurs numérotées. Les valeurs dominées par
+ *  une valeur plus récente sont écartées dès l'ajout de cette dernière, si bien que la tete de file porte toujours
+ *  l'extremum courant. Ajout et expiration s'effectuent en temps constant amorti.
+ *  Les valeurs indéterminées sont ignorées.
+ */
+class MonotonicDeque {
+    /**
+     *  Indique si la file porte le maximum (true) ou le minimum (false).
+     */
+    private final boolean maximum;
+
+    /**
+     *  Numéros des valeurs conservées.
+     */
+    private final long[] sequences;
+
+    /**
+     *  Valeurs conservées.
+     */
+    private final double[] values;
+
+    /**
+     *  Position de la tete.
+     */
+    private int head;
+
+    /**
+     *  Nombre de valeurs conservées.
+     */
+    private int count;
+
+    /**
+     *  Constructeur.
+     *  @param capacity Nombre maximum de valeurs simultanément présentes dans la fenêtre.
+     *  @param maximum Indique si la file porte le maximum (true) ou le minimum (false).
+     */
+    MonotonicDeque(int capacity, boolean maximum) {
+        this.maximum = maximum;
+        this.sequences = new long[Math.max(1, capacity)];
+        this.values = new double[Math.max(1, capacity)];
+        this.head = 0;
+        this.count = 0;
+    }
+
+    /**
+     *  Ajoute une valeur en fin de fenêtre.
+     *  @param sequence Numéro de la valeur, croissant.
+     *  @param value Valeur ajoutée.
+     */
+    void push(long sequence, double value) {
+        /* Vérification */
+        if (Double.isNaN(value)) {
+            return;
+        }
+
+        /* Retrait des valeurs dominées */
+        while (this.count > 0) {
+            double tail = this.values[this.position(this.count - 1)];
+            if (this.maximum ? tail > value : tail < value) {
+                break;
+            }
+            this.count--;
+        }
+
+        /* Ajout */
+        int position = this.position(this.count);
+        this.sequences[position] = sequence;
+        this.values[position] = value;
+        this.count++;
+    }
+
+    /**
+     *  Retire les valeurs sorties de la fenêtre.
+     *  @param sequence Numéro de la plus ancienne valeur conservée (inclus).
+     */
+    void expire(long sequence) {
+        while (this.count > 0 && this.sequences[this.head] < sequence) {
+            this.head = this.position(1);
+            this.count--;
+        }
+    }
+
+    /**
+     *  Retourne l'extremum de la fenêtre.
+     *  @param fallback Valeur renvoyée si la fenêtre ne contient aucune valeur déterminée.
+     *  @return Extremum.
+     */
+    double peek(double fallback) {
+        return this.count == 0 ? fallback : this.values[this.head];
+    }
+
+    /**
+     *  Vide la file.
+     */
+    void clear() {
+        this.head = 0;
+        this.count = 0;
+    }
+
+    /**
+     *  Retourne la position physique d'un élément.
+     *  @param offset Décalage depuis la tete.
+     *  @return Position dans les tableaux.
+     */
+    private int position(int offset) {
+        return (this.head + offset) % this.values.length;
+    }
+}
@@ -0,0 +1,106 @@
+package com.akasoft.poneyrox.core.strategies.kernels;
+
+import com.akasoft.poneyrox.core.strategies.parameters.VariationType;
+import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
+
+import java.util.Arrays;
+
+/**
+ *  Noyau des opposés.
+ *  Suite des extrémités alternées (sommets et replis) d'une fenêtre. Les plages dépendant des niveaux de proximité
+ *  restent calculées par chaque instance stratégique à partir de cette suite.
+ */
+public class OppositesKernel {
+    /**
+     *  Taux des extrémités retenues, par ordre chronologique.
+     */
+    private final double[] extremums;
+
+    /**
+     *  Indique si la première extrémité est un sommet.
+     */
+    private final boolean first;
+
+    /**
+     *  Constructeur.
+     *  @param series Séries primitives de l'instantané évalué.
+     *  @param from Position de la première cellule de la fenêtre (incluse).
+     *  @param to Position de la dernière cellule de la fenêtre (exclue).
+     *  @param ask Coté évalué (true : demande, false : offre).
+     *  @param mode Variation évaluée.
+     */
+    private OppositesKernel(CurveSeries series, int from, int to, boolean ask, VariationType mode) {
+        /* Pré-filtrage.
+         * Débute avec le premier sommet ou repli de la plage. */
+        double[] rates = series.getRates(ask, mode);
+        double[] extremums = new double[to - from];
+        int count = 0;
+        boolean first = false;
+        int position = series.nextAnyOpposite(ask, mode, from, to);
+
+        /* Vérification */
+        if (position >= 0) {
+            /* Tampon.
+             * Si true, indique que la dernière valeur trouvée était un sommet. */
+            first = series.isOpposite(position, ask, mode, true);
+            boolean last = first;
+
+            /* Parcours des extrémités alternées.
+             * Une extrémité n'est retenue que si son taux diffère de celui de la cellule qui la précède. */
+            extremums[count++] = rates[position];
+            position = series.nextOpposite(ask, mode, !last, position + 1, to);
+            while (position >= 0) {
+                if (rates[position] != rates[position - 1]) {
+                    extremums[count++] = rates[position];
+                    last = !last;
+                }
+                position = series.nextOpposite(ask, mode, !last, position + 1, to);
+            }
+        }
+        this.extremums = Arrays.copyOf(extremums, count);
+        this.first = first;
+    }
+
+    /**
+     *  Retourne le nombre d'extrémités retenues.
+     *  @return Nombre d'extrémités.
+     */
+    public int size() {
+        return this.extremums.length;
+    }
+
+    /**
+     *  Retourne le taux d'une extrémité.
+     *  @param index Position de l'extrémité.
+     *  @return Taux.
+     */
+    public double get(int index) {
+        return this.extremums[index];
+    }
+
+    /**
+     *  Indique si la première extrémité est un sommet.
+     *  @return true pour un sommet, false pour un repli.
+     */
+    public boolean isFirstTop() {
+        return this.first;
+    }
+
+    /**
+     *  Retourne le noyau d'une fenêtre, partagé par les instances de meme coté, variation et taille.
+     *  @param curve Courbe évaluée.
+     *  @param series Séries primitives de l'instantané évalué.
+     *  @param from Position de la première cellule de la fenêtre (incluse).
+     *  @param to Position de la dernière cellule de la fenêtre (exclue).
+     *  @param ask Coté évalué (true : demande, false : offre).
+     *  @param mode Variation évaluée.
+     *  @return Noyau.
+     */
+    public static OppositesKernel of(AbstractCurve<?> curve, CurveSeries series, int from, int to, boolean ask, VariationType mode) {
+        return curve.getKernels().get(
+                series.getIndex(to - 1),
+                new KernelKey(OppositesKernel.class, ask, mode, to - from),
+                () -> new OppositesKernel(series, from, to, ask, mode));
+    }
+}
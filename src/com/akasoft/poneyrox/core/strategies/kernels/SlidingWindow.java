@@ -0,0 +1,109 @@
+package com.akasoft.poneyrox.core.strategies.kernels;
+
+import com.akasoft.poneyrox.core.strategies.interfaces.IncrementalITF;
+
+/**
+ *  Fenêtre glissante.
+ *  Etat incrémental d'un noyau, conservé d'une cellule consolidée à l'autre : seules les cellules finalisées depuis
+ *  la dernière évaluation sont ajoutées (et autant d'anciennes retirées), au lieu de reparcourir toute la fenêtre.
+ *  La fenêtre est reconstruite lorsque l'écart avec la dernière évaluation atteint sa taille.
+ *  @param <TKernel> Type de noyau produit.
+ */
+public abstract class SlidingWindow<TKernel> implements IncrementalITF {
+    /**
+     *  Taille de la fenêtre.
+     */
+    private final int size;
+
+    /**
+     *  Numéro de séquence de la dernière cellule ajoutée (ou -1).
+     */
+    private long last;
+
+    /**
+     *  Nombre de cellules présentes.
+     */
+    private int count;
+
+    /**
+     *  Constructeur.
+     *  @param size Taille de la fenêtre.
+     */
+    protected SlidingWindow(int size) {
+        this.size = size;
+        this.last = -1;
+        this.count = 0;
+    }
+
+    /**
+     *  Retourne la taille de la fenêtre.
+     *  @return Taille de la fenêtre.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     *  Evalue la fenêtre se terminant sur une cellule.
+     *  Une fenêtre antérieure à la dernière évaluation est calculée sur un état temporaire, sans altérer l'état
+     *  conservé.
+     *  @param rates Série des taux.
+     *  @param index Numéro de séquence de la dernière cellule de la fenêtre.
+     *  @param to Position de la dernière cellule de la fenêtre dans la série (exclue).
+     *  @return Noyau.
+     */
+    public synchronized TKernel evaluate(double[] rates, long index, int to) {
+        SlidingWindow<TKernel> target = index < this.last ? this.create() : this;
+        target.advance(rates, index, to);
+        return target.emit();
+    }
+
+    /**
+     *  Vide l'état.
+     */
+    protected abstract void clear();
+
+    /**
+     *  Crée un état vide de meme nature et de meme taille.
+     *  @return Etat vide.
+     */
+    protected abstract SlidingWindow<TKernel> create();
+
+    /**
+     *  Produit le noyau correspondant à l'état courant.
+     *  @return Noyau.
+     */
+    protected abstract TKernel emit();
+
+    /**
+     *  Fait avancer la fenêtre jusqu'à une cellule.
+     *  Les numéros de séquence des cellules consolidées étant consécutifs, l'écart avec la dernière cellule ajoutée
+     *  donne directement le nombre de cellules à intégrer.
+     *  @param rates Série des taux.
+     *  @param index Numéro de séquence de la dernière cellule de la fenêtre.
+     *  @param to Position de la dernière cellule de la fenêtre dans la série (exclue).
+     */
+    private void advance(double[] rates, long index, int to) {
+        /* Plage à intégrer */
+        int from;
+        if (this.last >= 0 && index - this.last < this.size) {
+            from = to - (int) (index - this.last);
+        } else {
+            this.clear();
+            this.count = 0;
+            from = to - this.size;
+        }
+
+        /* Intégration */
+        for (int position = from; position < to; position++) {
+            if (this.count == this.size) {
+                this.onCellEvicted();
+                this.count--;
+            }
+            this.onCellAdded(rates[position]);
+            this.count++;
+        }
+        this.last = index;
+    }
+}
@@ -1,9 +1,7 @@
 package com.akasoft.poneyrox.core.strategies.parameters;
 
 import com.akasoft.poneyrox.core.time.clusters.Cluster;
-import net.finmath.marketdata.model.curves.ForwardCurve;
-
-import java.util.Arrays;
+import com.akasoft.poneyrox.core.time.clusters.ForwardProjection;
 
 /**
  *  Paramètre de variation (maximum/moyenne/minimum).
@@ -33,15 +31,7 @@ public class VariationParameter extends AbstractParameter<VariationType> {
      *  @return Valeur correspondante.
      */
     public static double getRateByVariation(Cluster cluster, VariationType type) {
-        switch (type) {
-            case MINIMUM:
-                return cluster.getMinimum();
-            case MAXIMUM:
-                return cluster.getMaximum();
-            case AVERAGE:
-            default:
-                return cluster.getAverage();
-        }
+        return cluster.getRate(type);
     }
 
     /**
@@ -52,11 +42,7 @@ public class VariationParameter extends AbstractParameter<VariationType> {
      *  @return Valeur courante.
      */
     public static boolean getOppositeByVariation(Cluster cluster, VariationType variation, boolean type) {
-        if (type) {
-            return VariationParameter.getTopByVariation(cluster, variation);
-        } else {
-            return VariationParameter.getBottomByVariation(cluster, variation);
-        }
+        return cluster.isOpposite(variation, type);
     }
 
     /**
@@ -66,15 +52,7 @@ public class VariationParameter extends AbstractParameter<VariationType> {
      *  @return Valeur correspondante.
      */
     public static boolean getTopByVariation(Cluster cluster, VariationType type) {
-        switch (type) {
-            case MINIMUM:
-                return cluster.isTopMinimum();
-            case MAXIMUM:
-                return cluster.isTopMaximum();
-            case AVERAGE:
-            default:
-                return cluster.isTopAverage();
-        }
+        return cluster.isOpposite(type, true);
     }
 
     /**
@@ -84,33 +62,18 @@ public class VariationParameter extends AbstractParameter<VariationType> {
      *  @return Valeur correspondante.
      */
     public static boolean getBottomByVariation(Cluster cluster, VariationType type) {
-        switch (type) {
-            case MINIMUM:
-                return cluster.isBottomMinimum();
-            case MAXIMUM:
-                return cluster.isBottomMaximum();
-            case AVERAGE:
-            default:
-                return cluster.isBottomAverage();
-        }
+        return cluster.isOpposite(type, false);
     }
 
     /**
-     *  Retourne la courbe d'avancement rattachée à un mode de variation.
+     *  Retourne la projection d'avancement rattachée à un mode de variation.
+     *  La projection est calculée au premier appel puis mémorisée.
      *  @param cluster Cellule évaluée.
      *  @param type Mode de variation.
      *  @return Valeur correspondante.
      */
-    public static ForwardCurve getCurveByVariation(Cluster cluster, VariationType type) {
-        switch (type) {
-            case MINIMUM:
-                return cluster.getCurveMinimum();
-            case MAXIMUM:
-                return cluster.getCurveMaximum();
-            case AVERAGE:
-            default:
-                return cluster.getCurveAverage();
-        }
+    public static ForwardProjection getCurveByVariation(Cluster cluster, VariationType type) {
+        return cluster.getCurve(type);
     }
 
     /**
@@ -121,50 +84,6 @@ public class VariationParameter extends AbstractParameter<VariationType> {
      *  @param value Valeur affectée.
      */
     public static void setOppositeByVariation(Cluster cluster, VariationType variation, boolean type, boolean value) {
-        if (type) {
-            switch (variation) {
-                case MINIMUM:
-                    cluster.setTopMinimum(value);
-                    break;
-                case AVERAGE:
-                    cluster.setTopAverage(value);
-                    break;
-                case MAXIMUM:
-                    cluster.setTopMaximum(value);
-                    break;
-
-            }
-        } else {
-            switch (variation) {
-                case MINIMUM:
-                    cluster.setBottomMinimum(value);
-                    break;
-                case AVERAGE:
-                    cluster.setBottomAverage(value);
-                    break;
-                case MAXIMUM:
-                    cluster.setBottomMaximum(value);
-                    break;
-            }
-        }
-    }
-
-    /**
-     *  Affecte une courbe d'avancement par type.
-     *  @param cluster Noeud modifié.
-     *  @param variation Variation.
-     *  @param value Valeur affectée.
-     */
-    public static void setForwardByVariation(Cluster cluster, VariationType variation, ForwardCurve value) {
-        switch (variation) {
-            case MINIMUM:
-                cluster.setCurveMinimum(value);
-            case AVERAGE:
-                cluster.setCurveAverage(value);
-            case MAXIMUM:
-            default:
-                cluster.setCurveMaximum(value);
-                break;
-        }
+        cluster.setOpposite(variation, type, value);
     }
 }
@@ -0,0 +1,165 @@
+package com.akasoft.poneyrox.core.strategies.signals;
+
+import com.akasoft.poneyrox.core.strategies.categories.AbstractStrategy;
+
+/**
+ *  Signal stratégique.
+ *  Résultat immuable de l'évaluation d'une instance sur un instantané de courbe : décisions d'entrée et de sortie et
+ *  taux observés nécessaires aux sorties dépendant du cout d'entrée. L'instance n'est référencée que pour son
+ *  identité (type et paramètres, fixés à la création) ; son état d'observation, réécrit à chaque évaluation, n'est
+ *  ni copié ni relu.
+ */
+public final class StrategySignal {
+    /**
+     *  Instance émettrice.
+     */
+    private final AbstractStrategy<?> strategy;
+
+    /**
+     *  Pertinence de l'évaluation.
+     */
+    private final boolean pertinent;
+
+    /**
+     *  Validation d'une entrée longue.
+     */
+    private final boolean enterLong;
+
+    /**
+     *  Validation d'une entrée courte.
+     */
+    private final boolean enterShort;
+
+    /**
+     *  Validation d'une sortie longue.
+     */
+    private final boolean exitLong;
+
+    /**
+     *  Validation d'une sortie courte.
+     */
+    private final boolean exitShort;
+
+    /**
+     *  Taux de la demande observé.
+     */
+    private final double ask;
+
+    /**
+     *  Taux de l'offre observé.
+     */
+    private final double bid;
+
+    /**
+     *  Constructeur.
+     *  @param strategy Instance émettrice.
+     *  @param pertinent Pertinence de l'évaluation.
+     *  @param enterLong Validation d'une entrée longue.
+     *  @param enterShort Validation d'une entrée courte.
+     *  @param exitLong Validation d'une sortie longue.
+     *  @param exitShort Validation d'une sortie courte.
+     *  @param ask Taux de la demande observé (ou NaN).
+     *  @param bid Taux de l'offre observé (ou NaN).
+     */
+    public StrategySignal(
+            AbstractStrategy<?> strategy,
+            boolean pertinent,
+            boolean enterLong,
+            boolean enterShort,
+            boolean exitLong,
+            boolean exitShort,
+            double ask,
+            double bid) {
+        this.strategy = strategy;
+        this.pertinent = pertinent;
+        this.enterLong = enterLong;
+        this.enterShort = enterShort;
+        this.exitLong = exitLong;
+        this.exitShort = exitShort;
+        this.ask = ask;
+        this.bid = bid;
+    }
+
+    /**
+     *  Retourne l'instance émettrice.
+     *  Seuls son type et ses paramètres peuvent etre exploités.
+     *  @return Instance émettrice.
+     */
+    public AbstractStrategy<?> getStrategy() {
+        return this.strategy;
+    }
+
+    /**
+     *  Indique si l'évaluation est pertinente.
+     *  @return Pertinence.
+     */
+    public boolean isPertinent() {
+        return this.pertinent;
+    }
+
+    /**
+     *  Indique si une entrée longue est validée.
+     *  @return Validation.
+     */
+    public boolean isEnterLong() {
+        return this.enterLong;
+    }
+
+    /**
+     *  Indique si une entrée courte est validée.
+     *  @return Validation.
+     */
+    public boolean isEnterShort() {
+        return this.enterShort;
+    }
+
+    /**
+     *  Indique si une sortie longue est validée, indépendamment du cout d'entrée.
+     *  @return Validation.
+     */
+    public boolean isExitLong() {
+        return this.exitLong;
+    }
+
+    /**
+     *  Indique si une sortie courte est validée, indépendamment du cout d'entrée.
+     *  @return Validation.
+     */
+    public boolean isExitShort() {
+        return this.exitShort;
+    }
+
+    /**
+     *  Retourne le taux de la demande observé.
+     *  @return Taux de la demande.
+     */
+    public double getAsk() {
+        return this.ask;
+    }
+
+    /**
+     *  Retourne le taux de l'offre observé.
+     *  @return Taux de l'offre.
+     */
+    public double getBid() {
+        return this.bid;
+    }
+
+    /**
+     *  Indique si une position longue doit etre quittée.
+     *  @param entry Cout à l'entrée.
+     *  @return Validation.
+     */
+    public boolean mustExitLong(double entry) {
+        return this.strategy.mustExitLong(this, entry);
+    }
+
+    /**
+     *  Indique si une position courte doit etre quittée.
+     *  @param entry Cout à l'entrée.
+     *  @return Validation.
+     */
+    public boolean mustExitShort(double entry) {
+        return this.strategy.mustExitShort(this, entry);
+    }
+}
@@ -1,13 +1,18 @@
 package com.akasoft.poneyrox.core.time.cells;
 
 import com.akasoft.poneyrox.core.time.clusters.Cluster;
+import com.akasoft.poneyrox.core.time.clusters.ClusterStore;
+import com.akasoft.poneyrox.core.time.clusters.OppositesTracker;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
 import com.akasoft.poneyrox.views.CellViews;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonView;
 
 /**
  *  Cellule.
  *  Cellule unitaire entrant dans le calcul d'une courbe.
+ *  Les valeurs des noeuds sont conservées dans le stockage colonnaire de la courbe propriétaire, à l'emplacement
+ *  déduit du numéro de séquence de la cellule.
  */
 public abstract class AbstractCell {
     /**
@@ -19,6 +24,11 @@ public abstract class AbstractCell {
     )
     private long start;
 
+    /**
+     *  Numéro de séquence de la cellule dans sa courbe.
+     */
+    private final long index;
+
     /**
      *  Niveau de la demande.
      */
@@ -36,9 +46,10 @@ public abstract class AbstractCell {
     private Cluster bid;
 
     /**
-     *  Référence à la cellule précédente.
+     *  Indique si la cellule a été créée à la suite d'une cellule précédente.
+     *  La cellule précédente n'est pas référencée : elle est résolue par son numéro de séquence dans la courbe.
      */
-    private AbstractCell previous;
+    private final boolean chained;
 
     /**
      *  Courbe propriétaire.
@@ -52,22 +63,18 @@ public abstract class AbstractCell {
 
     /**
      *  Constructeur.
-     *  @param previous Référence à la cellule précédente (si disponible).
+     *  @param previous Cellule précédente (si disponible), nécessairement la dernière cellule de la courbe.
      *  @param owner Ligne temporelle propriétaire.
      *  @param start Date de la cellule.
-     *  @param ask Demande initiale.
-     *  @param bid Offre initiale.
      */
-    public AbstractCell(AbstractCell previous, AbstractCurve owner, long start, Cluster ask, Cluster bid) {
-        this.previous = previous;
+    public AbstractCell(AbstractCell previous, AbstractCurve owner, long start) {
+        this.chained = previous != null;
         this.owner = owner;
         this.start = start;
-        this.ask = ask;
-        this.bid = bid;
+        this.index = owner.allocate();
+        this.ask = new Cluster(this, true);
+        this.bid = new Cluster(this, false);
         this.finalized = false;
-
-        this.ask.setOwner(this);
-        this.bid.setOwner(this);
     }
 
     /**
@@ -78,6 +85,42 @@ public abstract class AbstractCell {
         return this.start;
     }
 
+    /**
+     *  Retourne le numéro de séquence de la cellule.
+     *  @return Numéro de séquence.
+     */
+    @JsonIgnore
+    public long getIndex() {
+        return this.index;
+    }
+
+    /**
+     *  Retourne l'emplacement de la cellule dans le stockage colonnaire.
+     *  @return Emplacement.
+     */
+    @JsonIgnore
+    public int getSlot() {
+        return this.getStore().slot(this.index);
+    }
+
+    /**
+     *  Retourne le stockage colonnaire de la courbe propriétaire.
+     *  @return Stockage colonnaire.
+     */
+    @JsonIgnore
+    public ClusterStore getStore() {
+        return this.owner.getStore();
+    }
+
+    /**
+     *  Retourne le suivi des sommets et des replis de la courbe propriétaire.
+     *  @return Suivi des oppositions.
+     */
+    @JsonIgnore
+    public OppositesTracker getTracker() {
+        return this.owner.getTracker();
+    }
+
     /**
      *  Retourne le point situé au milieu de la cellule.
      *  @return Point situé au milieu de la cellule.
@@ -105,10 +148,12 @@ public abstract class AbstractCell {
 
     /**
      *  Retourne la cellule précédente (si applicable).
+     *  La cellule n'est plus renvoyée une fois sortie de l'horizon de la courbe.
      *  @return Cellule précédente.
      */
+    @JsonIgnore
     public AbstractCell getPrevious() {
-        return this.previous;
+        return this.chained ? this.owner.getCell(this.index - 1) : null;
     }
 
     /**
@@ -126,8 +171,9 @@ public abstract class AbstractCell {
      */
     protected void achieve() {
         /* Traitement de l'offre */
-        this.bid.finalize(this.previous == null ? null : this.previous.getBid());
-        this.ask.finalize(this.previous == null ? null : this.previous.getAsk());
+        AbstractCell previous = this.getPrevious();
+        this.bid.finalize(previous == null ? null : previous.getBid());
+        this.ask.finalize(previous == null ? null : previous.getAsk());
 
         /* Marquage */
         this.finalized = true;
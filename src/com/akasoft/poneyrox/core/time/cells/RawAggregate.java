@@ -0,0 +1,283 @@
+package com.akasoft.poneyrox.core.time.cells;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ *  Agrégat brut.
+ *  Consolidation glissante des taux intégrés dans une cellule brute : nombre d'entrées, somme, minimum, maximum et
+ *  dernière valeur pour chaque coté. L'agrégat ne conserve aucun taux intégré.
+ */
+public class RawAggregate {
+    /**
+     *  Nombre de taux intégrés.
+     */
+    private long count;
+
+    /**
+     *  Date du dernier taux intégré.
+     *  Exprimée en temps UNIX.
+     */
+    private long time;
+
+    /**
+     *  Somme des demandes.
+     */
+    private double askSum;
+
+    /**
+     *  Demande minimum.
+     */
+    private double askMinimum;
+
+    /**
+     *  Demande maximum.
+     */
+    private double askMaximum;
+
+    /**
+     *  Dernière demande.
+     */
+    private double askLast;
+
+    /**
+     *  Somme des offres.
+     */
+    private double bidSum;
+
+    /**
+     *  Offre minimum.
+     */
+    private double bidMinimum;
+
+    /**
+     *  Offre maximum.
+     */
+    private double bidMaximum;
+
+    /**
+     *  Dernière offre.
+     */
+    private double bidLast;
+
+    /**
+     *  Constructeur d'un agrégat vide.
+     */
+    public RawAggregate() {
+        this.count = 0;
+    }
+
+    /**
+     *  Retourne le nombre de taux intégrés.
+     *  @return Nombre de taux.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     *  Indique si l'agrégat est vide.
+     *  @return true si aucun taux n'a été intégré.
+     */
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     *  Retourne la date du dernier taux intégré.
+     *  @return Date du dernier taux.
+     */
+    public long getTime() {
+        return this.time;
+    }
+
+    /**
+     *  Retourne la somme des demandes.
+     *  @return Somme des demandes.
+     */
+    public double getAskSum() {
+        return this.askSum;
+    }
+
+    /**
+     *  Retourne la demande moyenne.
+     *  @return Demande moyenne.
+     */
+    public double getAskAverage() {
+        return this.askSum / this.count;
+    }
+
+    /**
+     *  Retourne la demande minimum.
+     *  @return Demande minimum.
+     */
+    public double getAskMinimum() {
+        return this.askMinimum;
+    }
+
+    /**
+     *  Retourne la demande maximum.
+     *  @return Demande maximum.
+     */
+    public double getAskMaximum() {
+        return this.askMaximum;
+    }
+
+    /**
+     *  Retourne la dernière demande.
+     *  @return Dernière demande.
+     */
+    public double getAskLast() {
+        return this.askLast;
+    }
+
+    /**
+     *  Retourne la somme des offres.
+     *  @return Somme des offres.
+     */
+    public double getBidSum() {
+        return this.bidSum;
+    }
+
+    /**
+     *  Retourne l'offre moyenne.
+     *  @return Offre moyenne.
+     */
+    public double getBidAverage() {
+        return this.bidSum / this.count;
+    }
+
+    /**
+     *  Retourne l'offre minimum.
+     *  @return Offre minimum.
+     */
+    public double getBidMinimum() {
+        return this.bidMinimum;
+    }
+
+    /**
+     *  Retourne l'offre maximum.
+     *  @return Offre maximum.
+     */
+    public double getBidMaximum() {
+        return this.bidMaximum;
+    }
+
+    /**
+     *  Retourne la dernière offre.
+     *  @return Dernière offre.
+     */
+    public double getBidLast() {
+        return this.bidLast;
+    }
+
+    /**
+     *  Intègre un taux.
+     *  @param time Date du taux.
+     *  @param ask Demande.
+     *  @param bid Offre.
+     */
+    public void add(long time, double ask, double bid) {
+        if (this.count == 0) {
+            this.askMinimum = ask;
+            this.askMaximum = ask;
+            this.bidMinimum = bid;
+            this.bidMaximum = bid;
+        } else {
+            this.askMinimum = Math.min(this.askMinimum, ask);
+            this.askMaximum = Math.max(this.askMaximum, ask);
+            this.bidMinimum = Math.min(this.bidMinimum, bid);
+            this.bidMaximum = Math.max(this.bidMaximum, bid);
+        }
+        this.askSum += ask;
+        this.bidSum += bid;
+        this.askLast = ask;
+        this.bidLast = bid;
+        this.time = time;
+        this.count++;
+    }
+
+    /**
+     *  Fusionne un agrégat postérieur dans l'agrégat courant.
+     *  @param other Agrégat fusionné.
+     */
+    public void merge(RawAggregate other) {
+        if (other.isEmpty()) {
+            return;
+        }
+        if (this.count == 0) {
+            this.askMinimum = other.askMinimum;
+            this.askMaximum = other.askMaximum;
+            this.bidMinimum = other.bidMinimum;
+            this.bidMaximum = other.bidMaximum;
+        } else {
+            this.askMinimum = Math.min(this.askMinimum, other.askMinimum);
+            this.askMaximum = Math.max(this.askMaximum, other.askMaximum);
+            this.bidMinimum = Math.min(this.bidMinimum, other.bidMinimum);
+            this.bidMaximum = Math.max(this.bidMaximum, other.bidMaximum);
+        }
+        this.askSum += other.askSum;
+        this.bidSum += other.bidSum;
+        this.askLast = other.askLast;
+        this.bidLast = other.bidLast;
+        this.time = other.time;
+        this.count += other.count;
+    }
+
+    /**
+     *  Remplace le contenu de l'agrégat par celui d'un autre.
+     *  @param other Agrégat copié.
+     */
+    public void set(RawAggregate other) {
+        this.count = other.count;
+        this.time = other.time;
+        this.askSum = other.askSum;
+        this.askMinimum = other.askMinimum;
+        this.askMaximum = other.askMaximum;
+        this.askLast = other.askLast;
+        this.bidSum = other.bidSum;
+        this.bidMinimum = other.bidMinimum;
+        this.bidMaximum = other.bidMaximum;
+        this.bidLast = other.bidLast;
+    }
+
+    /**
+     *  Ecrit l'agrégat dans un flux binaire.
+     *  @param output Flux de sortie.
+     *  @throws IOException En cas d'erreur d'écriture.
+     */
+    public void write(DataOutput output) throws IOException {
+        output.writeLong(this.count);
+        output.writeLong(this.time);
+        output.writeDouble(this.askSum);
+        output.writeDouble(this.askMinimum);
+        output.writeDouble(this.askMaximum);
+        output.writeDouble(this.askLast);
+        output.writeDouble(this.bidSum);
+        output.writeDouble(this.bidMinimum);
+        output.writeDouble(this.bidMaximum);
+        output.writeDouble(this.bidLast);
+    }
+
+    /**
+     *  Lit un agrégat depuis un flux binaire.
+     *  @param input Flux d'entrée.
+     *  @return Agrégat lu.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    public static RawAggregate read(DataInput input) throws IOException {
+        RawAggregate result = new RawAggregate();
+        result.count = input.readLong();
+        result.time = input.readLong();
+        result.askSum = input.readDouble();
+        result.askMinimum = input.readDouble();
+        result.askMaximum = input.readDouble();
+        result.askLast = input.readDouble();
+        result.bidSum = input.readDouble();
+        result.bidMinimum = input.readDouble();
+        result.bidMaximum = input.readDouble();
+        result.bidLast = input.readDouble();
+        return result;
+    }
+}
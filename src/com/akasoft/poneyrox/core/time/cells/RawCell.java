@@ -5,9 +5,6 @@ import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
 import com.akasoft.poneyrox.entities.markets.RateEntity;
 import com.akasoft.poneyrox.exceptions.InnerException;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  *  Cellule brute.
  *  Cellule basée sur des taux bruts.
@@ -21,23 +18,17 @@ public class RawCell extends RawCellWrapper {
      *  @param previous Cellule précédente.
      */
     public RawCell(long start, RateEntity source, AbstractCurve owner, RawCell previous) {
-        super(
-                previous,
-                owner,
-                start,
-                source,
-                new Cluster(
-                        previous.getAsk(),
-                        source.getAsk(),
-                        source.getAsk() == previous.getAsk().getLast() ?
-                                previous.getAsk().getDirection() :
-                                source.getAsk() > previous.getAsk().getLast()),
-                new Cluster(
-                        previous.getBid(),
-                        source.getBid(),
-                        source.getBid() == previous.getBid().getLast() ?
-                                previous.getBid().getDirection() :
-                                source.getBid() > previous.getBid().getLast()));
+        super(previous, owner, start, source);
+        super.getAsk().initialize(
+                source.getAsk(),
+                source.getAsk() == previous.getAsk().getLast() ?
+                        previous.getAsk().getDirection() :
+                        source.getAsk() > previous.getAsk().getLast());
+        super.getBid().initialize(
+                source.getBid(),
+                source.getBid() == previous.getBid().getLast() ?
+                        previous.getBid().getDirection() :
+                        source.getBid() > previous.getBid().getLast());
     }
 
     /**
@@ -47,14 +38,9 @@ public class RawCell extends RawCellWrapper {
      *  @param owner Courbe propriétaire.
      */
     public RawCell(long start, RateEntity source, AbstractCurve owner) {
-        super(
-                null,
-                owner,
-                start,
-                source,
-                new Cluster(null, source.getAsk(), false),
-                new Cluster(null, source.getBid(), false)
-        );
+        super(null, owner, start, source);
+        super.getAsk().initialize(source.getAsk(), false);
+        super.getBid().initialize(source.getBid(), false);
     }
 
     /**
@@ -62,30 +48,48 @@ public class RawCell extends RawCellWrapper {
      *  @param rate Taux intégré.
      */
     public void integrate(RateEntity rate) {
+        super.addRate(rate);
+        this.refresh();
+    }
+
+    /**
+     *  Intègre un agrégat partiel dans la cellule.
+     *  Equivaut à l'intégration successive des taux regroupés dans l'agrégat.
+     *  @param partial Agrégat partiel, dont seuls les taux suivant le premier sont intégrés.
+     */
+    public void integrate(RawPartial partial) {
+        if (!partial.getRest().isEmpty()) {
+            super.addAggregate(partial.getRest(), partial.getLast());
+            this.refresh();
+        }
+    }
+
+    /**
+     *  Restaure l'agrégat de la cellule depuis un état enregistré.
+     *  @param state Etat restauré.
+     */
+    public void restore(RawCellState state) {
+        super.setAggregate(state.getAggregate());
+        this.refresh();
+    }
+
+    /**
+     *  Reporte les valeurs de l'agrégat dans les clusters.
+     */
+    private void refresh() {
+        RawAggregate aggregate = super.getAggregate();
+
         /* Gestion de la demande */
         Cluster ask = super.getAsk();
-        if (ask.getMinimum() > rate.getAsk()) {
-            ask.setMinimum(rate.getAsk());
-        }
-        if (ask.getMaximum() < rate.getAsk()) {
-            ask.setMaximum(rate.getAsk());
-        }
+        ask.setMinimum(aggregate.getAskMinimum());
+        ask.setMaximum(aggregate.getAskMaximum());
+        ask.setLast(aggregate.getAskLast());
 
         /* Gestion de l'offre */
         Cluster bid = super.getBid();
-        if (bid.getMinimum() > rate.getBid()) {
-            bid.setMinimum(rate.getBid());
-        }
-        if (bid.getMaximum() < rate.getBid()) {
-            bid.setMaximum(rate.getBid());
-        }
-
-        /* Gestion de la dernière valeur */
-        ask.setLast(rate.getAsk());
-        bid.setLast(rate.getBid());
-
-        /* Ajout à l'historique */
-        super.addRate(rate);
+        bid.setMinimum(aggregate.getBidMinimum());
+        bid.setMaximum(aggregate.getBidMaximum());
+        bid.setLast(aggregate.getBidLast());
     }
 
     /**
@@ -114,20 +118,10 @@ public class RawCell extends RawCellWrapper {
      *  @throws InnerException En cas d'erreur de calcul.
      */
     public void complete() throws InnerException {
-        /* Récupération de l'historique */
-        List<RateEntity> history = super.getHistory();
-
-        /* Calcul des moyennes */
-        double askBuff = 0;
-        double bidBuff = 0;
-        for (RateEntity rate : history) {
-            askBuff += rate.getAsk();
-            bidBuff += rate.getBid();
-        }
-
         /* Mise à jour des moyennes */
-        super.getAsk().setAverage(askBuff / history.size());
-        super.getBid().setAverage(bidBuff / history.size());
+        RawAggregate aggregate = super.getAggregate();
+        super.getAsk().setAverage(aggregate.getAskAverage());
+        super.getBid().setAverage(aggregate.getBidAverage());
 
         /* Mise à jour des paramètres */
         super.achieve();
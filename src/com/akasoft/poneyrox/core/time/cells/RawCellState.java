@@ -0,0 +1,89 @@
+package com.akasoft.poneyrox.core.time.cells;
+
+/**
+ *  Etat d'une cellule brute.
+ *  Contient les seules données nécessaires à la reconstitution d'une cellule brute, les clusters et les courbes
+ *  lissées s'en déduisant : date de début, taux source et agrégat des taux intégrés.
+ */
+public class RawCellState {
+    /**
+     *  Date de début de la cellule.
+     */
+    private final long start;
+
+    /**
+     *  Date du taux source.
+     */
+    private final long sourceTime;
+
+    /**
+     *  Demande du taux source.
+     */
+    private final double sourceAsk;
+
+    /**
+     *  Offre du taux source.
+     */
+    private final double sourceBid;
+
+    /**
+     *  Agrégat des taux intégrés.
+     */
+    private final RawAggregate aggregate;
+
+    /**
+     *  Constructeur.
+     *  @param start Date de début de la cellule.
+     *  @param sourceTime Date du taux source.
+     *  @param sourceAsk Demande du taux source.
+     *  @param sourceBid Offre du taux source.
+     *  @param aggregate Agrégat des taux intégrés (copie).
+     */
+    public RawCellState(long start, long sourceTime, double sourceAsk, double sourceBid, RawAggregate aggregate) {
+        this.start = start;
+        this.sourceTime = sourceTime;
+        this.sourceAsk = sourceAsk;
+        this.sourceBid = sourceBid;
+        this.aggregate = aggregate;
+    }
+
+    /**
+     *  Retourne la date de début de la cellule.
+     *  @return Date de début.
+     */
+    public long getStart() {
+        return this.start;
+    }
+
+    /**
+     *  Retourne la date du taux source.
+     *  @return Date du taux source.
+     */
+    public long getSourceTime() {
+        return this.sourceTime;
+    }
+
+    /**
+     *  Retourne la demande du taux source.
+     *  @return Demande du taux source.
+     */
+    public double getSourceAsk() {
+        return this.sourceAsk;
+    }
+
+    /**
+     *  Retourne l'offre du taux source.
+     *  @return Offre du taux source.
+     */
+    public double getSourceBid() {
+        return this.sourceBid;
+    }
+
+    /**
+     *  Retourne l'agrégat des taux intégrés.
+     *  @return Agrégat.
+     */
+    public RawAggregate getAggregate() {
+        return this.aggregate;
+    }
+}
@@ -1,10 +1,11 @@
 package com.akasoft.poneyrox.core.time.cells;
 
-import com.akasoft.poneyrox.core.time.clusters.Cluster;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
 import com.akasoft.poneyrox.entities.markets.RateEntity;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 
 /**
@@ -12,9 +13,25 @@ import java.util.List;
  */
 public abstract class RawCellWrapper extends AbstractCell {
     /**
-     *  Historique utilisé pour le calcul des moyennes.
+     *  Taille de l'échantillon de taux conservé à des fins de diagnostic.
+     *  Une taille nulle désactive l'échantillonnage.
      */
-    private List<RateEntity> history;
+    public static final int SAMPLE_SIZE = 0;
+
+    /**
+     *  Taux source.
+     */
+    private final RateEntity source;
+
+    /**
+     *  Agrégat utilisé pour le calcul des moyennes.
+     */
+    private final RawAggregate aggregate;
+
+    /**
+     *  Echantillon des derniers taux intégrés (si activé).
+     */
+    private final Deque<RateEntity> sample;
 
     /**
      *  Constructeur.
@@ -22,23 +39,44 @@ public abstract class RawCellWrapper extends AbstractCell {
      *  @param owner Ligne temporelle propriétaire.
      *  @param start Date de la cellule.
      *  @param source Taux source.
-     *  @param ask Demande initiale.
-     *  @param bid Offre initiale.
      */
-    public RawCellWrapper(AbstractCell previous, AbstractCurve owner, long start, RateEntity source, Cluster ask, Cluster bid) {
-        super(previous, owner, start, ask, bid);
-        this.history = new ArrayList<>();
-        this.history.add(source);
+    public RawCellWrapper(AbstractCell previous, AbstractCurve owner, long start, RateEntity source) {
+        super(previous, owner, start);
+        this.source = source;
+        this.aggregate = new RawAggregate();
+        this.sample = RawCellWrapper.SAMPLE_SIZE > 0 ? new ArrayDeque<>(RawCellWrapper.SAMPLE_SIZE) : null;
+        this.addRate(source);
     }
 
     /**
-     *  Retourne l'historique complet.
-     *  @return Historique complet.
+     *  Retourne l'agrégat des taux intégrés.
+     *  @return Agrégat.
      */
-    protected synchronized List<RateEntity> getHistory() {
-        synchronized (this.history) {
-            return new ArrayList<>(this.history);
-        }
+    protected RawAggregate getAggregate() {
+        return this.aggregate;
+    }
+
+    /**
+     *  Retourne l'état de la cellule.
+     *  @return Etat, comportant une copie de l'agrégat.
+     */
+    public synchronized RawCellState getState() {
+        RawAggregate copy = new RawAggregate();
+        copy.set(this.aggregate);
+        return new RawCellState(
+                super.getStart(),
+                this.source.getTime(),
+                this.source.getAsk(),
+                this.source.getBid(),
+                copy);
+    }
+
+    /**
+     *  Retourne l'échantillon des derniers taux intégrés.
+     *  @return Copie de l'échantillon (vide si l'échantillonnage est désactivé).
+     */
+    public synchronized List<RateEntity> getSample() {
+        return this.sample == null ? new ArrayList<>() : new ArrayList<>(this.sample);
     }
 
     /**
@@ -46,8 +84,36 @@ public abstract class RawCellWrapper extends AbstractCell {
      *  @param rate Taux ajouté.
      */
     protected synchronized void addRate(RateEntity rate) {
-        synchronized (this.history) {
-            this.history.add(rate);
+        this.aggregate.add(rate.getTime(), rate.getAsk(), rate.getBid());
+        if (this.sample != null) {
+            if (this.sample.size() == RawCellWrapper.SAMPLE_SIZE) {
+                this.sample.removeFirst();
+            }
+            this.sample.addLast(rate);
         }
     }
+
+    /**
+     *  Ajoute un agrégat partiel dans la cellule.
+     *  Seul le dernier taux de l'agrégat est conservé dans l'échantillon, les taux intermédiaires n'étant plus connus.
+     *  @param aggregate Agrégat ajouté.
+     *  @param last Dernier taux de l'agrégat.
+     */
+    protected synchronized void addAggregate(RawAggregate aggregate, RateEntity last) {
+        this.aggregate.merge(aggregate);
+        if (this.sample != null) {
+            if (this.sample.size() == RawCellWrapper.SAMPLE_SIZE) {
+                this.sample.removeFirst();
+            }
+            this.sample.addLast(last);
+        }
+    }
+
+    /**
+     *  Remplace l'agrégat de la cellule.
+     *  @param aggregate Agrégat copié.
+     */
+    protected synchronized void setAggregate(RawAggregate aggregate) {
+        this.aggregate.set(aggregate);
+    }
 }
@@ -0,0 +1,92 @@
+package com.akasoft.poneyrox.core.time.cells;
+
+import com.akasoft.poneyrox.entities.markets.RateEntity;
+
+/**
+ *  Agrégat partiel.
+ *  Regroupement de taux consécutifs destinés à une même cellule brute, constitué en amont de l'intégration. Le
+ *  premier taux est conservé tel quel, car il peut donner naissance à une nouvelle cellule ; les suivants ne sont
+ *  conservés que sous forme d'agrégat, ce qui suffit au calcul des minimums, maximums, moyennes et dernières valeurs.
+ */
+public class RawPartial {
+    /**
+     *  Numéro de la cellule visée.
+     */
+    private final long slot;
+
+    /**
+     *  Premier taux.
+     */
+    private final RateEntity first;
+
+    /**
+     *  Dernier taux.
+     */
+    private RateEntity last;
+
+    /**
+     *  Agrégat des taux suivants.
+     */
+    private final RawAggregate rest;
+
+    /**
+     *  Constructeur.
+     *  @param slot Numéro de la cellule visée.
+     *  @param first Premier taux.
+     */
+    public RawPartial(long slot, RateEntity first) {
+        this.slot = slot;
+        this.first = first;
+        this.last = first;
+        this.rest = new RawAggregate();
+    }
+
+    /**
+     *  Retourne le numéro de la cellule visée.
+     *  @return Numéro de cellule.
+     */
+    public long getSlot() {
+        return this.slot;
+    }
+
+    /**
+     *  Retourne le premier taux.
+     *  @return Premier taux.
+     */
+    public RateEntity getFirst() {
+        return this.first;
+    }
+
+    /**
+     *  Retourne le dernier taux.
+     *  @return Dernier taux.
+     */
+    public RateEntity getLast() {
+        return this.last;
+    }
+
+    /**
+     *  Retourne l'agrégat des taux suivant le premier.
+     *  @return Agrégat (éventuellement vide).
+     */
+    public RawAggregate getRest() {
+        return this.rest;
+    }
+
+    /**
+     *  Retourne le nombre de taux regroupés.
+     *  @return Nombre de taux.
+     */
+    public long getCount() {
+        return 1 + this.rest.getCount();
+    }
+
+    /**
+     *  Ajoute un taux.
+     *  @param rate Taux ajouté.
+     */
+    public void add(RateEntity rate) {
+        this.rest.add(rate.getTime(), rate.getAsk(), rate.getBid());
+        this.last = rate;
+    }
+}
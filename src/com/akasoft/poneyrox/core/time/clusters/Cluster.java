@@ -1,299 +1,187 @@
 package com.akasoft.poneyrox.core.time.clusters;
 
-import com.akasoft.poneyrox.core.strategies.parameters.VariationParameter;
 import com.akasoft.poneyrox.core.strategies.parameters.VariationType;
 import com.akasoft.poneyrox.core.time.cells.AbstractCell;
-import com.akasoft.poneyrox.exceptions.InnerException;
 import com.akasoft.poneyrox.views.ClusterViews;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonView;
-import net.finmath.marketdata.model.curves.ForwardCurve;
-import net.finmath.marketdata.products.Forward;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 
 /**
  *  Noeud.
  *  Classe représentative d'une consolidation de taux - offre ou demande - sur une période donnée.
+ *  Le noeud ne porte aucune valeur : il constitue une vue sur l'emplacement de sa cellule propriétaire dans le stockage
+ *  colonnaire de la courbe.
  */
 public class Cluster {
     /**
      *  Nombre maximum de cellules évaluées lors du calcul de la courbe d'avancement.
      */
-    private static final int FORWARD_SIZE = 64;
+    public static final int FORWARD_SIZE = 64;
 
     /**
      *  Cellule propriétaire.
      */
-    @JsonIgnore
-    private AbstractCell owner;
-
-    /**
-     *  Taux minimum.
-     */
-    @JsonView(
-            ClusterViews.Public.class
-    )
-    private double minimum;
-
-    /**
-     *  Taux moyen.
-     */
-    @JsonView(
-            ClusterViews.Public.class
-    )
-    private double average;
-
-    /**
-     *  Maximum.
-     */
-    @JsonView(
-            ClusterViews.Public.class
-    )
-    private double maximum;
-
-    /**
-     *  Direction.
-     */
-    @JsonView(
-            ClusterViews.Public.class
-    )
-    private boolean direction;
-
-    /**
-     *  Dernière entrée.
-     */
-    @JsonIgnore
-    private double last;
-
-    /**
-     *  Indique si le noeud fait partie des sommets pour le taux minimum.
-     */
-    @JsonIgnore
-    private boolean topMinimum;
-
-    /**
-     *  Indique si le noeud fait partie des sommets pour le taux moyen.
-     */
-    @JsonIgnore
-    private boolean topAverage;
-
-    /**
-     *  Indique si le noeud fait partie des sommets pour le taux maximum.
-     */
-    @JsonIgnore
-    private boolean topMaximum;
-
-    /**
-     *  Indique si le noeud fait partie des replis pour le taux minimum.
-     */
-    @JsonIgnore
-    private boolean bottomMinimum;
-
-    /**
-     *  Indique si le noeud fait partie des replis pour le taux moyen.
-     */
-    @JsonIgnore
-    private boolean bottomAverage;
-
-    /**
-     *  Indique si le noeud fait partie des replis pour le taux maximum.
-     */
-    @JsonIgnore
-    private boolean bottomMaximum;
-
-    /**
-     *  Noeud précédent si applicable.
-     */
-    @JsonIgnore
-    private Cluster previous;
+    private final AbstractCell owner;
 
     /**
-     *  Courbe d'avancement basée sur le minimum.
+     *  Coté (true : demande, false : offre).
      */
-    @JsonIgnore
-    private ForwardCurve curveMinimum;
+    private final boolean ask;
 
     /**
-     *  Courbe d'avancement basée sur la moyenne.
-     */
-    @JsonIgnore
-    private ForwardCurve curveAverage;
-
-    /**
-     *  Courbe d'avancement basée sur le maximum.
+     *  Constructeur.
+     *  @param owner Cellule propriétaire.
+     *  @param ask Coté (true : demande, false : offre).
      */
-    @JsonIgnore
-    private ForwardCurve curveMaximum;
+    public Cluster(AbstractCell owner, boolean ask) {
+        this.owner = owner;
+        this.ask = ask;
+    }
 
     /**
-     *  Constructeur.
-     *  @param previous Noeud précédent si applicable.
+     *  Initialise le noeud à partir d'un taux unique.
      *  @param initial Taux initial.
      *  @param direction Direction initiale.
      */
-    public Cluster(Cluster previous, double initial, boolean direction) {
-        this.previous = previous;
-        this.minimum = initial;
-        this.average = initial;
-        this.maximum = initial;
-        this.last = initial;
-        this.direction = direction;
+    public void initialize(double initial, boolean direction) {
+        this.initialize(initial, initial, initial, direction);
     }
 
     /**
-     *  Constructeur complet.
-     *  @param previous Noeud précédent si applicable.
+     *  Initialise le noeud à partir de valeurs consolidées.
      *  @param minimum Taux minimum.
      *  @param average Taux moyen.
      *  @param maximum Taux maximum.
      *  @param direction Direction initiale.
      */
-    public Cluster(Cluster previous, double minimum, double average, double maximum, boolean direction) {
-        this.previous = previous;
-        this.minimum = minimum;
-        this.average = average;
-        this.maximum = maximum;
-        this.last = average;
-        this.direction = direction;
+    public void initialize(double minimum, double average, double maximum, boolean direction) {
+        ClusterStore store = this.getStore();
+        int slot = this.getSlot();
+        store.clear(slot, this.ask);
+        store.set(slot, this.ask, ClusterStore.MINIMUM, minimum);
+        store.set(slot, this.ask, ClusterStore.AVERAGE, average);
+        store.set(slot, this.ask, ClusterStore.MAXIMUM, maximum);
+        store.set(slot, this.ask, ClusterStore.LAST, average);
+        store.setDirection(slot, this.ask, direction);
     }
 
     /**
      *  Retourne la cellule propriétaire.
      *  @return Cellule propriétaire.
      */
+    @JsonIgnore
     public AbstractCell getOwner() {
         return this.owner;
     }
 
+    /**
+     *  Indique si le noeud porte sur la demande.
+     *  @return true pour la demande, false pour l'offre.
+     */
+    @JsonIgnore
+    public boolean isAsk() {
+        return this.ask;
+    }
+
     /**
      *  Retourne le taux minimum.
      *  @return Taux minimum.
      */
+    @JsonView(
+            ClusterViews.Public.class
+    )
     public double getMinimum() {
-        return this.minimum;
+        return this.getStore().get(this.getSlot(), this.ask, ClusterStore.MINIMUM);
     }
 
     /**
      *  Retourne le taux moyen.
      *  @return Taux moyen.
      */
+    @JsonView(
+            ClusterViews.Public.class
+    )
     public double getAverage() {
-        return this.average;
+        return this.getStore().get(this.getSlot(), this.ask, ClusterStore.AVERAGE);
     }
 
     /**
      *  Retourne le taux maximum.
      *  @return Taux maximum.
      */
+    @JsonView(
+            ClusterViews.Public.class
+    )
     public double getMaximum() {
-        return this.maximum;
+        return this.getStore().get(this.getSlot(), this.ask, ClusterStore.MAXIMUM);
     }
 
     /**
      *  Retourne la dernière valeur intégrée.
      *  @return Valeur intégrée.
      */
+    @JsonIgnore
     public double getLast() {
-        return this.last;
+        return this.getStore().get(this.getSlot(), this.ask, ClusterStore.LAST);
     }
 
     /**
      *  Retourne la direction.
      *  @return Direction.
      */
+    @JsonView(
+            ClusterViews.Public.class
+    )
     public boolean getDirection() {
-        return this.direction;
+        return this.getStore().getDirection(this.getSlot(), this.ask);
     }
 
     /**
-     *  Indique si le noeud fait partie des sommets pour le taux minimum.
-     *  @return true si vrai.
-     */
-    public boolean isTopMinimum() {
-        return this.topMinimum;
-    }
-
-    /**
-     *  Indique si le noeud fait partie des sommets pour le taux moyen.
-     *  @return true si vrai.
-     */
-    public boolean isTopAverage() {
-        return this.topAverage;
-    }
-
-    /**
-     *  Indique si le noeud fait partie des sommets pour le taux maximum.
-     *  @return true si vrai.
+     *  Retourne un taux par mode de variation.
+     *  @param variation Mode de variation.
+     *  @return Taux correspondant.
      */
-    public boolean isTopMaximum() {
-        return this.topMaximum;
+    public double getRate(VariationType variation) {
+        return this.getStore().get(this.getSlot(), this.ask, ClusterStore.field(variation));
     }
 
     /**
-     *  Indique si le noeud fait partie des replis pour le taux minimum.
-     *  @return true si vrai.
-     */
-    public boolean isBottomMinimum() {
-        return this.bottomMinimum;
-    }
-
-    /**
-     *  Indique si le noeud fait partie des replis pour le taux moyen.
-     *  @return true si vrai.
-     */
-    public boolean isBottomAverage() {
-        return this.bottomAverage;
-    }
-
-    /**
-     *  Indique si le noeud fait partie des replis pour le taux maximum.
+     *  Indique si le noeud fait partie des sommets ou des replis pour un mode de variation.
+     *  @param variation Mode de variation.
+     *  @param type Type d'opposition recherchée (true : sommet, false : repli).
      *  @return true si vrai.
      */
-    public boolean isBottomMaximum() {
-        return this.bottomMaximum;
+    public boolean isOpposite(VariationType variation, boolean type) {
+        return this.getStore().getOpposite(this.getSlot(), this.ask, variation, type);
     }
 
     /**
-     *  Retourne la courbe d'avancement minimum.
-     *  @return Courbe d'avancement minimum.
+     *  Retourne la projection d'avancement rattachée à un mode de variation.
+     *  La projection est calculée lors du premier appel puis mémorisée jusqu'à la réutilisation de l'emplacement.
+     *  @param variation Mode de variation.
+     *  @return Projection d'avancement (ou nul si le noeud n'a pas de précédent).
      */
-    public ForwardCurve getCurveMinimum() {
-        return this.curveMinimum;
-    }
-
-    /**
-     *  Retourne la courbe d'avancement moyenne.
-     *  @return Courbe d'avancement moyenne.
-     */
-    public ForwardCurve getCurveAverage() {
-        return this.curveAverage;
-    }
-
-    /**
-     *  Retourne la courbe d'avancement maximum.
-     *  @return Courbe d'avancement maximum.
-     */
-    public ForwardCurve getCurveMaximum() {
-        return this.curveMaximum;
+    @JsonIgnore
+    public ForwardProjection getCurve(VariationType variation) {
+        ForwardProjection result = this.getStore().getForward(this.getSlot(), this.ask, variation);
+        if (result == null && this.owner.isFinalized() && this.getPrevious() != null) {
+            result = this.project(variation);
+            this.getStore().setForward(this.getSlot(), this.ask, variation, result);
+        }
+        return result;
     }
 
     /**
      *  Retourne le noeud précédent.
-     *  @return Noeud précédent.
+     *  @return Noeud précédent (ou nul si la cellule précédente n'est plus disponible).
      */
+    @JsonIgnore
     public Cluster getPrevious() {
-        return this.previous;
-    }
-
-    /**
-     *  Définit la cellule propriétaire.
-     *  @param owner Cellule propriétaire.
-     */
-    public void setOwner(AbstractCell owner) {
-        this.owner = owner;
+        AbstractCell previous = this.owner.getPrevious();
+        if (previous == null) {
+            return null;
+        }
+        return this.ask ? previous.getAsk() : previous.getBid();
     }
 
     /**
@@ -301,7 +189,7 @@ public class Cluster {
      *  @param minimum Valeur minimum.
      */
     public void setMinimum(double minimum) {
-        this.minimum = minimum;
+        this.getStore().set(this.getSlot(), this.ask, ClusterStore.MINIMUM, minimum);
     }
 
     /**
@@ -309,7 +197,7 @@ public class Cluster {
      *  @param average Moyenne.
      */
     public void setAverage(double average) {
-        this.average = average;
+        this.getStore().set(this.getSlot(), this.ask, ClusterStore.AVERAGE, average);
     }
 
     /**
@@ -317,7 +205,7 @@ public class Cluster {
      *  @param maximum Valeur maximum.
      */
     public void setMaximum(double maximum) {
-        this.maximum = maximum;
+        this.getStore().set(this.getSlot(), this.ask, ClusterStore.MAXIMUM, maximum);
     }
 
     /**
@@ -325,7 +213,7 @@ public class Cluster {
      *  @param last Dernière valeur.
      */
     public void setLast(double last) {
-        this.last = last;
+        this.getStore().set(this.getSlot(), this.ask, ClusterStore.LAST, last);
     }
 
     /**
@@ -333,171 +221,88 @@ public class Cluster {
      *  @param direction Direction.
      */
     public void setDirection(boolean direction) {
-        this.direction = direction;
-    }
-
-    /**
-     *  Définit le noeud fait partie des sommets pour le taux minimum.
-     *  @param topMinimum Valeur affectée.
-     */
-    public void setTopMinimum(boolean topMinimum) {
-        this.topMinimum = topMinimum;
-    }
-
-    /**
-     *  Définit le noeud fait partie des sommets pour le taux moyen.
-     *  @param topAverage Valeur affectée.
-     */
-    public void setTopAverage(boolean topAverage) {
-        this.topAverage = topAverage;
-    }
-
-    /**
-     *  Définit le noeud fait partie des sommets pour le taux maximum.
-     *  @param topMaximum Valeur affectée.
-     */
-    public void setTopMaximum(boolean topMaximum) {
-        this.topMaximum = topMaximum;
-    }
-
-    /**
-     *  Définit le noeud fait partie des replis pour le taux minimum.
-     *  @param bottomMinimum Valeur affectée.
-     */
-    public void setBottomMinimum(boolean bottomMinimum) {
-        this.bottomMinimum = bottomMinimum;
-    }
-
-    /**
-     *  Définit le noeud fait partie des replis pour le taux moyen.
-     *  @param bottomAverage Valeur affectée.
-     */
-    public void setBottomAverage(boolean bottomAverage) {
-        this.bottomAverage = bottomAverage;
-    }
-
-    /**
-     *  Définit le noeud fait partie des replis pour le taux maximum.
-     *  @param bottomMaximum Valeur affectée.
-     */
-    public void setBottomMaximum(boolean bottomMaximum) {
-        this.bottomMaximum = bottomMaximum;
-    }
-
-    /**
-     *  Définit la courbe d'avancement rattachée au taux minimum.
-     *  @param curve Courbe affectée.
-     */
-    public void setCurveMinimum(ForwardCurve curve) {
-        this.curveMinimum = curve;
+        this.getStore().setDirection(this.getSlot(), this.ask, direction);
     }
 
     /**
-     *  Définit la courbe d'avancement rattachée au taux moyen.
-     *  @param curve Courbe affectée.
+     *  Définit un sommet ou un repli pour un mode de variation.
+     *  @param variation Mode de variation.
+     *  @param type Type d'opposition (true : sommet, false : repli).
+     *  @param value Valeur affectée.
      */
-    public void setCurveAverage(ForwardCurve curve) {
-        this.curveAverage = curve;
+    public void setOpposite(VariationType variation, boolean type, boolean value) {
+        this.getStore().setOpposite(this.getSlot(), this.ask, variation, type, value);
     }
 
     /**
-     *  Définit la courbe d'avancement rattachée au taux maximum.
-     *  @param curve Courbe affectée.
+     *  Finalise le noeud en comparaison du noeud précédent.
+     *  @param previous Noeud précédent.
      */
-    public void setCurveMaximum(ForwardCurve curve) {
-        this.curveMaximum = curve;
+    public void finalize(Cluster previous) {
+        OppositesTracker tracker = this.owner.getTracker();
+        for (VariationType type : VariationType.values()) {
+            if (previous == null) {
+                tracker.start(this, type, true);
+                tracker.start(this, type, false);
+            } else {
+                tracker.update(this, previous, type, true);
+                tracker.update(this, previous, type, false);
+            }
+        }
     }
 
     /**
-     *  Définit le noeud précédent.
-     *  @param previous Noeud précédent.
+     *  Convertit le noeud en chaine de caractères.
+     *  @return Chaine descriptive.
      */
-    public void setPrevious(Cluster previous) {
-        this.previous = previous;
+    @Override
+    public String toString() {
+        return String.format(
+                "%s@%d%s",
+                this.ask ? "ASK" : "BID",
+                this.owner.getIndex(),
+                this.getStore().describe(this.getSlot(), this.ask));
     }
 
     /**
-     *  Finalise le noeud en comparaison du noeud précédent.
-     *  @param previous Noeud précédent.
+     *  Retourne le stockage colonnaire de la courbe propriétaire.
+     *  @return Stockage colonnaire.
      */
-    public void finalize(Cluster previous) {
-        if (previous == null) {
-            this.bottomMinimum = true;
-            this.bottomAverage = true;
-            this.bottomMaximum = true;
-            this.topMinimum = true;
-            this.topAverage = true;
-            this.topMaximum = true;
-        } else {
-            for (VariationType type : VariationType.values()) {
-                this.finalizeOpposites(true, type);
-                this.finalizeOpposites(false, type);
-                this.finalizeForward(type);
-            }
-        }
+    private ClusterStore getStore() {
+        return this.owner.getStore();
     }
 
     /**
-     *  Finalise une liste d'oppositions.
-     *  @param type Type d'opposition recherchée (true : sommet, false : repli).
-     *  @param variation Variation évaluée.
+     *  Retourne l'emplacement de la cellule propriétaire.
+     *  @return Emplacement.
      */
-    private void finalizeOpposites(boolean type, VariationType variation) {
-        /* Récupération des taux */
-        double previousRate = VariationParameter.getRateByVariation(this.getPrevious(), variation);
-        double currentRate = VariationParameter.getRateByVariation(this, variation);
-
-        /* Indicateur.
-           Valeur indiquant si le noeud courant constitue une nouvelle opposition (sommet ou repli). */
-        boolean record = type ? previousRate < currentRate : previousRate > currentRate;
-
-        /* Comparaison */
-        if (previousRate == currentRate) {
-            /* Egalité */
-            boolean previousValue = VariationParameter.getOppositeByVariation(previous, variation, type);
-            VariationParameter.setOppositeByVariation(this, variation, type, previousValue);
-        } else if (record) {
-            /* Nouveau record */
-            VariationParameter.setOppositeByVariation(this, variation, type, true);
-
-            /* Nettoyage des cellules précédentes */
-            Cluster buffer = this.getPrevious();
-            while (buffer != null && VariationParameter.getOppositeByVariation(buffer, variation, type)) {
-                VariationParameter.setOppositeByVariation(buffer, variation, type, false);
-                buffer = buffer.getPrevious();
-            }
-        } else {
-            /* Inversion de la courbe */
-            VariationParameter.setOppositeByVariation(this, variation, type, false);
-        }
+    private int getSlot() {
+        return this.owner.getSlot();
     }
 
     /**
-     *  Calcule une courbe d'avancement.
+     *  Calcule une projection d'avancement à partir du noeud et de ses précédents.
      *  @param variation Type de variation évaluée.
+     *  @return Projection calculée.
      */
-    private void finalizeForward(VariationType variation) {
-        /* Création de l'historique */
-        List<Cluster> history = new ArrayList<>();
-        history.add(this);
-
-        /* Récupération */
-        Cluster buffer = this.getPrevious();
-        for (int i = 0; i < Cluster.FORWARD_SIZE && buffer != null; i++) {
-            history.add(buffer);
+    private ForwardProjection project(VariationType variation) {
+        /* Dimensionnement de l'historique */
+        int size = 1;
+        for (Cluster buffer = this.getPrevious(); buffer != null && size <= Cluster.FORWARD_SIZE; buffer = buffer.getPrevious()) {
+            size++;
         }
-        Collections.reverse(history);
 
-        /* Récupération des taux */
-        double[] rates = new double[history.size()];
-        double[] times = new double[history.size()];
-        for (int i = 0; i < history.size(); i++) {
-            rates[i] = VariationParameter.getRateByVariation(history.get(i), variation);
-            times[i] = history.get(i).getOwner().getMiddle();
+        /* Récupération des taux, du plus ancien au plus récent */
+        double[] rates = new double[size];
+        double[] times = new double[size];
+        Cluster buffer = this;
+        for (int i = size - 1; i >= 0; i--) {
+            rates[i] = buffer.getRate(variation);
+            times[i] = buffer.getOwner().getMiddle();
+            buffer = buffer.getPrevious();
         }
 
-        /* Création de la courbe */
-        ForwardCurve fc = ForwardCurve.createForwardCurveFromForwards("FC" + this.toString(), times, rates, 0);
-        VariationParameter.setForwardByVariation(this, variation, fc);
+        /* Création de la projection */
+        return new ForwardProjection(times, rates);
     }
 }
@@ -0,0 +1,415 @@
+package com.akasoft.poneyrox.core.time.clusters;
+
+import com.akasoft.poneyrox.core.strategies.parameters.VariationType;
+
+import java.util.Arrays;
+
+/**
+ *  Stockage colonnaire des noeuds.
+ *  Conserve les valeurs des noeuds d'une courbe sous forme de colonnes primitives parallèles (demande/offre ×
+ *  minimum/moyenne/maximum/dernier) et de jeux de bits pour les directions et les sommets/replis, ainsi que les
+ *  projections d'avancement calculées à la demande. Chaque colonne est
+ *  indexée par l'emplacement de la cellule dans le tampon circulaire de la courbe.
+ */
+public class ClusterStore {
+    /**
+     *  Index de la colonne des minimums.
+     */
+    public static final int MINIMUM = 0;
+
+    /**
+     *  Index de la colonne des moyennes.
+     */
+    public static final int AVERAGE = 1;
+
+    /**
+     *  Index de la colonne des maximums.
+     */
+    public static final int MAXIMUM = 2;
+
+    /**
+     *  Index de la colonne des dernières valeurs.
+     */
+    public static final int LAST = 3;
+
+    /**
+     *  Nombre de colonnes par coté.
+     */
+    private static final int FIELDS = 4;
+
+    /**
+     *  Nombre d'emplacements.
+     */
+    private final int capacity;
+
+    /**
+     *  Colonnes de taux.
+     *  Dans l'ordre : demande (minimum, moyenne, maximum, dernier) puis offre.
+     */
+    private final double[][] columns;
+
+    /**
+     *  Directions.
+     *  Dans l'ordre : demande puis offre.
+     */
+    private final long[][] directions;
+
+    /**
+     *  Sommets et replis.
+     *  Indexés par coté, type d'opposition puis variation.
+     */
+    private final long[][] opposites;
+
+    /**
+     *  Projections d'avancement mémorisées.
+     *  Indexées par coté puis variation.
+     */
+    private final ForwardProjection[][] forwards;
+
+    /**
+     *  Constructeur.
+     *  @param capacity Nombre d'emplacements.
+     */
+    public ClusterStore(int capacity) {
+        int words = (capacity + 63) >>> 6;
+        int variations = VariationType.values().length;
+        this.capacity = capacity;
+        this.columns = new double[ClusterStore.FIELDS * 2][capacity];
+        this.directions = new long[2][words];
+        this.opposites = new long[2 * 2 * variations][words];
+        this.forwards = new ForwardProjection[2 * variations][capacity];
+    }
+
+    /**
+     *  Retourne le nombre d'emplacements.
+     *  @return Nombre d'emplacements.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     *  Retourne l'emplacement correspondant à un numéro de séquence.
+     *  @param index Numéro de séquence de la cellule.
+     *  @return Emplacement.
+     */
+    public int slot(long index) {
+        return (int) (index % this.capacity);
+    }
+
+    /**
+     *  Retourne une colonne de taux.
+     *  La colonne est partagée : elle doit etre lue et non modifiée.
+     *  @param ask Coté (true : demande, false : offre).
+     *  @param field Colonne (MINIMUM, AVERAGE, MAXIMUM ou LAST).
+     *  @return Colonne.
+     */
+    public double[] getColumn(boolean ask, int field) {
+        return this.columns[ClusterStore.column(ask, field)];
+    }
+
+    /**
+     *  Retourne une colonne de taux par variation.
+     *  @param ask Coté (true : demande, false : offre).
+     *  @param variation Variation.
+     *  @return Colonne.
+     */
+    public double[] getColumn(boolean ask, VariationType variation) {
+        return this.getColumn(ask, ClusterStore.field(variation));
+    }
+
+    /**
+     *  Retourne une valeur.
+     *  @param slot Emplacement.
+     *  @param ask Coté.
+     *  @param field Colonne.
+     *  @return Valeur.
+     */
+    public double get(int slot, boolean ask, int field) {
+        return this.columns[ClusterStore.column(ask, field)][slot];
+    }
+
+    /**
+     *  Retourne la direction.
+     *  @param slot Emplacement.
+     *  @param ask Coté.
+     *  @return Direction.
+     */
+    public boolean getDirection(int slot, boolean ask) {
+        return ClusterStore.test(this.directions[ask ? 0 : 1], slot);
+    }
+
+    /**
+     *  Indique si un emplacement est marqué comme sommet ou repli.
+     *  @param slot Emplacement.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @param type Type d'opposition (true : sommet, false : repli).
+     *  @return Marquage.
+     */
+    public boolean getOpposite(int slot, boolean ask, VariationType variation, boolean type) {
+        return ClusterStore.test(this.opposites[ClusterStore.opposite(ask, variation, type)], slot);
+    }
+
+    /**
+     *  Retourne la projection d'avancement mémorisée.
+     *  @param slot Emplacement.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @return Projection d'avancement (ou nul si non calculée).
+     */
+    public ForwardProjection getForward(int slot, boolean ask, VariationType variation) {
+        return this.forwards[ClusterStore.forward(ask, variation)][slot];
+    }
+
+    /**
+     *  Définit une valeur.
+     *  @param slot Emplacement.
+     *  @param ask Coté.
+     *  @param field Colonne.
+     *  @param value Valeur.
+     */
+    public void set(int slot, boolean ask, int field, double value) {
+        this.columns[ClusterStore.column(ask, field)][slot] = value;
+    }
+
+    /**
+     *  Définit la direction.
+     *  @param slot Emplacement.
+     *  @param ask Coté.
+     *  @param value Direction.
+     */
+    public void setDirection(int slot, boolean ask, boolean value) {
+        ClusterStore.assign(this.directions[ask ? 0 : 1], slot, value);
+    }
+
+    /**
+     *  Définit un marquage de sommet ou de repli.
+     *  @param slot Emplacement.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @param type Type d'opposition (true : sommet, false : repli).
+     *  @param value Marquage.
+     */
+    public void setOpposite(int slot, boolean ask, VariationType variation, boolean type, boolean value) {
+        ClusterStore.assign(this.opposites[ClusterStore.opposite(ask, variation, type)], slot, value);
+    }
+
+    /**
+     *  Efface les marquages de sommet ou de repli d'une plage de cellules.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @param type Type d'opposition (true : sommet, false : repli).
+     *  @param from Numéro de séquence de la première cellule (inclus).
+     *  @param to Numéro de séquence de la dernière cellule (exclus).
+     */
+    public void clearOpposites(boolean ask, VariationType variation, boolean type, long from, long to) {
+        if (from >= to) {
+            return;
+        }
+        long[] bits = this.opposites[ClusterStore.opposite(ask, variation, type)];
+        int start = this.slot(from);
+        int length = (int) Math.min(to - from, this.capacity);
+        if (start + length <= this.capacity) {
+            ClusterStore.clear(bits, start, start + length);
+        } else {
+            ClusterStore.clear(bits, start, this.capacity);
+            ClusterStore.clear(bits, 0, start + length - this.capacity);
+        }
+    }
+
+    /**
+     *  Recherche la prochaine cellule marquée comme sommet ou repli dans une plage.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @param type Type d'opposition (true : sommet, false : repli).
+     *  @param from Numéro de séquence de départ (inclus).
+     *  @param to Numéro de séquence de fin (exclus).
+     *  @return Numéro de séquence de la cellule trouvée, ou -1.
+     */
+    public long nextOpposite(boolean ask, VariationType variation, boolean type, long from, long to) {
+        if (from >= to) {
+            return -1;
+        }
+        long[] bits = this.opposites[ClusterStore.opposite(ask, variation, type)];
+        int start = this.slot(from);
+        int length = (int) Math.min(to - from, this.capacity);
+        if (start + length <= this.capacity) {
+            int found = ClusterStore.next(bits, start, start + length);
+            return found < 0 ? -1 : from + (found - start);
+        } else {
+            int found = ClusterStore.next(bits, start, this.capacity);
+            if (found >= 0) {
+                return from + (found - start);
+            }
+            found = ClusterStore.next(bits, 0, start + length - this.capacity);
+            return found < 0 ? -1 : from + (this.capacity - start) + found;
+        }
+    }
+
+    /**
+     *  Mémorise une projection d'avancement.
+     *  @param slot Emplacement.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @param projection Projection d'avancement.
+     */
+    public void setForward(int slot, boolean ask, VariationType variation, ForwardProjection projection) {
+        this.forwards[ClusterStore.forward(ask, variation)][slot] = projection;
+    }
+
+    /**
+     *  Réinitialise un coté d'un emplacement avant sa réutilisation.
+     *  @param slot Emplacement.
+     *  @param ask Coté.
+     */
+    public void clear(int slot, boolean ask) {
+        for (int field = 0; field < ClusterStore.FIELDS; field++) {
+            this.set(slot, ask, field, 0);
+        }
+        this.setDirection(slot, ask, false);
+        for (VariationType variation : VariationType.values()) {
+            this.setOpposite(slot, ask, variation, true, false);
+            this.setOpposite(slot, ask, variation, false, false);
+            this.setForward(slot, ask, variation, null);
+        }
+    }
+
+    /**
+     *  Retourne l'index de colonne correspondant à une variation.
+     *  @param variation Variation.
+     *  @return Index de colonne.
+     */
+    public static int field(VariationType variation) {
+        switch (variation) {
+            case MINIMUM:
+                return ClusterStore.MINIMUM;
+            case MAXIMUM:
+                return ClusterStore.MAXIMUM;
+            case AVERAGE:
+            default:
+                return ClusterStore.AVERAGE;
+        }
+    }
+
+    /**
+     *  Convertit la description d'un noeud en chaine de caractères.
+     *  @param slot Emplacement.
+     *  @param ask Coté.
+     *  @return Chaine descriptive.
+     */
+    public String describe(int slot, boolean ask) {
+        double[] values = new double[ClusterStore.FIELDS];
+        for (int field = 0; field < ClusterStore.FIELDS; field++) {
+            values[field] = this.get(slot, ask, field);
+        }
+        return Arrays.toString(values);
+    }
+
+    /**
+     *  Retourne l'index d'une colonne de taux.
+     *  @param ask Coté.
+     *  @param field Colonne.
+     *  @return Index.
+     */
+    private static int column(boolean ask, int field) {
+        return (ask ? 0 : ClusterStore.FIELDS) + field;
+    }
+
+    /**
+     *  Retourne l'index d'un jeu de bits d'opposition.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @param type Type d'opposition.
+     *  @return Index.
+     */
+    private static int opposite(boolean ask, VariationType variation, boolean type) {
+        int variations = VariationType.values().length;
+        return ((ask ? 0 : 2) + (type ? 0 : 1)) * variations + variation.ordinal();
+    }
+
+    /**
+     *  Retourne l'index d'une colonne de projections d'avancement.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @return Index.
+     */
+    private static int forward(boolean ask, VariationType variation) {
+        return (ask ? 0 : VariationType.values().length) + variation.ordinal();
+    }
+
+    /**
+     *  Lit un bit.
+     *  @param bits Jeu de bits.
+     *  @param idx Position.
+     *  @return Valeur du bit.
+     */
+    private static boolean test(long[] bits, int idx) {
+        return (bits[idx >>> 6] & (1L << idx)) != 0;
+    }
+
+    /**
+     *  Efface une plage de bits.
+     *  @param bits Jeu de bits.
+     *  @param from Position de départ (incluse).
+     *  @param to Position de fin (exclue).
+     */
+    private static void clear(long[] bits, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        int first = from >>> 6;
+        int last = (to - 1) >>> 6;
+        long firstMask = -1L << from;
+        long lastMask = -1L >>> -to;
+        if (first == last) {
+            bits[first] &= ~(firstMask & lastMask);
+        } else {
+            bits[first] &= ~firstMask;
+            for (int i = first + 1; i < last; i++) {
+                bits[i] = 0;
+            }
+            bits[last] &= ~lastMask;
+        }
+    }
+
+    /**
+     *  Recherche le prochain bit positionné dans une plage.
+     *  @param bits Jeu de bits.
+     *  @param from Position de départ (incluse).
+     *  @param to Position de fin (exclue).
+     *  @return Position du bit trouvé, ou -1.
+     */
+    private static int next(long[] bits, int from, int to) {
+        if (from >= to) {
+            return -1;
+        }
+        int word = from >>> 6;
+        long current = bits[word] & (-1L << from);
+        while (true) {
+            if (current != 0) {
+                int found = (word << 6) + Long.numberOfTrailingZeros(current);
+                return found < to ? found : -1;
+            }
+            word++;
+            if ((word << 6) >= to) {
+                return -1;
+            }
+            current = bits[word];
+        }
+    }
+
+    /**
+     *  Affecte un bit.
+     *  @param bits Jeu de bits.
+     *  @param idx Position.
+     *  @param value Valeur affectée.
+     */
+    private static void assign(long[] bits, int idx, boolean value) {
+        if (value) {
+            bits[idx >>> 6] |= 1L << idx;
+        } else {
+            bits[idx >>> 6] &= ~(1L << idx);
+        }
+    }
+}
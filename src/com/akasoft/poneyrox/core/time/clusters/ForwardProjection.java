@@ -0,0 +1,69 @@
+package com.akasoft.poneyrox.core.time.clusters;
+
+import java.util.Arrays;
+
+/**
+ *  Projection d'avancement.
+ *  Interpolation linéaire des taux d'un historique de noeuds en fonction du temps, prolongée par des valeurs
+ *  constantes en dehors de l'historique. La projection est immuable une fois créée.
+ */
+public class ForwardProjection {
+    /**
+     *  Instants connus, triés par ordre croissant.
+     *  Exprimés en temps UNIX.
+     */
+    private final double[] times;
+
+    /**
+     *  Taux correspondants.
+     */
+    private final double[] rates;
+
+    /**
+     *  Constructeur.
+     *  @param times Instants connus, triés par ordre croissant.
+     *  @param rates Taux correspondants.
+     */
+    public ForwardProjection(double[] times, double[] rates) {
+        if (times.length != rates.length || times.length == 0) {
+            throw new IllegalArgumentException("Projection requires as many rates as times, and at least one point");
+        }
+        this.times = times;
+        this.rates = rates;
+    }
+
+    /**
+     *  Retourne le nombre de points de la projection.
+     *  @return Nombre de points.
+     */
+    public int size() {
+        return this.times.length;
+    }
+
+    /**
+     *  Retourne la valeur projetée à un instant donné.
+     *  @param time Instant évalué.
+     *  @return Valeur projetée.
+     */
+    public double getValue(double time) {
+        int last = this.times.length - 1;
+        if (time <= this.times[0]) {
+            return this.rates[0];
+        } else if (time >= this.times[last]) {
+            return this.rates[last];
+        }
+
+        /* Recherche de l'intervalle encadrant */
+        int found = Arrays.binarySearch(this.times, time);
+        if (found >= 0) {
+            return this.rates[found];
+        }
+        int upper = -found - 1;
+        int lower = upper - 1;
+
+        /* Interpolation */
+        double span = this.times[upper] - this.times[lower];
+        double ratio = span == 0 ? 0 : (time - this.times[lower]) / span;
+        return this.rates[lower] + (this.rates[upper] - this.rates[lower]) * ratio;
+    }
+}
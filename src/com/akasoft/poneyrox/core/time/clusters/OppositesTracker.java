@@ -0,0 +1,139 @@
+package com.akasoft.poneyrox.core.time.clusters;
+
+import com.akasoft.poneyrox.core.strategies.parameters.VariationType;
+import com.akasoft.poneyrox.core.time.curves.AbstractCurveWrapper;
+
+import java.util.Arrays;
+
+/**
+ *  Suivi des sommets et des replis.
+ *  Conserve, pour chaque coté, type d'opposition et variation d'une courbe, la série de cellules marquées en cours
+ *  (cellules consécutives se terminant par la dernière cellule finalisée). Un nouveau record efface cette série d'un
+ *  seul tenant dans le stockage colonnaire, ce qui ramène le marquage à un cout amorti constant par cellule.
+ *  Le suivi permet également de rechercher directement les prochaines cellules marquées d'une plage.
+ */
+public class OppositesTracker {
+    /**
+     *  Courbe suivie.
+     */
+    private final AbstractCurveWrapper<?> curve;
+
+    /**
+     *  Premières cellules des séries en cours.
+     */
+    private final long[] starts;
+
+    /**
+     *  Dernières cellules des séries en cours (-1 si aucune).
+     */
+    private final long[] ends;
+
+    /**
+     *  Constructeur.
+     *  @param curve Courbe suivie.
+     */
+    public OppositesTracker(AbstractCurveWrapper<?> curve) {
+        int size = 2 * 2 * VariationType.values().length;
+        this.curve = curve;
+        this.starts = new long[size];
+        this.ends = new long[size];
+        Arrays.fill(this.starts, -1);
+        Arrays.fill(this.ends, -1);
+    }
+
+    /**
+     *  Marque une cellule finalisée sans précédent : elle constitue à la fois un sommet et un repli.
+     *  @param cluster Noeud finalisé.
+     *  @param variation Variation.
+     *  @param type Type d'opposition (true : sommet, false : repli).
+     */
+    public void start(Cluster cluster, VariationType variation, boolean type) {
+        long index = cluster.getOwner().getIndex();
+        int key = OppositesTracker.key(cluster.isAsk(), variation, type);
+        cluster.setOpposite(variation, type, true);
+        this.starts[key] = index;
+        this.ends[key] = index;
+    }
+
+    /**
+     *  Met à jour le marquage d'une cellule finalisée en comparaison de son précédent.
+     *  @param cluster Noeud finalisé.
+     *  @param previous Noeud précédent.
+     *  @param variation Variation.
+     *  @param type Type d'opposition (true : sommet, false : repli).
+     */
+    public void update(Cluster cluster, Cluster previous, VariationType variation, boolean type) {
+        /* Récupération des taux */
+        long index = cluster.getOwner().getIndex();
+        int key = OppositesTracker.key(cluster.isAsk(), variation, type);
+        double previousRate = previous.getRate(variation);
+        double currentRate = cluster.getRate(variation);
+
+        /* Indicateur.
+           Valeur indiquant si le noeud précédent termine la série en cours. */
+        boolean chained = this.ends[key] >= 0 && this.ends[key] == previous.getOwner().getIndex();
+
+        /* Comparaison */
+        if (previousRate == currentRate) {
+            /* Egalité : prolongation de la série si le précédent en fait partie */
+            cluster.setOpposite(variation, type, chained);
+            if (chained) {
+                this.ends[key] = index;
+            }
+        } else if (type ? previousRate < currentRate : previousRate > currentRate) {
+            /* Nouveau record : nettoyage de la série précédente */
+            if (chained) {
+                long from = Math.max(this.starts[key], this.curve.getOldestRetained());
+                this.curve.getStore().clearOpposites(cluster.isAsk(), variation, type, from, this.ends[key] + 1);
+            }
+            cluster.setOpposite(variation, type, true);
+            this.starts[key] = index;
+            this.ends[key] = index;
+        } else {
+            /* Inversion de la courbe */
+            cluster.setOpposite(variation, type, false);
+            this.starts[key] = -1;
+            this.ends[key] = -1;
+        }
+    }
+
+    /**
+     *  Recherche la prochaine cellule marquée dans une plage.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @param type Type d'opposition (true : sommet, false : repli).
+     *  @param from Numéro de séquence de départ (inclus).
+     *  @param to Numéro de séquence de fin (exclus).
+     *  @return Numéro de séquence de la cellule trouvée, ou -1.
+     */
+    public long next(boolean ask, VariationType variation, boolean type, long from, long to) {
+        long oldest = this.curve.getOldestRetained();
+        return this.curve.getStore().nextOpposite(ask, variation, type, Math.max(from, oldest), to);
+    }
+
+    /**
+     *  Recherche la prochaine cellule marquée comme sommet ou comme repli dans une plage.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @param from Numéro de séquence de départ (inclus).
+     *  @param to Numéro de séquence de fin (exclus).
+     *  @return Numéro de séquence de la cellule trouvée, ou -1.
+     */
+    public long nextAny(boolean ask, VariationType variation, long from, long to) {
+        long top = this.next(ask, variation, true, from, to);
+        long bottom = this.next(ask, variation, false, from, top < 0 ? to : top);
+        return bottom < 0 ? top : bottom;
+    }
+
+    /**
+     *  Retourne l'index d'une série.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @param type Type d'opposition.
+     *  @return Index.
+     */
+    private static int key(boolean ask, VariationType variation, boolean type) {
+        int variations = VariationType.values().length;
+        return ((ask ? 0 : 2) + (type ? 0 : 1)) * variations + variation.ordinal();
+    }
+}
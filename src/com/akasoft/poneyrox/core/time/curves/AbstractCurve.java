@@ -1,6 +1,11 @@
 package com.akasoft.poneyrox.core.time.curves;
 
+import com.akasoft.poneyrox.core.strategies.categories.ChaosStrategy;
+import com.akasoft.poneyrox.core.strategies.categories.ForwardStrategy;
+import com.akasoft.poneyrox.core.strategies.categories.GrowthStrategy;
+import com.akasoft.poneyrox.core.strategies.categories.OppositesStrategy;
 import com.akasoft.poneyrox.core.time.cells.AbstractCell;
+import com.akasoft.poneyrox.core.time.clusters.Cluster;
 import com.akasoft.poneyrox.entities.markets.TimelineEntity;
 import com.akasoft.poneyrox.exceptions.InnerException;
 import com.akasoft.poneyrox.threads.TimelineTask;
@@ -21,6 +26,17 @@ public abstract class AbstractCurve<TCell extends AbstractCell> extends Abstract
      */
     public static final int WIDTH = 320;
 
+    /**
+     *  Horizon des références arrière entre cellules.
+     *  Correspond au plus grand recul exploité par une stratégie (y compris l'historique des projections
+     *  d'avancement), augmenté de la cellule en cours et du précédent de la plus ancienne cellule évaluée.
+     */
+    public static final int HORIZON = Math.max(
+            Math.max(ChaosStrategy.SIZE_MAXIMUM, OppositesStrategy.SIZE_MAXIMUM),
+            Math.max(
+                    GrowthStrategy.MAXIMUM_SIZE,
+                    ForwardStrategy.MAXIMUM_OFFSET + ForwardStrategy.MAXIMUM_BACKWARD + Cluster.FORWARD_SIZE)) + 2;
+
     /**
      *  Tache propriétaire.
      */
@@ -1,116 +1,202 @@
 package com.akasoft.poneyrox.core.time.curves;
 
 import com.akasoft.poneyrox.core.time.cells.AbstractCell;
+import com.akasoft.poneyrox.core.time.clusters.ClusterStore;
+import com.akasoft.poneyrox.core.time.clusters.OppositesTracker;
 import com.akasoft.poneyrox.exceptions.InnerException;
-import com.akasoft.poneyrox.threads.TimelineTask;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
  *  Enveloppe des courbes.
+ *  Les cellules sont conservées dans des tampons circulaires alimentés par la seule tache temporelle ; les lectures
+ *  renvoient des vues sans copie et ne prennent aucun verrou. Chaque finalisation publie un instantané versionné à
+ *  destination des lecteurs.
  */
 public class AbstractCurveWrapper<TCell extends AbstractCell> {
     /**
-     *  Liste des cellules constituantes.
+     *  Cellules constituantes.
      */
-    private final List<TCell> cells;
+    private final CurveBuffer<TCell> cells;
 
     /**
-     *  Liste des cellules consolidées.
+     *  Cellules consolidées.
      */
-    private List<TCell> builds;
+    private final CurveBuffer<TCell> builds;
 
     /**
-     *  Dernière cellule finalisée.
+     *  Stockage colonnaire des noeuds.
+     *  Dimensionné sur la capacité physique du tampon des cellules, dont il partage l'indexation.
      */
-    private TCell last;
+    private final ClusterStore store;
+
+    /**
+     *  Suivi des sommets et des replis.
+     */
+    private final OppositesTracker tracker;
+
+    /**
+     *  Cache des noyaux de calcul des stratégies.
+     */
+    private final KernelCache kernels;
+
+    /**
+     *  Dernier instantané publié.
+     */
+    private volatile CurveSnapshot<TCell> snapshot;
 
     /**
      *  Constructeur.
      */
     public AbstractCurveWrapper() {
-        this.cells = new ArrayList<>();
-        this.builds = new ArrayList<>();
-        this.last = null;
+        this.cells = new CurveBuffer<>(AbstractCurve.WIDTH);
+        this.builds = new CurveBuffer<>(AbstractCurve.WIDTH);
+        this.store = new ClusterStore(this.cells.getCapacity());
+        this.tracker = new OppositesTracker(this);
+        this.kernels = new KernelCache();
+        this.snapshot = new CurveSnapshot<>(0, this.builds.all(), null);
     }
 
     /**
-     *  Retourne la liste des cellules.
-     *  @return Liste des cellules.
+     *  Retourne le cache des noyaux de calcul.
+     *  @return Cache des noyaux.
+     */
+    public KernelCache getKernels() {
+        return this.kernels;
+    }
+
+    /**
+     *  Retourne le dernier instantané publié.
+     *  @return Instantané courant.
      */
-    protected synchronized List<TCell> getCells() {
-        synchronized (this.cells) {
-            return new ArrayList<>(this.cells);
+    public CurveSnapshot<TCell> getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     *  Retourne le stockage colonnaire des noeuds.
+     *  @return Stockage colonnaire.
+     */
+    public ClusterStore getStore() {
+        return this.store;
+    }
+
+    /**
+     *  Retourne le suivi des sommets et des replis.
+     *  @return Suivi des oppositions.
+     */
+    public OppositesTracker getTracker() {
+        return this.tracker;
+    }
+
+    /**
+     *  Réserve le numéro de séquence de la prochaine cellule ajoutée.
+     *  @return Numéro de séquence.
+     */
+    public long allocate() {
+        return this.cells.getCount();
+    }
+
+    /**
+     *  Retourne une cellule par son numéro de séquence.
+     *  Seules les cellules situées dans l'horizon de la courbe sont résolues.
+     *  @param index Numéro de séquence de la cellule.
+     *  @return Cellule correspondante (ou nul si hors horizon).
+     */
+    public TCell getCell(long index) {
+        long count = this.cells.getCount();
+        if (index < 0 || index >= count || count - index > AbstractCurve.HORIZON) {
+            return null;
         }
+        return this.cells.getAt(index);
+    }
+
+    /**
+     *  Retourne le numéro de séquence de la plus ancienne cellule conservée dans le stockage colonnaire.
+     *  @return Numéro de séquence.
+     */
+    public long getOldestRetained() {
+        return Math.max(0, this.cells.getCount() - this.store.getCapacity() + 1);
+    }
+
+    /**
+     *  Retourne la liste des cellules.
+     *  @return Vue en lecture seule sur les cellules.
+     */
+    protected List<TCell> getCells() {
+        return this.cells.all();
+    }
+
+    /**
+     *  Retourne les dernières cellules.
+     *  @param size Nombre de cellules recherchées.
+     *  @return Vue en lecture seule sur les dernières cellules.
+     */
+    protected List<TCell> getLastCells(int size) {
+        return this.cells.last(size);
+    }
+
+    /**
+     *  Retourne la dernière cellule ajoutée.
+     *  @return Dernière cellule (ou nul).
+     */
+    protected TCell getLastCell() {
+        return this.cells.getLast();
     }
 
     /**
      *  Retourne la liste des cellules finalisées.
-     *  @return Liste des cellules finalisées.
+     *  @return Vue en lecture seule sur les cellules finalisées.
      */
-    public synchronized List<TCell> getBuilds() {
-        synchronized (this.builds) {
-            return new ArrayList<>(this.builds);
-        }
+    public List<TCell> getBuilds() {
+        return this.builds.all();
+    }
+
+    /**
+     *  Retourne une plage de cellules finalisées.
+     *  @param from Borne de départ (incluse), relative à la plus ancienne cellule retenue.
+     *  @param to Borne de fin (exclue).
+     *  @return Vue en lecture seule.
+     */
+    public List<TCell> getBuilds(int from, int to) {
+        return this.builds.range(from, to);
     }
 
     /**
      *  Indique si la courbe contient une entrée finalisée.
      *  @return true si la courbe contient une entrée finalisée.
      */
-    public synchronized boolean hasLastBuild() {
-        return this.last != null;
+    public boolean hasLastBuild() {
+        return !this.builds.isEmpty();
     }
 
     /**
      *  Retourne la dernière cellule finalisée.
-     *  @return Dernière cellule finalisée (ou nul).
-     */
-    public synchronized TCell getLastBuild() throws InnerException {
-        synchronized (this.last) {
-            if (this.last != null) {
-                return this.last;
-            }
-            throw new InnerException("No build disponible for curve");
+     *  @return Dernière cellule finalisée.
+     *  @throws InnerException Si aucune cellule n'est finalisée.
+     */
+    public TCell getLastBuild() throws InnerException {
+        TCell last = this.builds.getLast();
+        if (last != null) {
+            return last;
         }
+        throw new InnerException("No build disponible for curve");
     }
 
     /**
      *  Ajout d'une cellule.
      *  @param cell Cellule ajoutée.
      */
-    protected synchronized void addCell(TCell cell) {
-        synchronized (this.cells) {
-            this.cells.add(cell);
-        }
+    protected void addCell(TCell cell) {
+        this.cells.add(cell);
     }
 
     /**
-     *  Définit la dernière cellule finalisée.
+     *  Définit la dernière cellule finalisée et publie l'instantané correspondant.
      *  @param last Dernière cellule finalisée.
      */
-    public synchronized void setLastBuild(TCell last) {
-        this.last = last;
-        synchronized (this.builds) {
-            this.builds.add(last);
-        }
-    }
-
-    /**
-     *  Nettoyage des cellules.
-     */
-    protected synchronized void clearCells() {
-        synchronized (this.cells) {
-            if (this.cells.size() > AbstractCurve.WIDTH) {
-                this.cells.remove(0);
-            }
-        }
-        synchronized (this.builds) {
-            if (this.builds.size() > AbstractCurve.WIDTH) {
-                this.builds.remove(0);
-            }
-        }
+    public void setLastBuild(TCell last) {
+        this.builds.add(last);
+        this.snapshot = new CurveSnapshot<>(this.builds.getCount(), this.builds.all(), last);
     }
 }
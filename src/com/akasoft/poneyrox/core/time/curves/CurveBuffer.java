@@ -0,0 +1,157 @@
+package com.akasoft.poneyrox.core.time.curves;
+
+import java.util.List;
+
+/**
+ *  Tampon circulaire.
+ *  Stockage de capacité fixe des cellules d'une courbe. L'ajout et l'éviction se font en temps constant et la lecture
+ *  passe par des vues fenêtrées sans copie.
+ *  Le tampon est alimenté par un unique processus d'écriture (la tache temporelle) et peut etre lu sans verrou par
+ *  les autres processus.
+ *  @param <TCell> Type de cellule.
+ */
+public class CurveBuffer<TCell> {
+    /**
+     *  Emplacements.
+     *  La capacité physique est le double de la largeur retenue, de façon à ce qu'une vue reste valide tant que
+     *  moins de "width" cellules ont été ajoutées depuis sa création.
+     */
+    private final Object[] slots;
+
+    /**
+     *  Nombre maximum de cellules visibles.
+     */
+    private final int width;
+
+    /**
+     *  Nombre total de cellules ajoutées depuis la création du tampon.
+     *  Son écriture publie l'emplacement renseigné auprès des lecteurs.
+     */
+    private volatile long count;
+
+    /**
+     *  Constructeur.
+     *  @param width Nombre maximum de cellules visibles.
+     */
+    public CurveBuffer(int width) {
+        this.slots = new Object[width * 2];
+        this.width = width;
+        this.count = 0;
+    }
+
+    /**
+     *  Retourne le nombre maximum de cellules visibles.
+     *  @return Largeur du tampon.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     *  Retourne la capacité physique du tampon.
+     *  @return Nombre d'emplacements.
+     */
+    public int getCapacity() {
+        return this.slots.length;
+    }
+
+    /**
+     *  Retourne le nombre total de cellules ajoutées.
+     *  @return Nombre de cellules ajoutées.
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     *  Retourne le nombre de cellules visibles.
+     *  @return Nombre de cellules visibles.
+     */
+    public int size() {
+        return (int) Math.min(this.count, this.width);
+    }
+
+    /**
+     *  Indique si le tampon est vide.
+     *  @return true si aucune cellule n'a été ajoutée.
+     */
+    public boolean isEmpty() {
+        return this.count == 0;
+    }
+
+    /**
+     *  Retourne la dernière cellule ajoutée.
+     *  @return Dernière cellule (ou nul).
+     */
+    public TCell getLast() {
+        long count = this.count;
+        return count == 0 ? null : this.getAt(count - 1);
+    }
+
+    /**
+     *  Ajoute une cellule.
+     *  La cellule la plus ancienne sort de la fenêtre visible une fois la largeur atteinte.
+     *  @param cell Cellule ajoutée.
+     */
+    public void add(TCell cell) {
+        long count = this.count;
+        this.slots[(int) (count % this.slots.length)] = cell;
+        this.count = count + 1;
+    }
+
+    /**
+     *  Retourne une vue sur les dernières cellules.
+     *  @param size Nombre de cellules recherchées.
+     *  @return Vue en lecture seule (éventuellement plus courte que demandé).
+     */
+    public List<TCell> last(int size) {
+        long count = this.count;
+        int available = (int) Math.min(count, this.width);
+        int length = Math.max(0, Math.min(size, available));
+        return new CurveWindow<>(this, count - length, length);
+    }
+
+    /**
+     *  Retourne une vue sur l'ensemble des cellules visibles.
+     *  @return Vue en lecture seule.
+     */
+    public List<TCell> all() {
+        return this.last(this.width);
+    }
+
+    /**
+     *  Retourne une vue sur une plage de cellules visibles.
+     *  Les bornes sont exprimées relativement à la plus ancienne cellule visible.
+     *  @param from Borne de départ (incluse).
+     *  @param to Borne de fin (exclue).
+     *  @return Vue en lecture seule.
+     */
+    public List<TCell> range(int from, int to) {
+        long count = this.count;
+        int available = (int) Math.min(count, this.width);
+        if (from < 0 || to > available || from > to) {
+            throw new IndexOutOfBoundsException(String.format("Invalid range [%d, %d[ for %d cells", from, to, available));
+        }
+        return new CurveWindow<>(this, count - available + from, to - from);
+    }
+
+    /**
+     *  Retourne une cellule par son numéro de séquence.
+     *  Le compteur est relu après l'emplacement : si l'écriture en cours ou une écriture antérieure a pu recouvrir
+     *  la cellule demandée, le lecteur a pris trop de retard et la lecture est rejetée plutôt que de renvoyer une
+     *  cellule plus récente.
+     *  @param sequence Numéro de séquence (rang d'ajout).
+     *  @return Cellule correspondante.
+     *  @throws IllegalStateException Si la cellule a quitté le tampon.
+     */
+    @SuppressWarnings("unchecked")
+    TCell getAt(long sequence) {
+        TCell result = (TCell) this.slots[(int) (sequence % this.slots.length)];
+        long count = this.count;
+        if (count - sequence >= this.slots.length) {
+            throw new IllegalStateException(String.format(
+                    "Cell %d overwritten (%d cells added, capacity %d)", sequence, count, this.slots.length));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,214 @@
+package com.akasoft.poneyrox.core.time.curves;
+
+import com.akasoft.poneyrox.core.strategies.parameters.VariationType;
+import com.akasoft.poneyrox.core.time.cells.AbstractCell;
+import com.akasoft.poneyrox.core.time.clusters.ClusterStore;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ *  Séries primitives d'un instantané.
+ *  Les cellules finalisées d'un instantané sont extraites une seule fois sous forme de tableaux de taux par coté et
+ *  par variation, et de jeux de bits pour les directions et les sommets/replis. Les stratégies lisent ces tableaux
+ *  par position (0 : plus ancienne cellule finalisée) sans parcourir les cellules ni leurs noeuds.
+ *  Les tableaux sont partagés entre toutes les instances : ils doivent etre lus et non modifiés.
+ */
+public class CurveSeries {
+    /**
+     *  Nombre de variations.
+     */
+    private static final int VARIATIONS = VariationType.values().length;
+
+    /**
+     *  Cellules finalisées.
+     */
+    private final List<? extends AbstractCell> cells;
+
+    /**
+     *  Nombre de cellules.
+     */
+    private final int size;
+
+    /**
+     *  Numéros de séquence des cellules.
+     */
+    private final long[] indexes;
+
+    /**
+     *  Dates de début des cellules.
+     */
+    private final long[] starts;
+
+    /**
+     *  Taux, indexés par coté puis variation.
+     */
+    private final double[][] rates;
+
+    /**
+     *  Directions, indexées par coté.
+     */
+    private final BitSet[] directions;
+
+    /**
+     *  Sommets et replis, indexés par coté, type d'opposition puis variation.
+     */
+    private final BitSet[] opposites;
+
+    /**
+     *  Constructeur.
+     *  @param cells Cellules finalisées, consécutives.
+     */
+    public CurveSeries(List<? extends AbstractCell> cells) {
+        /* Allocation */
+        this.cells = cells;
+        this.size = cells.size();
+        this.indexes = new long[this.size];
+        this.starts = new long[this.size];
+        this.rates = new double[2 * VARIATIONS][this.size];
+        this.directions = new BitSet[] {new BitSet(this.size), new BitSet(this.size)};
+        this.opposites = new BitSet[2 * 2 * VARIATIONS];
+        for (int i = 0; i < this.opposites.length; i++) {
+            this.opposites[i] = new BitSet(this.size);
+        }
+
+        /* Extraction.
+         * Les valeurs sont lues directement dans le stockage colonnaire de la courbe. */
+        for (int i = 0; i < this.size; i++) {
+            AbstractCell cell = cells.get(i);
+            ClusterStore store = cell.getStore();
+            int slot = cell.getSlot();
+            this.indexes[i] = cell.getIndex();
+            this.starts[i] = cell.getStart();
+            for (int side = 0; side < 2; side++) {
+                boolean ask = side == 0;
+                this.directions[side].set(i, store.getDirection(slot, ask));
+                for (VariationType variation : VariationType.values()) {
+                    this.rates[CurveSeries.rate(ask, variation)][i] = store.get(slot, ask, ClusterStore.field(variation));
+                    this.opposites[CurveSeries.opposite(ask, variation, true)].set(i, store.getOpposite(slot, ask, variation, true));
+                    this.opposites[CurveSeries.opposite(ask, variation, false)].set(i, store.getOpposite(slot, ask, variation, false));
+                }
+            }
+        }
+    }
+
+    /**
+     *  Retourne le nombre de cellules.
+     *  @return Nombre de cellules.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     *  Retourne une cellule.
+     *  Réservé aux calculs nécessitant des données non extraites (projections d'avancement).
+     *  @param position Position.
+     *  @return Cellule.
+     */
+    public AbstractCell getCell(int position) {
+        return this.cells.get(position);
+    }
+
+    /**
+     *  Retourne le numéro de séquence d'une cellule.
+     *  @param position Position.
+     *  @return Numéro de séquence.
+     */
+    public long getIndex(int position) {
+        return this.indexes[position];
+    }
+
+    /**
+     *  Retourne la date de début d'une cellule.
+     *  @param position Position.
+     *  @return Date de début.
+     */
+    public long getStart(int position) {
+        return this.starts[position];
+    }
+
+    /**
+     *  Retourne la série des taux d'un coté et d'une variation.
+     *  @param ask Coté (true : demande, false : offre).
+     *  @param variation Variation.
+     *  @return Taux, indexés par position.
+     */
+    public double[] getRates(boolean ask, VariationType variation) {
+        return this.rates[CurveSeries.rate(ask, variation)];
+    }
+
+    /**
+     *  Retourne la direction d'une cellule.
+     *  @param position Position.
+     *  @param ask Coté.
+     *  @return Direction.
+     */
+    public boolean getDirection(int position, boolean ask) {
+        return this.directions[ask ? 0 : 1].get(position);
+    }
+
+    /**
+     *  Indique si une cellule est marquée comme sommet ou repli.
+     *  @param position Position.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @param type Type d'opposition (true : sommet, false : repli).
+     *  @return Marquage.
+     */
+    public boolean isOpposite(int position, boolean ask, VariationType variation, boolean type) {
+        return this.opposites[CurveSeries.opposite(ask, variation, type)].get(position);
+    }
+
+    /**
+     *  Recherche la prochaine cellule marquée comme sommet ou repli dans une plage.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @param type Type d'opposition (true : sommet, false : repli).
+     *  @param from Position de départ (incluse).
+     *  @param to Position de fin (exclue).
+     *  @return Position trouvée, ou -1.
+     */
+    public int nextOpposite(boolean ask, VariationType variation, boolean type, int from, int to) {
+        if (from >= to) {
+            return -1;
+        }
+        int found = this.opposites[CurveSeries.opposite(ask, variation, type)].nextSetBit(from);
+        return found < to ? found : -1;
+    }
+
+    /**
+     *  Recherche la prochaine cellule marquée comme sommet ou comme repli dans une plage.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @param from Position de départ (incluse).
+     *  @param to Position de fin (exclue).
+     *  @return Position trouvée, ou -1.
+     */
+    public int nextAnyOpposite(boolean ask, VariationType variation, int from, int to) {
+        int top = this.nextOpposite(ask, variation, true, from, to);
+        int bottom = this.nextOpposite(ask, variation, false, from, top < 0 ? to : top);
+        return bottom < 0 ? top : bottom;
+    }
+
+    /**
+     *  Retourne l'index d'une série de taux.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @return Index.
+     */
+    private static int rate(boolean ask, VariationType variation) {
+        return (ask ? 0 : VARIATIONS) + variation.ordinal();
+    }
+
+    /**
+     *  Retourne l'index d'un jeu de bits d'opposition.
+     *  @param ask Coté.
+     *  @param variation Variation.
+     *  @param type Type d'opposition.
+     *  @return Index.
+     */
+    private static int opposite(boolean ask, VariationType variation, boolean type) {
+        return ((ask ? 0 : 2) + (type ? 0 : 1)) * VARIATIONS + variation.ordinal();
+    }
+}
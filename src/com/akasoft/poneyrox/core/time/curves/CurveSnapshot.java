@@ -0,0 +1,100 @@
+package com.akasoft.poneyrox.core.time.curves;
+
+import com.akasoft.poneyrox.core.time.cells.AbstractCell;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ *  Instantané de courbe.
+ *  Etat immuable des cellules finalisées d'une courbe, publié par la tache temporelle après chaque finalisation. Les
+ *  lecteurs l'obtiennent par une simple lecture volatile, sans verrou ni copie.
+ *  Les cellules sont exposées par une vue fenêtrée figée sur le tampon circulaire de la courbe : la vue reste valide
+ *  tant que moins de "largeur" cellules ont été finalisées depuis sa publication.
+ *  Les séries primitives destinées aux stratégies sont extraites au premier accès, une seule fois par instantané.
+ *  @param <TCell> Type de cellule.
+ */
+public class CurveSnapshot<TCell extends AbstractCell> {
+    /**
+     *  Version.
+     *  Numéro croissant correspondant au nombre de cellules finalisées depuis la création de la courbe.
+     */
+    private final long version;
+
+    /**
+     *  Cellules finalisées.
+     */
+    private final List<TCell> builds;
+
+    /**
+     *  Dernière cellule finalisée (ou nul).
+     */
+    private final TCell last;
+
+    /**
+     *  Séries primitives (ou nul si non extraites).
+     */
+    private volatile CurveSeries series;
+
+    /**
+     *  Constructeur.
+     *  @param version Version.
+     *  @param builds Cellules finalisées.
+     *  @param last Dernière cellule finalisée.
+     */
+    public CurveSnapshot(long version, List<TCell> builds, TCell last) {
+        this.version = version;
+        this.builds = Collections.unmodifiableList(builds);
+        this.last = last;
+    }
+
+    /**
+     *  Retourne la version.
+     *  @return Version de l'instantané.
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     *  Retourne les cellules finalisées.
+     *  @return Vue en lecture seule.
+     */
+    public List<TCell> getBuilds() {
+        return this.builds;
+    }
+
+    /**
+     *  Retourne les séries primitives des cellules finalisées, extraites au premier appel.
+     *  @return Séries primitives.
+     */
+    public CurveSeries getSeries() {
+        CurveSeries result = this.series;
+        if (result == null) {
+            synchronized (this) {
+                result = this.series;
+                if (result == null) {
+                    result = new CurveSeries(this.builds);
+                    this.series = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     *  Indique si l'instantané contient une cellule finalisée.
+     *  @return true si une cellule est disponible.
+     */
+    public boolean hasLast() {
+        return this.last != null;
+    }
+
+    /**
+     *  Retourne la dernière cellule finalisée.
+     *  @return Dernière cellule finalisée (ou nul).
+     */
+    public TCell getLast() {
+        return this.last;
+    }
+}
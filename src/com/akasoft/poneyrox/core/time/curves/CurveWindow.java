@@ -0,0 +1,62 @@
+package com.akasoft.poneyrox.core.time.curves;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ *  Fenêtre.
+ *  Vue en lecture seule sur une plage figée d'un tampon circulaire. Aucune cellule n'est copiée : les accès sont
+ *  résolus par numéro de séquence dans le tampon source, et échouent si les cellules en ont été évincées.
+ *  @param <TCell> Type de cellule.
+ */
+public class CurveWindow<TCell> extends AbstractList<TCell> implements RandomAccess {
+    /**
+     *  Tampon source.
+     */
+    private final CurveBuffer<TCell> buffer;
+
+    /**
+     *  Numéro de séquence de la première cellule.
+     */
+    private final long start;
+
+    /**
+     *  Nombre de cellules.
+     */
+    private final int size;
+
+    /**
+     *  Constructeur.
+     *  @param buffer Tampon source.
+     *  @param start Numéro de séquence de la première cellule.
+     *  @param size Nombre de cellules.
+     */
+    CurveWindow(CurveBuffer<TCell> buffer, long start, int size) {
+        this.buffer = buffer;
+        this.start = start;
+        this.size = size;
+    }
+
+    /**
+     *  Retourne une cellule.
+     *  @param index Index dans la fenêtre.
+     *  @return Cellule correspondante.
+     *  @throws IllegalStateException Si la cellule a quitté le tampon source.
+     */
+    @Override
+    public TCell get(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of window of %d cells", index, this.size));
+        }
+        return this.buffer.getAt(this.start + index);
+    }
+
+    /**
+     *  Retourne le nombre de cellules.
+     *  @return Nombre de cellules.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+}
@@ -0,0 +1,97 @@
+package com.akasoft.poneyrox.core.time.curves;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ *  Cache des noyaux de calcul.
+ *  Conserve les statistiques de fenêtre partagées par les instances stratégiques d'une courbe, pour la dernière
+ *  cellule consolidée évaluée. Les noyaux sont calculés une seule fois par fenêtre puis relus par toutes les
+ *  instances qui ne diffèrent que par leurs seuils. Le cache est renouvelé à chaque nouvelle cellule consolidée.
+ *  Les fenêtres glissantes qui produisent les noyaux sont en revanche conservées d'une cellule à l'autre.
+ */
+public class KernelCache {
+    /**
+     *  Génération du cache.
+     */
+    private static class Generation {
+        /**
+         *  Index de la dernière cellule des fenêtres.
+         */
+        private final long index;
+
+        /**
+         *  Noyaux calculés.
+         */
+        private final Map<Object, Object> kernels;
+
+        /**
+         *  Constructeur.
+         *  @param index Index de la dernière cellule des fenêtres.
+         */
+        private Generation(long index) {
+            this.index = index;
+            this.kernels = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     *  Génération courante.
+     */
+    private volatile Generation current;
+
+    /**
+     *  Fenêtres glissantes, conservées entre les générations.
+     */
+    private final Map<Object, Object> windows;
+
+    /**
+     *  Constructeur.
+     */
+    public KernelCache() {
+        this.current = new Generation(-1);
+        this.windows = new ConcurrentHashMap<>();
+    }
+
+    /**
+     *  Retourne une fenêtre glissante, créée au premier accès.
+     *  @param key Clef de la fenêtre.
+     *  @param factory Création de la fenêtre.
+     *  @param <TWindow> Type de fenêtre.
+     *  @return Fenêtre.
+     */
+    @SuppressWarnings("unchecked")
+    public <TWindow> TWindow getWindow(Object key, Supplier<TWindow> factory) {
+        return (TWindow) this.windows.computeIfAbsent(key, k -> factory.get());
+    }
+
+    /**
+     *  Retourne un noyau, calculé au premier accès.
+     *  Une fenêtre antérieure à la génération courante est calculée sans etre conservée.
+     *  @param index Index de la dernière cellule de la fenêtre.
+     *  @param key Clef du noyau.
+     *  @param factory Calcul du noyau.
+     *  @param <TKernel> Type de noyau.
+     *  @return Noyau.
+     */
+    @SuppressWarnings("unchecked")
+    public <TKernel> TKernel get(long index, Object key, Supplier<TKernel> factory) {
+        /* Renouvellement */
+        Generation generation = this.current;
+        if (generation.index < index) {
+            synchronized (this) {
+                if (this.current.index < index) {
+                    this.current = new Generation(index);
+                }
+                generation = this.current;
+            }
+        }
+
+        /* Calcul */
+        if (generation.index != index) {
+            return factory.get();
+        }
+        return (TKernel) generation.kernels.computeIfAbsent(key, k -> factory.get());
+    }
+}
@@ -0,0 +1,71 @@
+package com.akasoft.poneyrox.core.time.curves;
+
+import com.akasoft.poneyrox.core.time.cells.RawPartial;
+import com.akasoft.poneyrox.entities.markets.RateEntity;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ *  File de regroupement des taux.
+ *  Intercalée entre la diffusion des taux et l'intégration à la courbe brute : les taux consécutifs d'une même
+ *  cellule sont regroupés en un agrégat partiel dès leur réception. Lorsque l'intégration prend du retard, la file
+ *  ne croit donc plus qu'avec le nombre de cellules écoulées, et non avec le nombre de taux reçus, sans modifier le
+ *  résultat des cellules.
+ */
+public class RawConflator {
+    /**
+     *  Courbe alimentée.
+     */
+    private final RawCurve curve;
+
+    /**
+     *  Agrégats en attente.
+     */
+    private final Deque<RawPartial> partials;
+
+    /**
+     *  Constructeur.
+     *  @param curve Courbe alimentée.
+     */
+    public RawConflator(RawCurve curve) {
+        this.curve = curve;
+        this.partials = new ArrayDeque<>();
+    }
+
+    /**
+     *  Ajoute un taux.
+     *  Le taux est regroupé avec le dernier agrégat en attente s'il vise la même cellule. Tant que la courbe n'a pas
+     *  de cellule, la grille n'est pas connue et chaque taux constitue son propre agrégat.
+     *  @param rate Taux ajouté.
+     */
+    public synchronized void offer(RateEntity rate) {
+        long slot = this.curve.getSlot(rate.getTime());
+        RawPartial tail = this.partials.peekLast();
+        if (tail != null && slot != RawCurve.NO_SLOT && tail.getSlot() == slot) {
+            tail.add(rate);
+        } else {
+            this.partials.addLast(new RawPartial(slot, rate));
+        }
+    }
+
+    /**
+     *  Vide la file.
+     *  @return Agrégats en attente, par ordre d'arrivée.
+     */
+    public synchronized List<RawPartial> drain() {
+        List<RawPartial> result = new ArrayList<>(this.partials);
+        this.partials.clear();
+        return result;
+    }
+
+    /**
+     *  Retourne le nombre d'agrégats en attente.
+     *  @return Nombre d'agrégats.
+     */
+    public synchronized int size() {
+        return this.partials.size();
+    }
+}
@@ -1,12 +1,14 @@
 package com.akasoft.poneyrox.core.time.curves;
 
 import com.akasoft.poneyrox.core.time.cells.RawCell;
+import com.akasoft.poneyrox.core.time.cells.RawCellState;
+import com.akasoft.poneyrox.core.time.cells.RawPartial;
+import com.akasoft.poneyrox.dao.RateDAO;
 import com.akasoft.poneyrox.entities.markets.RateEntity;
 import com.akasoft.poneyrox.exceptions.InnerException;
 import com.akasoft.poneyrox.threads.TimelineTask;
 
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
 
 /**
@@ -14,12 +16,23 @@ import java.util.List;
  *  Courbe non-lissée de taille fixe.
  */
 public class RawCurve extends AbstractCurve<RawCell> {
+    /**
+     *  Numéro de cellule indéterminé.
+     */
+    public static final long NO_SLOT = Long.MIN_VALUE;
+
     /**
      *  Taille des cellules.
      *  Exprimée en secondes.
      */
     private final int size;
 
+    /**
+     *  Origine de la grille.
+     *  Date de début de la première cellule, ou NO_SLOT tant que la courbe est vide.
+     */
+    private volatile long origin;
+
     /**
      * Constructeur.
      *
@@ -29,6 +42,7 @@ public class RawCurve extends AbstractCurve<RawCell> {
     public RawCurve(TimelineTask owner, int size) {
         super(owner);
         this.size = size;
+        this.origin = RawCurve.NO_SLOT;
     }
 
     /**
@@ -43,16 +57,10 @@ public class RawCurve extends AbstractCurve<RawCell> {
      *  Retourne une liste des dernières entrées limitée à une taille maximale passée en
      *  paramètres.
      *  @param size Taille recherchée.
-     *  @return Liste des entrées correspondantes.
+     *  @return Vue en lecture seule sur les entrées correspondantes.
      */
     public List<RawCell> getLast(int size) {
-        List<RawCell> full = this.getCells();
-
-        if (full.size() == 0) {
-            return new ArrayList<>();
-        } else {
-            return full.subList(Math.max(0, full.size() - size), full.size());
-        }
+        return super.getLastCells(size);
     }
 
     /**
@@ -65,60 +73,135 @@ public class RawCurve extends AbstractCurve<RawCell> {
     }
 
     /**
-     *  Intègre une liste de taux dans la courbe.
-     *  @param rates Taux intégrés.
+     *  Retourne le numéro de la cellule de la grille contenant une date.
+     *  @param time Date recherchée.
+     *  @return Numéro de cellule, ou NO_SLOT si la courbe n'a pas encore de cellule.
      */
-    public List<RawCell> integrate(List<RateEntity> rates) throws InnerException {
-        /* Récupération de l'historique */
-        List<RawCell> cells = super.getCells();
+    public long getSlot(long time) {
+        long origin = this.origin;
+        return origin == RawCurve.NO_SLOT ? RawCurve.NO_SLOT : Math.floorDiv(time - origin, this.size * 1000L);
+    }
+
+    /**
+     *  Intègre une liste d'agrégats partiels dans la courbe.
+     *  Le premier taux de chaque agrégat est intégré individuellement, puisqu'il peut clore la dernière cellule ; les
+     *  suivants, qui visent nécessairement la même cellule, y sont fusionnés d'un seul tenant. Chaque cellule est
+     *  finalisée une seule fois, les cellules vides intermédiaires sont créées d'un bloc, et la courbe n'est diffusée
+     *  qu'une fois par intégration.
+     *  @param partials Agrégats intégrés, par ordre d'arrivée.
+     *  @return Liste des cellules finalisées au cours de l'intégration.
+     *  @throws InnerException En cas d'erreur de calcul.
+     */
+    public List<RawCell> integrate(List<RawPartial> partials) throws InnerException {
+        /* Création du résultat */
         List<RawCell> result = new ArrayList<>();
+        if (partials.isEmpty()) {
+            return result;
+        }
 
-        /* Parcours des taux à intégrer */
-        for (RateEntity rate : rates) {
-            if (cells.size() == 0) {
-                /* Traitement du premier élément */
-                RawCell add = this.add(new Date().getTime(), rate);
-                result.add(add);
+        /* Récupération des dernières cellules.
+         * Lues une seule fois, elles sont ensuite suivies localement au fil des créations. */
+        long width = this.size * 1000L;
+        List<RawCell> cells = super.getLastCells(2);
+        RawCell last = cells.isEmpty() ? null : cells.get(cells.size() - 1);
+        RawCell previous = cells.size() > 1 ? cells.get(cells.size() - 2) : null;
+
+        /* Parcours des agrégats à intégrer */
+        for (RawPartial partial : partials) {
+            RateEntity rate = partial.getFirst();
+            if (last == null) {
+                /* Traitement du premier élément.
+                 * La grille est calée sur la date du taux, de sorte qu'un rejeu d'historique produise les mêmes
+                 * cellules que l'observation en direct. */
+                last = this.add(Math.floorDiv(rate.getTime(), width) * width, rate);
+                last.integrate(partial);
             } else {
                 /* Traitement des éléments suivants */
-                RawCell last = cells.get(cells.size() - 1);
-                long limit = last.getStart() + (this.size * 1000);
-
+                long limit = last.getStart() + width;
                 if (limit > rate.getTime()) {
                     /* Intégration à la dernière cellule */
                     last.integrate(rate);
-
-                    /* Diffusion */
-                    this.getOwner().getManager().diffuseCurve(this);
+                    last.integrate(partial);
                 } else {
-                    /* Création d'une cellule complémentaire */
-                    if (cells.size() > 1) {
-                        last.complete(cells.get(cells.size() - 2));
-                    } else {
-                        last.complete();
-                    }
-
-                    /* Gestion des cellules intermédiaires */
-                    for (long buffer = limit + (this.size * 1000); rate.getTime() > buffer; buffer += (this.size * 1000)) {
-                        System.out.println("COMPLETION DE CELLULES VIDES A VERIFIER !");
-                        RawCell add = this.add(limit, rate);
-                        result.add(add);
+                    /* Finalisation de la dernière cellule */
+                    RawCurve.complete(last, previous);
+                    result.add(last);
+
+                    /* Gestion des cellules intermédiaires.
+                     * Les cellules restent alignées sur la grille de la courbe et reprennent les derniers cours
+                     * connus ; seules les WIDTH dernières sont créées, les précédentes ne pouvant être retenues. */
+                    long target = limit + Math.floorDiv(rate.getTime() - limit, width) * width;
+                    long first = Math.max(limit, target - AbstractCurve.WIDTH * width);
+                    for (long start = first; start < target; start += width) {
+                        RateEntity flat = RateDAO.createRate(
+                                rate.getMarket(),
+                                start,
+                                last.getAsk().getLast(),
+                                last.getBid().getLast());
+                        previous = last;
+                        last = this.add(start, flat);
+                        RawCurve.complete(last, previous);
+                        result.add(last);
                     }
 
                     /* Insertion de la celulle finale */
-                    RawCell add = this.add(limit, rate);
-                    result.add(add);
+                    previous = last;
+                    last = this.add(target, rate);
+                    last.integrate(partial);
                 }
             }
         }
 
-        /* Nettoyage */
-        super.clearCells();
+        /* Diffusion */
+        this.getOwner().diffuseCurve(this);
 
         /* Renvoi */
         return result;
     }
 
+    /**
+     *  Retourne l'état des dernières cellules finalisées.
+     *  Les cellules sont lues dans le dernier instantané publié, et non dans le tampon de la courbe : la cellule
+     *  ouverte, modifiée par la tache temporelle, est exclue et sera reconstituée à partir des taux enregistrés.
+     *  Peut donc etre appelé depuis un autre thread que celui de la tache.
+     *  @param size Nombre de cellules recherché.
+     *  @return Etats des cellules, par ordre chronologique.
+     */
+    public List<RawCellState> getStates(int size) {
+        List<RawCell> builds = super.getSnapshot().getBuilds();
+        List<RawCellState> result = new ArrayList<>(Math.min(size, builds.size()));
+        for (int i = Math.max(0, builds.size() - size); i < builds.size(); i++) {
+            result.add(builds.get(i).getState());
+        }
+        return result;
+    }
+
+    /**
+     *  Restaure une cellule à partir d'un état enregistré.
+     *  La dernière cellule est finalisée comme lors d'une intégration, puis la cellule restaurée est ajoutée.
+     *  @param state Etat restauré.
+     *  @return Cellule finalisée, ou null si la courbe était vide.
+     *  @throws InnerException En cas d'erreur de calcul.
+     */
+    public RawCell restore(RawCellState state) throws InnerException {
+        /* Finalisation de la dernière cellule */
+        RawCell result = null;
+        List<RawCell> cells = super.getLastCells(2);
+        if (cells.size() > 0) {
+            result = cells.get(cells.size() - 1);
+            RawCurve.complete(result, cells.size() > 1 ? cells.get(cells.size() - 2) : null);
+        }
+
+        /* Ajout */
+        RateEntity source = RateDAO.createRate(
+                super.getEntity().getMarket(),
+                state.getSourceTime(),
+                state.getSourceAsk(),
+                state.getSourceBid());
+        this.add(state.getStart(), source).restore(state);
+        return result;
+    }
+
     /**
      *  Ajoute une cellule à la liste.
      *  @param time Date d'ajout.
@@ -126,17 +209,31 @@ public class RawCurve extends AbstractCurve<RawCell> {
      *  @return Cellule ajoutée.
      */
     private RawCell add(long time, RateEntity rate) {
-        /* Récupération de la liste */
-        List<RawCell> cells = super.getCells();
+        /* Récupération de la dernière cellule */
+        RawCell last = super.getLastCell();
 
         /* Gestion de l'ajout */
-        RawCell add = new RawCell(time, rate, this);
-        if (cells.size() > 0) {
-            add = new RawCell(time, rate, this, cells.get(cells.size() - 1));
-        }
+        RawCell add = last == null ? new RawCell(time, rate, this) : new RawCell(time, rate, this, last);
 
         /* Ajout */
         super.addCell(add);
+        if (last == null) {
+            this.origin = time;
+        }
         return add;
     }
+
+    /**
+     *  Finalise une cellule.
+     *  @param cell Cellule finalisée.
+     *  @param previous Cellule précédente (si disponible).
+     *  @throws InnerException En cas d'erreur de calcul.
+     */
+    private static void complete(RawCell cell, RawCell previous) throws InnerException {
+        if (previous == null) {
+            cell.complete();
+        } else {
+            cell.complete(previous);
+        }
+    }
 }
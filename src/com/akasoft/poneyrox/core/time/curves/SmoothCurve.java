@@ -4,8 +4,6 @@ import com.akasoft.poneyrox.core.time.cells.RawCell;
 import com.akasoft.poneyrox.core.time.cells.SmoothCell;
 import com.akasoft.poneyrox.threads.TimelineTask;
 
-import java.util.List;
-
 /**
  *  Courbe lissée.
  *  Courbe constituée à partir des résultat d'une courbe brute et représentative d'un lissage apporté aux taux.
@@ -45,34 +43,33 @@ public class SmoothCurve extends AbstractCurve<SmoothCell> {
 
     /**
      *  Intègre une mise à jour dans la courbe lissée.
-     *  @param source Liste des valeurs lissées.
+     *  @param source Dernière cellule brute finalisée.
+     *  @param engine Moteur de lissage alimenté par la courbe brute.
+     *  @param window Index du niveau de lissage de la courbe dans le moteur.
      *  @return Cellule lissée.
      */
-    public SmoothCell integrate(List<RawCell> source) {
-        /* Récupération de l'historique */
-        List<SmoothCell> cells = super.getCells();
+    public SmoothCell integrate(RawCell source, SmoothingEngine engine, int window) {
+        /* Récupération de la dernière cellule */
+        SmoothCell last = super.getLastCell();
 
         /* Ajout */
         SmoothCell add = null;
-        if (cells.size() == 0) {
+        if (last == null) {
             /* Gestion de la première valeur */
-            add = new SmoothCell(source.get(source.size() - 1).getStart(), source, this);
+            add = new SmoothCell(source.getStart(), engine, window, this);
         } else {
             /* Gestion des valeurs suivantes */
-            SmoothCell last = cells.get(cells.size() - 1);
             add = new SmoothCell(
                     last.getStart() + (super.getOwner().getTimeline().getSize() * 1000),
-                    source,
+                    engine,
+                    window,
                     this,
                     last);
         }
         super.addCell(add);
 
         /* Diffusion */
-        this.getOwner().getManager().diffuseCurve(this);
-
-        /* Nettoyage */
-        super.clearCells();
+        this.getOwner().diffuseCurve(this);
 
         /* Renvoi */
         return add;
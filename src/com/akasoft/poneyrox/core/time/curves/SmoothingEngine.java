@@ -0,0 +1,167 @@
+package com.akasoft.poneyrox.core.time.curves;
+
+import com.akasoft.poneyrox.core.time.cells.RawCell;
+import com.akasoft.poneyrox.core.time.clusters.Cluster;
+import com.akasoft.poneyrox.core.time.clusters.ClusterStore;
+import com.akasoft.poneyrox.exceptions.InnerException;
+
+/**
+ *  Moteur de lissage.
+ *  Conserve les valeurs des dernières cellules brutes finalisées dans un tampon circulaire primitif ainsi qu'une somme
+ *  glissante par niveau de lissage. Chaque nouvelle cellule met à jour les sommes par un ajout et une soustraction, quel
+ *  que soit le niveau. Les sommes sont recalculées intégralement toutes les "niveau" cellules afin de contenir la dérive
+ *  des arrondis, pour un cout amorti constant.
+ */
+public class SmoothingEngine {
+    /**
+     *  Nombre de valeurs conservées par cellule (demande puis offre × minimum/moyenne/maximum).
+     */
+    private static final int FIELDS = 6;
+
+    /**
+     *  Niveaux de lissage.
+     */
+    private final int[] levels;
+
+    /**
+     *  Valeurs des dernières cellules brutes.
+     *  Indexées par valeur puis par emplacement.
+     */
+    private final double[][] ring;
+
+    /**
+     *  Sommes glissantes.
+     *  Indexées par niveau puis par valeur.
+     */
+    private final double[][] sums;
+
+    /**
+     *  Nombre total de cellules intégrées.
+     */
+    private long count;
+
+    /**
+     *  Constructeur.
+     *  @param levels Niveaux de lissage (strictement positifs).
+     */
+    public SmoothingEngine(int[] levels) {
+        int capacity = 1;
+        for (int level : levels) {
+            capacity = Math.max(capacity, level);
+        }
+        this.levels = levels.clone();
+        this.ring = new double[SmoothingEngine.FIELDS][capacity];
+        this.sums = new double[levels.length][SmoothingEngine.FIELDS];
+        this.count = 0;
+    }
+
+    /**
+     *  Retourne l'index d'un niveau de lissage.
+     *  @param level Niveau recherché.
+     *  @return Index du niveau.
+     *  @throws InnerException Si le niveau n'est pas géré par le moteur.
+     */
+    public int indexOf(int level) throws InnerException {
+        for (int i = 0; i < this.levels.length; i++) {
+            if (this.levels[i] == level) {
+                return i;
+            }
+        }
+        throw new InnerException("Smooth level %d not handled by engine", level);
+    }
+
+    /**
+     *  Indique si suffisamment de cellules ont été intégrées pour un niveau.
+     *  @param window Index du niveau.
+     *  @return true si la fenêtre est complète.
+     */
+    public boolean isReady(int window) {
+        return this.count >= this.levels[window];
+    }
+
+    /**
+     *  Retourne une valeur lissée.
+     *  @param window Index du niveau.
+     *  @param ask Coté (true : demande, false : offre).
+     *  @param field Colonne (ClusterStore.MINIMUM, AVERAGE ou MAXIMUM).
+     *  @return Moyenne de la colonne sur la fenêtre.
+     */
+    public double getAverage(int window, boolean ask, int field) {
+        return this.sums[window][SmoothingEngine.field(ask, field)] / this.levels[window];
+    }
+
+    /**
+     *  Intègre une cellule brute finalisée.
+     *  @param cell Cellule intégrée.
+     */
+    public void push(RawCell cell) {
+        /* Extraction des valeurs */
+        double[] values = new double[SmoothingEngine.FIELDS];
+        SmoothingEngine.extract(cell.getAsk(), true, values);
+        SmoothingEngine.extract(cell.getBid(), false, values);
+
+        /* Mise à jour des sommes.
+         * Les valeurs sortantes sont lues avant l'écriture de la nouvelle cellule, leur emplacement pouvant etre
+         * partagé avec celle-ci. */
+        int capacity = this.ring[0].length;
+        for (int i = 0; i < this.levels.length; i++) {
+            int level = this.levels[i];
+            for (int f = 0; f < SmoothingEngine.FIELDS; f++) {
+                double out = this.count >= level ? this.ring[f][(int) ((this.count - level) % capacity)] : 0;
+                this.sums[i][f] += values[f] - out;
+            }
+        }
+
+        /* Ecriture */
+        int slot = (int) (this.count % capacity);
+        for (int f = 0; f < SmoothingEngine.FIELDS; f++) {
+            this.ring[f][slot] = values[f];
+        }
+        this.count++;
+
+        /* Recalcul périodique */
+        for (int i = 0; i < this.levels.length; i++) {
+            if (this.count % this.levels[i] == 0) {
+                this.resum(i);
+            }
+        }
+    }
+
+    /**
+     *  Recalcule intégralement la somme d'un niveau.
+     *  @param window Index du niveau.
+     */
+    private void resum(int window) {
+        int capacity = this.ring[0].length;
+        int size = (int) Math.min(this.count, this.levels[window]);
+        for (int f = 0; f < SmoothingEngine.FIELDS; f++) {
+            double sum = 0;
+            for (long i = this.count - size; i < this.count; i++) {
+                sum += this.ring[f][(int) (i % capacity)];
+            }
+            this.sums[window][f] = sum;
+        }
+    }
+
+    /**
+     *  Extrait les valeurs d'un noeud.
+     *  @param cluster Noeud source.
+     *  @param ask Coté.
+     *  @param values Valeurs alimentées.
+     */
+    private static void extract(Cluster cluster, boolean ask, double[] values) {
+        values[SmoothingEngine.field(ask, ClusterStore.MINIMUM)] = cluster.getMinimum();
+        values[SmoothingEngine.field(ask, ClusterStore.AVERAGE)] = cluster.getAverage();
+        values[SmoothingEngine.field(ask, ClusterStore.MAXIMUM)] = cluster.getMaximum();
+    }
+
+    /**
+     *  Retourne l'index d'une valeur.
+     *  @param ask Coté.
+     *  @param field Colonne.
+     *  @return Index.
+     */
+    private static int field(boolean ask, int field) {
+        return (ask ? 0 : 3) + field;
+    }
+}
@@ -13,7 +13,9 @@ import org.hibernate.query.Query;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -279,4 +281,37 @@ public class PositionDAO extends AbstractDAO {
                 .getNamedQuery("Position.deleteAllOpenPositions")
                 .executeUpdate();
     }
+
+    /**
+     *  Supprime les positions ouvertes, à l'exception de celles reprises depuis un point de reprise.
+     *  Un identifiant nul est ajouté aux listes afin qu'elles ne soient jamais vides.
+     *  @param positions Identifiants des positions conservées.
+     *  @param transactions Identifiants des transactions dont la position est conservée.
+     */
+    public void deleteOpenPositionsExcept(List<UUID> positions, List<UUID> transactions) {
+        List<UUID> kept = new ArrayList<>(positions);
+        kept.add(new UUID(0, 0));
+        List<UUID> followed = new ArrayList<>(transactions);
+        followed.add(new UUID(0, 0));
+        super.getSession()
+                .getNamedQuery("Position.deleteOpenPositionsExcept")
+                .setParameter("positions", kept)
+                .setParameter("transactions", followed)
+                .executeUpdate();
+    }
+
+    /**
+     *  Retourne les positions ouvertes parmi une liste d'identifiants.
+     *  @param ids Identifiants recherchés.
+     *  @return Liste des positions ouvertes.
+     */
+    public List<PositionEntity> getOpenPositionsById(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return super.getSession()
+                .createNamedQuery("Position.getOpenPositionsById", PositionEntity.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
 }
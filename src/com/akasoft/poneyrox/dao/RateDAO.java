@@ -1,16 +1,28 @@
 package com.akasoft.poneyrox.dao;
 
+import com.akasoft.poneyrox.configuration.SessionFactoryConfiguration;
 import com.akasoft.poneyrox.entities.markets.MarketEntity;
 import com.akasoft.poneyrox.entities.markets.RateEntity;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
  *  DAO d'accès aux taux.
  */
 @Repository
 public class RateDAO extends AbstractDAO {
+    /**
+     *  Nombre de taux rapatriés par aller-retour lors des lectures séquentielles.
+     */
+    public static final int FETCH_SIZE = 5000;
+
     /**
      *  Constructeur.
      *  @param factory Générateur de sessions.
@@ -28,13 +40,114 @@ public class RateDAO extends AbstractDAO {
      *  @return Taux créé.
      */
     public RateEntity persistRate(MarketEntity market, long time, double ask, double bid) {
+        RateEntity rate = RateDAO.createRate(market, time, ask, bid);
+        super.getSession().persist(rate);
+        return rate;
+    }
+
+    /**
+     *  Réalise l'enregistrement d'une liste de taux dans une transaction unique.
+     *  La session est vidée tous les "taille de lot JDBC" taux afin que les insertions soient envoyées par lots et que
+     *  le cache de premier niveau ne grossisse pas avec le volume enregistré.
+     *  @param rates Taux enregistrés (transients).
+     */
+    public void persistRates(List<RateEntity> rates) {
+        Session session = super.getSession();
+        int count = 0;
+        for (RateEntity rate : rates) {
+            session.persist(rate);
+            if (++count % SessionFactoryConfiguration.BATCH_SIZE == 0) {
+                session.flush();
+                session.clear();
+            }
+        }
+        session.flush();
+        session.clear();
+    }
+
+    /**
+     *  Retourne les taux d'un marché sur une période, par ordre chronologique.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @param to Date de fin (incluse).
+     *  @return Liste des taux.
+     */
+    public List<RateEntity> getRates(MarketEntity market, long from, long to) {
+        return super.getSession()
+                .createNamedQuery("Rate.getRange", RateEntity.class)
+                .setParameter("market", market)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+
+    /**
+     *  Retourne la date du premier taux d'un marché à partir d'une date.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @return Date du premier taux, ou null si aucun.
+     */
+    public Long getFirstTime(MarketEntity market, long from) {
+        return super.getSession()
+                .createNamedQuery("Rate.getFirstTime", Long.class)
+                .setParameter("market", market)
+                .setParameter("from", from)
+                .getSingleResult();
+    }
+
+    /**
+     *  Parcourt les taux d'un marché à partir d'une date, par ordre chronologique.
+     *  Les taux sont lus en continu par paquets de "taille de rapatriement" et détachés de la session après
+     *  consommation, si bien que le volume parcouru n'est pas chargé en mémoire.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @param consumer Consommateur des taux lus.
+     */
+    public void replayRates(MarketEntity market, long from, Consumer<RateEntity> consumer) {
+        Session session = super.getSession();
+        try (ScrollableResults results = session
+                .getNamedQuery("Rate.getRange")
+                .setParameter("market", market)
+                .setParameter("from", from)
+                .setParameter("to", Long.MAX_VALUE)
+                .setFetchSize(RateDAO.FETCH_SIZE)
+                .setReadOnly(true)
+                .scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                RateEntity rate = (RateEntity) results.get(0);
+                session.evict(rate);
+                consumer.accept(rate);
+            }
+        }
+    }
+
+    /**
+     *  Supprime les taux d'un marché antérieurs à une date.
+     *  @param market Marché.
+     *  @param before Date limite (exclue).
+     */
+    public void deleteRates(MarketEntity market, long before) {
+        super.getSession()
+                .getNamedQuery("Rate.deleteBefore")
+                .setParameter("market", market)
+                .setParameter("before", before)
+                .executeUpdate();
+    }
+
+    /**
+     *  Crée un taux transient, sans l'enregistrer.
+     *  @param market Marché du taux.
+     *  @param time Date du taux.
+     *  @param ask Cours de la demande.
+     *  @param bid Cours de l'offre.
+     *  @return Taux créé.
+     */
+    public static RateEntity createRate(MarketEntity market, long time, double ask, double bid) {
         RateEntity rate = new RateEntity();
         rate.setMarket(market);
         rate.setTime(time);
         rate.setAsk(ask);
         rate.setBid(bid);
-
-        super.getSession().persist(rate);
         return rate;
     }
 }
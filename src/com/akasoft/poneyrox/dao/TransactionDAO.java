@@ -9,6 +9,9 @@ import org.springframework.stereotype.Repository;
 
 import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 /**
  *  DAO des transactions.
@@ -83,4 +86,19 @@ public class TransactionDAO extends AbstractDAO {
         super.getSession().update(transaction);
         return transaction;
     }
+
+    /**
+     *  Retourne les transactions ouvertes parmi une liste d'identifiants.
+     *  @param ids Identifiants recherchés.
+     *  @return Liste des transactions dont la position est ouverte.
+     */
+    public List<TransactionEntity> getOpenTransactionsById(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return super.getSession()
+                .createNamedQuery("Transaction.getOpenTransactionsById", TransactionEntity.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
 }
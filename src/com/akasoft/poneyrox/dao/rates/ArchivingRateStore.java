@@ -0,0 +1,206 @@
+package com.akasoft.poneyrox.dao.rates;
+
+import com.akasoft.poneyrox.dao.RateDAO;
+import com.akasoft.poneyrox.entities.markets.MarketEntity;
+import com.akasoft.poneyrox.entities.markets.RateEntity;
+import com.akasoft.poneyrox.exceptions.InnerException;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ *  Stockage des taux avec archivage.
+ *  Les taux récents restent dans le stockage délégué ; les périodes closes en sont retirées après compression dans
+ *  l'archive. Les lectures sont réparties entre l'archive (avant la fin de la période archivée) et le stockage
+ *  délégué (après), de façon transparente pour l'appelant.
+ */
+public class ArchivingRateStore implements RateStoreITF {
+    /**
+     *  Répertoire racine de l'archive.
+     */
+    public static final String DIRECTORY = "archive";
+
+    /**
+     *  Durée couverte par un bloc d'archive, en millisecondes.
+     */
+    public static final long SPAN = 24 * 60 * 60 * 1000;
+
+    /**
+     *  Stockage délégué.
+     */
+    private final RateStoreITF delegate;
+
+    /**
+     *  Archive.
+     */
+    private final RateArchive archive;
+
+    /**
+     *  Constructeur.
+     *  @param delegate Stockage délégué.
+     */
+    public ArchivingRateStore(RateStoreITF delegate) {
+        this.delegate = delegate;
+        this.archive = new RateArchive(Paths.get(DIRECTORY));
+    }
+
+    /**
+     *  Enregistre un lot de taux dans le stockage délégué.
+     *  @param rates Taux enregistrés.
+     *  @throws InnerException En cas d'échec de l'enregistrement.
+     */
+    @Override
+    public void append(List<RateEntity> rates) throws InnerException {
+        this.delegate.append(rates);
+    }
+
+    /**
+     *  Retourne les taux d'un marché sur une période.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @param to Date de fin (incluse).
+     *  @return Liste des taux.
+     *  @throws InnerException En cas d'échec de la lecture.
+     */
+    @Override
+    public List<RateEntity> getRates(MarketEntity market, long from, long to) throws InnerException {
+        List<RateEntity> result = new ArrayList<>();
+        long boundary = this.read(market, from, to, result::add);
+        if (to >= boundary) {
+            result.addAll(this.delegate.getRates(market, Math.max(from, boundary), to));
+        }
+        return result;
+    }
+
+    /**
+     *  Rejoue les taux d'un marché à partir d'une date.
+     *  Les taux archivés sont décodés en continu avant le rejeu du stockage délégué.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @param consumer Consommateur des taux rejoués.
+     *  @throws InnerException En cas d'échec de la lecture.
+     */
+    @Override
+    public void replay(MarketEntity market, long from, Consumer<RateEntity> consumer) throws InnerException {
+        long boundary = this.read(market, from, Long.MAX_VALUE, consumer);
+        this.delegate.replay(market, Math.max(from, boundary), consumer);
+    }
+
+    /**
+     *  Retourne la date du premier taux d'un marché à partir d'une date, dans l'archive puis le stockage délégué.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @return Date du premier taux, ou Long.MAX_VALUE si aucun.
+     *  @throws InnerException En cas d'échec de la lecture.
+     */
+    @Override
+    public long getFirst(MarketEntity market, long from) throws InnerException {
+        long[] result = { Long.MAX_VALUE };
+        try {
+            long boundary = this.archive.getBoundary(market.getKey());
+            if (from < boundary) {
+                this.archive.read(market.getKey(), from, boundary - 1, (time, ask, bid) -> {
+                    result[0] = time;
+                    return false;
+                });
+            }
+            if (result[0] == Long.MAX_VALUE) {
+                result[0] = this.delegate.getFirst(market, Math.max(from, boundary));
+            }
+        } catch (IOException cause) {
+            throw new InnerException(cause, "Failed to read archive of market %s", market.getKey());
+        }
+        return result[0];
+    }
+
+    /**
+     *  Supprime les taux d'un marché antérieurs à une date dans le stockage délégué.
+     *  L'archive n'est jamais purgée.
+     *  @param market Marché.
+     *  @param before Date limite (exclue).
+     *  @throws InnerException En cas d'échec de la suppression.
+     */
+    @Override
+    public void purge(MarketEntity market, long before) throws InnerException {
+        this.delegate.purge(market, before);
+    }
+
+    /**
+     *  Libère les ressources du stockage délégué.
+     */
+    @Override
+    public void close() {
+        this.delegate.close();
+    }
+
+    /**
+     *  Archive les taux d'un marché antérieurs à une date.
+     *  Les taux compris entre la fin de la période déjà archivée et la date sont traités un bloc de SPAN
+     *  millisecondes à la fois : le bloc est lu sur sa seule période, écrit dans l'archive puis retiré du stockage
+     *  délégué avant la lecture du suivant. Chaque lecture et chaque purge constituent une opération distincte du
+     *  stockage délégué, si bien que les blocs déjà archivés restent purgés en cas d'échec ultérieur, et que seul le
+     *  bloc courant est conservé en mémoire. Les périodes sans taux sont sautées.
+     *  @param market Marché.
+     *  @param before Date limite (exclue).
+     *  @return Nombre de taux archivés.
+     *  @throws InnerException En cas d'échec de l'archivage.
+     */
+    public int archive(MarketEntity market, long before) throws InnerException {
+        try {
+            int total = 0;
+            long boundary = this.archive.getBoundary(market.getKey());
+            long next = this.delegate.getFirst(market, boundary);
+            while (next < before) {
+                /* Période du bloc */
+                long period = Math.floorDiv(next, SPAN) * SPAN;
+                long from = Math.max(boundary, period);
+                long to = Math.min(before, period + SPAN);
+
+                /* Encodage */
+                RateEncoder encoder = new RateEncoder();
+                for (RateEntity rate : this.delegate.getRates(market, from, to - 1)) {
+                    encoder.add(rate.getTime(), rate.getAsk(), rate.getBid());
+                }
+
+                /* Ecriture et purge */
+                if (encoder.getCount() > 0) {
+                    this.archive.write(market.getKey(), from, to, encoder);
+                    total += encoder.getCount();
+                }
+                this.delegate.purge(market, to);
+                boundary = to;
+                next = this.delegate.getFirst(market, to);
+            }
+            return total;
+        } catch (IOException cause) {
+            throw new InnerException(cause, "Failed to archive rates of market %s", market.getKey());
+        }
+    }
+
+    /**
+     *  Lit les taux archivés d'un marché sur une période.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @param to Date de fin (incluse).
+     *  @param consumer Consommateur des taux lus.
+     *  @return Fin de la période archivée (exclue), à partir de laquelle le stockage délégué prend le relais.
+     *  @throws InnerException En cas d'échec de la lecture.
+     */
+    private long read(MarketEntity market, long from, long to, Consumer<RateEntity> consumer) throws InnerException {
+        try {
+            long boundary = this.archive.getBoundary(market.getKey());
+            if (from < boundary) {
+                this.archive.read(market.getKey(), from, Math.min(to, boundary - 1), (time, ask, bid) -> {
+                    consumer.accept(RateDAO.createRate(market, time, ask, bid));
+                    return true;
+                });
+            }
+            return boundary;
+        } catch (IOException cause) {
+            throw new InnerException(cause, "Failed to read archive of market %s", market.getKey());
+        }
+    }
+}
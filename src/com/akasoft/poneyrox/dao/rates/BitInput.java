@@ -0,0 +1,87 @@
+package com.akasoft.poneyrox.dao.rates;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ *  Flux de bits en lecture.
+ *  Lecture en continu, bits de poids fort en premier, d'un flux produit par un flux de bits en écriture.
+ */
+class BitInput {
+    /**
+     *  Flux source.
+     */
+    private final InputStream input;
+
+    /**
+     *  Mot en cours, aligné sur les bits de poids fort.
+     */
+    private long word;
+
+    /**
+     *  Nombre de bits disponibles dans le mot en cours.
+     */
+    private int available;
+
+    /**
+     *  Constructeur.
+     *  @param input Flux source (de préférence tamponné).
+     */
+    BitInput(InputStream input) {
+        this.input = input;
+    }
+
+    /**
+     *  Lit une valeur.
+     *  @param count Nombre de bits lus (0 à 64).
+     *  @return Valeur lue.
+     *  @throws IOException En cas d'erreur de lecture ou de fin de flux.
+     */
+    long read(int count) throws IOException {
+        long result = 0;
+        while (count > 0) {
+            if (this.available == 0) {
+                this.fill();
+            }
+            int take = Math.min(count, this.available);
+            long bits = this.word >>> (64 - take);
+            this.word = take == 64 ? 0 : this.word << take;
+            this.available -= take;
+            result = take == 64 ? bits : (result << take) | bits;
+            count -= take;
+        }
+        return result;
+    }
+
+    /**
+     *  Lit un bit.
+     *  @return true si le bit vaut 1.
+     *  @throws IOException En cas d'erreur de lecture ou de fin de flux.
+     */
+    boolean readBit() throws IOException {
+        return this.read(1) != 0;
+    }
+
+    /**
+     *  Recharge le mot en cours avec au plus 8 octets.
+     *  @throws IOException En cas d'erreur de lecture ou de fin de flux.
+     */
+    private void fill() throws IOException {
+        long value = 0;
+        int count = 0;
+        while (count < 8) {
+            int next = this.input.read();
+            if (next < 0) {
+                break;
+            }
+            value |= ((long) next) << (56 - 8 * count);
+            count++;
+        }
+        if (count == 0) {
+            throw new EOFException("Unexpected end of bit stream");
+        }
+        this.word = value;
+        this.available = count * 8;
+    }
+}
@@ -0,0 +1,89 @@
+package com.akasoft.poneyrox.dao.rates;
+
+import java.util.Arrays;
+
+/**
+ *  Flux de bits en écriture.
+ *  Les bits sont accumulés dans un mot de 64 bits, bits de poids fort en premier, puis recopiés dans un tableau
+ *  d'octets extensible.
+ */
+class BitOutput {
+    /**
+     *  Octets écrits.
+     */
+    private byte[] bytes;
+
+    /**
+     *  Nombre d'octets écrits.
+     */
+    private int size;
+
+    /**
+     *  Mot en cours.
+     */
+    private long word;
+
+    /**
+     *  Nombre de bits utilisés dans le mot en cours.
+     */
+    private int used;
+
+    /**
+     *  Constructeur.
+     */
+    BitOutput() {
+        this.bytes = new byte[4096];
+    }
+
+    /**
+     *  Ecrit les bits de poids faible d'une valeur.
+     *  @param value Valeur écrite.
+     *  @param count Nombre de bits écrits (0 à 64).
+     */
+    void write(long value, int count) {
+        if (count == 0) {
+            return;
+        }
+        if (count < 64) {
+            value &= (1L << count) - 1;
+        }
+
+        int free = 64 - this.used;
+        if (count < free) {
+            this.word |= value << (free - count);
+            this.used += count;
+        } else {
+            int rest = count - free;
+            this.word |= value >>> rest;
+            this.push(this.word);
+            this.word = rest == 0 ? 0 : value << (64 - rest);
+            this.used = rest;
+        }
+    }
+
+    /**
+     *  Retourne les octets écrits, complétés par des bits nuls.
+     *  @return Octets écrits.
+     */
+    byte[] toByteArray() {
+        int tail = (this.used + 7) / 8;
+        byte[] result = Arrays.copyOf(this.bytes, this.size + tail);
+        for (int i = 0; i < tail; i++) {
+            result[this.size + i] = (byte) (this.word >>> (56 - 8 * i));
+        }
+        return result;
+    }
+
+    /**
+     *  Recopie un mot complet.
+     *  @param value Mot recopié.
+     */
+    private void push(long value) {
+        if (this.size + 8 > this.bytes.length) {
+            this.bytes = Arrays.copyOf(this.bytes, this.bytes.length * 2);
+        }
+        for (int i = 0; i < 8; i++) {
+            this.bytes[this.size++] = (byte) (value >>> (56 - 8 * i));
+        }
+    }
+}
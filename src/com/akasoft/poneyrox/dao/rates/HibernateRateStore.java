@@ -0,0 +1,116 @@
+package com.akasoft.poneyrox.dao.rates;
+
+import com.akasoft.poneyrox.dao.RateDAO;
+import com.akasoft.poneyrox.entities.markets.MarketEntity;
+import com.akasoft.poneyrox.entities.markets.RateEntity;
+import com.akasoft.poneyrox.exceptions.InnerException;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ *  Stockage des taux en base de données.
+ *  Chaque taux constitue un enregistrement de la table des taux.
+ */
+public class HibernateRateStore implements RateStoreITF {
+    /**
+     *  DAO des taux.
+     */
+    private final RateDAO dao;
+
+    /**
+     *  Constructeur.
+     *  @param dao DAO des taux.
+     */
+    public HibernateRateStore(RateDAO dao) {
+        this.dao = dao;
+    }
+
+    /**
+     *  Enregistre un lot de taux.
+     *  @param rates Taux enregistrés.
+     *  @throws InnerException En cas d'échec de l'enregistrement.
+     */
+    @Override
+    public void append(List<RateEntity> rates) throws InnerException {
+        try {
+            this.dao.persistRates(rates);
+        } catch (RuntimeException cause) {
+            throw new InnerException(cause, "Failed to persist %d rates", rates.size());
+        }
+    }
+
+    /**
+     *  Retourne les taux d'un marché sur une période.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @param to Date de fin (incluse).
+     *  @return Liste des taux.
+     *  @throws InnerException En cas d'échec de la lecture.
+     */
+    @Override
+    public List<RateEntity> getRates(MarketEntity market, long from, long to) throws InnerException {
+        try {
+            return this.dao.getRates(market, from, to);
+        } catch (RuntimeException cause) {
+            throw new InnerException(cause, "Failed to read rates of market %s", market.getKey());
+        }
+    }
+
+    /**
+     *  Rejoue les taux d'un marché à partir d'une date.
+     *  Les taux sont lus en continu, sans être chargés d'un seul tenant.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @param consumer Consommateur des taux rejoués.
+     *  @throws InnerException En cas d'échec de la lecture.
+     */
+    @Override
+    public void replay(MarketEntity market, long from, Consumer<RateEntity> consumer) throws InnerException {
+        try {
+            this.dao.replayRates(market, from, consumer);
+        } catch (RuntimeException cause) {
+            throw new InnerException(cause, "Failed to replay rates of market %s", market.getKey());
+        }
+    }
+
+    /**
+     *  Retourne la date du premier taux d'un marché à partir d'une date.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @return Date du premier taux, ou Long.MAX_VALUE si aucun.
+     *  @throws InnerException En cas d'échec de la lecture.
+     */
+    @Override
+    public long getFirst(MarketEntity market, long from) throws InnerException {
+        try {
+            Long result = this.dao.getFirstTime(market, from);
+            return result == null ? Long.MAX_VALUE : result;
+        } catch (RuntimeException cause) {
+            throw new InnerException(cause, "Failed to read rates of market %s", market.getKey());
+        }
+    }
+
+    /**
+     *  Supprime les taux d'un marché antérieurs à une date.
+     *  @param market Marché.
+     *  @param before Date limite (exclue).
+     *  @throws InnerException En cas d'échec de la suppression.
+     */
+    @Override
+    public void purge(MarketEntity market, long before) throws InnerException {
+        try {
+            this.dao.deleteRates(market, before);
+        } catch (RuntimeException cause) {
+            throw new InnerException(cause, "Failed to purge rates of market %s", market.getKey());
+        }
+    }
+
+    /**
+     *  Libère les ressources du stockage.
+     *  Les sessions sont gérées par le conteneur.
+     */
+    @Override
+    public void close() {
+    }
+}
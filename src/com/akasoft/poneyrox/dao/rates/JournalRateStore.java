@@ -0,0 +1,210 @@
+package com.akasoft.poneyrox.dao.rates;
+
+import com.akasoft.poneyrox.dao.RateDAO;
+import com.akasoft.poneyrox.entities.markets.MarketEntity;
+import com.akasoft.poneyrox.entities.markets.RateEntity;
+import com.akasoft.poneyrox.exceptions.InnerException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ *  Stockage des taux en journal.
+ *  Chaque marché dispose d'un journal binaire en ajout seul, découpé en segments projetés en mémoire. L'écriture et
+ *  le rejeu se font en accès séquentiel, la recherche par période par dichotomie sur les dates. Les marchés restent
+ *  enregistrés en base : seuls les taux quittent NHibernate.
+ */
+public class JournalRateStore implements RateStoreITF {
+    /**
+     *  Répertoire racine des journaux.
+     */
+    public static final String DIRECTORY = "journal";
+
+    /**
+     *  Nombre maximum d'enregistrements par segment (24 Mo).
+     */
+    public static final int SEGMENT_SIZE = 1 << 20;
+
+    /**
+     *  Durée maximum couverte par un segment, en millisecondes (une journée).
+     */
+    public static final long SEGMENT_DURATION = 24 * 60 * 60 * 1000;
+
+    /**
+     *  Répertoire racine.
+     */
+    private final Path root;
+
+    /**
+     *  Journaux ouverts, indexés par clef de marché.
+     */
+    private final Map<String, RateJournal> journals;
+
+    /**
+     *  Constructeur.
+     *  @param root Répertoire racine des journaux.
+     */
+    public JournalRateStore(Path root) {
+        this.root = root;
+        this.journals = new ConcurrentHashMap<>();
+    }
+
+    /**
+     *  Constructeur par défaut.
+     */
+    public JournalRateStore() {
+        this(Paths.get(DIRECTORY));
+    }
+
+    /**
+     *  Enregistre un lot de taux.
+     *  Les journaux modifiés sont forcés sur le disque une fois le lot écrit.
+     *  @param rates Taux enregistrés.
+     *  @throws InnerException En cas d'échec de l'enregistrement.
+     */
+    @Override
+    public void append(List<RateEntity> rates) throws InnerException {
+        Set<RateJournal> touched = new LinkedHashSet<>();
+        try {
+            for (RateEntity rate : rates) {
+                RateJournal journal = this.getJournal(rate.getMarket());
+                if (journal.append(rate.getTime(), rate.getAsk(), rate.getBid())) {
+                    touched.add(journal);
+                }
+            }
+        } catch (IOException cause) {
+            throw new InnerException(cause, "Failed to append %d rates to journal", rates.size());
+        } finally {
+            for (RateJournal journal : touched) {
+                journal.force();
+            }
+        }
+    }
+
+    /**
+     *  Retourne les taux d'un marché sur une période.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @param to Date de fin (incluse).
+     *  @return Liste des taux.
+     *  @throws InnerException En cas d'échec de la lecture.
+     */
+    @Override
+    public List<RateEntity> getRates(MarketEntity market, long from, long to) throws InnerException {
+        List<RateEntity> result = new ArrayList<>();
+        this.read(market, from, to, result::add);
+        return result;
+    }
+
+    /**
+     *  Rejoue les taux d'un marché à partir d'une date.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @param consumer Consommateur des taux rejoués.
+     *  @throws InnerException En cas d'échec de la lecture.
+     */
+    @Override
+    public void replay(MarketEntity market, long from, Consumer<RateEntity> consumer) throws InnerException {
+        this.read(market, from, Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     *  Retourne la date du premier taux d'un marché à partir d'une date.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @return Date du premier taux, ou Long.MAX_VALUE si aucun.
+     *  @throws InnerException En cas d'échec de l'ouverture du journal.
+     */
+    @Override
+    public long getFirst(MarketEntity market, long from) throws InnerException {
+        long[] result = { Long.MAX_VALUE };
+        try {
+            this.getJournal(market).read(from, Long.MAX_VALUE, (time, ask, bid) -> {
+                result[0] = time;
+                return false;
+            });
+        } catch (IOException cause) {
+            throw new InnerException(cause, "Failed to read journal of market %s", market.getKey());
+        }
+        return result[0];
+    }
+
+    /**
+     *  Supprime les segments d'un marché dont tous les enregistrements sont antérieurs à une date.
+     *  Le segment courant est toujours conservé.
+     *  @param market Marché.
+     *  @param before Date limite (exclue).
+     *  @throws InnerException En cas d'échec de la suppression.
+     */
+    @Override
+    public void purge(MarketEntity market, long before) throws InnerException {
+        try {
+            this.getJournal(market).purge(before);
+        } catch (IOException cause) {
+            throw new InnerException(cause, "Failed to purge journal of market %s", market.getKey());
+        }
+    }
+
+    /**
+     *  Ferme l'ensemble des journaux.
+     */
+    @Override
+    public void close() {
+        for (RateJournal journal : this.journals.values()) {
+            try {
+                journal.close();
+            } catch (IOException cause) {
+                cause.printStackTrace();
+            }
+        }
+        this.journals.clear();
+    }
+
+    /**
+     *  Lit les taux d'un marché sur une période.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @param to Date de fin (incluse).
+     *  @param consumer Consommateur des taux lus.
+     *  @throws InnerException En cas d'échec de l'ouverture du journal.
+     */
+    private void read(MarketEntity market, long from, long to, Consumer<RateEntity> consumer) throws InnerException {
+        try {
+            this.getJournal(market).read(from, to, (time, ask, bid) -> {
+                consumer.accept(RateDAO.createRate(market, time, ask, bid));
+                return true;
+            });
+        } catch (IOException cause) {
+            throw new InnerException(cause, "Failed to read journal of market %s", market.getKey());
+        }
+    }
+
+    /**
+     *  Retourne le journal d'un marché, ouvert au premier accès.
+     *  @param market Marché.
+     *  @return Journal du marché.
+     *  @throws IOException En cas d'erreur d'ouverture.
+     */
+    private RateJournal getJournal(MarketEntity market) throws IOException {
+        RateJournal journal = this.journals.get(market.getKey());
+        if (journal == null) {
+            synchronized (this.journals) {
+                journal = this.journals.get(market.getKey());
+                if (journal == null) {
+                    Path directory = this.root.resolve(market.getKey().replaceAll("[^A-Za-z0-9_-]", "_"));
+                    journal = new RateJournal(directory, SEGMENT_SIZE, SEGMENT_DURATION);
+                    this.journals.put(market.getKey(), journal);
+                }
+            }
+        }
+        return journal;
+    }
+}
@@ -0,0 +1,236 @@
+package com.akasoft.poneyrox.dao.rates;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ *  Segment de journal.
+ *  Fichier binaire projeté en mémoire contenant un nombre fixe d'enregistrements de largeur constante
+ *  (date, demande, offre), écrits en ajout seul par ordre chronologique.
+ *  L'entête porte un marqueur, la version du format, la capacité et le nombre d'enregistrements écrits ; ce dernier
+ *  est mis à jour après chaque enregistrement, de sorte qu'un arrêt brutal ne laisse jamais d'enregistrement partiel
+ *  visible.
+ */
+class JournalSegment {
+    /**
+     *  Marqueur de fichier.
+     */
+    private static final int MAGIC = 0x504F4E59;
+
+    /**
+     *  Version du format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     *  Taille de l'entête, en octets.
+     */
+    private static final int HEADER_SIZE = 16;
+
+    /**
+     *  Position du nombre d'enregistrements dans l'entête.
+     */
+    private static final int COUNT_OFFSET = 12;
+
+    /**
+     *  Taille d'un enregistrement, en octets.
+     */
+    private static final int RECORD_SIZE = 24;
+
+    /**
+     *  Chemin du fichier.
+     */
+    private final Path path;
+
+    /**
+     *  Canal du fichier.
+     */
+    private final FileChannel channel;
+
+    /**
+     *  Projection du fichier.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     *  Nombre maximum d'enregistrements.
+     */
+    private final int capacity;
+
+    /**
+     *  Nombre d'enregistrements écrits.
+     */
+    private int count;
+
+    /**
+     *  Constructeur.
+     *  @param path Chemin du fichier.
+     *  @param channel Canal du fichier.
+     *  @param buffer Projection du fichier.
+     *  @param capacity Nombre maximum d'enregistrements.
+     *  @param count Nombre d'enregistrements écrits.
+     */
+    private JournalSegment(Path path, FileChannel channel, MappedByteBuffer buffer, int capacity, int count) {
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.count = count;
+    }
+
+    /**
+     *  Crée un nouveau segment.
+     *  @param path Chemin du fichier.
+     *  @param capacity Nombre maximum d'enregistrements.
+     *  @return Segment créé.
+     *  @throws IOException En cas d'erreur d'écriture.
+     */
+    static JournalSegment create(Path path, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(
+                FileChannel.MapMode.READ_WRITE,
+                0,
+                HEADER_SIZE + (long) capacity * RECORD_SIZE);
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, capacity);
+        buffer.putInt(COUNT_OFFSET, 0);
+        return new JournalSegment(path, channel, buffer, capacity, 0);
+    }
+
+    /**
+     *  Ouvre un segment existant.
+     *  @param path Chemin du fichier.
+     *  @return Segment ouvert.
+     *  @throws IOException En cas d'erreur de lecture ou de fichier invalide.
+     */
+    static JournalSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        if (channel.size() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            channel.close();
+            throw new IOException("Invalid journal segment " + path);
+        }
+        int capacity = buffer.getInt(8);
+        int count = Math.min(buffer.getInt(COUNT_OFFSET), capacity);
+        return new JournalSegment(path, channel, buffer, capacity, count);
+    }
+
+    /**
+     *  Retourne le chemin du fichier.
+     *  @return Chemin.
+     */
+    Path getPath() {
+        return this.path;
+    }
+
+    /**
+     *  Retourne le nombre d'enregistrements écrits.
+     *  @return Nombre d'enregistrements.
+     */
+    int getCount() {
+        return this.count;
+    }
+
+    /**
+     *  Indique si le segment est plein.
+     *  @return true si aucun enregistrement ne peut plus être ajouté.
+     */
+    boolean isFull() {
+        return this.count >= this.capacity;
+    }
+
+    /**
+     *  Retourne la date d'un enregistrement.
+     *  @param index Position de l'enregistrement.
+     *  @return Date.
+     */
+    long getTime(int index) {
+        return this.buffer.getLong(JournalSegment.offset(index));
+    }
+
+    /**
+     *  Retourne la demande d'un enregistrement.
+     *  @param index Position de l'enregistrement.
+     *  @return Cours de la demande.
+     */
+    double getAsk(int index) {
+        return this.buffer.getDouble(JournalSegment.offset(index) + 8);
+    }
+
+    /**
+     *  Retourne l'offre d'un enregistrement.
+     *  @param index Position de l'enregistrement.
+     *  @return Cours de l'offre.
+     */
+    double getBid(int index) {
+        return this.buffer.getDouble(JournalSegment.offset(index) + 16);
+    }
+
+    /**
+     *  Ajoute un enregistrement.
+     *  @param time Date.
+     *  @param ask Cours de la demande.
+     *  @param bid Cours de l'offre.
+     */
+    void append(long time, double ask, double bid) {
+        int offset = JournalSegment.offset(this.count);
+        this.buffer.putLong(offset, time);
+        this.buffer.putDouble(offset + 8, ask);
+        this.buffer.putDouble(offset + 16, bid);
+        this.count++;
+        this.buffer.putInt(COUNT_OFFSET, this.count);
+    }
+
+    /**
+     *  Recherche par dichotomie le premier enregistrement postérieur ou égal à une date.
+     *  @param time Date recherchée.
+     *  @param count Nombre d'enregistrements parcourus.
+     *  @return Position de l'enregistrement (count si aucun).
+     */
+    int search(long time, int count) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.getTime(middle) < time) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     *  Force l'écriture des enregistrements sur le disque.
+     */
+    void force() {
+        this.buffer.force();
+    }
+
+    /**
+     *  Ferme le segment.
+     *  @throws IOException En cas d'erreur de fermeture.
+     */
+    void close() throws IOException {
+        this.buffer.force();
+        this.channel.close();
+    }
+
+    /**
+     *  Retourne la position d'un enregistrement dans le fichier.
+     *  @param index Position de l'enregistrement.
+     *  @return Position en octets.
+     */
+    private static int offset(int index) {
+        return HEADER_SIZE + index * RECORD_SIZE;
+    }
+}
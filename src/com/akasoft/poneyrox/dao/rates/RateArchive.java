@@ -0,0 +1,231 @@
+package com.akasoft.poneyrox.dao.rates;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ *  Archive des taux.
+ *  Conserve, pour chaque marché, des blocs compressés couvrant des périodes closes et contiguës. Chaque bloc est un
+ *  fichier comportant une entête (marqueur, version, nombre de taux, période couverte) suivie de la série encodée.
+ *  Les blocs sont relus en continu : une lecture d'historique ne décode que les blocs concernés, sans les charger.
+ */
+public class RateArchive {
+    /**
+     *  Marqueur de fichier.
+     */
+    private static final int MAGIC = 0x47524C41;
+
+    /**
+     *  Version du format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     *  Extension des fichiers de bloc.
+     */
+    private static final String EXTENSION = ".gorilla";
+
+    /**
+     *  Taille du tampon de lecture.
+     */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     *  Bloc d'archive.
+     */
+    private static class Block {
+        /**
+         *  Chemin du fichier.
+         */
+        private final Path path;
+
+        /**
+         *  Début de la période couverte (inclus).
+         */
+        private final long from;
+
+        /**
+         *  Fin de la période couverte (exclue).
+         */
+        private final long to;
+
+        /**
+         *  Nombre de taux.
+         */
+        private final int count;
+
+        /**
+         *  Constructeur.
+         *  @param path Chemin du fichier.
+         *  @param from Début de la période couverte.
+         *  @param to Fin de la période couverte.
+         *  @param count Nombre de taux.
+         */
+        private Block(Path path, long from, long to, int count) {
+            this.path = path;
+            this.from = from;
+            this.to = to;
+            this.count = count;
+        }
+    }
+
+    /**
+     *  Répertoire racine.
+     */
+    private final Path root;
+
+    /**
+     *  Blocs chargés, indexés par clef de marché puis par début de période.
+     */
+    private final Map<String, TreeMap<Long, Block>> blocks;
+
+    /**
+     *  Constructeur.
+     *  @param root Répertoire racine de l'archive.
+     */
+    public RateArchive(Path root) {
+        this.root = root;
+        this.blocks = new HashMap<>();
+    }
+
+    /**
+     *  Retourne la fin de la période archivée pour un marché.
+     *  @param key Clef du marché.
+     *  @return Date de fin (exclue), ou Long.MIN_VALUE si aucun bloc n'est archivé.
+     *  @throws IOException En cas d'erreur de lecture de l'archive.
+     */
+    public synchronized long getBoundary(String key) throws IOException {
+        TreeMap<Long, Block> market = this.getBlocks(key);
+        return market.isEmpty() ? Long.MIN_VALUE : market.lastEntry().getValue().to;
+    }
+
+    /**
+     *  Archive une série de taux sous la forme d'un nouveau bloc.
+     *  Le fichier est écrit sous un nom temporaire puis renommé, de sorte qu'un bloc visible est toujours complet.
+     *  @param key Clef du marché.
+     *  @param from Début de la période couverte (inclus).
+     *  @param to Fin de la période couverte (exclue).
+     *  @param encoder Série encodée.
+     *  @throws IOException En cas d'erreur d'écriture.
+     */
+    synchronized void write(String key, long from, long to, RateEncoder encoder) throws IOException {
+        /* Ecriture */
+        Path directory = this.getDirectory(key);
+        Path target = directory.resolve(String.format("%020d%s", from, EXTENSION));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(temporary))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(encoder.getCount());
+            output.writeLong(from);
+            output.writeLong(to);
+            output.write(encoder.toByteArray());
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        /* Référencement */
+        this.getBlocks(key).put(from, new Block(target, from, to, encoder.getCount()));
+    }
+
+    /**
+     *  Lit les taux archivés d'un marché sur une période, par ordre chronologique.
+     *  @param key Clef du marché.
+     *  @param from Date de début (incluse).
+     *  @param to Date de fin (incluse).
+     *  @param reader Lecteur des taux.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    void read(String key, long from, long to, RateReader reader) throws IOException {
+        /* Sélection des blocs */
+        Map<Long, Block> candidates;
+        synchronized (this) {
+            TreeMap<Long, Block> market = this.getBlocks(key);
+            Long start = market.floorKey(from);
+            candidates = new TreeMap<>(start == null
+                    ? market.headMap(to, true)
+                    : market.subMap(start, true, to, true));
+        }
+
+        /* Décodage en continu */
+        for (Block block : candidates.values()) {
+            if (block.to <= from) {
+                continue;
+            }
+            try (InputStream input = new BufferedInputStream(Files.newInputStream(block.path), BUFFER_SIZE)) {
+                RateArchive.readHeader(block.path, new DataInputStream(input));
+                RateDecoder decoder = new RateDecoder(input, block.count);
+                while (decoder.hasNext()) {
+                    decoder.next();
+                    long time = decoder.getTime();
+                    if (time > to) {
+                        return;
+                    }
+                    if (time >= from && !reader.read(time, decoder.getAsk(), decoder.getBid())) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     *  Retourne les blocs d'un marché, chargés au premier accès.
+     *  @param key Clef du marché.
+     *  @return Blocs indexés par début de période.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    private TreeMap<Long, Block> getBlocks(String key) throws IOException {
+        TreeMap<Long, Block> result = this.blocks.get(key);
+        if (result == null) {
+            result = new TreeMap<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(this.getDirectory(key), "*" + EXTENSION)) {
+                for (Path file : files) {
+                    try (DataInputStream input = new DataInputStream(Files.newInputStream(file))) {
+                        Block block = RateArchive.readHeader(file, input);
+                        result.put(block.from, block);
+                    }
+                }
+            }
+            this.blocks.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     *  Retourne le répertoire d'un marché.
+     *  @param key Clef du marché.
+     *  @return Répertoire (créé si nécessaire).
+     *  @throws IOException En cas d'erreur de création.
+     */
+    private Path getDirectory(String key) throws IOException {
+        return Files.createDirectories(this.root.resolve(key.replaceAll("[^A-Za-z0-9_-]", "_")));
+    }
+
+    /**
+     *  Lit l'entête d'un bloc.
+     *  Le flux est ensuite positionné au début de la série encodée.
+     *  @param path Chemin du fichier.
+     *  @param input Flux positionné en début de fichier.
+     *  @return Bloc décrit par l'entête.
+     *  @throws IOException En cas d'erreur de lecture ou de fichier invalide.
+     */
+    private static Block readHeader(Path path, DataInputStream input) throws IOException {
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException("Invalid archive block " + path);
+        }
+        int count = input.readInt();
+        long from = input.readLong();
+        long to = input.readLong();
+        return new Block(path, from, to, count);
+    }
+}
@@ -0,0 +1,157 @@
+package com.akasoft.poneyrox.dao.rates;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ *  Décodeur de taux.
+ *  Lecture en continu d'une série produite par l'encodeur de taux : les taux sont décodés un à un depuis le flux,
+ *  sans charger la série en mémoire.
+ */
+class RateDecoder {
+    /**
+     *  Flux d'entrée.
+     */
+    private final BitInput input;
+
+    /**
+     *  Nombre total de taux.
+     */
+    private final int count;
+
+    /**
+     *  Nombre de taux décodés.
+     */
+    private int index;
+
+    /**
+     *  Date courante.
+     */
+    private long time;
+
+    /**
+     *  Ecart courant entre deux dates.
+     */
+    private long delta;
+
+    /**
+     *  Etat de la demande.
+     */
+    private final long[] ask;
+
+    /**
+     *  Etat de l'offre.
+     */
+    private final long[] bid;
+
+    /**
+     *  Constructeur.
+     *  @param input Flux encodé.
+     *  @param count Nombre de taux encodés.
+     */
+    RateDecoder(InputStream input, int count) {
+        this.input = new BitInput(input);
+        this.count = count;
+        this.ask = new long[3];
+        this.bid = new long[3];
+    }
+
+    /**
+     *  Indique s'il reste des taux à décoder.
+     *  @return true si un taux est disponible.
+     */
+    boolean hasNext() {
+        return this.index < this.count;
+    }
+
+    /**
+     *  Décode le taux suivant.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    void next() throws IOException {
+        if (this.index == 0) {
+            this.time = this.input.read(64);
+        } else {
+            this.delta += this.readTime();
+            this.time += this.delta;
+        }
+        this.readValue(this.ask);
+        this.readValue(this.bid);
+        this.index++;
+    }
+
+    /**
+     *  Retourne la date du taux courant.
+     *  @return Date.
+     */
+    long getTime() {
+        return this.time;
+    }
+
+    /**
+     *  Retourne la demande du taux courant.
+     *  @return Cours de la demande.
+     */
+    double getAsk() {
+        return Double.longBitsToDouble(this.ask[0]);
+    }
+
+    /**
+     *  Retourne l'offre du taux courant.
+     *  @return Cours de l'offre.
+     */
+    double getBid() {
+        return Double.longBitsToDouble(this.bid[0]);
+    }
+
+    /**
+     *  Lit une différence de différences de dates.
+     *  @return Valeur lue.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    private long readTime() throws IOException {
+        if (!this.input.readBit()) {
+            return 0;
+        } else if (!this.input.readBit()) {
+            return RateDecoder.signed(this.input.read(7), 7);
+        } else if (!this.input.readBit()) {
+            return RateDecoder.signed(this.input.read(9), 9);
+        } else if (!this.input.readBit()) {
+            return RateDecoder.signed(this.input.read(12), 12);
+        } else {
+            return this.input.read(64);
+        }
+    }
+
+    /**
+     *  Lit un cours.
+     *  @param state Etat du coté (valeur courante, zéros de tête, zéros de queue).
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    private void readValue(long[] state) throws IOException {
+        if (this.index == 0) {
+            state[0] = this.input.read(64);
+        } else if (this.input.readBit()) {
+            if (this.input.readBit()) {
+                /* Nouvelle fenêtre */
+                int leading = (int) this.input.read(5);
+                int significant = (int) this.input.read(6) + 1;
+                state[1] = leading;
+                state[2] = 64 - leading - significant;
+            }
+            int significant = 64 - (int) state[1] - (int) state[2];
+            state[0] ^= this.input.read(significant) << state[2];
+        }
+    }
+
+    /**
+     *  Restaure le signe d'une valeur codée sur un nombre réduit de bits.
+     *  Les plages codées vont de -(2^(n-1) - 1) à 2^(n-1).
+     *  @param value Valeur lue.
+     *  @param bits Nombre de bits.
+     *  @return Valeur signée.
+     */
+    private static long signed(long value, int bits) {
+        return value > (1L << (bits - 1)) ? value - (1L << bits) : value;
+    }
+}
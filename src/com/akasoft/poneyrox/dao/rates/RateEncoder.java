@@ -0,0 +1,148 @@
+package com.akasoft.poneyrox.dao.rates;
+
+/**
+ *  Encodeur de taux.
+ *  Compression de séries de taux inspirée de Gorilla : les dates sont codées par différence de différences sur un
+ *  nombre variable de bits, les cours par OU exclusif avec le cours précédent en ne conservant que les bits
+ *  significatifs. Sur des dates régulières et des cours peu variables, un taux tient en quelques bits.
+ */
+class RateEncoder {
+    /**
+     *  Flux de sortie.
+     */
+    private final BitOutput output;
+
+    /**
+     *  Nombre de taux encodés.
+     */
+    private int count;
+
+    /**
+     *  Date précédente.
+     */
+    private long time;
+
+    /**
+     *  Ecart précédent entre deux dates.
+     */
+    private long delta;
+
+    /**
+     *  Etat de la demande.
+     */
+    private final long[] ask;
+
+    /**
+     *  Etat de l'offre.
+     */
+    private final long[] bid;
+
+    /**
+     *  Constructeur.
+     */
+    RateEncoder() {
+        this.output = new BitOutput();
+        this.ask = RateEncoder.state();
+        this.bid = RateEncoder.state();
+    }
+
+    /**
+     *  Ajoute un taux.
+     *  Les taux doivent être ajoutés par ordre chronologique.
+     *  @param time Date.
+     *  @param ask Cours de la demande.
+     *  @param bid Cours de l'offre.
+     */
+    void add(long time, double ask, double bid) {
+        if (this.count == 0) {
+            this.output.write(time, 64);
+        } else {
+            long delta = time - this.time;
+            this.writeTime(delta - this.delta);
+            this.delta = delta;
+        }
+        this.time = time;
+        this.writeValue(this.ask, Double.doubleToRawLongBits(ask));
+        this.writeValue(this.bid, Double.doubleToRawLongBits(bid));
+        this.count++;
+    }
+
+    /**
+     *  Retourne le nombre de taux encodés.
+     *  @return Nombre de taux.
+     */
+    int getCount() {
+        return this.count;
+    }
+
+    /**
+     *  Retourne les octets encodés.
+     *  @return Octets encodés.
+     */
+    byte[] toByteArray() {
+        return this.output.toByteArray();
+    }
+
+    /**
+     *  Ecrit une différence de différences de dates.
+     *  @param value Valeur écrite.
+     */
+    private void writeTime(long value) {
+        if (value == 0) {
+            this.output.write(0b0, 1);
+        } else if (value >= -63 && value <= 64) {
+            this.output.write(0b10, 2);
+            this.output.write(value, 7);
+        } else if (value >= -255 && value <= 256) {
+            this.output.write(0b110, 3);
+            this.output.write(value, 9);
+        } else if (value >= -2047 && value <= 2048) {
+            this.output.write(0b1110, 4);
+            this.output.write(value, 12);
+        } else {
+            this.output.write(0b1111, 4);
+            this.output.write(value, 64);
+        }
+    }
+
+    /**
+     *  Ecrit un cours.
+     *  @param state Etat du coté (valeur précédente, zéros de tête, zéros de queue).
+     *  @param value Représentation binaire du cours.
+     */
+    private void writeValue(long[] state, long value) {
+        long xor = value ^ state[0];
+        if (this.count == 0) {
+            this.output.write(value, 64);
+        } else if (xor == 0) {
+            this.output.write(0b0, 1);
+        } else {
+            int leading = Math.min(Long.numberOfLeadingZeros(xor), 31);
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (leading >= state[1] && trailing >= state[2]) {
+                /* Réutilisation de la fenêtre précédente */
+                this.output.write(0b10, 2);
+                this.output.write(xor >>> state[2], 64 - (int) state[1] - (int) state[2]);
+            } else {
+                /* Nouvelle fenêtre */
+                int significant = 64 - leading - trailing;
+                this.output.write(0b11, 2);
+                this.output.write(leading, 5);
+                this.output.write(significant - 1, 6);
+                this.output.write(xor >>> trailing, significant);
+                state[1] = leading;
+                state[2] = trailing;
+            }
+        }
+        state[0] = value;
+    }
+
+    /**
+     *  Crée un état de coté vierge.
+     *  La fenêtre initiale est invalide afin de forcer l'écriture d'une nouvelle fenêtre.
+     *  @return Etat.
+     */
+    private static long[] state() {
+        return new long[] { 0, 64, 64 };
+    }
+}
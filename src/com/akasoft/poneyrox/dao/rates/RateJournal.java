@@ -0,0 +1,198 @@
+package com.akasoft.poneyrox.dao.rates;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ *  Journal des taux d'un marché.
+ *  Suite de segments indexés par la date de leur premier enregistrement. Un nouveau segment est ouvert lorsque le
+ *  segment courant est plein ou couvre la durée maximum d'un segment.
+ */
+class RateJournal {
+    /**
+     *  Extension des fichiers de segment.
+     */
+    private static final String EXTENSION = ".rates";
+
+    /**
+     *  Répertoire du journal.
+     */
+    private final Path directory;
+
+    /**
+     *  Nombre maximum d'enregistrements par segment.
+     */
+    private final int capacity;
+
+    /**
+     *  Durée maximum couverte par un segment, en millisecondes.
+     */
+    private final long duration;
+
+    /**
+     *  Segments indexés par date de premier enregistrement.
+     */
+    private final TreeMap<Long, JournalSegment> segments;
+
+    /**
+     *  Date du premier enregistrement du segment courant.
+     */
+    private long first;
+
+    /**
+     *  Date du dernier enregistrement.
+     */
+    private long last;
+
+    /**
+     *  Constructeur.
+     *  Les segments existants sont rouverts.
+     *  @param directory Répertoire du journal.
+     *  @param capacity Nombre maximum d'enregistrements par segment.
+     *  @param duration Durée maximum couverte par un segment.
+     *  @throws IOException En cas d'erreur d'ouverture.
+     */
+    RateJournal(Path directory, int capacity, long duration) throws IOException {
+        this.directory = directory;
+        this.capacity = capacity;
+        this.duration = duration;
+        this.segments = new TreeMap<>();
+        this.first = Long.MIN_VALUE;
+        this.last = Long.MIN_VALUE;
+
+        /* Ouverture des segments existants */
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                JournalSegment segment = JournalSegment.open(file);
+                if (segment.getCount() > 0) {
+                    this.segments.put(segment.getTime(0), segment);
+                } else {
+                    segment.close();
+                    Files.delete(file);
+                }
+            }
+        }
+
+        /* Reprise du segment courant */
+        if (!this.segments.isEmpty()) {
+            Map.Entry<Long, JournalSegment> current = this.segments.lastEntry();
+            this.first = current.getKey();
+            this.last = current.getValue().getTime(current.getValue().getCount() - 1);
+        }
+    }
+
+    /**
+     *  Ajoute un enregistrement.
+     *  Les enregistrements antérieurs ou égaux au dernier enregistrement sont ignorés.
+     *  @param time Date.
+     *  @param ask Cours de la demande.
+     *  @param bid Cours de l'offre.
+     *  @return true si l'enregistrement a été ajouté.
+     *  @throws IOException En cas d'erreur lors de l'ouverture d'un segment.
+     */
+    synchronized boolean append(long time, double ask, double bid) throws IOException {
+        if (time <= this.last) {
+            return false;
+        }
+
+        /* Rotation */
+        JournalSegment current = this.segments.isEmpty() ? null : this.segments.lastEntry().getValue();
+        if (current == null || current.isFull() || time - this.first >= this.duration) {
+            if (current != null) {
+                current.force();
+            }
+            current = JournalSegment.create(this.directory.resolve(String.format("%020d%s", time, EXTENSION)), this.capacity);
+            this.segments.put(time, current);
+            this.first = time;
+        }
+
+        /* Ajout */
+        current.append(time, ask, bid);
+        this.last = time;
+        return true;
+    }
+
+    /**
+     *  Lit les enregistrements compris dans une période, par ordre chronologique.
+     *  Les segments concernés et leur nombre d'enregistrements sont relevés sous verrou, puis parcourus hors verrou
+     *  afin de ne pas bloquer les ajouts pendant la lecture : les enregistrements relevés ne sont plus modifiés, et
+     *  le projeté d'un segment reste lisible après sa fermeture par une purge concurrente.
+     *  @param from Date de début (incluse).
+     *  @param to Date de fin (incluse).
+     *  @param reader Lecteur des enregistrements.
+     */
+    void read(long from, long to, RateReader reader) {
+        /* Relevé des segments concernés */
+        JournalSegment[] segments;
+        int[] counts;
+        synchronized (this) {
+            Long start = this.segments.floorKey(from);
+            Map<Long, JournalSegment> candidates = start == null
+                    ? this.segments.headMap(to, true)
+                    : this.segments.subMap(start, true, to, true);
+            segments = candidates.values().toArray(new JournalSegment[0]);
+            counts = new int[segments.length];
+            for (int i = 0; i < segments.length; i++) {
+                counts[i] = segments[i].getCount();
+            }
+        }
+
+        /* Parcours séquentiel */
+        for (int s = 0; s < segments.length; s++) {
+            JournalSegment segment = segments[s];
+            for (int i = segment.search(from, counts[s]); i < counts[s]; i++) {
+                long time = segment.getTime(i);
+                if (time > to || !reader.read(time, segment.getAsk(i), segment.getBid(i))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     *  Supprime les segments dont tous les enregistrements sont antérieurs à une date.
+     *  Un segment est entièrement antérieur si le segment suivant débute avant la date ; le segment courant n'est
+     *  jamais supprimé.
+     *  @param before Date limite (exclue).
+     *  @throws IOException En cas d'erreur de suppression.
+     */
+    synchronized void purge(long before) throws IOException {
+        Iterator<Map.Entry<Long, JournalSegment>> iterator = this.segments.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Long, JournalSegment> entry = iterator.next();
+            Long next = this.segments.higherKey(entry.getKey());
+            if (next == null || next > before) {
+                return;
+            }
+            entry.getValue().close();
+            Files.delete(entry.getValue().getPath());
+            iterator.remove();
+        }
+    }
+
+    /**
+     *  Force l'écriture du segment courant sur le disque.
+     */
+    synchronized void force() {
+        if (!this.segments.isEmpty()) {
+            this.segments.lastEntry().getValue().force();
+        }
+    }
+
+    /**
+     *  Ferme le journal.
+     *  @throws IOException En cas d'erreur de fermeture.
+     */
+    synchronized void close() throws IOException {
+        for (JournalSegment segment : this.segments.values()) {
+            segment.close();
+        }
+        this.segments.clear();
+    }
+}
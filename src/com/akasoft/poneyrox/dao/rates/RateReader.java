@@ -0,0 +1,16 @@
+package com.akasoft.poneyrox.dao.rates;
+
+/**
+ *  Lecteur de taux.
+ *  Reçoit les enregistrements lus séquentiellement depuis un journal ou une archive, sans création d'entité.
+ */
+interface RateReader {
+    /**
+     *  Traite un enregistrement.
+     *  @param time Date.
+     *  @param ask Cours de la demande.
+     *  @param bid Cours de l'offre.
+     *  @return false pour interrompre la lecture.
+     */
+    boolean read(long time, double ask, double bid);
+}
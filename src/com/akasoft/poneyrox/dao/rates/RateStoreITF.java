@@ -0,0 +1,64 @@
+package com.akasoft.poneyrox.dao.rates;
+
+import com.akasoft.poneyrox.entities.markets.MarketEntity;
+import com.akasoft.poneyrox.entities.markets.RateEntity;
+import com.akasoft.poneyrox.exceptions.InnerException;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ *  Interface descriptive d'un stockage de taux.
+ *  Les taux d'un marché sont enregistrés par ordre chronologique et relus par période ou par rejeu séquentiel.
+ */
+public interface RateStoreITF {
+    /**
+     *  Enregistre un lot de taux.
+     *  Le lot est durable au retour de l'appel.
+     *  @param rates Taux enregistrés, par ordre chronologique pour chaque marché.
+     *  @throws InnerException En cas d'échec de l'enregistrement.
+     */
+    void append(List<RateEntity> rates) throws InnerException;
+
+    /**
+     *  Retourne les taux d'un marché sur une période, par ordre chronologique.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @param to Date de fin (incluse).
+     *  @return Liste des taux.
+     *  @throws InnerException En cas d'échec de la lecture.
+     */
+    List<RateEntity> getRates(MarketEntity market, long from, long to) throws InnerException;
+
+    /**
+     *  Rejoue séquentiellement les taux d'un marché à partir d'une date.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @param consumer Consommateur des taux rejoués.
+     *  @throws InnerException En cas d'échec de la lecture.
+     */
+    void replay(MarketEntity market, long from, Consumer<RateEntity> consumer) throws InnerException;
+
+    /**
+     *  Retourne la date du premier taux d'un marché à partir d'une date.
+     *  @param market Marché.
+     *  @param from Date de début (incluse).
+     *  @return Date du premier taux, ou Long.MAX_VALUE si aucun taux n'est enregistré à partir de la date.
+     *  @throws InnerException En cas d'échec de la lecture.
+     */
+    long getFirst(MarketEntity market, long from) throws InnerException;
+
+    /**
+     *  Supprime les taux d'un marché antérieurs à une date.
+     *  Les taux les plus récents peuvent être conservés si le stockage ne sait pas les supprimer isolément.
+     *  @param market Marché.
+     *  @param before Date limite (exclue).
+     *  @throws InnerException En cas d'échec de la suppression.
+     */
+    void purge(MarketEntity market, long before) throws InnerException;
+
+    /**
+     *  Libère les ressources du stockage.
+     */
+    void close();
+}
@@ -0,0 +1,18 @@
+package com.akasoft.poneyrox.dao.rates;
+
+/**
+ *  Type de stockage des taux.
+ */
+public enum RateStoreType {
+    /**
+     *  Base de données.
+     *  Un enregistrement NHibernate par taux.
+     */
+    HIBERNATE,
+
+    /**
+     *  Journal.
+     *  Fichiers binaires projetés en mémoire, en ajout seul, par marché.
+     */
+    JOURNAL
+}
@@ -12,6 +12,33 @@ import java.util.UUID;
  *  Taux brut enregistré pour un marché à une date précise.
  */
 @Entity
+@Table(indexes = {
+        @Index(columnList = "market_id, time")
+})
+@NamedQueries({
+        @NamedQuery(
+                name = "Rate.getRange",
+                query = "SELECT r " +
+                        "FROM RateEntity r " +
+                        "WHERE r.market = :market " +
+                        "AND r.time >= :from " +
+                        "AND r.time <= :to " +
+                        "ORDER BY r.time"
+        ),
+        @NamedQuery(
+                name = "Rate.getFirstTime",
+                query = "SELECT MIN(r.time) " +
+                        "FROM RateEntity r " +
+                        "WHERE r.market = :market " +
+                        "AND r.time >= :from"
+        ),
+        @NamedQuery(
+                name = "Rate.deleteBefore",
+                query = "DELETE FROM RateEntity AS r " +
+                        "WHERE r.market = :market " +
+                        "AND r.time < :before"
+        )
+})
 public class RateEntity {
     /**
      *  Identifiant.
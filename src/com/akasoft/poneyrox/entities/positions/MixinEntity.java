@@ -6,8 +6,8 @@ import com.akasoft.poneyrox.core.mixins.leads.AbstractLead;
 import com.akasoft.poneyrox.core.mixins.leads.EntryLead;
 import com.akasoft.poneyrox.core.mixins.leads.ExitLead;
 import com.akasoft.poneyrox.core.strategies.categories.AbstractStrategy;
-import com.akasoft.poneyrox.core.time.cells.AbstractCell;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
 import com.akasoft.poneyrox.entities.markets.TimelineEntity;
 import com.akasoft.poneyrox.entities.strategies.*;
 import com.akasoft.poneyrox.exceptions.InnerException;
@@ -374,12 +374,12 @@ public class MixinEntity {
     /**
      *  Convertit l'objet en piste d'entrée.
      *  @param curve Courbe observée.
-     *  @param builds Cellules évaluées (performance).
+     *  @param series Séries primitives évaluées (performance).
      *  @param mode Mode.
      *  @return Piste d'entrée.
      *  @throws InnerException En cas d'erreur interne.
      */
-    public EntryLead asEntryLead(AbstractCurve curve, List<AbstractCell> builds, boolean mode) throws InnerException {
+    public EntryLead asEntryLead(AbstractCurve curve, CurveSeries series, boolean mode) throws InnerException {
         /* Création du tableau de résultat */
         List<Object[]> pre = this.asBasicLead();
 
@@ -389,10 +389,10 @@ public class MixinEntity {
         for (int i = 0; i < pre.size(); i++) {
             /* Récupération de la stratégie */
             AbstractStrategy strategy = (AbstractStrategy) pre.get(i)[0];
-            strategy.observe(curve, builds);
+            strategy.observe(curve, series);
 
             /* Affectation */
-            artifacts[i] = new EntryArtifact(strategy);
+            artifacts[i] = new EntryArtifact(strategy.signal());
             ponderations[i] = (double) pre.get(i)[1];
         }
 
@@ -403,12 +403,12 @@ public class MixinEntity {
     /**
      *  Convertit l'objet en piste de sortie.
      *  @param curve Courbe.
-     *  @param builds Cellules évaluées (performance).
+     *  @param series Séries primitives évaluées (performance).
      *  @param mode Mode évalué.
      *  @return Piste de sortie.
      *  @throws InnerException En cas d'erreur interne.
      */
-    public ExitLead asExitLead(AbstractCurve curve, List<AbstractCell> builds, boolean mode) throws InnerException {
+    public ExitLead asExitLead(AbstractCurve curve, CurveSeries series, boolean mode) throws InnerException {
         /* Création du tableau de résultat */
         List<Object[]> pre = this.asBasicLead();
 
@@ -418,10 +418,10 @@ public class MixinEntity {
         for (int i = 0; i < pre.size(); i++) {
             /* Récupération de la stratégie */
             AbstractStrategy strategy = (AbstractStrategy) pre.get(i)[0];
-            strategy.observe(curve, builds);
+            strategy.observe(curve, series);
 
             /* Affectation */
-            artifacts[i] = new ExitArtifact(strategy);
+            artifacts[i] = new ExitArtifact(strategy.signal());
             ponderations[i] = (double) pre.get(i)[1];
         }
 
@@ -162,6 +162,24 @@ import java.util.UUID;
                 query = "DELETE FROM PositionEntity AS pos " +
                         "WHERE pos.open = true"
         ),
+        @NamedQuery(
+                name = "Position.deleteOpenPositionsExcept",
+                query = "DELETE FROM PositionEntity AS pos " +
+                        "WHERE pos.open = true " +
+                        "AND pos.id NOT IN(:positions) " +
+                        "AND pos.id NOT IN(" +
+                        "   SELECT tx.position.id " +
+                        "   FROM TransactionEntity AS tx " +
+                        "   WHERE tx.id IN(:transactions)" +
+                        ")"
+        ),
+        @NamedQuery(
+                name = "Position.getOpenPositionsById",
+                query = "SELECT pos " +
+                        "FROM PositionEntity AS pos " +
+                        "WHERE pos.open = true " +
+                        "AND pos.id IN(:ids)"
+        ),
         @NamedQuery(
                 name = "Position.deleteAllOldPositions",
                 query = "DELETE FROM PositionEntity AS pos " +
@@ -7,15 +7,23 @@ import java.util.UUID;
  *  Transaction.
  */
 @Entity
-@NamedQueries(
+@NamedQueries({
         @NamedQuery(
                 name = "Transaction.getOpenTransactions",
                 query = "SELECT tx " +
                         "FROM TransactionEntity tx " +
                         "INNER JOIN tx.position pos " +
                         "WHERE pos.open = true"
+        ),
+        @NamedQuery(
+                name = "Transaction.getOpenTransactionsById",
+                query = "SELECT tx " +
+                        "FROM TransactionEntity tx " +
+                        "INNER JOIN tx.position pos " +
+                        "WHERE pos.open = true " +
+                        "AND tx.id IN(:ids)"
         )
-)
+})
 public class TransactionEntity {
     /**
      *  Identifiant.
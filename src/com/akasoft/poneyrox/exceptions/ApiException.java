@@ -18,6 +18,7 @@ public class ApiException extends AbstractException {
      */
     public ApiException(int code, String message, Object... params) {
         super(message, params);
+        this.code = code;
     }
 
     /**
@@ -29,6 +30,7 @@ public class ApiException extends AbstractException {
      */
     public ApiException(int code, Throwable cause, String message, Object... params) {
         super(cause, message, params);
+        this.code = code;
     }
 
     /**
@@ -0,0 +1,49 @@
+package com.akasoft.poneyrox.threads;
+
+import com.akasoft.poneyrox.components.ManagerComponent;
+import com.akasoft.poneyrox.dao.rates.ArchivingRateStore;
+import com.akasoft.poneyrox.entities.markets.MarketEntity;
+import com.akasoft.poneyrox.exceptions.AbstractException;
+
+/**
+ *  Tache d'archivage.
+ *  Tache en charge de la compression des journées closes de taux des marchés observés.
+ */
+public class ArchiveTask extends AbstractTask {
+    /**
+     *  Durée d'une journée, en millisecondes.
+     */
+    private static final long DAY = 24 * 60 * 60 * 1000;
+
+    /**
+     *  Nombre de journées closes conservées dans le stockage courant avant archivage.
+     */
+    public static final int RETENTION = 7;
+
+    /**
+     *  Stockage des taux.
+     */
+    private ArchivingRateStore store;
+
+    /**
+     *  Constructeur.
+     *  @param manager Gestionnaire des taches.
+     *  @param store Stockage des taux.
+     */
+    public ArchiveTask(ManagerComponent manager, ArchivingRateStore store) {
+        super(manager);
+        this.store = store;
+    }
+
+    /**
+     *  Exécution de la tache.
+     *  @throws AbstractException En cas d'erreur lors de l'archivage.
+     */
+    @Override
+    protected void execute() throws AbstractException {
+        long before = ((new java.util.Date().getTime() / DAY) - RETENTION) * DAY;
+        for (MarketEntity market : super.getManager().getWatcher().getMarkets()) {
+            this.store.archive(market, before);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.akasoft.poneyrox.threads;
+
+import com.akasoft.poneyrox.components.ManagerComponent;
+import com.akasoft.poneyrox.core.checkpoint.EngineCheckpoint;
+import com.akasoft.poneyrox.exceptions.AbstractException;
+import com.akasoft.poneyrox.exceptions.InnerException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ *  Tache de point de reprise.
+ *  Tache en charge de l'enregistrement périodique de l'état en mémoire du moteur, relu au démarrage suivant.
+ */
+public class CheckpointTask extends AbstractTask {
+    /**
+     *  Chemin du fichier de reprise.
+     */
+    public static final Path FILE = Paths.get("checkpoint", "engine.bin");
+
+    /**
+     *  Constructeur.
+     *  @param manager Gestionnaire des taches.
+     */
+    public CheckpointTask(ManagerComponent manager) {
+        super(manager);
+    }
+
+    /**
+     *  Exécution de la tache.
+     *  @throws AbstractException En cas d'erreur lors de l'enregistrement.
+     */
+    @Override
+    protected void execute() throws AbstractException {
+        EngineCheckpoint checkpoint = super.getManager().createCheckpoint();
+        try {
+            checkpoint.write(CheckpointTask.FILE);
+        } catch (IOException cause) {
+            throw new InnerException(cause, "Failed to write checkpoint %s", CheckpointTask.FILE);
+        }
+    }
+}
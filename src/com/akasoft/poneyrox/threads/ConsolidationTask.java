@@ -5,8 +5,8 @@ import com.akasoft.poneyrox.api.whaleclub.dto.WhaleClubPositionDTO;
 import com.akasoft.poneyrox.components.ManagerComponent;
 import com.akasoft.poneyrox.core.mixins.leads.EntryLead;
 import com.akasoft.poneyrox.core.mixins.leads.ExitLead;
-import com.akasoft.poneyrox.core.time.cells.AbstractCell;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
 import com.akasoft.poneyrox.dao.PositionDAO;
 import com.akasoft.poneyrox.dao.TransactionDAO;
 import com.akasoft.poneyrox.dao.WalletDAO;
@@ -75,21 +75,21 @@ public class ConsolidationTask extends ConsolidationTaskWrapper {
     @Override
     protected void execute() throws AbstractException {
         /* Récupération de l'index des constructions */
-        Map<AbstractCurve, List<AbstractCell>> builds = new HashMap<>();
+        Map<AbstractCurve, CurveSeries> series = new HashMap<>();
         for (AbstractCurve curve : super.getManager().getAllCurves()) {
-            builds.put(curve, curve.getBuilds());
+            series.put(curve, curve.getSnapshot().getSeries());
         }
 
         /* Gestion des transactions */
         try {
-            this.createTransactions(builds);
+            this.createTransactions(series);
         } catch (AbstractException ex) {
             ex.printStackTrace();
         }
 
         /* Gestion des simulations */
         try {
-            this.createTargetedPositions(builds);
+            this.createTargetedPositions(series);
         } catch (AbstractException ex) {
             ex.printStackTrace();
         }
@@ -107,11 +107,11 @@ public class ConsolidationTask extends ConsolidationTaskWrapper {
 
     /**
      *  Génère et publie une liste de transactions.
-     *  @param builds Liste des cellules.
+     *  @param series Séries primitives par courbe.
      *  @throws InnerException En cas d'erreur interne.
      *  @throws ApiException En cas d'erreur de l'API.
      */
-    private void createTransactions(Map<AbstractCurve, List<AbstractCell>> builds) throws InnerException, ApiException {
+    private void createTransactions(Map<AbstractCurve, CurveSeries> series) throws InnerException, ApiException {
         /* Extraction des performances */
         List<PerformanceDTO> targets = this.positionDAO.getTopStrategiesForProduction(
                 new java.util.Date().getTime() - super.getWallet().getProdPeriod(),
@@ -163,7 +163,7 @@ public class ConsolidationTask extends ConsolidationTaskWrapper {
             size = 100000000l;
 
             /* Récupération du score */
-            double score = this.process(curve, builds.get(curve), target);
+            double score = this.process(curve, series.get(curve), target);
             if (score != -1) {
                 /* Récupération du précédent */
                 PositionEntity precedent = this.positionDAO.getLastPositionsByStrategy(
@@ -226,10 +226,10 @@ public class ConsolidationTask extends ConsolidationTaskWrapper {
 
     /**
      *  Génère et publie une liste de positions ciblées.
-     *  @param builds Liste des cellules.
+     *  @param series Séries primitives par courbe.
      *  @throws InnerException En cas d'erreur interne.
      */
-    private void createTargetedPositions(Map<AbstractCurve, List<AbstractCell>> builds) throws InnerException {
+    private void createTargetedPositions(Map<AbstractCurve, CurveSeries> series) throws InnerException {
         /* Extraction des listes exactes */
         List<PerformanceDTO> targets = this.positionDAO.getTopStrategiesForTesting(
                 new java.util.Date().getTime() - super.getWallet().getTestPeriod(),
@@ -245,7 +245,7 @@ public class ConsolidationTask extends ConsolidationTaskWrapper {
                 AbstractCurve curve = super.getCurve(target.getTimeline(), target.getSmooth());
 
                 /* Récupération du score */
-                double score = this.process(curve, builds.get(curve), target);
+                double score = this.process(curve, series.get(curve), target);
                 if (score != -1) {
                     /* Enregistrement */
                     PositionEntity position = this.positionDAO.persistPosition(
@@ -274,18 +274,18 @@ public class ConsolidationTask extends ConsolidationTaskWrapper {
     /**
      *  Indique si une performance peut donner lieu à une prise de position.
      *  @param curve Courbe d'application.
-     *  @param builds Cellules évaluées (performance).
+     *  @param series Séries primitives évaluées (performance).
      *  @param target Cible.
      *  @return Score de la performance (-1 si non-applicable).
      *  @throws InnerException En cas d'erreur interne.
      */
-    private double process(AbstractCurve curve, List<AbstractCell> builds, PerformanceDTO target) throws InnerException {
+    private double process(AbstractCurve curve, CurveSeries series, PerformanceDTO target) throws InnerException {
         /* Evaluation de la sortie */
-        ExitLead exit = target.getExitMix().asExitLead(curve, builds, target.getMode());
+        ExitLead exit = target.getExitMix().asExitLead(curve, series, target.getMode());
         exit.score(target.getMode(), curve.getOwner().getCurrent());
 
         /* Evaluation de l'entrée */
-        EntryLead entry = target.getEntryMix().asEntryLead(curve, builds, target.getMode());
+        EntryLead entry = target.getEntryMix().asEntryLead(curve, series, target.getMode());
         entry.score(target.getMode(), curve.getOwner().getCurrent());
 
         /* Calcul du score en sortie */
@@ -3,10 +3,10 @@ package com.akasoft.poneyrox.threads;
 import com.akasoft.poneyrox.api.whaleclub.dao.WhaleClubAccess;
 import com.akasoft.poneyrox.api.whaleclub.dto.WhaleClubPositionDTO;
 import com.akasoft.poneyrox.components.ManagerComponent;
+import com.akasoft.poneyrox.core.mixins.artifacts.ExitArtifact;
 import com.akasoft.poneyrox.core.mixins.leads.ExitLead;
-import com.akasoft.poneyrox.core.strategies.categories.AbstractStrategy;
-import com.akasoft.poneyrox.core.time.cells.AbstractCell;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
 import com.akasoft.poneyrox.dao.PositionDAO;
 import com.akasoft.poneyrox.dao.TransactionDAO;
 import com.akasoft.poneyrox.entities.markets.RateEntity;
@@ -144,7 +144,7 @@ public class FollowerTask extends FollowerTaskWrapper {
         List<PositionEntity> result = new ArrayList<>();
 
         /* Extraction des cellules utiles */
-        List<AbstractCell> builds = curve.getBuilds();
+        CurveSeries series = curve.getSnapshot().getSeries();
 
         /* Récupération du taux */
         RateEntity rate = curve.getOwner().getCurrent();
@@ -201,12 +201,12 @@ public class FollowerTask extends FollowerTaskWrapper {
                 }
 
                 /* Extraction de la piste de sortie */
-                ExitLead exit = position.getExitMix().asExitLead(curve, builds, position.getMode());
+                ExitLead exit = position.getExitMix().asExitLead(curve, series, position.getMode());
 
                 /* Consolidation */
                 boolean pertinent = true;
-                for (AbstractStrategy strategy : Arrays.stream(exit.getStrategies()).map(e -> e.getStrategy()).collect(Collectors.toList())) {
-                    pertinent &= strategy.isPertinent();
+                for (ExitArtifact artifact : exit.getStrategies()) {
+                    pertinent &= artifact.getSignal().isPertinent();
                 }
 
                 /* Calcul */
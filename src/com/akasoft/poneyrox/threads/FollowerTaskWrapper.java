@@ -1,6 +1,8 @@
 package com.akasoft.poneyrox.threads;
 
 import com.akasoft.poneyrox.components.ManagerComponent;
+import com.akasoft.poneyrox.core.checkpoint.FollowedEntry;
+import com.akasoft.poneyrox.core.checkpoint.FollowedKind;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
 import com.akasoft.poneyrox.entities.positions.PositionEntity;
 import com.akasoft.poneyrox.entities.positions.TransactionEntity;
@@ -9,6 +11,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 /**
  *  Enveloppe de la tache de suivi.
@@ -145,6 +148,36 @@ public abstract class FollowerTaskWrapper extends AbstractTask {
         }
     }
 
+    /**
+     *  Retourne les références des entrées suivies.
+     *  @return Liste des entrées des trois tampons.
+     */
+    public synchronized List<FollowedEntry> getFollowed() {
+        List<FollowedEntry> result = new ArrayList<>();
+        synchronized (this.randomBuffer) {
+            this.randomBuffer.forEach((curve, list) -> {
+                for (PositionEntity position : list) {
+                    result.add(FollowerTaskWrapper.follow(FollowedKind.RANDOM, curve, position.getId()));
+                }
+            });
+        }
+        synchronized (this.targetedBuffer) {
+            this.targetedBuffer.forEach((curve, list) -> {
+                for (PositionEntity position : list) {
+                    result.add(FollowerTaskWrapper.follow(FollowedKind.TARGETED, curve, position.getId()));
+                }
+            });
+        }
+        synchronized (this.virtualBuffer) {
+            this.virtualBuffer.forEach((curve, list) -> {
+                for (TransactionEntity transaction : list) {
+                    result.add(FollowerTaskWrapper.follow(FollowedKind.VIRTUAL, curve, transaction.getId()));
+                }
+            });
+        }
+        return result;
+    }
+
     /**
      *  Ajoute une entrée dans le tampon des simulations aléatoires.
      *  @param curve Courbe concernée.
@@ -219,4 +252,15 @@ public abstract class FollowerTaskWrapper extends AbstractTask {
             this.virtualBuffer.get(curve).removeAll(entities);
         }
     }
+
+    /**
+     *  Crée la référence d'une entrée suivie.
+     *  @param kind Nature de l'entrée.
+     *  @param curve Courbe de rattachement.
+     *  @param id Identifiant de l'entité.
+     *  @return Référence.
+     */
+    private static FollowedEntry follow(FollowedKind kind, AbstractCurve<?> curve, UUID id) {
+        return new FollowedEntry(kind, curve.getEntity().getId(), curve.getSmooth(), id);
+    }
 }
@@ -0,0 +1,234 @@
+package com.akasoft.poneyrox.threads;
+
+import com.akasoft.poneyrox.core.mixins.artifacts.EntryArtifact;
+import com.akasoft.poneyrox.core.mixins.artifacts.ExitArtifact;
+import com.akasoft.poneyrox.core.strategies.categories.AbstractStrategy;
+import com.akasoft.poneyrox.core.strategies.interfaces.EnterLongITF;
+import com.akasoft.poneyrox.core.strategies.interfaces.EnterShortITF;
+import com.akasoft.poneyrox.core.strategies.interfaces.ExitLongITF;
+import com.akasoft.poneyrox.core.strategies.interfaces.ExitShortITF;
+import com.akasoft.poneyrox.core.strategies.signals.StrategySignal;
+import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ *  Evaluation d'une plage d'instances stratégiques.
+ *  La plage est divisée récursivement jusqu'à la taille d'un lot, chaque lot étant évalué par un seul processus : une
+ *  instance n'est donc jamais manipulée par deux processus à la fois. Les résultats sont fusionnés dans l'ordre des
+ *  instances et tronqués aux tailles d'échantillon, si bien que le résultat ne dépend pas de l'ordonnancement.
+ */
+class StrategyEvaluation extends RecursiveTask<StrategyEvaluation.Result> {
+    /**
+     *  Identifiant de sérialisation.
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     *  Résultat d'évaluation.
+     */
+    static class Result {
+        /**
+         *  Artefacts d'entrée, dans l'ordre des instances.
+         */
+        private final List<EntryArtifact> entries;
+
+        /**
+         *  Artefacts de sortie, dans l'ordre des instances.
+         */
+        private final List<ExitArtifact> exits;
+
+        /**
+         *  Constructeur.
+         */
+        private Result() {
+            this.entries = new ArrayList<>();
+            this.exits = new ArrayList<>();
+        }
+
+        /**
+         *  Retourne les artefacts d'entrée.
+         *  @return Liste des artefacts.
+         */
+        List<EntryArtifact> getEntries() {
+            return this.entries;
+        }
+
+        /**
+         *  Retourne les artefacts de sortie.
+         *  @return Liste des artefacts.
+         */
+        List<ExitArtifact> getExits() {
+            return this.exits;
+        }
+    }
+
+    /**
+     *  Instances évaluées.
+     */
+    private final List<? extends AbstractStrategy<?>> instances;
+
+    /**
+     *  Courbe observée.
+     */
+    private final AbstractCurve<?> curve;
+
+    /**
+     *  Séries primitives de la courbe.
+     */
+    private final CurveSeries series;
+
+    /**
+     *  Début de la plage (inclus).
+     */
+    private final int from;
+
+    /**
+     *  Fin de la plage (exclue).
+     */
+    private final int to;
+
+    /**
+     *  Nombre maximum d'artefacts d'entrée.
+     */
+    private final int entryLimit;
+
+    /**
+     *  Nombre maximum d'artefacts de sortie.
+     */
+    private final int exitLimit;
+
+    /**
+     *  Taille des lots.
+     */
+    private final int chunk;
+
+    /**
+     *  Constructeur.
+     *  @param instances Instances évaluées.
+     *  @param curve Courbe observée.
+     *  @param series Séries primitives de la courbe.
+     *  @param from Début de la plage (inclus).
+     *  @param to Fin de la plage (exclue).
+     *  @param entryLimit Nombre maximum d'artefacts d'entrée.
+     *  @param exitLimit Nombre maximum d'artefacts de sortie.
+     *  @param chunk Taille des lots.
+     */
+    StrategyEvaluation(
+            List<? extends AbstractStrategy<?>> instances,
+            AbstractCurve<?> curve,
+            CurveSeries series,
+            int from,
+            int to,
+            int entryLimit,
+            int exitLimit,
+            int chunk) {
+        this.instances = instances;
+        this.curve = curve;
+        this.series = series;
+        this.from = from;
+        this.to = to;
+        this.entryLimit = entryLimit;
+        this.exitLimit = exitLimit;
+        this.chunk = chunk;
+    }
+
+    /**
+     *  Exécution.
+     *  @return Résultat de la plage.
+     */
+    @Override
+    protected Result compute() {
+        /* Evaluation directe d'un lot */
+        if (this.to - this.from <= this.chunk) {
+            return this.evaluate();
+        }
+
+        /* Division */
+        int middle = (this.from + this.to) >>> 1;
+        StrategyEvaluation left = this.split(this.from, middle);
+        StrategyEvaluation right = this.split(middle, this.to);
+        right.fork();
+        Result result = left.compute();
+        this.merge(result, right.join());
+        return result;
+    }
+
+    /**
+     *  Evalue séquentiellement les instances de la plage.
+     *  L'évaluation s'interrompt dès que les deux échantillons sont complets.
+     *  @return Résultat du lot.
+     */
+    private Result evaluate() {
+        Result result = new Result();
+        for (int i = this.from; i < this.to && !this.isComplete(result); i++) {
+            AbstractStrategy<?> strategy = this.instances.get(i);
+            strategy.observe(this.curve, this.series);
+            if (strategy.isPertinent()) {
+                /* Signal figé, partagé par les artefacts de l'instance */
+                StrategySignal signal = strategy.signal();
+                if (result.entries.size() < this.entryLimit
+                        && (strategy instanceof EnterLongITF || strategy instanceof EnterShortITF)) {
+                    result.entries.add(new EntryArtifact(signal));
+                }
+                if (result.exits.size() < this.exitLimit
+                        && (strategy instanceof ExitLongITF || strategy instanceof ExitShortITF)) {
+                    result.exits.add(new ExitArtifact(signal));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     *  Fusionne le résultat d'une plage postérieure.
+     *  @param result Résultat complété.
+     *  @param next Résultat de la plage suivante.
+     */
+    void merge(Result result, Result next) {
+        for (int i = 0; i < next.entries.size() && result.entries.size() < this.entryLimit; i++) {
+            result.entries.add(next.entries.get(i));
+        }
+        for (int i = 0; i < next.exits.size() && result.exits.size() < this.exitLimit; i++) {
+            result.exits.add(next.exits.get(i));
+        }
+    }
+
+    /**
+     *  Indique si les deux échantillons d'un résultat sont complets.
+     *  @param result Résultat vérifié.
+     *  @return true si aucun artefact supplémentaire ne peut etre retenu.
+     */
+    boolean isComplete(Result result) {
+        return result.entries.size() >= this.entryLimit && result.exits.size() >= this.exitLimit;
+    }
+
+    /**
+     *  Crée un résultat vide.
+     *  @return Résultat vide.
+     */
+    static Result empty() {
+        return new Result();
+    }
+
+    /**
+     *  Crée l'évaluation d'une sous-plage.
+     *  @param from Début de la sous-plage (inclus).
+     *  @param to Fin de la sous-plage (exclue).
+     *  @return Evaluation.
+     */
+    private StrategyEvaluation split(int from, int to) {
+        return new StrategyEvaluation(
+                this.instances,
+                this.curve,
+                this.series,
+                from,
+                to,
+                this.entryLimit,
+                this.exitLimit,
+                this.chunk);
+    }
+}
@@ -10,17 +10,36 @@ import com.akasoft.poneyrox.core.strategies.interfaces.*;
 import com.akasoft.poneyrox.core.strategies.parameters.AbstractParameter;
 import com.akasoft.poneyrox.core.time.cells.AbstractCell;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSeries;
+import com.akasoft.poneyrox.core.time.curves.CurveSnapshot;
 import com.akasoft.poneyrox.exceptions.AbstractException;
 import com.akasoft.poneyrox.exceptions.InnerException;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  *  Tache stratégique.
- *  Tache dédiée à l'exécution d'une stratégie sur les lignes temporelles générées.
+ *  Tache dédiée à l'exécution d'une stratégie sur les lignes temporelles générées. L'évaluation des instances est
+ *  répartie sur une réserve de processus à vol de taches.
  */
-public class StrategyTask<TStrategy extends AbstractStrategy> extends StrategyTaskWrapper {
+public class StrategyTask<TStrategy extends AbstractStrategy<?>> extends StrategyTaskWrapper {
+    /**
+     *  Nombre de processus d'évaluation.
+     */
+    public static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    /**
+     *  Nombre d'instances évaluées par lot.
+     */
+    public static final int CHUNK_SIZE = 64;
+
+    /**
+     *  Réserve d'évaluation, partagée par l'ensemble des taches stratégiques.
+     *  Les processus de la réserve sont des démons et n'ont pas à etre arretés.
+     */
+    private static final ForkJoinPool POOL = new ForkJoinPool(StrategyTask.PARALLELISM);
+
     /**
      *  Type.
      */
@@ -31,6 +50,12 @@ public class StrategyTask<TStrategy extends AbstractStrategy> extends StrategyTa
      */
     private List<TStrategy> instances;
 
+    /**
+     *  Dernière version traitée pour chaque courbe.
+     *  Les courbes des lignes temporelles supprimées en sont retirées à chaque exécution.
+     */
+    private final Map<AbstractCurve<?>, Long> versions;
+
     /**
      *  Constructeur.
      *  @param manager Gestionnaire des taches.
@@ -41,6 +66,7 @@ public class StrategyTask<TStrategy extends AbstractStrategy> extends StrategyTa
         super(manager);
         this.type = type;
         this.instances = this.generate();
+        this.versions = new HashMap<>();
     }
 
     /**
@@ -61,54 +87,43 @@ public class StrategyTask<TStrategy extends AbstractStrategy> extends StrategyTa
         if (super.getBufferSize() > 0) {
             /* Parcours des courbes placées dans le buffer.
             *  La liste des courbes est copiée dans un instance séparée afin d'éviter les conflits entre processus. */
-            for (AbstractCurve curve : super.getBuffer().stream().collect(Collectors.toList())) {
+            for (AbstractCurve curve : new LinkedHashSet<>(super.getBuffer())) {
+                /* Récupération de l'instantané.
+                *  Les courbes dont aucune nouvelle cellule n'a été finalisée depuis le dernier passage sont ignorées. */
+                CurveSnapshot<AbstractCell> snapshot = curve.getSnapshot();
+                Long processed = this.versions.put(curve, snapshot.getVersion());
+                if (processed != null && processed == snapshot.getVersion()) {
+                    continue;
+                }
+
                 /* Positionnement alétoire des instances */
                 Collections.shuffle(this.instances);
 
-                /* Création des listes de résultats, à savoir :
-                *       Liste des artefacts exploitables pour une prise de position
-                *       Liste des artefacts exploitables pour une sortie de position */
-                ArrayList<EntryArtifact> entries = new ArrayList<>();
-                ArrayList<ExitArtifact> exits = new ArrayList<>();
-
-                /* Extraction des cellules disponibles */
-                List<AbstractCell> builds = curve.getBuilds();
-
-                /* Parcours des stratégies disponibles */
-                boolean exit = false;
-                for (int i = 0; i < this.instances.size() && !exit; i++) {
-                    /* Récupération de la stratégie */
-                    AbstractStrategy strategy = this.instances.get(i);
-
-                    /* Evaluation de la stratégie */
-                    strategy.observe(curve, builds);
-
-                    /* Mise en liaison avec la courbe.
-                    *  Seules les tratégies pertinentes sont retenues. La variable "exit" permet de savoir si suffisamment de stratégies sont placées
-                    *  dans l'échantillon afin de quitter la boucle. */
-                    exit = true;
-                    if (strategy.isPertinent()) {
-                        /* Gestion des stratégies élligibles en entrée */
-                        if (entries.size() < super.getWallet().getSampleSize()) {
-                            exit = false;
-                            if ((strategy instanceof EnterLongITF || strategy instanceof EnterShortITF)) {
-                                EntryArtifact artifact = new EntryArtifact(strategy.clone());
-                                entries.add(artifact);
-                            }
-                        }
-
-                        /* Gestion des stratégies élligibles en sortie */
-                        if (exits.size() <= super.getWallet().getSampleSize()) {
-                            exit = false;
-                            if ((strategy instanceof ExitLongITF || strategy instanceof ExitShortITF)) {
-                                ExitArtifact artifact = new ExitArtifact(strategy.clone());
-                                exits.add(artifact);
-                            }
-                        }
-                    } else {
-                        exit = false;
+                /* Evaluation des instances.
+                 * Les instances sont évaluées par vagues de PARALLELISM lots répartis sur la réserve commune ; les
+                 * résultats sont fusionnés dans l'ordre des instances et l'évaluation s'arrete dès que les
+                 * échantillons d'entrée et de sortie sont complets. */
+                CurveSeries series = snapshot.getSeries();
+                int sample = super.getWallet().getSampleSize();
+                StrategyEvaluation.Result result = StrategyEvaluation.empty();
+                int wave = StrategyTask.CHUNK_SIZE * StrategyTask.PARALLELISM;
+                for (int from = 0; from < this.instances.size(); from += wave) {
+                    StrategyEvaluation evaluation = new StrategyEvaluation(
+                            this.instances,
+                            curve,
+                            series,
+                            from,
+                            Math.min(from + wave, this.instances.size()),
+                            sample,
+                            sample + 1,
+                            StrategyTask.CHUNK_SIZE);
+                    evaluation.merge(result, StrategyTask.POOL.invoke(evaluation));
+                    if (evaluation.isComplete(result)) {
+                        break;
                     }
                 }
+                List<EntryArtifact> entries = result.getEntries();
+                List<ExitArtifact> exits = result.getExits();
 
                 /* Diffusion des stratégies d'entrée. */
                 if (entries.size() > 0) {
@@ -130,6 +145,11 @@ public class StrategyTask<TStrategy extends AbstractStrategy> extends StrategyTa
             }
         }
 
+        /* Oubli des courbes dont la ligne temporelle a été supprimée */
+        if (!this.versions.isEmpty()) {
+            this.versions.keySet().retainAll(new HashSet<>(super.getManager().getAllCurves()));
+        }
+
         /* Nettoyage du tampon */
         super.clearBuffer();
     }
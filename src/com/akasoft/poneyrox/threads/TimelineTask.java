@@ -2,9 +2,16 @@ package com.akasoft.poneyrox.threads;
 
 import com.akasoft.poneyrox.components.ManagerComponent;
 import com.akasoft.poneyrox.core.time.cells.RawCell;
+import com.akasoft.poneyrox.core.time.cells.RawCellState;
+import com.akasoft.poneyrox.core.time.cells.RawPartial;
+import com.akasoft.poneyrox.core.time.cells.SmoothCell;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.CurveSnapshot;
+import com.akasoft.poneyrox.core.time.curves.RawConflator;
 import com.akasoft.poneyrox.core.time.curves.RawCurve;
 import com.akasoft.poneyrox.core.time.curves.SmoothCurve;
+import com.akasoft.poneyrox.core.time.curves.SmoothingEngine;
+import com.akasoft.poneyrox.dao.rates.RateStoreITF;
 import com.akasoft.poneyrox.dto.CellDTO;
 import com.akasoft.poneyrox.entities.markets.RateEntity;
 import com.akasoft.poneyrox.entities.markets.TimelineEntity;
@@ -12,33 +19,85 @@ import com.akasoft.poneyrox.exceptions.AbstractException;
 import com.akasoft.poneyrox.exceptions.InnerException;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
-import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  *  Tache de gestion d'une ligne temporelle.
- *  Tache planifiée chargée de la constitution et du rafraichissement d'une ligne temporelle.
+ *  Tache chargée de la constitution et du rafraichissement d'une ligne temporelle. La tache est réveillée à l'arrivée
+ *  des taux : les signaux reçus pendant une exécution sont regroupés en un unique passage supplémentaire, si bien
+ *  qu'une rafale de taux est intégrée en une seule fois et qu'au plus un processus traite la ligne à un instant donné.
  */
 public class TimelineTask extends TimelineTaskWrapper {
     /**
-     *  Niveau maximal de lissage.
+     *  Niveaux de lissage.
+     *  Le cout du lissage ne dépend pas de la taille des niveaux retenus.
      */
-    public final static int SMOOTH = 6;
+    public final static int[] LEVELS = {2, 4, 8, 16, 32};
+
+    /**
+     *  Nombre de cellules reconstituées au démarrage à partir de l'historique des taux.
+     */
+    public final static int WARM_CELLS = AbstractCurve.WIDTH;
+
+    /**
+     *  Nombre de taux regroupés avant chaque intégration lors de la reconstitution.
+     */
+    public final static int WARM_BATCH = 10000;
 
     /**
      *  Ligne de temps observée.
      */
     private final TimelineEntity timeline;
 
+    /**
+     *  Etat : aucune exécution planifiée.
+     */
+    private static final int IDLE = 0;
+
+    /**
+     *  Etat : exécution planifiée.
+     */
+    private static final int SCHEDULED = 1;
+
+    /**
+     *  Etat : exécution en cours.
+     */
+    private static final int RUNNING = 2;
+
+    /**
+     *  Etat : exécution en cours, nouveau passage demandé.
+     */
+    private static final int RUNNING_SIGNALED = 3;
+
     /**
      *  Taux le plus récent.
      */
-    private RateEntity current;
+    private volatile RateEntity current;
+
+    /**
+     *  Etat d'exécution.
+     */
+    private final AtomicInteger state;
+
+    /**
+     *  Indicateur d'activité.
+     */
+    private volatile boolean active;
+
+    /**
+     *  Indicateur de reconstitution en cours.
+     *  Les courbes ne sont pas diffusées tant que l'historique est rejoué.
+     */
+    private volatile boolean warming;
 
     /**
-     *  Promesse rattachée à la tache.
+     *  Taux reçus en direct avant la fin de la reconstitution (null une fois la ligne libérée).
+     *  Ils sont intégrés à l'issue du rejeu, à l'exception de ceux déjà relus dans le stockage.
      */
-    private ScheduledFuture future;
+    private List<RateEntity> held;
 
     /**
      *  Constructeur.
@@ -49,12 +108,17 @@ public class TimelineTask extends TimelineTaskWrapper {
         /* Paramètres */
         this.timeline = timeline;
         this.current = null;
-        this.future = null;
+        this.state = new AtomicInteger(TimelineTask.IDLE);
+        this.active = true;
+        this.warming = false;
+        this.held = new ArrayList<>();
         super.setRaw(new RawCurve(this, this.timeline.getSize()));
 
-        /* Courbes */
-        for (int i = 1, j = 2; i < TimelineTask.SMOOTH; i++, j *= 2) {
-            SmoothCurve add = new SmoothCurve(this, j);
+        /* Courbes.
+         * Les courbes lissées sont inscrites dans l'ordre des niveaux du moteur de lissage. */
+        super.setEngine(new SmoothingEngine(TimelineTask.LEVELS));
+        for (int level : TimelineTask.LEVELS) {
+            SmoothCurve add = new SmoothCurve(this, level);
             super.addSmooth(add);
         }
     }
@@ -68,11 +132,11 @@ public class TimelineTask extends TimelineTaskWrapper {
     }
 
     /**
-     *  Retourne la promesse rattachée à la tache.
-     *  @return Promesse rattachée.
+     *  Indique si la tache est active.
+     *  @return true si la tache est active.
      */
-    public ScheduledFuture getFuture() {
-        return this.future;
+    public boolean isActive() {
+        return this.active;
     }
 
     /**
@@ -93,16 +157,17 @@ public class TimelineTask extends TimelineTaskWrapper {
         List<CellDTO> result = new ArrayList<>();
 
         /* Courbe brute */
-        RawCurve raw = super.getRaw();
-        if (raw.hasLastBuild()) {
-            CellDTO add = new CellDTO(1, raw.getLastBuild());
+        CurveSnapshot<RawCell> raw = super.getRaw().getSnapshot();
+        if (raw.hasLast()) {
+            CellDTO add = new CellDTO(1, raw.getLast());
             result.add(add);
         }
 
         /* Courbes lissées */
         for (SmoothCurve curve : super.getSmooth()) {
-            if (curve.hasLastBuild()) {
-                CellDTO add = new CellDTO(curve.getLevel(), curve.getLastBuild());
+            CurveSnapshot<SmoothCell> snapshot = curve.getSnapshot();
+            if (snapshot.hasLast()) {
+                CellDTO add = new CellDTO(curve.getLevel(), snapshot.getLast());
                 result.add(add);
             }
         }
@@ -112,22 +177,206 @@ public class TimelineTask extends TimelineTaskWrapper {
     }
 
     /**
-     *  Définit la promesse rattachée à la tache.
-     *  @param future Promesse rattachée.
+     *  Désactive la tache.
+     *  Les signaux reçus par la suite sont ignorés.
+     */
+    public void deactivate() {
+        this.active = false;
+    }
+
+    /**
+     *  Signale l'arrivée de nouveaux taux.
+     *  Planifie une exécution immédiate si aucune n'est en attente, ou demande un passage supplémentaire si une
+     *  exécution est en cours ; les autres signaux sont absorbés. Si la planification est refusée (réserve saturée ou
+     *  arrêt en cours), la tache est remise au repos afin que les signaux suivants puissent la replanifier.
+     */
+    public void signal() {
+        while (this.active) {
+            int observed = this.state.get();
+            if (observed == TimelineTask.IDLE) {
+                if (this.state.compareAndSet(TimelineTask.IDLE, TimelineTask.SCHEDULED)) {
+                    boolean scheduled = false;
+                    try {
+                        super.getManager().getScheduler().schedule(this, new Date());
+                        scheduled = true;
+                    } finally {
+                        if (!scheduled) {
+                            this.state.compareAndSet(TimelineTask.SCHEDULED, TimelineTask.IDLE);
+                        }
+                    }
+                    return;
+                }
+            } else if (observed == TimelineTask.RUNNING) {
+                if (this.state.compareAndSet(TimelineTask.RUNNING, TimelineTask.RUNNING_SIGNALED)) {
+                    return;
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     *  Exécution de la tache.
+     *  Les passages demandés en cours d'exécution sont enchainés dans le même processus. En cas d'erreur non
+     *  controlée, la tache est remise au repos (et replanifiée si un passage avait été demandé) afin de ne pas
+     *  bloquer les signaux suivants.
      */
-    public void setFuture(ScheduledFuture future) {
-        this.future = future;
+    @Override
+    public void run() {
+        this.state.set(TimelineTask.RUNNING);
+        boolean completed = false;
+        try {
+            do {
+                super.run();
+            } while (!this.state.compareAndSet(TimelineTask.RUNNING, TimelineTask.IDLE)
+                    && this.state.compareAndSet(TimelineTask.RUNNING_SIGNALED, TimelineTask.RUNNING));
+            completed = true;
+        } finally {
+            if (!completed && this.state.getAndSet(TimelineTask.IDLE) == TimelineTask.RUNNING_SIGNALED) {
+                this.signal();
+            }
+        }
     }
 
     /**
      *  Enregistre un taux dans le tampon.
+     *  Tant que la reconstitution n'est pas terminée, le taux est retenu à part.
      *  @param rate Taux ajouté.
      */
     public void addBuffer(RateEntity rate) {
+        synchronized (this) {
+            if (this.held != null) {
+                this.held.add(rate);
+                return;
+            }
+        }
         super.addBuffer(rate);
         this.current = rate;
     }
 
+    /**
+     *  Reconstitue les courbes à partir de l'historique des taux.
+     *  @param store Stockage des taux.
+     *  @throws InnerException En cas d'erreur de lecture ou de calcul.
+     */
+    public void warmUp(RateStoreITF store) throws InnerException {
+        this.warmUp(store, new ArrayList<>());
+    }
+
+    /**
+     *  Reconstitue les courbes à partir d'un point de reprise et de l'historique des taux.
+     *  Les cellules du point de reprise sont restaurées si elles couvrent la période des WARM_CELLS dernières
+     *  cellules ; seuls les taux postérieurs sont alors relus. Les taux sont relus en continu, regroupés par cellule
+     *  puis intégrés par lots, sans diffusion intermédiaire ; les courbes ne sont diffusées qu'une fois l'historique
+     *  rejoué. Les taux reçus en direct pendant la reconstitution sont retenus puis intégrés à l'issue, hormis ceux
+     *  dont la date est antérieure ou égale au dernier taux rejoué ; la ligne peut donc etre alimentée avant l'appel,
+     *  qui ne doit avoir lieu qu'une seule fois.
+     *  @param store Stockage des taux.
+     *  @param checkpoint Cellules brutes du point de reprise, par ordre chronologique (éventuellement vide).
+     *  @throws InnerException En cas d'erreur de lecture ou de calcul.
+     */
+    public void warmUp(RateStoreITF store, List<RawCellState> checkpoint) throws InnerException {
+        long from = System.currentTimeMillis() - (long) TimelineTask.WARM_CELLS * this.timeline.getSize() * 1000;
+        RawConflator conflator = new RawConflator(super.getRaw());
+        long[] replayed = {Long.MIN_VALUE};
+        this.warming = true;
+        try {
+            /* Restauration du point de reprise */
+            if (!checkpoint.isEmpty() && checkpoint.get(checkpoint.size() - 1).getStart() >= from) {
+                for (RawCellState state : checkpoint) {
+                    RawCell finalized = super.restoreRaw(state);
+                    if (finalized != null) {
+                        this.smooth(Collections.singletonList(finalized));
+                    }
+                }
+                from = checkpoint.get(checkpoint.size() - 1).getAggregate().getTime() + 1;
+                replayed[0] = from - 1;
+            }
+
+            /* Rejeu.
+             * Le consommateur ne pouvant lever d'exception controlée, une erreur d'intégration est conservée, les taux
+             * suivants ignorés, puis l'erreur relancée à l'issue. */
+            InnerException[] failure = new InnerException[1];
+            int[] pending = new int[1];
+            store.replay(this.timeline.getMarket(), from, rate -> {
+                if (failure[0] == null) {
+                    conflator.offer(rate);
+                    this.current = rate;
+                    replayed[0] = rate.getTime();
+                    if (++pending[0] >= TimelineTask.WARM_BATCH) {
+                        pending[0] = 0;
+                        try {
+                            this.integrate(conflator.drain());
+                        } catch (InnerException cause) {
+                            failure[0] = cause;
+                        }
+                    }
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+            this.integrate(conflator.drain());
+        } finally {
+            this.warming = false;
+            this.release(replayed[0]);
+        }
+
+        /* Diffusion */
+        for (AbstractCurve curve : super.getCurves()) {
+            if (curve.getSnapshot().hasLast()) {
+                super.getManager().diffuseCurve(curve);
+            }
+        }
+    }
+
+    /**
+     *  Libère la ligne à l'issue de la reconstitution.
+     *  Les taux retenus postérieurs au dernier taux rejoué sont placés dans le tampon, puis leur intégration est
+     *  planifiée.
+     *  @param replayed Date du dernier taux rejoué.
+     */
+    private void release(long replayed) {
+        /* Transfert */
+        boolean pending = false;
+        synchronized (this) {
+            for (RateEntity rate : this.held) {
+                if (rate.getTime() > replayed) {
+                    super.addBuffer(rate);
+                    this.current = rate;
+                    pending = true;
+                }
+            }
+            this.held = null;
+        }
+
+        /* Planification */
+        if (pending) {
+            this.signal();
+        }
+    }
+
+    /**
+     *  Retourne l'état des cellules brutes à enregistrer dans un point de reprise.
+     *  Seules les cellules finalisées sont retenues ; la cellule ouverte est reconstituée par le rejeu des taux.
+     *  @return Etats des WARM_CELLS dernières cellules finalisées, par ordre chronologique.
+     */
+    public List<RawCellState> getCheckpoint() {
+        return super.getRaw().getStates(TimelineTask.WARM_CELLS);
+    }
+
+    /**
+     *  Diffuse une courbe de la ligne dans les agents d'évaluation.
+     *  Sans effet pendant la reconstitution.
+     *  @param curve Courbe diffusée.
+     */
+    public void diffuseCurve(AbstractCurve curve) {
+        if (!this.warming) {
+            super.getManager().diffuseCurve(curve);
+        }
+    }
+
     /**
      *  Exécution.
      *  @throws AbstractException En cas d'erreur lors du traitement.
@@ -135,18 +384,33 @@ public class TimelineTask extends TimelineTaskWrapper {
     @Override
     protected void execute() throws AbstractException {
         if (super.getBufferSize() > 0) {
-            /* Mise en cache */
-            List<RateEntity> backup = this.getBuffer();
-            super.clearBuffer();
-
-            /* Intégration à la courbe brute */
-            super.integrateRaw(backup);
-
-            /* Calcul des courbes lissées */
-            for (SmoothCurve curve : super.getSmooth()) {
-                List<RawCell> history = this.getRaw().getLast(curve.getLevel());
-                if (curve.getLevel() <= history.size()) {
-                    curve.integrate(history);
+            this.integrate(super.drainBuffer());
+        }
+    }
+
+    /**
+     *  Intègre une liste d'agrégats partiels dans les courbes.
+     *  @param partials Agrégats intégrés.
+     *  @throws InnerException En cas d'erreur de calcul.
+     */
+    private void integrate(List<RawPartial> partials) throws InnerException {
+        this.smooth(super.integrateRaw(partials));
+    }
+
+    /**
+     *  Alimente les courbes lissées avec des cellules brutes finalisées.
+     *  @param finalized Cellules finalisées, par ordre chronologique.
+     */
+    private void smooth(List<RawCell> finalized) {
+        /* Calcul des courbes lissées.
+         * Chaque cellule brute finalisée alimente le moteur puis les courbes dont la fenêtre est complète. */
+        SmoothingEngine engine = super.getEngine();
+        List<SmoothCurve> smooth = super.getSmooth();
+        for (RawCell cell : finalized) {
+            engine.push(cell);
+            for (int i = 0; i < smooth.size(); i++) {
+                if (engine.isReady(i)) {
+                    smooth.get(i).integrate(cell, engine, i);
                 }
             }
         }
@@ -1,13 +1,19 @@
 package com.akasoft.poneyrox.threads;
 
 import com.akasoft.poneyrox.components.ManagerComponent;
+import com.akasoft.poneyrox.core.time.cells.RawCell;
+import com.akasoft.poneyrox.core.time.cells.RawCellState;
+import com.akasoft.poneyrox.core.time.cells.RawPartial;
 import com.akasoft.poneyrox.core.time.curves.AbstractCurve;
+import com.akasoft.poneyrox.core.time.curves.RawConflator;
 import com.akasoft.poneyrox.core.time.curves.RawCurve;
 import com.akasoft.poneyrox.core.time.curves.SmoothCurve;
+import com.akasoft.poneyrox.core.time.curves.SmoothingEngine;
 import com.akasoft.poneyrox.entities.markets.RateEntity;
 import com.akasoft.poneyrox.exceptions.InnerException;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -17,17 +23,31 @@ public abstract class TimelineTaskWrapper extends AbstractTask {
     /**
      *  Courbe brute.
      */
-    private RawCurve raw;
+    private volatile RawCurve raw;
 
     /**
      *  Courbes lissées.
+     *  Liste immuable remplacée à chaque ajout, lisible sans verrou.
      */
-    private final List<SmoothCurve> smooth;
+    private volatile List<SmoothCurve> smooth;
+
+    /**
+     *  Moteur de lissage.
+     */
+    private SmoothingEngine engine;
 
     /**
      *  Tampon.
+     *  Regroupe les taux par cellule en attendant leur intégration.
      */
-    private final List<RateEntity> buffer;
+    private volatile RawConflator buffer;
+
+    /**
+     *  Verrou d'intégration.
+     *  Distinct du moniteur de la tache afin que l'alimentation du tampon ne soit pas bloquée pendant les
+     *  intégrations.
+     */
+    private final Object integration;
 
     /**
      *  Constructeur.
@@ -35,44 +55,46 @@ public abstract class TimelineTaskWrapper extends AbstractTask {
      */
     public TimelineTaskWrapper(ManagerComponent manager) {
         super(manager);
-        this.buffer = new ArrayList<>();
-        this.raw = raw;
-        this.smooth = new ArrayList<>();
+        this.buffer = null;
+        this.integration = new Object();
+        this.raw = null;
+        this.smooth = Collections.emptyList();
     }
 
     /**
      *  Retourne la courbe brute.
      *  @return Courbe brute.
      */
-    public synchronized RawCurve getRaw() {
-        synchronized (this.raw) {
-            return this.raw;
-        }
+    public RawCurve getRaw() {
+        return this.raw;
+    }
+
+    /**
+     *  Retourne le moteur de lissage.
+     *  @return Moteur de lissage.
+     */
+    protected SmoothingEngine getEngine() {
+        return this.engine;
     }
 
     /**
      *  Retourne la liste des courbes lissées.
-     *  @return Liste des courbes.
+     *  @return Liste immuable des courbes.
      */
-    public synchronized List<SmoothCurve> getSmooth() {
-        synchronized (this.smooth) {
-            return new ArrayList<>(this.smooth);
-        }
+    public List<SmoothCurve> getSmooth() {
+        return this.smooth;
     }
 
     /**
      *  Retourne la liste des courbes.
      *  @return Liste des courbes.
      */
-    public synchronized List<AbstractCurve> getCurves() {
-        synchronized (this.raw) {
-            synchronized (this.smooth) {
-                List<AbstractCurve> result = new ArrayList<>();
-                result.add(this.raw);
-                result.addAll(this.smooth);
-                return result;
-            }
-        }
+    public List<AbstractCurve> getCurves() {
+        List<SmoothCurve> smooth = this.smooth;
+        List<AbstractCurve> result = new ArrayList<>(smooth.size() + 1);
+        result.add(this.raw);
+        result.addAll(smooth);
+        return result;
     }
 
     /**
@@ -81,41 +103,25 @@ public abstract class TimelineTaskWrapper extends AbstractTask {
      *  @return Courbe inscrite.
      *  @throws InnerException En cas de niveau de lissage invalide.
      */
-    public synchronized AbstractCurve getCurve(int smooth) throws InnerException {
-        synchronized (this.raw) {
-            synchronized (this.smooth) {
-                if (smooth == 1) {
-                    return this.raw;
-                } else {
-                    for (SmoothCurve curve : this.smooth) {
-                        if (curve.getLevel() == smooth) {
-                            return curve;
-                        }
-                    }
+    public AbstractCurve getCurve(int smooth) throws InnerException {
+        if (smooth == 1) {
+            return this.raw;
+        } else {
+            for (SmoothCurve curve : this.smooth) {
+                if (curve.getLevel() == smooth) {
+                    return curve;
                 }
-                throw new InnerException("Failed to retrieve curve for smooth level %d", smooth);
             }
         }
+        throw new InnerException("Failed to retrieve curve for smooth level %d", smooth);
     }
 
     /**
      *  Retourne la taille du tampon.
      *  @return Taille du tampon.
      */
-    protected synchronized int getBufferSize() {
-        synchronized (this.buffer) {
-            return this.buffer.size();
-        }
-    }
-
-    /**
-     *  Retourne le tampon.
-     *  @return Contenu du tampon.
-     */
-    protected synchronized List<RateEntity> getBuffer() {
-        synchronized (this.buffer) {
-            return new ArrayList<>(this.buffer);
-        }
+    protected int getBufferSize() {
+        return this.buffer.size();
     }
 
     /**
@@ -124,6 +130,15 @@ public abstract class TimelineTaskWrapper extends AbstractTask {
      */
     protected synchronized void setRaw(RawCurve raw) {
         this.raw = raw;
+        this.buffer = new RawConflator(raw);
+    }
+
+    /**
+     *  Définit le moteur de lissage.
+     *  @param engine Valeur affectée.
+     */
+    protected synchronized void setEngine(SmoothingEngine engine) {
+        this.engine = engine;
     }
 
     /**
@@ -131,38 +146,49 @@ public abstract class TimelineTaskWrapper extends AbstractTask {
      *  @param smooth Courbe ajoutée.
      */
     protected synchronized void addSmooth(SmoothCurve smooth) {
-        synchronized (this.smooth) {
-            this.smooth.add(smooth);
-        }
+        List<SmoothCurve> update = new ArrayList<>(this.smooth);
+        update.add(smooth);
+        this.smooth = Collections.unmodifiableList(update);
     }
 
     /**
      *  Ajoute un élément dans le tampon.
      *  @param rate Elément ajouté.
      */
-    protected synchronized void addBuffer(RateEntity rate) {
-        synchronized (this.buffer) {
-            this.buffer.add(rate);
-        }
+    protected void addBuffer(RateEntity rate) {
+        this.buffer.offer(rate);
     }
 
     /**
-     *  Nettoie le tampon.
+     *  Vide le tampon.
+     *  La lecture et le nettoyage sont réalisés d'un seul tenant afin qu'aucun taux reçu entre temps ne soit perdu.
+     *  @return Agrégats partiels en attente.
      */
-    protected synchronized void clearBuffer() {
-        synchronized (this.buffer) {
-            this.buffer.clear();
-        }
+    protected List<RawPartial> drainBuffer() {
+        return this.buffer.drain();
     }
 
     /**
      *  Intègre une liste d'élément à la courbe brute.
-     *  @param rate Liste des taux intégrés.
+     *  @param partials Liste des agrégats partiels intégrés.
+     *  @return Liste des cellules brutes finalisées.
      *  @throws InnerException En cas d'erreur lors de l'intégration.
      */
-    protected synchronized void integrateRaw(List<RateEntity> rate) throws InnerException {
-        synchronized (this.raw) {
-            this.raw.integrate(rate);
+    protected List<RawCell> integrateRaw(List<RawPartial> partials) throws InnerException {
+        synchronized (this.integration) {
+            return this.raw.integrate(partials);
+        }
+    }
+
+    /**
+     *  Restaure une cellule de la courbe brute.
+     *  @param state Etat restauré.
+     *  @return Cellule brute finalisée, ou null.
+     *  @throws InnerException En cas d'erreur lors de la restauration.
+     */
+    protected RawCell restoreRaw(RawCellState state) throws InnerException {
+        synchronized (this.integration) {
+            return this.raw.restore(state);
         }
     }
 }
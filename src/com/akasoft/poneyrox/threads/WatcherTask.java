@@ -3,13 +3,14 @@ package com.akasoft.poneyrox.threads;
 import com.akasoft.poneyrox.api.whaleclub.dao.WhaleClubAccess;
 import com.akasoft.poneyrox.api.whaleclub.dto.WhaleClubRateDTO;
 import com.akasoft.poneyrox.components.ManagerComponent;
+import com.akasoft.poneyrox.components.RateWriterComponent;
 import com.akasoft.poneyrox.dao.RateDAO;
 import com.akasoft.poneyrox.entities.markets.MarketEntity;
 import com.akasoft.poneyrox.entities.markets.RateEntity;
 import com.akasoft.poneyrox.exceptions.AbstractException;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  *  Observateur.
@@ -22,26 +23,27 @@ public class WatcherTask extends WatcherTaskWrapper {
     private WhaleClubAccess access;
 
     /**
-     *  DAO des taux.
+     *  Ecrivain des taux.
      */
-    private RateDAO dao;
+    private RateWriterComponent writer;
 
     /**
-     *  Liste des marchés observés.
+     *  Marchés observés.
+     *  Indexés par clef.
      */
-    private List<MarketEntity> markets;
+    private final Map<String, MarketEntity> markets;
 
     /**
      *  Constructeur.
      *  @param manager Gestionnaire des taches.
      *  @param access Accès à l'API WhaleClub.
-     *  @param dao DAO des taux.
+     *  @param writer Ecrivain des taux.
      */
-    public WatcherTask(ManagerComponent manager, WhaleClubAccess access, RateDAO dao) {
+    public WatcherTask(ManagerComponent manager, WhaleClubAccess access, RateWriterComponent writer) {
         super(manager);
         this.access = access;
-        this.dao = dao;
-        this.markets = new ArrayList<>();
+        this.writer = writer;
+        this.markets = new ConcurrentHashMap<>();
     }
 
     /**
@@ -51,18 +53,21 @@ public class WatcherTask extends WatcherTaskWrapper {
     @Override
     protected void execute() throws AbstractException {
         /* Extraction de la liste des clefs */
-        List<String> keys = this.markets.stream().map(e -> e.getKey()).collect(Collectors.toList());
+        List<String> keys = new ArrayList<>(this.markets.keySet());
 
         /* Parcours des taux les plus récents */
         for (WhaleClubRateDTO rate : this.access.getRates(keys)) {
-            /* Extraction du marché */
-            MarketEntity market = this.markets.stream().filter(e -> e.getKey().equals(rate.getMarket())).findFirst().get();
+            /* Extraction du marché.
+             * Le marché peut avoir été retiré de l'observation depuis l'appel. */
+            MarketEntity market = this.markets.get(rate.getMarket());
 
             /* Vérification de la date de rafraichissement */
-            if (!super.hasRate(market) || super.getRate(market).getTime() < rate.getDate()) {
+            if (market != null && (!super.hasRate(market) || super.getRate(market).getTime() < rate.getDate())) {
 
-                /* Enregistrement en base */
-                RateEntity add = this.dao.persistRate(market, rate.getDate(), rate.getAsk(), rate.getBid());
+                /* Enregistrement différé.
+                 * Selon le mode de durabilité, l'écriture peut attendre l'enregistrement effectif du taux. */
+                RateEntity add = RateDAO.createRate(market, rate.getDate(), rate.getAsk(), rate.getBid());
+                this.writer.write(add);
 
                 /* Mise à jour */
                 super.addRate(market, add);
@@ -73,14 +78,20 @@ public class WatcherTask extends WatcherTaskWrapper {
         }
     }
 
+    /**
+     *  Retourne les marchés observés.
+     *  @return Copie de la liste des marchés.
+     */
+    public List<MarketEntity> getMarkets() {
+        return new ArrayList<>(this.markets.values());
+    }
+
     /**
      *  Ajoute un marché dans la liste d'observation.
      *  @param market Marché observé.
      */
     public void watch(MarketEntity market) {
-        if (!this.markets.stream().anyMatch(m -> m.getKey().equals(market.getKey()))) {
-            this.markets.add(market);
-        }
+        this.markets.putIfAbsent(market.getKey(), market);
     }
 
     /**
@@ -88,6 +99,6 @@ public class WatcherTask extends WatcherTaskWrapper {
      *  @param market Marché retiré.
      */
     public void ignore(MarketEntity market) {
-        this.markets.removeIf(m -> market.getKey().equals(m.getKey()));
+        this.markets.remove(market.getKey());
     }
 }
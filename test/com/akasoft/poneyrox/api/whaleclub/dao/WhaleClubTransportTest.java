@@ -0,0 +1,276 @@
+package com.akasoft.poneyrox.api.whaleclub.dao;
+
+import com.akasoft.poneyrox.exceptions.ApiException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ *  Tests du transport HTTP WhaleClub.
+ *  Le transport vise un serveur HTTP local de substitution qui renvoie en écho la méthode, les entetes et le corps des
+ *  requetes reçues.
+ */
+public class WhaleClubTransportTest {
+    /**
+     *  Délai de réponse des appels, en millisecondes.
+     */
+    public static final int TIMEOUT = 2000;
+
+    /**
+     *  Entete d'authentification.
+     */
+    public static final String AUTHORIZATION = "Bearer test-token";
+
+    /**
+     *  Codes de réponse validés.
+     */
+    public static final int[] VALIDATORS = { 200, 201 };
+
+    /**
+     *  Serveur de substitution.
+     */
+    private HttpServer server;
+
+    /**
+     *  Processus du serveur.
+     */
+    private ExecutorService executor;
+
+    /**
+     *  Transport testé.
+     */
+    private WhaleClubTransport transport;
+
+    /**
+     *  Démarrage du serveur et création du transport.
+     *  @throws IOException En cas d'erreur de démarrage.
+     */
+    @Before
+    public void setUp() throws IOException {
+        /* Serveur */
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext("/echo", this::echo);
+        this.server.createContext("/missing", (exchange) -> this.reply(exchange, 404, "{}", false));
+        this.server.createContext("/slow", (exchange) -> {
+            try {
+                Thread.sleep(TIMEOUT * 2);
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            this.reply(exchange, 200, "{}", false);
+        });
+        this.executor = Executors.newCachedThreadPool();
+        this.server.setExecutor(this.executor);
+        this.server.start();
+
+        /* Transport */
+        this.transport = new WhaleClubTransport(
+                String.format("http://127.0.0.1:%d/", this.server.getAddress().getPort()));
+    }
+
+    /**
+     *  Arrêt du transport et du serveur.
+     *  @throws IOException En cas d'erreur de fermeture.
+     */
+    @After
+    public void tearDown() throws IOException {
+        this.transport.preDestroy();
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    /**
+     *  Vérifie une requete GET : entetes transmis et corps compressé décodé.
+     *  @throws Exception En cas d'erreur.
+     */
+    @Test
+    public void testGet() throws Exception {
+        Map<String, String> echo = this.call(this.transport.get("echo/markets", AUTHORIZATION, TIMEOUT, VALIDATORS));
+        Assert.assertEquals("GET", echo.get("method"));
+        Assert.assertEquals("/echo/markets", echo.get("path"));
+        Assert.assertEquals(AUTHORIZATION, echo.get("authorization"));
+        Assert.assertEquals("application/json", echo.get("accept"));
+        Assert.assertEquals("true", echo.get("gzip"));
+    }
+
+    /**
+     *  Vérifie une requete PUT.
+     *  @throws Exception En cas d'erreur.
+     */
+    @Test
+    public void testPut() throws Exception {
+        Map<String, String> echo = this.call(this.transport.put("echo/position", AUTHORIZATION, TIMEOUT, VALIDATORS));
+        Assert.assertEquals("PUT", echo.get("method"));
+        Assert.assertEquals("/echo/position", echo.get("path"));
+    }
+
+    /**
+     *  Vérifie une requete POST : paramètres de formulaire encodés.
+     *  @throws Exception En cas d'erreur.
+     */
+    @Test
+    public void testPost() throws Exception {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("direction", "long");
+        fields.put("size", 12.5);
+        fields.put("label", "a b&c=é");
+        InputStream response = this.transport.post("echo/new", AUTHORIZATION, TIMEOUT, VALIDATORS, fields);
+        Map<String, String> echo = this.call(response);
+        Assert.assertEquals("POST", echo.get("method"));
+        Assert.assertEquals("long", echo.get("form.direction"));
+        Assert.assertEquals("12.5", echo.get("form.size"));
+        Assert.assertEquals("a b&c=é", echo.get("form.label"));
+    }
+
+    /**
+     *  Vérifie la réutilisation de la connexion entre requetes successives, y compris après un code de réponse
+     *  invalide.
+     *  @throws Exception En cas d'erreur.
+     */
+    @Test
+    public void testReuse() throws Exception {
+        /* Requetes valides */
+        for (int i = 0; i < 9; i++) {
+            this.call(this.transport.get("echo/" + i, AUTHORIZATION, TIMEOUT, VALIDATORS));
+        }
+
+        /* Code de réponse invalide */
+        try {
+            this.transport.get("missing", AUTHORIZATION, TIMEOUT, VALIDATORS);
+            Assert.fail("Invalid response code accepted");
+        } catch (ApiException cause) {
+            Assert.assertEquals(404, cause.getCode());
+        }
+        this.call(this.transport.get("echo/last", AUTHORIZATION, TIMEOUT, VALIDATORS));
+
+        /* Vérification */
+        Assert.assertEquals(11, this.transport.getRequestCount());
+        Assert.assertEquals(1, this.transport.getConnectionCount());
+        Assert.assertEquals(10 / 11.0, this.transport.getReuseRatio(), 1e-9);
+    }
+
+    /**
+     *  Vérifie le dépassement du délai de réponse.
+     */
+    @Test
+    public void testTimeout() {
+        long start = System.currentTimeMillis();
+        try {
+            this.transport.get("slow", AUTHORIZATION, TIMEOUT / 4, VALIDATORS);
+            Assert.fail("Timeout not triggered");
+        } catch (ApiException cause) {
+            Assert.assertEquals(500, cause.getCode());
+        }
+        Assert.assertTrue(System.currentTimeMillis() - start < TIMEOUT);
+    }
+
+    /**
+     *  Lit et ferme une réponse d'écho.
+     *  @param input Corps de la réponse.
+     *  @return Valeurs renvoyées, une par ligne "clé=valeur".
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    private Map<String, String> call(InputStream input) throws IOException {
+        Map<String, String> result = new HashMap<>();
+        try (InputStream body = input) {
+            String content = new String(WhaleClubTransportTest.readAll(body), StandardCharsets.UTF_8);
+            for (String line : content.split("\n")) {
+                int split = line.indexOf('=');
+                if (split > 0) {
+                    result.put(line.substring(0, split), line.substring(split + 1));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     *  Renvoie en écho une requete.
+     *  @param exchange Echange HTTP.
+     *  @throws IOException En cas d'erreur d'écriture.
+     */
+    private void echo(HttpExchange exchange) throws IOException {
+        /* Requete */
+        String encoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        boolean gzip = encoding != null && encoding.contains("gzip");
+        StringBuilder builder = new StringBuilder();
+        builder.append("method=").append(exchange.getRequestMethod()).append('\n');
+        builder.append("path=").append(exchange.getRequestURI().getPath()).append('\n');
+        builder.append("authorization=").append(exchange.getRequestHeaders().getFirst("Authorization")).append('\n');
+        builder.append("accept=").append(exchange.getRequestHeaders().getFirst("Accept")).append('\n');
+        builder.append("gzip=").append(gzip).append('\n');
+
+        /* Formulaire */
+        String form = new String(WhaleClubTransportTest.readAll(exchange.getRequestBody()), StandardCharsets.UTF_8);
+        for (String pair : form.split("&")) {
+            int split = pair.indexOf('=');
+            if (split > 0) {
+                builder.append("form.")
+                        .append(URLDecoder.decode(pair.substring(0, split), "UTF-8"))
+                        .append('=')
+                        .append(URLDecoder.decode(pair.substring(split + 1), "UTF-8"))
+                        .append('\n');
+            }
+        }
+        this.reply(exchange, 200, builder.toString(), gzip);
+    }
+
+    /**
+     *  Envoie une réponse de longueur connue, afin que la connexion puisse etre conservée.
+     *  @param exchange Echange HTTP.
+     *  @param status Code de réponse.
+     *  @param content Corps de la réponse.
+     *  @param gzip Indique si le corps doit etre compressé.
+     *  @throws IOException En cas d'erreur d'écriture.
+     */
+    private void reply(HttpExchange exchange, int status, String content, boolean gzip) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        if (gzip) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            try (GZIPOutputStream output = new GZIPOutputStream(buffer)) {
+                output.write(bytes);
+            }
+            bytes = buffer.toByteArray();
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     *  Lit intégralement un flux.
+     *  @param input Flux lu.
+     *  @return Contenu du flux.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    private static byte[] readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = input.read(buffer)) != -1) {
+            result.write(buffer, 0, read);
+        }
+        return result.toByteArray();
+    }
+}
@@ -0,0 +1,76 @@
+package com.akasoft.poneyrox.core.strategies.kernels;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ *  Tests de la file monotone.
+ *  Le minimum et le maximum d'une fenêtre glissante de taille variable sont comparés à un parcours complet de la
+ *  fenêtre.
+ */
+public class MonotonicDequeTest {
+    /**
+     *  Graine des générateurs aléatoires.
+     */
+    public static final long SEED = 20171018L;
+
+    /**
+     *  Vérifie les extremums d'une fenêtre glissante contre un parcours complet.
+     */
+    @Test
+    public void testAgainstScan() {
+        /* Génération.
+         * Les valeurs sont tirées dans un petit ensemble afin de multiplier les égalités. */
+        Random random = new Random(SEED);
+        int count = 20000;
+        int capacity = 37;
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = random.nextInt(20) == 0 ? Double.NaN : random.nextInt(16) - 8;
+        }
+
+        /* Parcours */
+        MonotonicDeque lowest = new MonotonicDeque(capacity, false);
+        MonotonicDeque highest = new MonotonicDeque(capacity, true);
+        long start = 0;
+        for (int i = 0; i < count; i++) {
+            /* Avancée de la fenêtre, d'une taille comprise entre 1 et la capacité */
+            lowest.push(i, values[i]);
+            highest.push(i, values[i]);
+            long floor = i + 1 - (1 + random.nextInt(capacity));
+            start = Math.max(start, floor);
+            lowest.expire(start);
+            highest.expire(start);
+
+            /* Comparaison */
+            double minimum = Double.MAX_VALUE;
+            double maximum = -Double.MAX_VALUE;
+            for (long j = start; j <= i; j++) {
+                double value = values[(int) j];
+                if (!Double.isNaN(value)) {
+                    minimum = Math.min(minimum, value);
+                    maximum = Math.max(maximum, value);
+                }
+            }
+            Assert.assertEquals("minimum #" + i, minimum, lowest.peek(Double.MAX_VALUE), 0);
+            Assert.assertEquals("maximum #" + i, maximum, highest.peek(-Double.MAX_VALUE), 0);
+        }
+    }
+
+    /**
+     *  Vérifie la remise à zéro.
+     */
+    @Test
+    public void testClear() {
+        MonotonicDeque deque = new MonotonicDeque(4, true);
+        deque.push(0, 3);
+        deque.push(1, 5);
+        Assert.assertEquals(5, deque.peek(-1), 0);
+        deque.clear();
+        Assert.assertEquals(-1, deque.peek(-1), 0);
+        deque.push(2, 1);
+        Assert.assertEquals(1, deque.peek(-1), 0);
+    }
+}
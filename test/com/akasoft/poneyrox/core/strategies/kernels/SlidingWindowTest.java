@@ -0,0 +1,200 @@
+package com.akasoft.poneyrox.core.strategies.kernels;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ *  Tests des fenêtres glissantes.
+ *  Les noyaux produits par les fenêtres de chaos et de croissance sont comparés à ceux d'un parcours complet de la
+ *  fenêtre, pour des avancées d'une ou plusieurs cellules, des sauts plus longs que la fenêtre et des retours en
+ *  arrière. Les séries évaluées sont des instantanés de taille fixe : la position d'une cellule y varie d'une
+ *  évaluation à l'autre, seul son numéro est stable.
+ */
+public class SlidingWindowTest {
+    /**
+     *  Graine des générateurs aléatoires.
+     */
+    public static final long SEED = 20171018L;
+
+    /**
+     *  Nombre de cellules de la série complète.
+     */
+    public static final int COUNT = 5000;
+
+    /**
+     *  Nombre de cellules supplémentaires des instantanés.
+     */
+    public static final int MARGIN = 16;
+
+    /**
+     *  Tailles de fenêtre testées.
+     */
+    public static final int[] SIZES = { 1, 2, 3, 10, 64 };
+
+    /**
+     *  Vérifie la fenêtre de chaos.
+     */
+    @Test
+    public void testChaosWindow() {
+        double[] rates = SlidingWindowTest.generate(new Random(SEED));
+        for (int size : SIZES) {
+            Random random = new Random(SEED + size);
+            ChaosWindow window = new ChaosWindow(size);
+            long index = size + MARGIN;
+            while (index < COUNT) {
+                /* Evaluation */
+                int to = size + random.nextInt(MARGIN + 1);
+                double[] snapshot = SlidingWindowTest.snapshot(rates, index, to);
+                ChaosKernel actual = window.evaluate(snapshot, index, to);
+                ChaosKernel expected = SlidingWindowTest.scanChaos(rates, (int) index - size + 1, (int) index + 1);
+
+                /* Comparaison */
+                String label = "size " + size + " #" + index;
+                Assert.assertEquals(label, expected.getPeak(), actual.getPeak(), 0);
+                index = SlidingWindowTest.next(random, index, size);
+            }
+        }
+    }
+
+    /**
+     *  Vérifie la fenêtre de croissance.
+     */
+    @Test
+    public void testGrowthWindow() {
+        double[] rates = SlidingWindowTest.generate(new Random(SEED));
+        for (int size : SIZES) {
+            Random random = new Random(SEED + size);
+            GrowthWindow window = new GrowthWindow(size);
+            long index = size + MARGIN;
+            while (index < COUNT) {
+                /* Evaluation */
+                int to = size + random.nextInt(MARGIN + 1);
+                double[] snapshot = SlidingWindowTest.snapshot(rates, index, to);
+                GrowthKernel actual = window.evaluate(snapshot, index, to);
+                GrowthKernel expected = SlidingWindowTest.scanGrowth(rates, (int) index - size + 1, (int) index + 1);
+
+                /* Comparaison */
+                String label = "size " + size + " #" + index;
+                Assert.assertEquals(label, expected.getMinimum(), actual.getMinimum(), 0);
+                Assert.assertEquals(label, expected.getMaximum(), actual.getMaximum(), 0);
+                Assert.assertEquals(label, expected.getUpMinimum(), actual.getUpMinimum(), 0);
+                Assert.assertEquals(label, expected.getDownMaximum(), actual.getDownMaximum(), 0);
+                index = SlidingWindowTest.next(random, index, size);
+            }
+        }
+    }
+
+    /**
+     *  Génère une série de taux positifs comportant des paliers.
+     *  @param random Générateur aléatoire.
+     *  @return Série générée.
+     */
+    private static double[] generate(Random random) {
+        double[] result = new double[COUNT];
+        double rate = 1.17345;
+        for (int i = 0; i < COUNT; i++) {
+            if (random.nextInt(4) != 0) {
+                rate = Math.max(0.5, rate + (random.nextInt(21) - 10) * 0.00001);
+            }
+            result[i] = rate;
+        }
+        return result;
+    }
+
+    /**
+     *  Extrait un instantané de la série.
+     *  Les cellules suivant la fenêtre sont renseignées à NaN, de sorte qu'une lecture hors fenêtre soit détectée.
+     *  @param rates Série complète.
+     *  @param index Numéro de la dernière cellule évaluée.
+     *  @param to Position de la cellule suivant la dernière cellule évaluée dans l'instantané.
+     *  @return Instantané.
+     */
+    private static double[] snapshot(double[] rates, long index, int to) {
+        double[] result = new double[to + MARGIN];
+        Arrays.fill(result, Double.NaN);
+        System.arraycopy(rates, (int) index + 1 - to, result, 0, to);
+        return result;
+    }
+
+    /**
+     *  Tire le numéro de la prochaine cellule évaluée.
+     *  @param random Générateur aléatoire.
+     *  @param index Numéro courant.
+     *  @param size Taille de la fenêtre.
+     *  @return Numéro suivant.
+     */
+    private static long next(Random random, long index, int size) {
+        int kind = random.nextInt(100);
+        if (kind < 5) {
+            /* Réévaluation de la meme cellule */
+            return index;
+        } else if (kind < 8) {
+            /* Retour en arrière */
+            return Math.max(size + MARGIN, index - 1 - random.nextInt(2 * size));
+        } else if (kind < 11) {
+            /* Saut plus long que la fenetre */
+            return index + size + random.nextInt(2 * size);
+        } else {
+            /* Avancée de quelques cellules */
+            return index + 1 + random.nextInt(Math.min(size, 3));
+        }
+    }
+
+    /**
+     *  Calcule le noyau de chaos par un parcours complet de la fenêtre.
+     *  @param rates Série complète.
+     *  @param from Position de la première cellule (incluse).
+     *  @param to Position de la dernière cellule (exclue).
+     *  @return Noyau de référence.
+     */
+    private static ChaosKernel scanChaos(double[] rates, int from, int to) {
+        /* Amplitude et écarts */
+        double minimum = Double.MAX_VALUE;
+        double maximum = 0;
+        double[] spaces = new double[to - from];
+        for (int i = 1; i < to - from; i++) {
+            double previousRate = rates[from + i - 1];
+            double currentRate = rates[from + i];
+            minimum = Math.min(minimum, previousRate);
+            maximum = Math.max(maximum, previousRate);
+            spaces[i - 1] = Math.abs(currentRate - previousRate);
+        }
+        double diff = maximum - minimum;
+
+        /* Ecart maximum */
+        double peak = Double.NEGATIVE_INFINITY;
+        for (double space : spaces) {
+            double percent = (space / diff) * 100;
+            if (percent > peak) {
+                peak = percent;
+            }
+        }
+        return new ChaosKernel(peak);
+    }
+
+    /**
+     *  Calcule le noyau de croissance par un parcours complet de la fenêtre.
+     *  @param rates Série complète.
+     *  @param from Position de la première cellule (incluse).
+     *  @param to Position de la dernière cellule (exclue).
+     *  @return Noyau de référence.
+     */
+    private static GrowthKernel scanGrowth(double[] rates, int from, int to) {
+        double minimum = Double.MAX_VALUE;
+        double maximum = 0;
+        double upMinimum = Double.POSITIVE_INFINITY;
+        double downMaximum = Double.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            minimum = Math.min(minimum, rates[i]);
+            maximum = Math.max(maximum, rates[i]);
+            if (i > from) {
+                upMinimum = Math.min(upMinimum, ((rates[i] / rates[i - 1]) - 1) * 100);
+                downMaximum = Math.max(downMaximum, ((rates[i - 1] / rates[i]) - 1) * 100);
+            }
+        }
+        return new GrowthKernel(minimum, maximum, upMinimum, downMaximum);
+    }
+}
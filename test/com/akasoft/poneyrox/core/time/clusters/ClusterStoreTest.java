@@ -0,0 +1,107 @@
+package com.akasoft.poneyrox.core.time.clusters;
+
+import com.akasoft.poneyrox.core.strategies.parameters.VariationType;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ *  Tests du stockage des clusters.
+ *  Les opérations sur les indicateurs d'opposition, dont les plages peuvent chevaucher la fin du stockage, sont
+ *  comparées à un tableau de booléens.
+ */
+public class ClusterStoreTest {
+    /**
+     *  Graine des générateurs aléatoires.
+     */
+    public static final long SEED = 20171018L;
+
+    /**
+     *  Capacités testées, multiples de 64 ou non.
+     */
+    public static final int[] CAPACITIES = { 1, 63, 64, 150, 320 };
+
+    /**
+     *  Vérifie les indicateurs d'opposition contre un tableau de booléens.
+     */
+    @Test
+    public void testOpposites() {
+        for (int capacity : CAPACITIES) {
+            Random random = new Random(SEED + capacity);
+            ClusterStore store = new ClusterStore(capacity);
+            boolean[] reference = new boolean[capacity];
+            for (int i = 0; i < 20000; i++) {
+                long from = random.nextInt(capacity * 10);
+                long to = from + random.nextInt(capacity + 10);
+                int action = random.nextInt(3);
+                if (action == 0) {
+                    /* Affectation */
+                    int slot = store.slot(from);
+                    boolean value = random.nextBoolean();
+                    store.setOpposite(slot, true, VariationType.AVERAGE, true, value);
+                    reference[slot] = value;
+                } else if (action == 1) {
+                    /* Effacement d'une plage */
+                    store.clearOpposites(true, VariationType.AVERAGE, true, from, to);
+                    for (long index = from; index < Math.min(to, from + capacity); index++) {
+                        reference[store.slot(index)] = false;
+                    }
+                } else {
+                    /* Recherche */
+                    long expected = -1;
+                    for (long index = from; index < Math.min(to, from + capacity); index++) {
+                        if (reference[store.slot(index)]) {
+                            expected = index;
+                            break;
+                        }
+                    }
+                    String label = String.format("capacity %d [%d, %d[", capacity, from, to);
+                    long actual = store.nextOpposite(true, VariationType.AVERAGE, true, from, to);
+                    Assert.assertEquals(label, expected, actual);
+                }
+            }
+
+            /* Indicateurs voisins inchangés */
+            for (int slot = 0; slot < capacity; slot++) {
+                Assert.assertEquals(reference[slot], store.getOpposite(slot, true, VariationType.AVERAGE, true));
+                Assert.assertFalse(store.getOpposite(slot, true, VariationType.AVERAGE, false));
+                Assert.assertFalse(store.getOpposite(slot, false, VariationType.AVERAGE, true));
+                Assert.assertFalse(store.getOpposite(slot, true, VariationType.MINIMUM, true));
+            }
+        }
+    }
+
+    /**
+     *  Vérifie l'isolement des colonnes et la remise à zéro d'un emplacement.
+     */
+    @Test
+    public void testClear() {
+        ClusterStore store = new ClusterStore(10);
+        ForwardProjection projection = new ForwardProjection(new double[] { 1 }, new double[] { 2 });
+        for (boolean ask : new boolean[] { true, false }) {
+            store.set(3, ask, ClusterStore.MINIMUM, ask ? 1 : 5);
+            store.set(3, ask, ClusterStore.AVERAGE, ask ? 2 : 6);
+            store.set(3, ask, ClusterStore.MAXIMUM, ask ? 3 : 7);
+            store.set(3, ask, ClusterStore.LAST, ask ? 4 : 8);
+            store.setDirection(3, ask, true);
+            store.setOpposite(3, ask, VariationType.MAXIMUM, false, true);
+            store.setForward(3, ask, VariationType.MINIMUM, projection);
+        }
+        Assert.assertEquals(2, store.getColumn(true, VariationType.AVERAGE)[3], 0);
+        Assert.assertEquals(7, store.getColumn(false, VariationType.MAXIMUM)[3], 0);
+
+        /* Remise à zéro d'un seul coté */
+        store.clear(3, true);
+        for (int field = ClusterStore.MINIMUM; field <= ClusterStore.LAST; field++) {
+            Assert.assertEquals(0, store.get(3, true, field), 0);
+            Assert.assertEquals(5 + field, store.get(3, false, field), 0);
+        }
+        Assert.assertFalse(store.getDirection(3, true));
+        Assert.assertTrue(store.getDirection(3, false));
+        Assert.assertFalse(store.getOpposite(3, true, VariationType.MAXIMUM, false));
+        Assert.assertTrue(store.getOpposite(3, false, VariationType.MAXIMUM, false));
+        Assert.assertNull(store.getForward(3, true, VariationType.MINIMUM));
+        Assert.assertSame(projection, store.getForward(3, false, VariationType.MINIMUM));
+    }
+}
@@ -0,0 +1,86 @@
+package com.akasoft.poneyrox.core.time.clusters;
+
+import net.finmath.marketdata.model.curves.ForwardCurve;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ *  Tests de la projection d'avancement.
+ *  La projection est comparée à la courbe d'avancement finmath qu'elle remplace, construite sur les memes points.
+ */
+public class ForwardProjectionTest {
+    /**
+     *  Graine des générateurs aléatoires.
+     */
+    public static final long SEED = 20171018L;
+
+    /**
+     *  Tolérance relative des comparaisons.
+     */
+    public static final double TOLERANCE = 1e-12;
+
+    /**
+     *  Vérifie l'interpolation et l'extrapolation contre la courbe finmath.
+     */
+    @Test
+    public void testAgainstForwardCurve() {
+        Random random = new Random(SEED);
+        for (int run = 0; run < 200; run++) {
+            /* Points */
+            int size = 1 + random.nextInt(Cluster.FORWARD_SIZE);
+            double[] times = new double[size];
+            double[] rates = new double[size];
+            double time = 1500000000000.0 + random.nextInt(100000);
+            for (int i = 0; i < size; i++) {
+                time += 1000 + random.nextInt(60000);
+                times[i] = time;
+                rates[i] = random.nextInt(5) == 0 ? random.nextGaussian() : 1 + random.nextDouble();
+            }
+            ForwardProjection projection = new ForwardProjection(times, rates);
+            ForwardCurve curve = ForwardCurve.createForwardCurveFromForwards("FC" + run, times, rates, 0);
+            Assert.assertEquals(size, projection.size());
+
+            /* Points exacts, intervalles et extrapolation */
+            double first = times[0];
+            double last = times[size - 1];
+            for (int i = 0; i < size; i++) {
+                ForwardProjectionTest.assertValue(curve, projection, times[i]);
+            }
+            for (int i = 0; i < 100; i++) {
+                double target = first - 120000 + random.nextDouble() * (last - first + 240000);
+                ForwardProjectionTest.assertValue(curve, projection, target);
+            }
+        }
+    }
+
+    /**
+     *  Vérifie le rejet des points incohérents.
+     */
+    @Test
+    public void testInvalidPoints() {
+        try {
+            new ForwardProjection(new double[0], new double[0]);
+            Assert.fail("Empty projection accepted");
+        } catch (IllegalArgumentException ignored) {
+        }
+        try {
+            new ForwardProjection(new double[] { 1, 2 }, new double[] { 1 });
+            Assert.fail("Mismatched projection accepted");
+        } catch (IllegalArgumentException ignored) {
+        }
+    }
+
+    /**
+     *  Compare la projection à la courbe de référence pour une date.
+     *  @param curve Courbe de référence.
+     *  @param projection Projection testée.
+     *  @param time Date évaluée.
+     */
+    private static void assertValue(ForwardCurve curve, ForwardProjection projection, double time) {
+        double expected = curve.getValue(time);
+        double actual = projection.getValue(time);
+        Assert.assertEquals("t=" + time, expected, actual, TOLERANCE * Math.max(1, Math.abs(expected)));
+    }
+}
@@ -0,0 +1,150 @@
+package com.akasoft.poneyrox.core.time.curves;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ *  Tests du tampon circulaire des courbes.
+ *  Le tampon est comparé à une liste complète sur plusieurs tours de sa capacité.
+ */
+public class CurveBufferTest {
+    /**
+     *  Graine des générateurs aléatoires.
+     */
+    public static final long SEED = 20171018L;
+
+    /**
+     *  Largeur du tampon testé.
+     */
+    public static final int WIDTH = 7;
+
+    /**
+     *  Vérifie les vues du tampon au fil des tours de capacité.
+     */
+    @Test
+    public void testWraparound() {
+        Random random = new Random(SEED);
+        CurveBuffer<Integer> buffer = new CurveBuffer<>(WIDTH);
+        List<Integer> reference = new ArrayList<>();
+        Assert.assertTrue(buffer.isEmpty());
+        Assert.assertNull(buffer.getLast());
+        Assert.assertEquals(0, buffer.all().size());
+
+        for (int i = 0; i < buffer.getCapacity() * 10; i++) {
+            /* Ajout */
+            buffer.add(i);
+            reference.add(i);
+            int available = Math.min(reference.size(), WIDTH);
+            Assert.assertEquals(reference.size(), buffer.getCount());
+            Assert.assertEquals(available, buffer.size());
+            Assert.assertEquals(Integer.valueOf(i), buffer.getLast());
+
+            /* Vues */
+            Assert.assertEquals(CurveBufferTest.tail(reference, WIDTH), buffer.all());
+            int size = random.nextInt(WIDTH + 3);
+            Assert.assertEquals(CurveBufferTest.tail(reference, Math.min(size, WIDTH)), buffer.last(size));
+            int from = random.nextInt(available + 1);
+            int to = from + random.nextInt(available - from + 1);
+            List<Integer> retained = CurveBufferTest.tail(reference, WIDTH);
+            Assert.assertEquals(retained.subList(from, to), buffer.range(from, to));
+        }
+    }
+
+    /**
+     *  Vérifie qu'une vue reste stable tant que moins d'une largeur de cellules a été ajoutée.
+     */
+    @Test
+    public void testStableWindow() {
+        CurveBuffer<Integer> buffer = new CurveBuffer<>(WIDTH);
+        for (int i = 0; i < WIDTH * 3 + 2; i++) {
+            buffer.add(i);
+        }
+        List<Integer> window = buffer.all();
+        List<Integer> expected = new ArrayList<>(window);
+        for (int i = 0; i < WIDTH - 1; i++) {
+            buffer.add(-1);
+            Assert.assertEquals(expected, window);
+        }
+    }
+
+    /**
+     *  Vérifie le rejet de la lecture d'une vue dont les cellules ont pu etre recouvertes.
+     */
+    @Test
+    public void testStaleWindow() {
+        CurveBuffer<Integer> buffer = new CurveBuffer<>(WIDTH);
+        for (int i = 0; i < WIDTH * 3 + 2; i++) {
+            buffer.add(i);
+        }
+        List<Integer> window = buffer.all();
+        for (int i = 0; i < WIDTH; i++) {
+            buffer.add(-1);
+        }
+
+        /* Cellule la plus ancienne recouvrable par l'écriture suivante */
+        try {
+            window.get(0);
+            Assert.fail("Stale cell returned");
+        } catch (IllegalStateException ignored) {
+        }
+        Assert.assertEquals(Integer.valueOf(WIDTH * 2 + 3), window.get(1));
+
+        /* Vue entièrement recouverte */
+        for (int i = 0; i < buffer.getCapacity(); i++) {
+            buffer.add(-1);
+        }
+        for (int i = 0; i < window.size(); i++) {
+            try {
+                window.get(i);
+                Assert.fail("Stale cell returned at " + i);
+            } catch (IllegalStateException ignored) {
+            }
+        }
+    }
+
+    /**
+     *  Vérifie le rejet des plages invalides.
+     */
+    @Test
+    public void testInvalidRanges() {
+        CurveBuffer<Integer> buffer = new CurveBuffer<>(WIDTH);
+        buffer.add(0);
+        buffer.add(1);
+        CurveBufferTest.assertRejected(buffer, -1, 1);
+        CurveBufferTest.assertRejected(buffer, 0, 3);
+        CurveBufferTest.assertRejected(buffer, 2, 1);
+        try {
+            buffer.all().get(2);
+            Assert.fail("Index out of window accepted");
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+    }
+
+    /**
+     *  Vérifie le rejet d'une plage.
+     *  @param buffer Tampon testé.
+     *  @param from Début de la plage.
+     *  @param to Fin de la plage.
+     */
+    private static void assertRejected(CurveBuffer<Integer> buffer, int from, int to) {
+        try {
+            buffer.range(from, to);
+            Assert.fail(String.format("Invalid range [%d, %d[ accepted", from, to));
+        } catch (IndexOutOfBoundsException ignored) {
+        }
+    }
+
+    /**
+     *  Retourne les derniers éléments d'une liste.
+     *  @param list Liste source.
+     *  @param size Nombre d'éléments recherché.
+     *  @return Copie des derniers éléments.
+     */
+    private static List<Integer> tail(List<Integer> list, int size) {
+        return new ArrayList<>(list.subList(Math.max(0, list.size() - size), list.size()));
+    }
+}
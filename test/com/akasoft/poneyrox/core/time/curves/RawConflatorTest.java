@@ -0,0 +1,189 @@
+package com.akasoft.poneyrox.core.time.curves;
+
+import com.akasoft.poneyrox.core.time.cells.RawAggregate;
+import com.akasoft.poneyrox.core.time.cells.RawCell;
+import com.akasoft.poneyrox.core.time.clusters.Cluster;
+import com.akasoft.poneyrox.dao.RateDAO;
+import com.akasoft.poneyrox.entities.markets.MarketEntity;
+import com.akasoft.poneyrox.entities.markets.RateEntity;
+import com.akasoft.poneyrox.entities.markets.TimelineEntity;
+import com.akasoft.poneyrox.exceptions.InnerException;
+import com.akasoft.poneyrox.threads.TimelineTask;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ *  Tests de la file de regroupement des taux.
+ *  Une meme série de taux est intégrée taux par taux dans une courbe, et par lots regroupés de taille aléatoire dans
+ *  une autre ; les cellules obtenues doivent etre identiques.
+ */
+public class RawConflatorTest {
+    /**
+     *  Graine des générateurs aléatoires.
+     */
+    public static final long SEED = 20171018L;
+
+    /**
+     *  Taille des cellules, en secondes.
+     */
+    public static final int SIZE = 5;
+
+    /**
+     *  Vérifie l'équivalence sur une série comportant des rafales et des interruptions.
+     *  Les cours sont des multiples de 1/1024 afin que les sommes des agrégats soient exactes quel que soit l'ordre
+     *  d'addition : seules les cellules sont alors comparées, et non les erreurs d'arrondi.
+     *  @throws InnerException En cas d'erreur de calcul.
+     */
+    @Test
+    public void testEquivalence() throws InnerException {
+        /* Génération */
+        Random random = new Random(SEED);
+        MarketEntity market = new MarketEntity();
+        List<RateEntity> rates = new ArrayList<>();
+        long time = 1500000000123L;
+        long price = 1200 * 1024;
+        for (int i = 0; i < 50000; i++) {
+            int kind = random.nextInt(1000);
+            if (kind == 0) {
+                /* Interruption plus longue que la fenetre */
+                time += (AbstractCurve.WIDTH + random.nextInt(50)) * SIZE * 1000L;
+            } else if (kind < 20) {
+                /* Interruption de quelques cellules */
+                time += random.nextInt(10) * SIZE * 1000L;
+            } else {
+                /* Rafale */
+                time += random.nextInt(400);
+            }
+            price += random.nextInt(9) - 4;
+            rates.add(RateDAO.createRate(market, time, (price + 3) / 1024.0, price / 1024.0));
+        }
+
+        /* Intégration taux par taux */
+        RawCurve expected = RawConflatorTest.createCurve(market);
+        RawConflator single = new RawConflator(expected);
+        List<RawCell> expectedBuilds = new ArrayList<>();
+        for (RateEntity rate : rates) {
+            single.offer(rate);
+            expectedBuilds.addAll(expected.integrate(single.drain()));
+        }
+
+        /* Intégration regroupée */
+        RawCurve actual = RawConflatorTest.createCurve(market);
+        RawConflator conflator = new RawConflator(actual);
+        List<RawCell> actualBuilds = new ArrayList<>();
+        int partials = 0;
+        int next = random.nextInt(500);
+        for (RateEntity rate : rates) {
+            conflator.offer(rate);
+            if (next-- == 0) {
+                partials += conflator.size();
+                actualBuilds.addAll(actual.integrate(conflator.drain()));
+                next = random.nextInt(500);
+            }
+        }
+        partials += conflator.size();
+        actualBuilds.addAll(actual.integrate(conflator.drain()));
+        Assert.assertTrue(partials < rates.size() / 2);
+
+        /* Vérification des cellules finalisées */
+        Assert.assertEquals(expectedBuilds.size(), actualBuilds.size());
+        for (int i = 0; i < expectedBuilds.size(); i++) {
+            RawConflatorTest.assertCell(expectedBuilds.get(i), actualBuilds.get(i));
+        }
+
+        /* Vérification des cellules retenues, cellule ouverte comprise */
+        List<RawCell> expectedCells = expected.getLast(AbstractCurve.WIDTH);
+        List<RawCell> actualCells = actual.getLast(AbstractCurve.WIDTH);
+        Assert.assertEquals(expectedCells.size(), actualCells.size());
+        for (int i = 0; i < expectedCells.size(); i++) {
+            RawConflatorTest.assertCell(expectedCells.get(i), actualCells.get(i));
+        }
+    }
+
+    /**
+     *  Vérifie le regroupement des taux d'une meme cellule.
+     *  @throws InnerException En cas d'erreur de calcul.
+     */
+    @Test
+    public void testGrouping() throws InnerException {
+        /* Courbe vide : un agrégat par taux */
+        MarketEntity market = new MarketEntity();
+        RawCurve curve = RawConflatorTest.createCurve(market);
+        RawConflator conflator = new RawConflator(curve);
+        conflator.offer(RateDAO.createRate(market, 10000, 1, 1));
+        conflator.offer(RateDAO.createRate(market, 10001, 1, 1));
+        Assert.assertEquals(2, conflator.size());
+        curve.integrate(conflator.drain());
+        Assert.assertEquals(0, conflator.size());
+
+        /* Courbe initialisée : un agrégat par cellule consécutive */
+        long width = SIZE * 1000L;
+        conflator.offer(RateDAO.createRate(market, 10002, 1, 1));
+        conflator.offer(RateDAO.createRate(market, 10000 + width - 1, 1, 1));
+        conflator.offer(RateDAO.createRate(market, 10000 + width, 1, 1));
+        conflator.offer(RateDAO.createRate(market, 10000 + width + 1, 1, 1));
+        conflator.offer(RateDAO.createRate(market, 10003, 1, 1));
+        Assert.assertEquals(3, conflator.size());
+    }
+
+    /**
+     *  Compare deux cellules.
+     *  @param expected Cellule attendue.
+     *  @param actual Cellule obtenue.
+     */
+    private static void assertCell(RawCell expected, RawCell actual) {
+        String label = "cell@" + expected.getStart();
+        Assert.assertEquals(label, expected.getStart(), actual.getStart());
+        Assert.assertEquals(label, expected.isFinalized(), actual.isFinalized());
+
+        /* Agrégats */
+        RawAggregate left = expected.getState().getAggregate();
+        RawAggregate right = actual.getState().getAggregate();
+        Assert.assertEquals(label, left.getCount(), right.getCount());
+        Assert.assertEquals(label, left.getTime(), right.getTime());
+        Assert.assertEquals(label, left.getAskSum(), right.getAskSum(), 0);
+        Assert.assertEquals(label, left.getBidSum(), right.getBidSum(), 0);
+
+        /* Clusters */
+        RawConflatorTest.assertCluster(label + "/ask", expected.getAsk(), actual.getAsk());
+        RawConflatorTest.assertCluster(label + "/bid", expected.getBid(), actual.getBid());
+    }
+
+    /**
+     *  Compare deux clusters.
+     *  @param label Libellé des assertions.
+     *  @param expected Cluster attendu.
+     *  @param actual Cluster obtenu.
+     */
+    private static void assertCluster(String label, Cluster expected, Cluster actual) {
+        Assert.assertEquals(label, expected.getMinimum(), actual.getMinimum(), 0);
+        Assert.assertEquals(label, expected.getAverage(), actual.getAverage(), 0);
+        Assert.assertEquals(label, expected.getMaximum(), actual.getMaximum(), 0);
+        Assert.assertEquals(label, expected.getLast(), actual.getLast(), 0);
+        Assert.assertEquals(label, expected.getDirection(), actual.getDirection());
+    }
+
+    /**
+     *  Crée une courbe brute détachée du gestionnaire.
+     *  @param market Marché suivi.
+     *  @return Courbe brute.
+     */
+    private static RawCurve createCurve(MarketEntity market) {
+        TimelineEntity timeline = new TimelineEntity();
+        timeline.setLabel("test");
+        timeline.setSize(SIZE);
+        timeline.setActive(true);
+        timeline.setMarket(market);
+        TimelineTask task = new TimelineTask(null, timeline) {
+            @Override
+            public void diffuseCurve(AbstractCurve curve) {
+                /* Aucune diffusion hors gestionnaire */
+            }
+        };
+        return task.getRaw();
+    }
+}
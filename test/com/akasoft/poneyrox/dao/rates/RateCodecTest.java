@@ -0,0 +1,182 @@
+package com.akasoft.poneyrox.dao.rates;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ *  Tests du codec des taux archivés.
+ *  Chaque série est encodée puis décodée ; les dates et les représentations binaires des taux doivent etre restituées
+ *  à l'identique.
+ */
+public class RateCodecTest {
+    /**
+     *  Graine des générateurs aléatoires.
+     */
+    public static final long SEED = 20171018L;
+
+    /**
+     *  Vérifie la restitution d'une marche aléatoire de cotations.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    @Test
+    public void testRandomWalk() throws IOException {
+        /* Génération */
+        Random random = new Random(SEED);
+        int count = 20000;
+        long[] times = new long[count];
+        double[] asks = new double[count];
+        double[] bids = new double[count];
+        long time = 1500000000000L;
+        double rate = 1.17345;
+        for (int i = 0; i < count; i++) {
+            time += random.nextInt(8) == 0 ? random.nextInt(120000) : 1000 + random.nextInt(50) - 25;
+            rate += (random.nextInt(11) - 5) * 0.00001;
+            times[i] = time;
+            asks[i] = rate + 0.00002;
+            bids[i] = random.nextInt(4) == 0 ? rate - 0.00003 : rate;
+        }
+
+        /* Vérification */
+        RateCodecTest.roundTrip(times, asks, bids);
+    }
+
+    /**
+     *  Vérifie la restitution des valeurs flottantes particulières.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    @Test
+    public void testSpecialValues() throws IOException {
+        double[] values = {
+                0.0,
+                -0.0,
+                Double.NaN,
+                Double.longBitsToDouble(0x7ff8000000000123L),
+                Double.POSITIVE_INFINITY,
+                Double.NEGATIVE_INFINITY,
+                Double.MIN_VALUE,
+                -Double.MIN_VALUE,
+                Double.MAX_VALUE,
+                -Double.MAX_VALUE,
+                1.0,
+                1.0,
+                Math.nextUp(1.0),
+                -1.0,
+                Double.longBitsToDouble(0x8000000000000001L),
+                Double.longBitsToDouble(0x7fffffffffffffffL)
+        };
+        int count = values.length * values.length;
+        long[] times = new long[count];
+        double[] asks = new double[count];
+        double[] bids = new double[count];
+        for (int i = 0; i < count; i++) {
+            times[i] = i * 1000L;
+            asks[i] = values[i % values.length];
+            bids[i] = values[(i / values.length + i) % values.length];
+        }
+        RateCodecTest.roundTrip(times, asks, bids);
+    }
+
+    /**
+     *  Vérifie la restitution des écarts de dates aux limites de chaque encodage.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    @Test
+    public void testTimeBoundaries() throws IOException {
+        /* Ecarts de second ordre testés */
+        long[] steps = {
+                0, 1, -1, 63, -63, 64, -64, 65, -65,
+                255, -255, 256, -256, 257, -257,
+                2047, -2047, 2048, -2048, 2049, -2049,
+                1L << 40, -(1L << 40), Long.MAX_VALUE, Long.MIN_VALUE
+        };
+
+        /* Génération.
+         * Chaque écart de second ordre est appliqué tel quel à l'écart courant, débordements compris. */
+        int count = steps.length * 2 + 1;
+        long[] times = new long[count];
+        double[] asks = new double[count];
+        double[] bids = new double[count];
+        long time = 0;
+        long delta = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                delta += steps[(i - 1) % steps.length];
+                time += delta;
+            }
+            times[i] = time;
+            asks[i] = 1.2;
+            bids[i] = 1.1;
+        }
+        RateCodecTest.roundTrip(times, asks, bids);
+    }
+
+    /**
+     *  Vérifie les séries d'un seul taux et les séries vides.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    @Test
+    public void testShortSeries() throws IOException {
+        RateCodecTest.roundTrip(new long[] { -42L }, new double[] { Double.NaN }, new double[] { -0.0 });
+        RateCodecTest.roundTrip(new long[0], new double[0], new double[0]);
+    }
+
+    /**
+     *  Vérifie la compacité d'une série constante à intervalle régulier.
+     *  Après le premier taux, chaque taux n'occupe qu'un bit pour la date et un bit par cotation.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    @Test
+    public void testConstantSeries() throws IOException {
+        int count = 1000;
+        long[] times = new long[count];
+        double[] asks = new double[count];
+        double[] bids = new double[count];
+        for (int i = 0; i < count; i++) {
+            times[i] = 1500000000000L + i * 500L;
+            asks[i] = 1.17347;
+            bids[i] = 1.17345;
+        }
+        byte[] bytes = RateCodecTest.roundTrip(times, asks, bids);
+        Assert.assertTrue(bytes.length <= 3 * 8 + 1 + ((count - 1) * 3 + 7) / 8 + 1);
+    }
+
+    /**
+     *  Encode une série, la décode et compare le résultat à la source.
+     *  @param times Dates.
+     *  @param asks Demandes.
+     *  @param bids Offres.
+     *  @return Série encodée.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    private static byte[] roundTrip(long[] times, double[] asks, double[] bids) throws IOException {
+        /* Encodage */
+        RateEncoder encoder = new RateEncoder();
+        for (int i = 0; i < times.length; i++) {
+            encoder.add(times[i], asks[i], bids[i]);
+        }
+        Assert.assertEquals(times.length, encoder.getCount());
+        byte[] bytes = encoder.toByteArray();
+
+        /* Décodage */
+        RateDecoder decoder = new RateDecoder(new ByteArrayInputStream(bytes), encoder.getCount());
+        for (int i = 0; i < times.length; i++) {
+            Assert.assertTrue(decoder.hasNext());
+            decoder.next();
+            Assert.assertEquals("time #" + i, times[i], decoder.getTime());
+            Assert.assertEquals(
+                    "ask #" + i,
+                    Double.doubleToRawLongBits(asks[i]),
+                    Double.doubleToRawLongBits(decoder.getAsk()));
+            Assert.assertEquals(
+                    "bid #" + i,
+                    Double.doubleToRawLongBits(bids[i]),
+                    Double.doubleToRawLongBits(decoder.getBid()));
+        }
+        Assert.assertFalse(decoder.hasNext());
+        return bytes;
+    }
+}
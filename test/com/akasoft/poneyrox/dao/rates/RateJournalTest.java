@@ -0,0 +1,234 @@
+package com.akasoft.poneyrox.dao.rates;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ *  Tests du journal des taux.
+ *  Les lectures de plages sont comparées à un filtrage de la liste des taux ajoutés, à travers les rotations de
+ *  segments, la réouverture du journal et la purge.
+ */
+public class RateJournalTest {
+    /**
+     *  Graine des générateurs aléatoires.
+     */
+    public static final long SEED = 20171018L;
+
+    /**
+     *  Capacité des segments.
+     */
+    public static final int CAPACITY = 100;
+
+    /**
+     *  Répertoire temporaire.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     *  Vérifie la rotation sur la capacité et la recherche de plages.
+     *  @throws IOException En cas d'erreur d'accès au journal.
+     */
+    @Test
+    public void testCapacityRoll() throws IOException {
+        Path directory = this.folder.newFolder().toPath();
+        RateJournal journal = new RateJournal(directory, CAPACITY, Long.MAX_VALUE);
+        List<long[]> rates = RateJournalTest.fill(journal, 1050, 1000, 100, false);
+        Assert.assertEquals(11, RateJournalTest.countSegments(directory));
+        RateJournalTest.assertRanges(journal, rates, new Random(SEED));
+        journal.close();
+    }
+
+    /**
+     *  Vérifie la rotation sur la durée.
+     *  @throws IOException En cas d'erreur d'accès au journal.
+     */
+    @Test
+    public void testDurationRoll() throws IOException {
+        Path directory = this.folder.newFolder().toPath();
+        RateJournal journal = new RateJournal(directory, CAPACITY, 1000);
+        List<long[]> rates = RateJournalTest.fill(journal, 40, 0, 300, true);
+        Assert.assertEquals(10, RateJournalTest.countSegments(directory));
+        RateJournalTest.assertRanges(journal, rates, new Random(SEED));
+        journal.close();
+    }
+
+    /**
+     *  Vérifie le rejet des taux non postérieurs au dernier taux ajouté.
+     *  @throws IOException En cas d'erreur d'accès au journal.
+     */
+    @Test
+    public void testOrdering() throws IOException {
+        RateJournal journal = new RateJournal(this.folder.newFolder().toPath(), CAPACITY, Long.MAX_VALUE);
+        Assert.assertTrue(journal.append(1000, 1.2, 1.1));
+        Assert.assertFalse(journal.append(1000, 1.3, 1.2));
+        Assert.assertFalse(journal.append(999, 1.3, 1.2));
+        Assert.assertTrue(journal.append(1001, 1.3, 1.2));
+        journal.close();
+    }
+
+    /**
+     *  Vérifie la reprise d'un journal existant.
+     *  @throws IOException En cas d'erreur d'accès au journal.
+     */
+    @Test
+    public void testReopen() throws IOException {
+        /* Création */
+        Path directory = this.folder.newFolder().toPath();
+        RateJournal journal = new RateJournal(directory, CAPACITY, Long.MAX_VALUE);
+        List<long[]> rates = RateJournalTest.fill(journal, 250, 1000, 100, false);
+        journal.force();
+        journal.close();
+
+        /* Reprise */
+        journal = new RateJournal(directory, CAPACITY, Long.MAX_VALUE);
+        Assert.assertFalse(journal.append(rates.get(rates.size() - 1)[0], 1, 1));
+        rates.addAll(RateJournalTest.fill(journal, 30, rates.get(rates.size() - 1)[0] + 1, 100, false));
+        Assert.assertEquals(3, RateJournalTest.countSegments(directory));
+        RateJournalTest.assertRanges(journal, rates, new Random(SEED));
+        journal.close();
+    }
+
+    /**
+     *  Vérifie la purge des segments antérieurs à une date.
+     *  @throws IOException En cas d'erreur d'accès au journal.
+     */
+    @Test
+    public void testPurge() throws IOException {
+        /* Purge */
+        Path directory = this.folder.newFolder().toPath();
+        RateJournal journal = new RateJournal(directory, CAPACITY, Long.MAX_VALUE);
+        List<long[]> rates = RateJournalTest.fill(journal, 1050, 1000, 100, false);
+        long before = rates.get(437)[0];
+        journal.purge(before);
+
+        /* Seuls les segments entièrement antérieurs sont supprimés */
+        Assert.assertEquals(7, RateJournalTest.countSegments(directory));
+        List<long[]> kept = RateJournalTest.read(journal, Long.MIN_VALUE, Long.MAX_VALUE);
+        Assert.assertEquals(rates.get(400)[0], kept.get(0)[0]);
+        Assert.assertEquals(rates.size() - 400, kept.size());
+        RateJournalTest.assertRanges(journal, rates.subList(400, rates.size()), new Random(SEED));
+        journal.close();
+    }
+
+    /**
+     *  Vérifie l'interruption d'une lecture par le lecteur.
+     *  @throws IOException En cas d'erreur d'accès au journal.
+     */
+    @Test
+    public void testStop() throws IOException {
+        RateJournal journal = new RateJournal(this.folder.newFolder().toPath(), CAPACITY, Long.MAX_VALUE);
+        RateJournalTest.fill(journal, 500, 1000, 100, false);
+        int[] count = new int[1];
+        journal.read(Long.MIN_VALUE, Long.MAX_VALUE, (time, ask, bid) -> ++count[0] < 150);
+        Assert.assertEquals(150, count[0]);
+        journal.close();
+    }
+
+    /**
+     *  Alimente un journal de taux.
+     *  @param journal Journal alimenté.
+     *  @param count Nombre de taux.
+     *  @param start Date du premier taux.
+     *  @param step Intervalle entre deux taux (maximum si irrégulier).
+     *  @param regular Indique si les taux sont espacés régulièrement.
+     *  @return Taux ajoutés (date, demande et offre sous forme binaire).
+     *  @throws IOException En cas d'erreur d'écriture.
+     */
+    private static List<long[]> fill(
+            RateJournal journal,
+            int count,
+            long start,
+            int step,
+            boolean regular) throws IOException {
+        Random random = new Random(SEED + start);
+        List<long[]> result = new ArrayList<>();
+        long time = start;
+        for (int i = 0; i < count; i++) {
+            double ask = 1 + random.nextDouble();
+            double bid = ask - random.nextDouble() / 100;
+            Assert.assertTrue(journal.append(time, ask, bid));
+            result.add(new long[] { time, Double.doubleToRawLongBits(ask), Double.doubleToRawLongBits(bid) });
+            time += regular ? step : 1 + random.nextInt(step);
+        }
+        return result;
+    }
+
+    /**
+     *  Compare des lectures de plages aléatoires au filtrage des taux ajoutés.
+     *  @param journal Journal lu.
+     *  @param rates Taux attendus, par ordre chronologique.
+     *  @param random Générateur aléatoire.
+     */
+    private static void assertRanges(RateJournal journal, List<long[]> rates, Random random) {
+        long first = rates.get(0)[0];
+        long last = rates.get(rates.size() - 1)[0];
+        RateJournalTest.assertRange(journal, rates, Long.MIN_VALUE, Long.MAX_VALUE);
+        for (int i = 0; i < 200; i++) {
+            long from = first - 50 + (long) (random.nextDouble() * (last - first + 100));
+            long to = from + (long) (random.nextDouble() * (last - first) / 4);
+            RateJournalTest.assertRange(journal, rates, from, to);
+        }
+    }
+
+    /**
+     *  Compare la lecture d'une plage au filtrage des taux ajoutés.
+     *  @param journal Journal lu.
+     *  @param rates Taux attendus, par ordre chronologique.
+     *  @param from Date de début (incluse).
+     *  @param to Date de fin (incluse).
+     */
+    private static void assertRange(RateJournal journal, List<long[]> rates, long from, long to) {
+        List<long[]> expected = new ArrayList<>();
+        for (long[] rate : rates) {
+            if (rate[0] >= from && rate[0] <= to) {
+                expected.add(rate);
+            }
+        }
+        List<long[]> actual = RateJournalTest.read(journal, from, to);
+        Assert.assertEquals(String.format("[%d, %d]", from, to), expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    /**
+     *  Lit une plage du journal.
+     *  @param journal Journal lu.
+     *  @param from Date de début (incluse).
+     *  @param to Date de fin (incluse).
+     *  @return Taux lus.
+     */
+    private static List<long[]> read(RateJournal journal, long from, long to) {
+        List<long[]> result = new ArrayList<>();
+        journal.read(from, to, (time, ask, bid) -> result.add(
+                new long[] { time, Double.doubleToRawLongBits(ask), Double.doubleToRawLongBits(bid) }));
+        return result;
+    }
+
+    /**
+     *  Compte les segments présents dans un répertoire.
+     *  @param directory Répertoire du journal.
+     *  @return Nombre de segments.
+     *  @throws IOException En cas d'erreur de lecture.
+     */
+    private static int countSegments(Path directory) throws IOException {
+        int result = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.rates")) {
+            for (Path ignored : files) {
+                result++;
+            }
+        }
+        return result;
+    }
+}